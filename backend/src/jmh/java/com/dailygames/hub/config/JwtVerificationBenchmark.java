@@ -0,0 +1,80 @@
+package com.dailygames.hub.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication cost in the JWT filter: the original path (key and parser rebuilt,
+ * token parsed three times), a single parse with the cached parser, and a verified-claims cache hit.
+ * Token generation, paid on every login and refresh, is measured alongside.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "BenchmarkSecretKeyForJWTTokenGenerationMustBeAtLeast256BitsLong!";
+
+    private JwtUtil uncached;
+    private JwtUtil cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = jwtUtil(0);
+        cached = jwtUtil(10_000);
+        token = cached.generateToken(42L, "benchmark-user", false);
+        cached.parseClaims(token);
+    }
+
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String username = legacyClaims(token).getSubject();
+        String subject = legacyClaims(token).getSubject();
+        Date expiry = legacyClaims(token).getExpiration();
+        return subject.equals(username) && !expiry.before(new Date());
+    }
+
+    @Benchmark
+    public Claims singleParse() {
+        return uncached.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims verifiedCacheHit() {
+        return cached.parseClaims(token);
+    }
+
+    @Benchmark
+    public String generate() {
+        return cached.generateToken(42L, "benchmark-user", false);
+    }
+
+    // Mirrors the pre-cache extractAllClaims: new key and parser on every call
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser()
+            .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+            .build()
+            .parseSignedClaims(token)
+            .getPayload();
+    }
+
+    private static JwtUtil jwtUtil(int cacheSize) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", SECRET);
+        ReflectionTestUtils.setField(util, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(util, "verifiedCacheSize", cacheSize);
+        util.init();
+        return util;
+    }
+}
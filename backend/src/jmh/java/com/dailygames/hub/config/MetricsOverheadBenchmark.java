@@ -0,0 +1,81 @@
+package com.dailygames.hub.config;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost the instrumentation adds to a hot path, against a Prometheus registry as in production:
+ * the bare call, a programmatic timer with a percentile histogram, a counter increment, and the
+ * {@code @Timed} aspect through a proxy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    public static class Work {
+        @Timed(value = "benchmark.work", histogram = true)
+        public long compute(long seed) {
+            long x = seed;
+            for (int i = 0; i < 16; i++) {
+                x ^= x << 13;
+                x ^= x >>> 7;
+                x ^= x << 17;
+            }
+            return x;
+        }
+    }
+
+    private Work work;
+    private Work timedProxy;
+    private Timer timer;
+    private Counter counter;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        work = new Work();
+        timer = Timer.builder("benchmark.timer").publishPercentileHistogram().register(registry);
+        counter = Counter.builder("benchmark.counter").tag("game", "WORDLE").register(registry);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Work());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new TimedAspect(registry));
+        timedProxy = factory.getProxy();
+        seed = System.nanoTime();
+    }
+
+    @Benchmark
+    public long baseline() {
+        return work.compute(seed);
+    }
+
+    @Benchmark
+    public long programmaticTimer() {
+        return timer.record(() -> work.compute(seed));
+    }
+
+    @Benchmark
+    public long counterIncrement() {
+        counter.increment();
+        return work.compute(seed);
+    }
+
+    @Benchmark
+    public void timedAspect(Blackhole blackhole) {
+        blackhole.consume(timedProxy.compute(seed));
+    }
+}
@@ -0,0 +1,45 @@
+package com.dailygames.hub.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RateLimitService#tryAcquire} with eight threads: all on one hot key (a login storm from
+ * one address), and spread over many keys as with ordinary per-user traffic.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class RateLimitContentionBenchmark {
+
+    private static final int KEYS = 10_000;
+
+    private RateLimitService rateLimitService;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        rateLimitService = new RateLimitService();
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "u:" + i;
+        }
+    }
+
+    @Benchmark
+    public long hotKey() {
+        return rateLimitService.tryAcquire(RateLimitPolicy.LOGIN_IP, "ip:203.0.113.7");
+    }
+
+    @Benchmark
+    public long spreadKeys() {
+        return rateLimitService.tryAcquire(RateLimitPolicy.SCORE_SUBMIT,
+            keys[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+}
@@ -0,0 +1,81 @@
+package com.dailygames.hub.service;
+
+import com.dailygames.hub.dto.ScoreResponse;
+import com.dailygames.hub.model.GameType;
+import com.dailygames.hub.model.Score;
+import com.dailygames.hub.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a score list response after the query: mapping entities to DTOs and writing them
+ * with a Jackson mapper configured like Spring's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreSerializationBenchmark {
+
+    @Param({"20", "200"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Score> scores;
+    private List<ScoreResponse> responses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        GameType[] games = GameType.values();
+        LocalDate today = LocalDate.of(2026, 3, 14);
+        scores = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setUsername("player" + i);
+            user.setDisplayName("Player " + i);
+
+            Score score = new Score();
+            score.setId((long) i);
+            score.setUser(user);
+            score.setGameType(games[i % games.length]);
+            score.setGameDate(today);
+            score.setRawResult("Wordle 1,234 4/6\n\n⬛🟨⬛⬛⬛\n⬛⬛🟩🟨⬛\n🟩🟩🟩⬛🟩\n🟩🟩🟩🟩🟩");
+            score.setAttempts(4);
+            score.setSolved(true);
+            score.setRatingChange(12);
+            score.setSubmittedAt(LocalDateTime.of(2026, 3, 14, 8, 30));
+            scores.add(score);
+        }
+        responses = map();
+    }
+
+    @Benchmark
+    public List<ScoreResponse> map() {
+        List<ScoreResponse> mapped = new ArrayList<>(scores.size());
+        for (Score score : scores) {
+            mapped.add(ScoreService.toResponse(score));
+        }
+        return mapped;
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(map());
+    }
+}
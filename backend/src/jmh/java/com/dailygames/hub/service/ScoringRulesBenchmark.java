@@ -0,0 +1,103 @@
+package com.dailygames.hub.service;
+
+import com.dailygames.hub.model.GameType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The pure rules behind a score submission: rating change per result, a streak transition, and
+ * the longest group streak over a member's distinct play dates, against the previous
+ * stream-sort-and-plusDays scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringRulesBenchmark {
+
+    private static final int RESULTS = 1024;
+
+    @Param({"365", "3650"})
+    private int days;
+
+    private GameType[] games;
+    private boolean[] solved;
+    private int[] attempts;
+    private Integer[] scores;
+    private LocalDate lastDate;
+    private List<LocalDate> dates;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        GameType[] all = GameType.values();
+        games = new GameType[RESULTS];
+        solved = new boolean[RESULTS];
+        attempts = new int[RESULTS];
+        scores = new Integer[RESULTS];
+        for (int i = 0; i < RESULTS; i++) {
+            games[i] = all[random.nextInt(all.length)];
+            solved[i] = random.nextInt(5) > 0;
+            attempts[i] = 1 + random.nextInt(6);
+            scores[i] = games[i] == GameType.HORSE ? random.nextInt(101) : null;
+        }
+
+        // Mostly consecutive days with occasional gaps, as returned by the repository (newest first)
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        dates = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            if (random.nextInt(10) > 0) {
+                dates.add(start.plusDays(day));
+            }
+        }
+        Collections.reverse(dates);
+        lastDate = start.plusDays(days);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RESULTS)
+    public void ratingChange(Blackhole blackhole) {
+        for (int i = 0; i < RESULTS; i++) {
+            blackhole.consume(RatingService.ratingChange(games[i], solved[i], attempts[i], scores[i]));
+        }
+    }
+
+    @Benchmark
+    public StreakTransition streakTransition() {
+        return StreakTransition.play(12, 30, lastDate, lastDate.plusDays(1));
+    }
+
+    @Benchmark
+    public int longestRun() {
+        return StreakTransition.longestRun(dates);
+    }
+
+    // Mirrors the previous calculateGroupStreakFromScores loop
+    @Benchmark
+    public int legacyLongestRun() {
+        List<LocalDate> sorted = dates.stream().sorted().collect(Collectors.toList());
+        int longest = 1;
+        int current = 1;
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i - 1).plusDays(1).equals(sorted.get(i))) {
+                current++;
+                if (current > longest) {
+                    longest = current;
+                }
+            } else {
+                current = 1;
+            }
+        }
+        return longest;
+    }
+}
@@ -0,0 +1,482 @@
+package com.dailygames.hub.loadtest;
+
+import com.dailygames.hub.DailyGamesHubApplication;
+import com.dailygames.hub.model.Friendship;
+import com.dailygames.hub.util.DateUtils;
+import com.dailygames.hub.util.LongHashSet;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills an empty database with a synthetic dataset for performance work: users with months of
+ * score history and the streak and rating rows that history implies, friendships with a
+ * power-law degree distribution, groups with skewed sizes, and conversations between friends.
+ * The same seed, size and end date always produce the same rows. Run with
+ * {@code ./mvnw -Ploadtest -DskipTests verify -Dloadtest.main=com.dailygames.hub.loadtest.DatasetGenerator
+ * -Dloadtest.args="--users=1000000 --spring.datasource.url=..."}.
+ *
+ * <pre>
+ * --users=100000     players, named player0..playerN-1, all with the password "password"
+ * --days=180         days of history ending at --end-date (default today)
+ * --seed=42
+ * --threads=cores    connections writing score history in parallel
+ * --batch-size=2000  rows per JDBC batch and commit
+ * </pre>
+ *
+ * Rows go straight through JDBC batches; the schema comes from the Flyway migrations. Feed
+ * entries and the daily stats rollup are not generated: the rollup backfills itself on the next
+ * start and the feed fills from new submissions. For PostgreSQL, add
+ * {@code reWriteBatchedInserts=true} to the URL.
+ */
+public final class DatasetGenerator {
+
+    private static final String DEFAULT_URL = "jdbc:h2:file:./target/dataset/dailygames";
+    private static final String USERNAME_PREFIX = "player";
+    private static final int CHUNK = 5_000;
+    private static final double DEGREE_EXPONENT = 2.5;
+    private static final int MAX_DEGREE = 1_000;
+    private static final String[] LINES = {
+        "Did you get today's puzzle?", "That one was brutal", "Got it in three!",
+        "Connections nearly broke me", "Streak is still alive", "See you on the leaderboard"
+    };
+
+    private final DataSource dataSource;
+    private final String passwordHash;
+    private final int users;
+    private final int days;
+    private final long seed;
+    private final LocalDate firstDate;
+    private final int threads;
+    private final int batchSize;
+
+    private long[] ids;
+    private int[] registeredDays;
+
+    private DatasetGenerator(DataSource dataSource, String passwordHash, int users, int days, long seed,
+                             LocalDate endDate, int threads, int batchSize) {
+        this.dataSource = dataSource;
+        this.passwordHash = passwordHash;
+        this.users = users;
+        this.days = days;
+        this.seed = seed;
+        this.firstDate = endDate.minusDays(days - 1);
+        this.threads = threads;
+        this.batchSize = batchSize;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = 100_000;
+        int days = 180;
+        long seed = 42;
+        LocalDate endDate = DateUtils.todayAmsterdam();
+        int threads = Runtime.getRuntime().availableProcessors();
+        int batchSize = 2_000;
+        List<String> springArgs = new ArrayList<>(List.of(
+            "--spring.datasource.url=" + DEFAULT_URL, "--app.query-accounting.enabled=false"));
+
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String name = eq > 0 ? arg.substring(0, eq) : arg;
+            String value = eq > 0 ? arg.substring(eq + 1) : "";
+            switch (name) {
+                case "--users" -> users = Integer.parseInt(value);
+                case "--days" -> days = Integer.parseInt(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--end-date" -> endDate = LocalDate.parse(value);
+                case "--threads" -> threads = Integer.parseInt(value);
+                case "--batch-size" -> batchSize = Integer.parseInt(value);
+                // Later arguments win, so a configured URL replaces the default
+                default -> springArgs.add(arg);
+            }
+        }
+        if (users < 2 || days < 1 || threads < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("users must be at least 2; days, threads and batch-size positive");
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DailyGamesHubApplication.class)
+                .profiles("loadtest")
+                .web(WebApplicationType.NONE)
+                .run(springArgs.toArray(String[]::new))) {
+            String passwordHash = context.getBean(PasswordEncoder.class).encode("password");
+            new DatasetGenerator(context.getBean(DataSource.class), passwordHash, users, days, seed, endDate,
+                threads, batchSize).generate();
+        }
+    }
+
+    private void generate() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM users")) {
+            rs.next();
+            if (rs.getLong(1) > 0) {
+                throw new IllegalStateException("The dataset generator needs an empty database");
+            }
+        }
+        System.out.printf("%nGenerating %d users over %d days from %s, seed %d%n", users, days, firstDate, seed);
+        long start = System.nanoTime();
+        phase("users", this::insertUsers);
+        phase("scores, streaks and ratings", this::insertHistory);
+        phase("friendships and messages", this::insertFriendships);
+        phase("groups", this::insertGroups);
+        System.out.printf("Done in %ds%n", (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    private interface Phase {
+        long run() throws Exception;
+    }
+
+    private static void phase(String name, Phase phase) throws Exception {
+        long start = System.nanoTime();
+        long rows = phase.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("  %-28s %,12d rows %8.1fs %,10.0f rows/s%n", name, rows, seconds, rows / seconds);
+    }
+
+    private long insertUsers() throws SQLException {
+        registeredDays = new int[users];
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (BatchWriter writer = new BatchWriter(connection, batchSize,
+                    "INSERT INTO users (username, email, password, display_name, created_at, global_day_streak, "
+                        + "longest_global_streak, last_active_date, average_rating, is_admin) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE)")) {
+                for (int i = 0; i < users; i++) {
+                    PlayerModel.History history = PlayerModel.simulate(seed, i, days);
+                    registeredDays[i] = history.registeredDay;
+                    PreparedStatement ps = writer.statement();
+                    ps.setString(1, USERNAME_PREFIX + i);
+                    ps.setString(2, USERNAME_PREFIX + i + "@example.test");
+                    ps.setString(3, passwordHash);
+                    ps.setString(4, history.displayName ? "Player " + i : null);
+                    ps.setTimestamp(5, timestamp(history.registeredDay, history.secondOfDay));
+                    ps.setInt(6, history.globalStreak);
+                    ps.setInt(7, history.longestGlobalStreak);
+                    setDate(ps, 8, history.lastActiveDay);
+                    ps.setInt(9, history.averageRating());
+                    writer.add();
+                }
+            }
+
+            // Ids are assigned by the database; map them back by the index in the username
+            ids = new long[users];
+            try (PreparedStatement ps = connection.prepareStatement("SELECT id, username FROM users")) {
+                ps.setFetchSize(10_000);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        String username = rs.getString(2);
+                        if (username.startsWith(USERNAME_PREFIX)) {
+                            ids[Integer.parseInt(username.substring(USERNAME_PREFIX.length()))] = rs.getLong(1);
+                        }
+                    }
+                }
+            }
+            connection.commit();
+        }
+        return users;
+    }
+
+    /**
+     * Score history in parallel: each thread claims chunks of players and regenerates their
+     * histories, which depend on nothing but the seed and the index.
+     */
+    private long insertHistory() throws Exception {
+        AtomicInteger nextChunk = new AtomicInteger();
+        AtomicLong rows = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    writeHistories(nextChunk, rows);
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return rows.get();
+    }
+
+    private void writeHistories(AtomicInteger nextChunk, AtomicLong rows) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (BatchWriter scores = new BatchWriter(connection, batchSize,
+                     "INSERT INTO scores (user_id, game_type, game_date, raw_result, attempts, solved, score, "
+                         + "time_seconds, rating_change, submitted_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+                 BatchWriter streaks = new BatchWriter(connection, batchSize,
+                     "INSERT INTO streaks (user_id, game_type, current_streak, longest_streak, last_played_date) "
+                         + "VALUES (?, ?, ?, ?, ?)");
+                 BatchWriter ratings = new BatchWriter(connection, batchSize,
+                     "INSERT INTO ratings (user_id, game_type, rating, games_played, games_won) VALUES (?, ?, ?, ?, ?)")) {
+                for (int chunk = nextChunk.getAndIncrement(); chunk * CHUNK < users; chunk = nextChunk.getAndIncrement()) {
+                    for (int i = chunk * CHUNK; i < Math.min(users, (chunk + 1) * CHUNK); i++) {
+                        rows.addAndGet(writeHistory(PlayerModel.simulate(seed, i, days), ids[i], scores, streaks, ratings));
+                    }
+                }
+            }
+        }
+    }
+
+    private int writeHistory(PlayerModel.History history, long userId, BatchWriter scores, BatchWriter streaks,
+                             BatchWriter ratings) throws SQLException {
+        for (PlayerModel.Play play : history.plays) {
+            PreparedStatement ps = scores.statement();
+            ps.setLong(1, userId);
+            ps.setString(2, play.game().name());
+            ps.setDate(3, Date.valueOf(firstDate.plusDays(play.day())));
+            ps.setString(4, play.game().getDisplayName() + " #" + (firstDate.plusDays(play.day()).toEpochDay() % 10_000)
+                + " " + (play.score() != null ? play.score() + "%" : (play.solved() ? play.attempts() : "X") + " tries"));
+            ps.setInt(5, play.attempts());
+            ps.setBoolean(6, play.solved());
+            if (play.score() != null) {
+                ps.setInt(7, play.score());
+            } else {
+                ps.setNull(7, Types.INTEGER);
+            }
+            ps.setInt(8, play.timeSeconds());
+            ps.setInt(9, play.ratingChange());
+            ps.setTimestamp(10, timestamp(play.day(), play.secondOfDay()));
+            scores.add();
+        }
+
+        int rows = history.plays.size();
+        for (int g = 0; g < PlayerModel.GAMES.length; g++) {
+            if (history.played[g] == 0) {
+                continue;
+            }
+            PreparedStatement streak = streaks.statement();
+            streak.setLong(1, userId);
+            streak.setString(2, PlayerModel.GAMES[g].name());
+            streak.setInt(3, history.currentStreak[g]);
+            streak.setInt(4, history.longestStreak[g]);
+            setDate(streak, 5, history.lastDay[g]);
+            streaks.add();
+
+            PreparedStatement rating = ratings.statement();
+            rating.setLong(1, userId);
+            rating.setString(2, PlayerModel.GAMES[g].name());
+            rating.setInt(3, history.rating[g]);
+            rating.setInt(4, history.played[g]);
+            rating.setInt(5, history.won[g]);
+            ratings.add();
+            rows += 2;
+        }
+        return rows;
+    }
+
+    /**
+     * Friendships follow a power law: each player draws a target degree, then picks partners in
+     * proportion to theirs, so popular players gather most of the edges. A quarter of accepted
+     * friendships also get a conversation.
+     */
+    private long insertFriendships() throws SQLException {
+        SplittableRandom random = PlayerModel.random(seed, -1);
+        int[] degrees = new int[users];
+        long[] cumulative = new long[users];
+        long total = 0;
+        for (int i = 0; i < users; i++) {
+            // A fifth have no friends; the rest follow a Pareto tail starting at two
+            degrees[i] = random.nextInt(5) == 0 ? 0
+                : (int) Math.min(Math.min(MAX_DEGREE, users - 1), 2 * Math.pow(1 - random.nextDouble(), -1 / (DEGREE_EXPONENT - 1)));
+            total += degrees[i];
+            cumulative[i] = total;
+        }
+
+        LongHashSet pairs = new LongHashSet((int) Math.min(Integer.MAX_VALUE / 4, total / 2 + 1));
+        long rows = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (BatchWriter friendships = new BatchWriter(connection, batchSize,
+                     "INSERT INTO friendships (user_id, friend_id, status, created_at, accepted_at) VALUES (?, ?, ?, ?, ?)");
+                 BatchWriter messages = new BatchWriter(connection, batchSize,
+                     "INSERT INTO messages (sender_id, receiver_id, content, sent_at, is_read) VALUES (?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < users; i++) {
+                    // Each edge is drawn from both ends, so draw half the target degree here
+                    int draws = degrees[i] / 2 + (random.nextBoolean() ? degrees[i] % 2 : 0);
+                    for (int d = 0; d < draws; d++) {
+                        int j = Arrays.binarySearch(cumulative, random.nextLong(total) + 1);
+                        j = j >= 0 ? j : -j - 1;
+                        if (j == i || !pairs.add((long) Math.min(i, j) * users + Math.max(i, j))) {
+                            continue;
+                        }
+                        rows += writeFriendship(random, i, j, friendships, messages);
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    private int writeFriendship(SplittableRandom random, int requester, int addressee, BatchWriter friendships,
+                                BatchWriter messages) throws SQLException {
+        int outcome = random.nextInt(100);
+        Friendship.FriendshipStatus status = outcome < 85 ? Friendship.FriendshipStatus.ACCEPTED
+            : outcome < 95 ? Friendship.FriendshipStatus.PENDING : Friendship.FriendshipStatus.DECLINED;
+        int since = Math.max(registeredDays[requester], registeredDays[addressee]);
+        int day = since + random.nextInt(days - since);
+        int second = random.nextInt(8 * 3600, 23 * 3600);
+
+        PreparedStatement ps = friendships.statement();
+        ps.setLong(1, ids[requester]);
+        ps.setLong(2, ids[addressee]);
+        ps.setString(3, status.name());
+        ps.setTimestamp(4, timestamp(day, second));
+        if (status == Friendship.FriendshipStatus.ACCEPTED) {
+            ps.setTimestamp(5, timestamp(day, second + random.nextInt(3600)));
+        } else {
+            ps.setNull(5, Types.TIMESTAMP);
+        }
+        friendships.add();
+
+        if (status != Friendship.FriendshipStatus.ACCEPTED || random.nextInt(4) != 0) {
+            return 1;
+        }
+        int count = 1 + PlayerModel.geometric(random, 0.2, 40);
+        for (int m = 0; m < count; m++) {
+            boolean forward = random.nextBoolean();
+            int sentDay = Math.min(days - 1, day + m * (days - day) / count);
+            PreparedStatement message = messages.statement();
+            message.setLong(1, ids[forward ? requester : addressee]);
+            message.setLong(2, ids[forward ? addressee : requester]);
+            message.setString(3, LINES[random.nextInt(LINES.length)]);
+            message.setTimestamp(4, timestamp(sentDay, random.nextInt(7 * 3600, 24 * 3600)));
+            message.setBoolean(5, sentDay < days - 2 || random.nextBoolean());
+            messages.add();
+        }
+        return 1 + count;
+    }
+
+    /**
+     * One group per twelve players. Sizes follow a power law from two to fifty, so most groups
+     * are a handful of friends and a few are large.
+     */
+    private long insertGroups() throws SQLException {
+        SplittableRandom random = PlayerModel.random(seed, -2);
+        int groups = Math.max(1, users / 12);
+        long rows = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insertGroup = connection.prepareStatement(
+                     "INSERT INTO friend_groups (name, invite_code, owner_id, created_at, group_streak, longest_group_streak) "
+                         + "VALUES (?, ?, ?, ?, 0, 0)", Statement.RETURN_GENERATED_KEYS);
+                 BatchWriter members = new BatchWriter(connection, batchSize,
+                     "INSERT INTO friend_group_members (group_id, user_id) VALUES (?, ?)")) {
+                for (int g = 0; g < groups; g++) {
+                    int owner = random.nextInt(users);
+                    int size = (int) Math.min(Math.min(50, users), 2 * Math.pow(1 - random.nextDouble(), -1 / 1.2));
+
+                    insertGroup.setString(1, "Group " + g);
+                    insertGroup.setString(2, String.format("DS%08X", g));
+                    insertGroup.setLong(3, ids[owner]);
+                    insertGroup.setTimestamp(4, timestamp(registeredDays[owner], 12 * 3600));
+                    insertGroup.executeUpdate();
+                    long groupId;
+                    try (ResultSet keys = insertGroup.getGeneratedKeys()) {
+                        keys.next();
+                        groupId = keys.getLong(1);
+                    }
+
+                    // Members cluster around the owner's index; the set holds index + 1 as zero is reserved
+                    LongHashSet chosen = new LongHashSet(size);
+                    chosen.add(owner + 1);
+                    while (chosen.size() < size) {
+                        chosen.add(Math.floorMod(owner + random.nextInt(-500, 501), users) + 1);
+                    }
+                    for (long member : chosen.toArray()) {
+                        PreparedStatement ps = members.statement();
+                        ps.setLong(1, groupId);
+                        ps.setLong(2, ids[(int) member - 1]);
+                        members.add();
+                    }
+                    rows += 1 + size;
+                }
+            }
+            connection.commit();
+        }
+        return rows;
+    }
+
+    private Timestamp timestamp(int day, int secondOfDay) {
+        return Timestamp.valueOf(LocalDateTime.of(firstDate.plusDays(day), LocalTime.MIDNIGHT)
+            .plusSeconds(secondOfDay));
+    }
+
+    private void setDate(PreparedStatement ps, int index, int day) throws SQLException {
+        if (day < 0) {
+            ps.setNull(index, Types.DATE);
+        } else {
+            ps.setDate(index, Date.valueOf(firstDate.plusDays(day)));
+        }
+    }
+
+    /**
+     * A prepared insert that executes and commits every {@code batchSize} rows.
+     */
+    private static final class BatchWriter implements AutoCloseable {
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final int batchSize;
+        private int pending;
+
+        BatchWriter(Connection connection, int batchSize, String sql) throws SQLException {
+            this.connection = connection;
+            this.statement = connection.prepareStatement(sql);
+            this.batchSize = batchSize;
+        }
+
+        PreparedStatement statement() {
+            return statement;
+        }
+
+        void add() throws SQLException {
+            statement.addBatch();
+            if (++pending == batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                connection.commit();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
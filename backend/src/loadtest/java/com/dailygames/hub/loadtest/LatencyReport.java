@@ -0,0 +1,102 @@
+package com.dailygames.hub.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency per operation in microseconds, measured from the moment a request was due rather than
+ * when it was sent, so a stalled server shows up as queueing delay instead of being hidden by
+ * the driver waiting for it (coordinated omission). Arrivals the driver dropped because too many
+ * requests were in flight never got a response, so they are counted apart from the latencies.
+ */
+final class LatencyReport {
+
+    private static final long MAX_LATENCY_MICROS = 120_000_000;
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<String, LongAdder>> outcomes = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> dropped = new EnumMap<>(Operation.class);
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            outcomes.put(operation, new ConcurrentHashMap<>());
+            dropped.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Records one response, or a failure when {@code outcome} is not a 2xx status.
+     */
+    void record(Operation operation, long dueNanos, long doneNanos, String outcome) {
+        histograms.get(operation).recordValue(Math.min((doneNanos - dueNanos) / 1000, MAX_LATENCY_MICROS));
+        outcomes.get(operation).computeIfAbsent(outcome, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Counts an arrival that was never sent because the in-flight limit was reached.
+     */
+    void recordDropped(Operation operation) {
+        dropped.get(operation).increment();
+    }
+
+    long totalDropped() {
+        return dropped.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    void print(PrintStream out, double seconds) {
+        out.printf("%n%-34s %8s %8s %8s %8s %9s %9s %9s %9s  %s%n",
+            "operation", "count", "rps", "errors", "dropped", "p50 ms", "p95 ms", "p99 ms", "max ms", "outcomes");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            long droppedCount = dropped.get(operation).sum();
+            if (histogram.getTotalCount() == 0 && droppedCount == 0) {
+                continue;
+            }
+            Map<String, Long> counts = new TreeMap<>();
+            outcomes.get(operation).forEach((outcome, count) -> counts.put(outcome, count.sum()));
+            long errors = counts.entrySet().stream()
+                .filter(e -> !e.getKey().startsWith("2"))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+            out.printf("%-34s %8d %8.1f %8d %8d %9.1f %9.1f %9.1f %9.1f  %s%n",
+                operation.label(), histogram.getTotalCount(), histogram.getTotalCount() / seconds, errors, droppedCount,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(95)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getMaxValue()), counts);
+        }
+    }
+
+    /**
+     * Writes one percentile distribution per operation in HdrHistogram's .hgrm format, in
+     * milliseconds, which the HdrHistogram plotter can overlay across runs.
+     */
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            Path file = directory.resolve(operation.key() + ".hgrm");
+            if (histogram.getTotalCount() == 0) {
+                // Not in this run's mix: drop a previous run's file so the directory is one run
+                Files.deleteIfExists(file);
+                continue;
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,122 @@
+package com.dailygames.hub.loadtest;
+
+import com.dailygames.hub.DailyGamesHubApplication;
+import com.dailygames.hub.util.DateUtils;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Boots the app on the {@code loadtest} profile, seeds virtual users and replays a workload mix
+ * against it over HTTP at a fixed arrival rate. Run with
+ * {@code ./mvnw -Ploadtest -DskipTests verify -Dloadtest.args="--rate=300 --mix=morning"};
+ * see {@link LoadTestOptions} for the options.
+ */
+public final class LoadTest {
+
+    private static final long DRAIN_SECONDS = 30;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        int status;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DailyGamesHubApplication.class)
+                .profiles("loadtest")
+                .run(options.springArgs())) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port");
+            LoadTestFixture fixture = LoadTestFixture.seed(context, options.users());
+            status = run(options, baseUrl, fixture);
+        }
+        System.exit(status);
+    }
+
+    private static int run(LoadTestOptions options, String baseUrl, LoadTestFixture fixture) throws Exception {
+        System.out.printf("%nLoad test: %.0f req/s for %ds after %ds warmup, %d users, mix %s %s%n",
+            options.rate(), options.duration().toSeconds(), options.warmup().toSeconds(), fixture.size(),
+            options.mixName(), options.mix());
+
+        Operation[] draws = draws(options.mix());
+        LatencyReport report = new LatencyReport();
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+        LocalDate today = DateUtils.todayAmsterdam();
+
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        double intervalNanos = 1e9 / options.rate();
+
+        for (long i = 0; ; i++) {
+            long due = start + (long) (i * intervalNanos);
+            if (due >= end) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = draws[ThreadLocalRandom.current().nextInt(draws.length)];
+            boolean measured = due >= measureFrom;
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    report.recordDropped(operation);
+                }
+                continue;
+            }
+            client.sendAsync(operation.request(baseUrl, fixture.randomUser(), today), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long done = System.nanoTime();
+                    inFlight.release();
+                    if (measured) {
+                        report.record(operation, due, done,
+                            error == null ? Integer.toString(response.statusCode()) : error.getClass().getSimpleName());
+                    }
+                });
+        }
+
+        boolean drained = inFlight.tryAcquire(options.maxInFlight(), DRAIN_SECONDS, TimeUnit.SECONDS);
+        report.print(System.out, options.duration().toSeconds());
+        Files.createDirectories(options.out());
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(options.out().resolve("summary.txt")))) {
+            report.print(summary, options.duration().toSeconds());
+        }
+        report.write(options.out());
+        System.out.printf("%nHistograms written to %s%n", options.out().toAbsolutePath());
+        if (report.totalDropped() > 0) {
+            System.out.printf("%d arrivals were dropped at %d requests in flight; the server did not keep up with"
+                + " the offered rate, so the latencies understate it%n", report.totalDropped(), options.maxInFlight());
+        }
+        if (!drained) {
+            System.out.printf("%d requests were still outstanding after %ds and are not counted%n",
+                options.maxInFlight() - inFlight.availablePermits(), DRAIN_SECONDS);
+            return 1;
+        }
+        return 0;
+    }
+
+    private static Operation[] draws(Map<Operation, Integer> mix) {
+        List<Operation> draws = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                draws.add(operation);
+            }
+        });
+        return draws.toArray(Operation[]::new);
+    }
+}
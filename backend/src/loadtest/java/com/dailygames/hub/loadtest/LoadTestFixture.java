@@ -0,0 +1,105 @@
+package com.dailygames.hub.loadtest;
+
+import com.dailygames.hub.config.JwtUtil;
+import com.dailygames.hub.model.FriendGroup;
+import com.dailygames.hub.model.Message;
+import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.FriendGroupRepository;
+import com.dailygames.hub.repository.MessageRepository;
+import com.dailygames.hub.repository.UserRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Virtual users with tokens, seeded into whatever database the app was started against. Users
+ * are put in groups and given a few conversations so polling endpoints have data to return.
+ * Names carry a run prefix, so repeated runs against a persistent database do not collide.
+ */
+final class LoadTestFixture {
+
+    static final String PASSWORD = "load-test-password";
+    private static final int GROUP_SIZE = 8;
+    private static final int CONVERSATIONS_PER_USER = 3;
+
+    record VirtualUser(long id, String username, String token, long groupId, AtomicInteger submissions) {
+        int nextSubmission() {
+            return submissions.getAndIncrement();
+        }
+    }
+
+    private final List<VirtualUser> users;
+
+    private LoadTestFixture(List<VirtualUser> users) {
+        this.users = users;
+    }
+
+    static LoadTestFixture seed(ApplicationContext context, int count) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        FriendGroupRepository friendGroupRepository = context.getBean(FriendGroupRepository.class);
+        MessageRepository messageRepository = context.getBean(MessageRepository.class);
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+        // One hash for everyone: seeding should not take longer than the run
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        String prefix = "lt" + Long.toString(System.currentTimeMillis() % 1_000_000, 36) + "_";
+
+        List<User> saved = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUsername(prefix + i);
+            user.setEmail(prefix + i + "@loadtest.local");
+            user.setPassword(passwordHash);
+            saved.add(user);
+        }
+        saved = userRepository.saveAll(saved);
+
+        List<FriendGroup> groups = new ArrayList<>();
+        for (int start = 0; start < count; start += GROUP_SIZE) {
+            FriendGroup group = new FriendGroup();
+            group.setName("Load group " + start / GROUP_SIZE);
+            group.setInviteCode((prefix + start / GROUP_SIZE).toUpperCase(Locale.ROOT));
+            group.setOwner(saved.get(start));
+            group.getMembers().addAll(saved.subList(start, Math.min(start + GROUP_SIZE, count)));
+            groups.add(group);
+        }
+        groups = friendGroupRepository.saveAll(groups);
+
+        List<Message> messages = new ArrayList<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (User sender : saved) {
+            for (int i = 0; i < CONVERSATIONS_PER_USER && count > 1; i++) {
+                User receiver = saved.get(random.nextInt(count));
+                if (receiver != sender) {
+                    Message message = new Message();
+                    message.setSender(sender);
+                    message.setReceiver(receiver);
+                    message.setContent("Did you get today's puzzle?");
+                    messages.add(message);
+                }
+            }
+        }
+        messageRepository.saveAll(messages);
+
+        List<VirtualUser> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = saved.get(i);
+            users.add(new VirtualUser(user.getId(), user.getUsername(),
+                jwtUtil.generateToken(user.getId(), user.getUsername(), false),
+                groups.get(i / GROUP_SIZE).getId(), new AtomicInteger()));
+        }
+        return new LoadTestFixture(users);
+    }
+
+    VirtualUser randomUser() {
+        return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+
+    int size() {
+        return users.size();
+    }
+}
@@ -0,0 +1,80 @@
+package com.dailygames.hub.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line options. Options the harness does not know are passed on to Spring, so the app
+ * can be pointed at another database or given different limits for a run.
+ *
+ * <pre>
+ * --rate=200            arrivals per second, independent of response times (open model)
+ * --duration=60         measured seconds
+ * --warmup=15           seconds at the same rate before measuring
+ * --users=1000          virtual users to seed
+ * --mix=morning         a preset (morning, polling, login-storm, mixed) or weights: submit:5,today:3
+ * --max-in-flight=5000  requests outstanding before new arrivals are dropped; drops are reported
+ *                       per operation in their own column, apart from errors
+ * --out=target/loadtest directory for the .hgrm histograms
+ * </pre>
+ */
+record LoadTestOptions(double rate, Duration duration, Duration warmup, int users, String mixName,
+                       Map<Operation, Integer> mix, int maxInFlight, Path out, String[] springArgs) {
+
+    private static final Map<String, String> PRESETS = Map.of(
+        "morning", "submit:6,today:2,feed:1,unread:1",
+        "polling", "today:4,group-scores:3,unread:4,conversations:1,groups:1,feed:2",
+        "login-storm", "login:1",
+        "mixed", "submit:2,today:3,group-scores:2,groups:1,feed:2,unread:3,conversations:1");
+
+    static LoadTestOptions parse(String[] args) {
+        double rate = 200;
+        long duration = 60;
+        long warmup = 15;
+        int users = 1000;
+        String mix = "mixed";
+        int maxInFlight = 5000;
+        Path out = Path.of("target", "loadtest");
+        List<String> springArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String name = eq > 0 ? arg.substring(0, eq) : arg;
+            String value = eq > 0 ? arg.substring(eq + 1) : "";
+            switch (name) {
+                case "--rate" -> rate = Double.parseDouble(value);
+                case "--duration" -> duration = Long.parseLong(value);
+                case "--warmup" -> warmup = Long.parseLong(value);
+                case "--users" -> users = Integer.parseInt(value);
+                case "--mix" -> mix = value;
+                case "--max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "--out" -> out = Path.of(value);
+                default -> springArgs.add(arg);
+            }
+        }
+        if (rate <= 0 || duration <= 0 || warmup < 0 || users <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("rate, duration, users and max-in-flight must be positive");
+        }
+        return new LoadTestOptions(rate, Duration.ofSeconds(duration), Duration.ofSeconds(warmup), users, mix,
+            parseMix(PRESETS.getOrDefault(mix, mix)), maxInFlight, out, springArgs.toArray(String[]::new));
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            int weight = pair.length > 1 ? Integer.parseInt(pair[1]) : 1;
+            if (weight > 0) {
+                weights.merge(Operation.byKey(pair[0]), weight, Integer::sum);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Empty workload mix: " + spec);
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,89 @@
+package com.dailygames.hub.loadtest;
+
+import com.dailygames.hub.model.GameType;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * The endpoints a workload mix draws from, keyed by the name used in {@code --mix}.
+ */
+enum Operation {
+    SUBMIT("submit", "POST /api/scores"),
+    TODAY("today", "GET /api/scores/today"),
+    GROUP_SCORES("group-scores", "GET /api/scores/group/{id}"),
+    GROUPS("groups", "GET /api/groups"),
+    FEED("feed", "GET /api/feed"),
+    UNREAD("unread", "GET /api/messages/unread/count"),
+    CONVERSATIONS("conversations", "GET /api/messages/conversations"),
+    LOGIN("login", "POST /api/auth/login");
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final GameType[] GAMES = GameType.values();
+
+    private final String key;
+    private final String label;
+
+    Operation(String key, String label) {
+        this.key = key;
+        this.label = label;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String label() {
+        return label;
+    }
+
+    static Operation byKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+
+    HttpRequest request(String baseUrl, LoadTestFixture.VirtualUser user, LocalDate today) {
+        HttpRequest.Builder builder = switch (this) {
+            case SUBMIT -> json(submission(user, today)).uri(URI.create(baseUrl + "/api/scores"));
+            case TODAY -> get(baseUrl + "/api/scores/today");
+            case GROUP_SCORES -> get(baseUrl + "/api/scores/group/" + user.groupId());
+            case GROUPS -> get(baseUrl + "/api/groups");
+            case FEED -> get(baseUrl + "/api/feed");
+            case UNREAD -> get(baseUrl + "/api/messages/unread/count");
+            case CONVERSATIONS -> get(baseUrl + "/api/messages/conversations");
+            case LOGIN -> json("{\"username\":\"" + user.username() + "\",\"password\":\""
+                + LoadTestFixture.PASSWORD + "\"}").uri(URI.create(baseUrl + "/api/auth/login"));
+        };
+        if (this != LOGIN) {
+            builder.header("Authorization", "Bearer " + user.token());
+        }
+        return builder.timeout(TIMEOUT).build();
+    }
+
+    // Each user walks through games and then earlier days, so no submission is a duplicate
+    private static String submission(LoadTestFixture.VirtualUser user, LocalDate today) {
+        int n = user.nextSubmission();
+        GameType game = GAMES[n % GAMES.length];
+        LocalDate date = today.minusDays(n / GAMES.length);
+        int attempts = 1 + (n * 7 + (int) user.id()) % 6;
+        return "{\"gameType\":\"" + game + "\",\"gameDate\":\"" + date + "\",\"rawResult\":\""
+            + game.getDisplayName() + " " + attempts + "/6\",\"attempts\":" + attempts
+            + ",\"solved\":true,\"score\":" + (game == GameType.HORSE ? 60 : "null") + "}";
+    }
+
+    private static HttpRequest.Builder get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET();
+    }
+
+    private static HttpRequest.Builder json(String body) {
+        return HttpRequest.newBuilder()
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+}
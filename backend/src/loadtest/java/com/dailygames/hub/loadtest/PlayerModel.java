@@ -0,0 +1,213 @@
+package com.dailygames.hub.loadtest;
+
+import com.dailygames.hub.model.GameType;
+import com.dailygames.hub.service.RatingService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Simulates one player's history over a window of days. Everything is drawn from a random
+ * seeded by the dataset seed and the player's index, so a player can be regenerated on its own:
+ * once to write the user row with its final streaks and rating, once more for its scores.
+ *
+ * <p>Players fall into daily, regular and casual tiers, a third of them churn, and a played day
+ * makes the next one more likely, which gives the long-tailed streaks real data shows.
+ */
+final class PlayerModel {
+
+    static final GameType[] GAMES = GameType.values();
+    private static final int BASE_RATING = 1000;
+
+    // Relative popularity, in GameType order
+    private static final int[] POPULARITY = {40, 25, 6, 4, 3, 5, 4, 5, 4, 4};
+    private static final int[] POPULARITY_CUMULATIVE = cumulative(POPULARITY);
+
+    record Play(GameType game, int day, int attempts, boolean solved, Integer score, int timeSeconds,
+                int secondOfDay, int ratingChange) {
+    }
+
+    /**
+     * A player's history and the state it leaves behind, per game in {@link GameType} order.
+     */
+    static final class History {
+        final int registeredDay;
+        final int secondOfDay;
+        final boolean displayName;
+        final List<Play> plays = new ArrayList<>();
+        final int[] rating = new int[GAMES.length];
+        final int[] played = new int[GAMES.length];
+        final int[] won = new int[GAMES.length];
+        final int[] currentStreak = new int[GAMES.length];
+        final int[] longestStreak = new int[GAMES.length];
+        final int[] lastDay = new int[GAMES.length];
+        int globalStreak;
+        int longestGlobalStreak;
+        int lastActiveDay = -1;
+
+        History(int registeredDay, int secondOfDay, boolean displayName) {
+            this.registeredDay = registeredDay;
+            this.secondOfDay = secondOfDay;
+            this.displayName = displayName;
+            Arrays.fill(rating, BASE_RATING);
+            Arrays.fill(lastDay, -1);
+        }
+
+        int averageRating() {
+            int total = 0;
+            for (int r : rating) {
+                total += r;
+            }
+            return total / GAMES.length;
+        }
+    }
+
+    private PlayerModel() {
+    }
+
+    static SplittableRandom random(long seed, long index) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+    }
+
+    static History simulate(long seed, int index, int days) {
+        SplittableRandom random = random(seed, index);
+        // A third predate the window; the rest register at a growing rate towards the end
+        int registered = random.nextInt(3) == 0 ? 0 : (int) (days * Math.sqrt(random.nextDouble()));
+        History history = new History(Math.min(registered, days - 1), random.nextInt(6 * 3600, 23 * 3600),
+            random.nextInt(10) < 3);
+
+        double tier = random.nextDouble();
+        double activity = tier < 0.15 ? 0.75 + 0.2 * random.nextDouble()
+            : tier < 0.45 ? 0.25 + 0.3 * random.nextDouble()
+            : 0.02 + 0.12 * random.nextDouble();
+        int lastDay = random.nextInt(3) == 0 ? history.registeredDay + random.nextInt(days - history.registeredDay) : days - 1;
+        GameType[] games = favouriteGames(random);
+
+        boolean playedYesterday = false;
+        for (int day = history.registeredDay; day <= lastDay; day++) {
+            double p = playedYesterday ? Math.min(0.97, activity + 0.15) : activity;
+            playedYesterday = random.nextDouble() < p;
+            if (!playedYesterday) {
+                continue;
+            }
+            for (int g = 0; g < games.length; g++) {
+                if (g == 0 || random.nextInt(100) < 80) {
+                    play(history, random, games[g], day);
+                }
+            }
+            advanceGlobal(history, day);
+        }
+        return history;
+    }
+
+    private static void play(History history, SplittableRandom random, GameType game, int day) {
+        int attempts;
+        boolean solved;
+        Integer score = null;
+        switch (game) {
+            case WORDLE, COUNTRYLE, BANDLE -> {
+                solved = random.nextInt(100) < 96;
+                attempts = solved ? weighted(random, 1, 6, 24, 33, 25, 11) + 1 : 6;
+            }
+            case CONNECTIONS -> {
+                int mistakes = weighted(random, 45, 25, 15, 8, 7);
+                solved = mistakes < 4;
+                attempts = 4 + mistakes;
+            }
+            case TRAVLE -> {
+                solved = random.nextInt(100) < 90;
+                attempts = geometric(random, 0.45, 10);
+            }
+            case HORSE -> {
+                solved = true;
+                attempts = 1;
+                score = (int) Math.max(0, Math.min(100, Math.round(65 + 18 * random.nextGaussian())));
+            }
+            case CONTEXTO, SEMANTLE -> {
+                solved = random.nextInt(100) < 93;
+                attempts = (int) Math.max(1, Math.min(500, Math.exp(3.2 + 0.8 * random.nextGaussian())));
+            }
+            case MINUTE_CRYPTIC -> {
+                solved = random.nextInt(100) < 95;
+                attempts = 1 + geometric(random, 0.5, 11);
+            }
+            default -> {
+                solved = random.nextInt(100) < 85;
+                attempts = 1 + geometric(random, 0.3, 9);
+            }
+        }
+
+        int g = game.ordinal();
+        int change = RatingService.ratingChange(game, solved, attempts, score);
+        history.rating[g] = Math.max(0, history.rating[g] + change);
+        history.played[g]++;
+        if (solved || score != null) {
+            history.won[g]++;
+        }
+        int current = history.lastDay[g] == day - 1 ? history.currentStreak[g] + 1 : 1;
+        history.currentStreak[g] = current;
+        history.longestStreak[g] = Math.max(history.longestStreak[g], current);
+        history.lastDay[g] = day;
+
+        history.plays.add(new Play(game, day, attempts, solved, score, 20 + random.nextInt(900),
+            history.secondOfDay + random.nextInt(3600) - 1800, change));
+    }
+
+    private static void advanceGlobal(History history, int day) {
+        history.globalStreak = history.lastActiveDay == day - 1 ? history.globalStreak + 1 : 1;
+        history.longestGlobalStreak = Math.max(history.longestGlobalStreak, history.globalStreak);
+        history.lastActiveDay = day;
+    }
+
+    // One to six games, weighted towards the popular ones
+    private static GameType[] favouriteGames(SplittableRandom random) {
+        int count = weighted(random, 30, 25, 20, 12, 8, 5) + 1;
+        boolean[] chosen = new boolean[GAMES.length];
+        GameType[] games = new GameType[count];
+        for (int i = 0; i < count; ) {
+            int pick = Arrays.binarySearch(POPULARITY_CUMULATIVE,
+                random.nextInt(POPULARITY_CUMULATIVE[POPULARITY_CUMULATIVE.length - 1]) + 1);
+            pick = pick >= 0 ? pick : -pick - 1;
+            if (!chosen[pick]) {
+                chosen[pick] = true;
+                games[i++] = GAMES[pick];
+            }
+        }
+        return games;
+    }
+
+    static int weighted(SplittableRandom random, int... weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int draw = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            draw -= weights[i];
+            if (draw < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    static int geometric(SplittableRandom random, double p, int max) {
+        int n = 0;
+        while (n < max && random.nextDouble() >= p) {
+            n++;
+        }
+        return n;
+    }
+
+    private static int[] cumulative(int[] weights) {
+        int[] cumulative = new int[weights.length];
+        int total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        return cumulative;
+    }
+}
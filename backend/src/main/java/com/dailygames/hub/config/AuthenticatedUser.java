@@ -0,0 +1,15 @@
+package com.dailygames.hub.config;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal built from verified JWT claims, so an authenticated request knows the caller's id
+ * without a users lookup. Use {@link CurrentUserResolver} when the entity itself is needed.
+ */
+public record AuthenticatedUser(Long id, String username, boolean admin) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,65 @@
+package com.dailygames.hub.config;
+
+import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.LoginView;
+import com.dailygames.hub.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.Optional;
+
+/**
+ * Loads the authenticated user's entity at most once per request, and only when asked.
+ * Tokens carrying a user id resolve by primary key; legacy tokens fall back to the username.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentUserResolver {
+
+    private final UserRepository userRepository;
+
+    private User user;
+
+    public User get() {
+        if (user == null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null) {
+                throw new IllegalStateException("No authenticated user");
+            }
+            if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+                user = userRepository.findById(principal.id())
+                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
+            } else {
+                user = userRepository.findByUsername(authentication.getName())
+                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
+            }
+        }
+        return user;
+    }
+
+    /**
+     * Loads the user again, for a retry after the transaction that used the cached entity failed.
+     */
+    public User reload() {
+        user = null;
+        return get();
+    }
+
+    /**
+     * The auth-response fields for the current user, without loading the entity.
+     */
+    public LoginView loginView() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new IllegalStateException("No authenticated user");
+        }
+        Optional<LoginView> view = authentication.getPrincipal() instanceof AuthenticatedUser principal
+            ? userRepository.findLoginViewById(principal.id())
+            : userRepository.findLoginViewByUsername(authentication.getName());
+        return view.orElseThrow(() -> new IllegalArgumentException("User not found"));
+    }
+}
@@ -0,0 +1,20 @@
+package com.dailygames.hub.config;
+
+import com.dailygames.hub.service.DailyStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class DailyStatsInitializer implements ApplicationRunner {
+
+    private final DailyStatsService dailyStatsService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Historical charts read only the rollup, so build it before the first request
+        dailyStatsService.backfillIfEmpty();
+    }
+}
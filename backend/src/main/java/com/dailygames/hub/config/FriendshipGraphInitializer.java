@@ -0,0 +1,20 @@
+package com.dailygames.hub.config;
+
+import com.dailygames.hub.service.FriendshipGraph;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class FriendshipGraphInitializer implements ApplicationRunner {
+
+    private final FriendshipGraph friendshipGraph;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Load all friendships into memory; lookups fall back to the database until this completes
+        friendshipGraph.warm();
+    }
+}
@@ -0,0 +1,27 @@
+package com.dailygames.hub.config;
+
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.provider.jdbctemplate.JdbcTemplateLockProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Cluster-wide locks for batch jobs, kept as rows in the shedlock table. Expiry is computed
+ * from the database clock so instances with skewed clocks still agree. Lock rows are written in
+ * their own transaction through the JPA transaction manager; a plain JDBC one would commit a
+ * caller's open JPA transaction along with the lock.
+ */
+@Configuration
+public class JobLockConfig {
+
+    @Bean
+    public LockProvider lockProvider(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        return new JdbcTemplateLockProvider(JdbcTemplateLockProvider.Configuration.builder()
+            .withJdbcTemplate(jdbcTemplate)
+            .withTransactionManager(transactionManager)
+            .usingDbTime()
+            .build());
+    }
+}
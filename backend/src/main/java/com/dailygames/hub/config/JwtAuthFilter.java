@@ -1,11 +1,15 @@
 package com.dailygames.hub.config;
 
+import com.dailygames.hub.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -14,6 +18,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -21,6 +26,8 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final UserStatusCache userStatusCache;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -35,17 +42,14 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(7);
-            final String username = jwtUtil.extractUsername(jwt);
+            final Claims claims = jwtUtil.parseClaims(jwt);
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                if (jwtUtil.validateToken(jwt, userDetails.getUsername())) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                    );
+            if (claims.getSubject() != null && !isRevoked(claims)
+                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UsernamePasswordAuthenticationToken authToken = claims.get(JwtUtil.USER_ID_CLAIM) != null
+                    ? fromClaims(claims)
+                    : fromUserDetails(claims.getSubject());
+                if (authToken != null) {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
@@ -56,4 +60,31 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private boolean isRevoked(Claims claims) {
+        return claims.getId() != null && tokenRevocationService.isRevoked(claims.getId());
+    }
+
+    private UsernamePasswordAuthenticationToken fromClaims(Claims claims) {
+        Long userId = claims.get(JwtUtil.USER_ID_CLAIM, Long.class);
+        UserStatusCache.Status status = userStatusCache.get(userId);
+        if (!status.exists() || !status.username().equals(claims.getSubject())) {
+            return null;
+        }
+
+        // A role in the token only counts while the account still holds it
+        List<?> roles = claims.get(JwtUtil.ROLES_CLAIM, List.class);
+        boolean admin = status.admin() && roles != null && roles.contains("ADMIN");
+        List<GrantedAuthority> authorities = admin
+            ? List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))
+            : List.of();
+        return new UsernamePasswordAuthenticationToken(
+            new AuthenticatedUser(userId, claims.getSubject(), admin), null, authorities);
+    }
+
+    // Tokens issued before user ids were embedded
+    private UsernamePasswordAuthenticationToken fromUserDetails(String username) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
 }
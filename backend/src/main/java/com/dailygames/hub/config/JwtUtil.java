@@ -1,37 +1,77 @@
 package com.dailygames.hub.config;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies access tokens. The signing key and parser are built once; verified
+ * claims are kept in a bounded cache keyed by the token's SHA-256 digest until the token
+ * expires, so repeat requests with the same token skip signature checks and JSON parsing.
+ */
 @Component
 public class JwtUtil {
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    private final Map<ByteBuffer, VerifiedClaims> verified = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private record VerifiedClaims(Claims claims, long expiresAt) {
+    }
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
-    public String generateToken(String username, boolean isAdmin) {
+    public String generateToken(Long userId, String username, boolean isAdmin) {
         return Jwts.builder()
+            .id(UUID.randomUUID().toString())
             .subject(username)
+            .claim(USER_ID_CLAIM, userId)
+            .claim(ROLES_CLAIM, isAdmin ? List.of("ADMIN") : List.of())
             .claim("isAdmin", isAdmin)
             .issuedAt(new Date())
             .expiration(new Date(System.currentTimeMillis() + expiration))
-            .signWith(getSigningKey())
+            .signWith(signingKey)
             .compact();
     }
 
@@ -48,16 +88,32 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(parseClaims(token));
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-            .verifyWith(getSigningKey())
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
+    /**
+     * Verifies the signature and expiry and returns the claims; throws JwtException otherwise.
+     */
+    public Claims parseClaims(String token) {
+        ByteBuffer key = digest(token);
+        long now = System.currentTimeMillis();
+        VerifiedClaims cached = verified.get(key);
+        if (cached != null) {
+            if (cached.expiresAt() > now) {
+                return cached.claims();
+            }
+            verified.remove(key);
+        }
+
+        // Throws for a bad signature and for an expired token
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() != null && verifiedCacheSize > 0) {
+            if (verified.size() >= verifiedCacheSize) {
+                evict(now);
+            }
+            verified.put(key, new VerifiedClaims(claims, claims.getExpiration().getTime()));
+        }
+        return claims;
     }
 
     public boolean isTokenExpired(String token) {
@@ -65,7 +121,19 @@ public class JwtUtil {
     }
 
     public boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        // parseClaims rejects expired tokens, so one parse covers both checks
+        return username.equals(extractUsername(token));
+    }
+
+    private void evict(long now) {
+        verified.values().removeIf(v -> v.expiresAt() <= now);
+        if (verified.size() >= verifiedCacheSize) {
+            // Still full of live tokens: start over rather than track recency
+            verified.clear();
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
     }
 }
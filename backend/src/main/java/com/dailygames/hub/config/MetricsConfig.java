@@ -0,0 +1,94 @@
+package com.dailygames.hub.config;
+
+import com.dailygames.hub.service.ActivityFeedService;
+import com.dailygames.hub.service.EmailOutboxService;
+import com.dailygames.hub.service.RateLimitPolicy;
+import com.dailygames.hub.service.RateLimitService;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Enables {@code @Timed} on service methods and publishes the counters the app already keeps
+ * in memory. Binders read those counters at scrape time, so the hot paths are unchanged.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordEncoder passwordEncoder) {
+        return registry -> {
+            if (!(passwordEncoder instanceof BoundedPasswordEncoder encoder)) {
+                return;
+            }
+            FunctionCounter.builder("password.hashing.completed", encoder, e -> e.stats().completed())
+                .description("Password hashes and checks completed")
+                .register(registry);
+            FunctionCounter.builder("password.hashing.rejected", encoder, e -> e.stats().rejected())
+                .description("Password hashes and checks rejected because the pool was saturated")
+                .register(registry);
+            Gauge.builder("password.hashing.queue.wait.avg", encoder, e -> e.stats().averageQueueMillis())
+                .baseUnit("milliseconds")
+                .register(registry);
+            Gauge.builder("password.hashing.queue.wait.max", encoder, e -> e.stats().maxQueueMillis())
+                .baseUnit("milliseconds")
+                .register(registry);
+            Gauge.builder("password.hashing.queued", encoder, e -> e.stats().queued()).register(registry);
+            Gauge.builder("password.hashing.active", encoder, e -> e.stats().active()).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetrics(RateLimitService rateLimitService) {
+        return registry -> {
+            for (RateLimitPolicy policy : RateLimitPolicy.values()) {
+                FunctionCounter.builder("rate.limit.rejected", rateLimitService, s -> s.rejectionCount(policy))
+                    .tag("policy", policy.name())
+                    .description("Requests rejected by the rate limiter")
+                    .register(registry);
+            }
+            Gauge.builder("rate.limit.tracked.keys", rateLimitService, RateLimitService::trackedKeys)
+                .register(registry);
+            FunctionCounter.builder("rate.limit.untracked", rateLimitService, RateLimitService::untrackedRequests)
+                .description("Requests admitted without a bucket because the key table was full")
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder activityFeedMetrics(ActivityFeedService activityFeedService) {
+        return registry -> {
+            Gauge.builder("feed.writes.pending", activityFeedService, ActivityFeedService::pendingWriteCount)
+                .description("Feed entries waiting to be written behind")
+                .register(registry);
+            FunctionCounter.builder("feed.writes.dropped", activityFeedService, ActivityFeedService::droppedWriteCount)
+                .description("Feed entries not persisted because the write-behind queue was full")
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder emailOutboxMetrics(EmailOutboxService emailOutboxService) {
+        return registry -> {
+            FunctionCounter.builder("mail.outbox.sent", emailOutboxService, EmailOutboxService::sentCount)
+                .description("Emails delivered from the outbox")
+                .register(registry);
+            FunctionCounter.builder("mail.outbox.failed", emailOutboxService, EmailOutboxService::failedCount)
+                .description("Failed send attempts that were scheduled for a retry")
+                .register(registry);
+            FunctionCounter.builder("mail.outbox.dead", emailOutboxService, EmailOutboxService::deadCount)
+                .description("Emails given up on after the maximum number of attempts")
+                .register(registry);
+        };
+    }
+}
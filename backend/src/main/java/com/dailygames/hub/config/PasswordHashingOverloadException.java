@@ -0,0 +1,11 @@
+package com.dailygames.hub.config;
+
+/**
+ * Thrown when the password-hashing executor cannot take more work; mapped to 503 with Retry-After.
+ */
+public class PasswordHashingOverloadException extends RuntimeException {
+
+    public PasswordHashingOverloadException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,103 @@
+package com.dailygames.hub.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-thread SQL statement accounting. A scope opened with {@link #start()} counts every
+ * statement, row and nanosecond the current thread spends in JDBC until it is closed; scopes
+ * nest, so a test can measure a request while the request filter measures it too.
+ */
+public final class QueryAccounting {
+
+    // Bounds the histogram for batch jobs that issue many distinct statements
+    private static final int MAX_DISTINCT_STATEMENTS = 256;
+    private static final int MAX_SQL_LENGTH = 160;
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    private QueryAccounting() {
+    }
+
+    public static Stats start() {
+        Stats stats = new Stats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static boolean active() {
+        return CURRENT.get() != null;
+    }
+
+    static void recordStatement(String sql, long rows, long nanos) {
+        for (Stats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.statements++;
+            stats.rows += rows;
+            stats.nanos += nanos;
+            if (stats.histogram.size() < MAX_DISTINCT_STATEMENTS || stats.histogram.containsKey(sql)) {
+                stats.histogram.merge(sql, 1, Integer::sum);
+            }
+        }
+    }
+
+    static void recordRow() {
+        for (Stats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.rows++;
+        }
+    }
+
+    public static final class Stats implements AutoCloseable {
+        private final Stats parent;
+        private final Map<String, Integer> histogram = new HashMap<>();
+        private int statements;
+        private long rows;
+        private long nanos;
+
+        private Stats(Stats parent) {
+            this.parent = parent;
+        }
+
+        public int statements() {
+            return statements;
+        }
+
+        public long rows() {
+            return rows;
+        }
+
+        public long millis() {
+            return nanos / 1_000_000;
+        }
+
+        public int executions(String sql) {
+            return histogram.getOrDefault(sql, 0);
+        }
+
+        /**
+         * The most frequent statements with their counts, most frequent first. A statement that
+         * repeats once per row of an earlier query is the usual sign of an N+1 lazy load.
+         */
+        public String histogram(int limit) {
+            return histogram.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(limit)
+                .map(e -> e.getValue() + "x " + abbreviate(e.getKey()))
+                .collect(Collectors.joining("\n  ", "\n  ", ""));
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+
+        private static String abbreviate(String sql) {
+            String flat = sql.replaceAll("\\s+", " ").trim();
+            return flat.length() <= MAX_SQL_LENGTH ? flat : flat.substring(0, MAX_SQL_LENGTH) + "...";
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.dailygames.hub.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Wraps the pool in a statement-level proxy feeding {@link QueryAccounting}. The listeners only
+ * do work on threads with an open accounting scope, so background jobs pay for the proxy alone.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryAccountingConfig {
+
+    @Bean
+    public static BeanPostProcessor queryAccountingDataSourceProxy() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Routing and lazy wrappers delegate to pools that are wrapped themselves
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)
+                        && !(bean instanceof DelegatingDataSource) && !(bean instanceof AbstractRoutingDataSource)) {
+                    StatementListener listener = new StatementListener();
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(listener)
+                        .methodListener(listener)
+                        .proxyResultSet()
+                        .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    static final class StatementListener implements QueryExecutionListener, MethodExecutionListener {
+        private static final String STARTED_AT = "queryAccounting.startedAt";
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (QueryAccounting.active()) {
+                execInfo.addCustomValue(STARTED_AT, System.nanoTime());
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            Long startedAt = execInfo.getCustomValue(STARTED_AT, Long.class);
+            if (startedAt == null || queryInfoList.isEmpty()) {
+                return;
+            }
+            // Batches are one round trip; the histogram keys them by their first statement
+            QueryAccounting.recordStatement(queryInfoList.get(0).getQuery(), updatedRows(execInfo.getResult()),
+                System.nanoTime() - startedAt);
+        }
+
+        @Override
+        public void beforeMethod(MethodExecutionContext executionContext) {
+        }
+
+        @Override
+        public void afterMethod(MethodExecutionContext executionContext) {
+            if (executionContext.getTarget() instanceof ResultSet
+                    && Boolean.TRUE.equals(executionContext.getResult())
+                    && "next".equals(executionContext.getMethod().getName())) {
+                QueryAccounting.recordRow();
+            }
+        }
+
+        private static long updatedRows(Object result) {
+            if (result instanceof Number count) {
+                return Math.max(count.longValue(), 0);
+            }
+            long rows = 0;
+            if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    rows += Math.max(count, 0);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    rows += Math.max(count, 0);
+                }
+            }
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.dailygames.hub.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Counts the SQL statements each request runs and warns with the statement histogram when a
+ * request goes over budget. Outside production the count is also returned as a response header.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class QueryAccountingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Query-Count";
+
+    @Value("${app.query-accounting.max-statements:25}")
+    private int maxStatements;
+
+    @Value("${app.query-accounting.response-header:true}")
+    private boolean responseHeader;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryAccounting.Stats stats = QueryAccounting.start();
+        try {
+            if (responseHeader) {
+                CountingResponse counting = new CountingResponse(response, stats);
+                filterChain.doFilter(request, counting);
+                counting.writeHeader();
+            } else {
+                filterChain.doFilter(request, response);
+            }
+        } finally {
+            stats.close();
+            if (stats.statements() > maxStatements) {
+                log.warn("{} {} ran {} SQL statements ({} rows, {} ms), over the budget of {}:{}",
+                    request.getMethod(), request.getRequestURI(), stats.statements(), stats.rows(),
+                    stats.millis(), maxStatements, stats.histogram(10));
+            }
+        }
+    }
+
+    /**
+     * Headers can only be set until the body starts, so the count is taken at that point. With
+     * open-in-view, lazy loads triggered while serializing are missed here but not in the log.
+     */
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+        private final QueryAccounting.Stats stats;
+        private boolean written;
+
+        CountingResponse(HttpServletResponse response, QueryAccounting.Stats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void writeHeader() {
+            if (!written && !isCommitted()) {
+                setHeader(HEADER, Integer.toString(stats.statements()));
+            }
+            written = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+    }
+}
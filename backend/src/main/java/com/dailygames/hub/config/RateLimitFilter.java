@@ -0,0 +1,91 @@
+package com.dailygames.hub.config;
+
+import com.dailygames.hub.controller.GlobalExceptionHandler;
+import com.dailygames.hub.service.RateLimitExceededException;
+import com.dailygames.hub.service.RateLimitPolicy;
+import com.dailygames.hub.service.RateLimitService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Applies per-route rate-limit policies. Runs after {@link JwtAuthFilter} so authenticated
+ * routes are limited per user; login is limited per client address here and per username in
+ * the controller, since the username is only known once the body is parsed.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitService rateLimitService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitPolicy policy = policyFor(request.getMethod(), request.getRequestURI().substring(request.getContextPath().length()));
+        if (policy != null) {
+            long retryAfterMillis = rateLimitService.tryAcquire(policy, keyFor(policy, request));
+            if (retryAfterMillis > 0) {
+                reject(response, new RateLimitExceededException(retryAfterMillis));
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    static RateLimitPolicy policyFor(String method, String path) {
+        if ("POST".equals(method)) {
+            return switch (path) {
+                case "/api/auth/login" -> RateLimitPolicy.LOGIN_IP;
+                case "/api/scores" -> RateLimitPolicy.SCORE_SUBMIT;
+                case "/api/messages" -> RateLimitPolicy.MESSAGE;
+                default -> null;
+            };
+        }
+        if ("GET".equals(method)) {
+            return switch (path) {
+                case "/api/users/search", "/api/admin/users/search" -> RateLimitPolicy.SEARCH;
+                case "/api/auth/check-availability" -> RateLimitPolicy.AVAILABILITY_CHECK;
+                default -> null;
+            };
+        }
+        return null;
+    }
+
+    private String keyFor(RateLimitPolicy policy, HttpServletRequest request) {
+        if (policy != RateLimitPolicy.LOGIN_IP && policy != RateLimitPolicy.AVAILABILITY_CHECK) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+                return "u:" + user.id();
+            }
+            if (authentication != null && authentication.isAuthenticated()) {
+                return "n:" + authentication.getName();
+            }
+        }
+        // Behind a proxy this relies on server.forward-headers-strategy resolving the client address
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, RateLimitExceededException ex) throws IOException {
+        String errorCode = "RATE-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new GlobalExceptionHandler.ErrorResponse(
+            "Too Many Requests", "Too many requests, please slow down", errorCode));
+    }
+}
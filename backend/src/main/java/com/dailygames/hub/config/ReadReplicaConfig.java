@@ -0,0 +1,114 @@
+package com.dailygames.hub.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Adds a read replica when {@code app.datasource.replica.url} is set. The primary pool is built
+ * from the usual {@code spring.datasource.*} settings; {@code @Transactional(readOnly = true)}
+ * work goes to the replica pool through {@link ReplicaRoutingDataSource}. Code that must not
+ * see a lagging copy, such as loading in-memory state that later receives incremental updates,
+ * runs in a read-write transaction instead. Hibernate releases its connection after every
+ * transaction, so each one is routed afresh even when an open-in-view session spans several.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica.url:}'.isEmpty()")
+public class ReadReplicaConfig {
+
+    /**
+     * Seconds since the last replayed transaction, or 0 when the replica has replayed all it
+     * received, so an idle primary does not read as lag. 0 on a server that is not in recovery.
+     */
+    static final String POSTGRES_LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+        + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    // Lag probes that may be missed before reads go back to the primary
+    private static final int MISSED_PROBES = 5;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+            .url(url)
+            .username(StringUtils.hasText(username) ? username : null)
+            .password(password)
+            .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${app.datasource.replica.lag-query:}") String lagQuery,
+            @Value("${app.datasource.replica.max-lag-seconds:5}") double maxLagSeconds,
+            @Value("${app.datasource.replica.lag-check-ms:1000}") long lagCheckMillis,
+            @Value("${app.datasource.replica.sticky-ms:5000}") long stickyMillis,
+            @Value("${app.datasource.replica.sticky-users:100000}") int maxStickyUsers) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource,
+            StringUtils.hasText(lagQuery) ? lagQuery : POSTGRES_LAG_QUERY, maxLagSeconds,
+            MISSED_PROBES * lagCheckMillis, stickyMillis, maxStickyUsers);
+    }
+
+    /**
+     * Without it the first transaction of a request would pick the target for the session's
+     * connection, and a write after a read-only lookup would go to the replica.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public MeterBinder replicaMetrics(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return registry -> {
+            Gauge.builder("datasource.replica.lag", replicaRoutingDataSource, ReplicaRoutingDataSource::getLagSeconds)
+                .baseUnit("seconds")
+                .description("Replication lag measured by the last probe, NaN when it failed")
+                .register(registry);
+            Gauge.builder("datasource.replica.usable", replicaRoutingDataSource, r -> r.isReplicaUsable() ? 1 : 0)
+                .description("1 while read-only transactions are sent to the replica")
+                .register(registry);
+            Gauge.builder("datasource.replica.sticky.users", replicaRoutingDataSource, ReplicaRoutingDataSource::stickyUsers)
+                .description("Users reading from the primary after a recent write")
+                .register(registry);
+        };
+    }
+}
@@ -0,0 +1,195 @@
+package com.dailygames.hub.config;
+
+import com.dailygames.hub.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. A read falls
+ * back to the primary while the replica lags more than {@code maxLagSeconds}, while the lag probe
+ * fails or has not succeeded for {@code maxProbeAgeMillis}, when no replica connection can be
+ * had, and for {@code stickyMillis} after the current user commits a write on this instance,
+ * so they always read their own writes. Sessions reading from the replica do not store what they
+ * load in the second-level cache, where a copy behind the primary would outlive the lag. Must sit
+ * behind a lazy connection proxy: Spring marks a transaction read-only only after it has begun.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final long maxProbeAgeMillis;
+    private final long stickyMillis;
+    private final int maxStickyUsers;
+
+    // User id -> time until which their reads stay on the primary
+    private final Map<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    private volatile boolean replicaUsable = false;
+    private volatile double lagSeconds = Double.NaN;
+    // When the last successful probe ran; a probe starved of scheduler threads must not keep the replica in use
+    private volatile long probedAtMillis;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, String lagQuery, double maxLagSeconds,
+                                    long maxProbeAgeMillis, long stickyMillis, int maxStickyUsers) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.maxProbeAgeMillis = maxProbeAgeMillis;
+        this.stickyMillis = stickyMillis;
+        this.maxStickyUsers = maxStickyUsers;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long userId = currentUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                TransactionUtils.afterCommit(() -> recordWrite(userId));
+            }
+            return PRIMARY;
+        }
+        if (!isReplicaUsable() || (userId != null && isSticky(userId))) {
+            return PRIMARY;
+        }
+        keepOutOfSecondLevelCache();
+        return REPLICA;
+    }
+
+    /**
+     * Falls back to the primary when the replica was chosen but refuses a connection, and stops
+     * using the replica until the next probe succeeds.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target != replica) {
+            return target.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            log.warn("No connection from the read replica, reading from the primary: {}", e.getMessage());
+            replicaUsable = false;
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * Measures replication lag on the replica. The replica takes reads only after a probe has
+     * succeeded and seen it within {@code maxLagSeconds}.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-ms:1000}")
+    public void checkLag() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            double lag = rs.next() ? rs.getDouble(1) : 0;
+            boolean usable = lag <= maxLagSeconds;
+            if (usable != replicaUsable) {
+                log.info("Read replica {} (lag {}s)", usable ? "in use" : "lagging, reading from the primary", lag);
+            }
+            lagSeconds = lag;
+            replicaUsable = usable;
+            probedAtMillis = System.currentTimeMillis();
+        } catch (SQLException e) {
+            if (replicaUsable) {
+                log.warn("Read replica unavailable, reading from the primary: {}", e.getMessage());
+            }
+            lagSeconds = Double.NaN;
+            replicaUsable = false;
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable && System.currentTimeMillis() - probedAtMillis <= maxProbeAgeMillis;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    public int stickyUsers() {
+        return stickyUntil.size();
+    }
+
+    void recordWrite(Long userId) {
+        long now = System.currentTimeMillis();
+        if (stickyUntil.size() >= maxStickyUsers) {
+            stickyUntil.values().removeIf(until -> until <= now);
+        }
+        stickyUntil.put(userId, now + stickyMillis);
+    }
+
+    private boolean isSticky(Long userId) {
+        Long until = stickyUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until <= System.currentTimeMillis()) {
+            stickyUntil.remove(userId, until);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Lets the transaction's session read from the second-level cache but not put anything in it,
+     * until the transaction completes.
+     */
+    private static void keepOutOfSecondLevelCache() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                Session session = holder.getEntityManager().unwrap(Session.class);
+                CacheMode previous = session.getCacheMode();
+                if (previous == CacheMode.GET || previous == CacheMode.IGNORE) {
+                    continue;
+                }
+                session.setCacheMode(CacheMode.GET);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        // An open-in-view session outlives the transaction
+                        if (session.isOpen()) {
+                            session.setCacheMode(previous);
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+            ? user.id() : null;
+    }
+}
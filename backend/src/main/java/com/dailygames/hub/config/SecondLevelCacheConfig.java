@@ -0,0 +1,99 @@
+package com.dailygames.hub.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache regions on Caffeine. Every region is created here with an
+ * explicit size and TTL, and Hibernate is set to fail on any region it would otherwise create
+ * with defaults. The cache is local to the instance: Hibernate keeps it consistent with writes
+ * made through this instance, and the TTLs bound how long a row changed by another instance
+ * can be served stale. A stale copy is never written back: every cached entity has a
+ * {@code @Version}, so such an update fails instead. Hit and miss counts per region are
+ * published through Hibernate's statistics as {@code hibernate.second.level.cache.requests}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+public class SecondLevelCacheConfig {
+
+    public static final String USERS = "users";
+    public static final String USERS_BY_USERNAME = "users-by-username";
+    public static final String RATINGS = "ratings";
+    public static final String STREAKS = "streaks";
+    public static final String FRIEND_GROUPS = "friend-groups";
+    public static final String FRIEND_GROUP_MEMBERS = "friend-group-members";
+    public static final String QUERY_RESULTS = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    @Bean
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.users.max-size:100000}") long userSize,
+            @Value("${app.cache.users.ttl-seconds:600}") long userTtl,
+            @Value("${app.cache.ratings.max-size:500000}") long ratingSize,
+            @Value("${app.cache.ratings.ttl-seconds:600}") long ratingTtl,
+            @Value("${app.cache.streaks.max-size:500000}") long streakSize,
+            @Value("${app.cache.streaks.ttl-seconds:600}") long streakTtl,
+            @Value("${app.cache.groups.max-size:20000}") long groupSize,
+            @Value("${app.cache.groups.ttl-seconds:600}") long groupTtl,
+            @Value("${app.cache.queries.max-size:100000}") long querySize,
+            @Value("${app.cache.queries.ttl-seconds:300}") long queryTtl) {
+        // A manager per context, so test contexts on different databases never share entries
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        create(cacheManager, USERS, userSize, userTtl);
+        create(cacheManager, USERS_BY_USERNAME, userSize, userTtl);
+        create(cacheManager, RATINGS, ratingSize, ratingTtl);
+        create(cacheManager, STREAKS, streakSize, streakTtl);
+        create(cacheManager, FRIEND_GROUPS, groupSize, groupTtl);
+        create(cacheManager, FRIEND_GROUP_MEMBERS, groupSize, groupTtl);
+        create(cacheManager, QUERY_RESULTS, querySize, queryTtl);
+        // Invalidation timestamps, one per table; these must outlive every cached query result
+        create(cacheManager, UPDATE_TIMESTAMPS, 0, 0);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String name : hibernateCacheManager.getCacheNames()) {
+                Cache<?, ?> cache = hibernateCacheManager.getCache(name);
+                Gauge.builder("hibernate.second.level.cache.entries", cache,
+                        c -> c.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize())
+                    .tag("region", name)
+                    .description("Estimated entries held in a second-level cache region")
+                    .register(registry);
+            }
+        };
+    }
+
+    private static void create(CacheManager cacheManager, String name, long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate stores immutable disassembled state, so copying on every access buys nothing
+        configuration.setStoreByValue(false);
+        configuration.setMaximumSize(maxSize > 0 ? OptionalLong.of(maxSize) : OptionalLong.empty());
+        configuration.setExpireAfterWrite(ttlSeconds > 0
+            ? OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)) : OptionalLong.empty());
+        cacheManager.createCache(name, configuration);
+    }
+}
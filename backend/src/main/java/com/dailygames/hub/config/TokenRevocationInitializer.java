@@ -0,0 +1,19 @@
+package com.dailygames.hub.config;
+
+import com.dailygames.hub.service.TokenRevocationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationInitializer implements ApplicationRunner {
+
+    private final TokenRevocationService tokenRevocationService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        tokenRevocationService.rebuild();
+    }
+}
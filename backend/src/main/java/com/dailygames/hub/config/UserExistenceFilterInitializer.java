@@ -0,0 +1,20 @@
+package com.dailygames.hub.config;
+
+import com.dailygames.hub.service.UserExistenceFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class UserExistenceFilterInitializer implements ApplicationRunner {
+
+    private final UserExistenceFilter userExistenceFilter;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Existence checks go straight to the database until this completes
+        userExistenceFilter.rebuild();
+    }
+}
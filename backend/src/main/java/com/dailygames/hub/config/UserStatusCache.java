@@ -0,0 +1,54 @@
+package com.dailygames.hub.config;
+
+import com.dailygames.hub.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived per-user account status consulted by the JWT filter, so a deleted or demoted
+ * user loses access within the TTL without a users query on every request. Entries are evicted
+ * immediately when an admin changes a user's role on this instance.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+
+    @Value("${app.auth.status-ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${app.auth.status-cache-size:100000}")
+    private int maxEntries;
+
+    private final Map<Long, Status> statuses = new ConcurrentHashMap<>();
+
+    public record Status(boolean exists, String username, boolean admin, long expiresAt) {
+    }
+
+    public Status get(Long userId) {
+        long now = System.currentTimeMillis();
+        Status cached = statuses.get(userId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached;
+        }
+        long expiresAt = now + ttlSeconds * 1000;
+        Status loaded = userRepository.findAuthStatusById(userId)
+            .map(s -> new Status(true, s.getUsername(), Boolean.TRUE.equals(s.getIsAdmin()), expiresAt))
+            .orElseGet(() -> new Status(false, null, false, expiresAt));
+        if (statuses.size() >= maxEntries) {
+            // Entries are cheap to reload; a full reset keeps the map bounded without LRU bookkeeping
+            statuses.clear();
+        }
+        statuses.put(userId, loaded);
+        return loaded;
+    }
+
+    public void evict(Long userId) {
+        statuses.remove(userId);
+    }
+}
@@ -1,10 +1,16 @@
 package com.dailygames.hub.controller;
 
+import com.dailygames.hub.config.UserStatusCache;
 import com.dailygames.hub.dto.AdminStatsResponse;
+import com.dailygames.hub.dto.RetentionResponse;
 import com.dailygames.hub.model.GameType;
 import com.dailygames.hub.model.User;
-import com.dailygames.hub.repository.ScoreRepository;
 import com.dailygames.hub.repository.UserRepository;
+import com.dailygames.hub.service.AdminStatsService;
+import com.dailygames.hub.service.DailyStatsService;
+import com.dailygames.hub.service.FriendSuggestionService;
+import com.dailygames.hub.service.RateLimitService;
+import com.dailygames.hub.service.RetentionService;
 import com.dailygames.hub.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
@@ -13,9 +19,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import com.dailygames.hub.util.DateUtils;
-
-import java.time.LocalDate;
 import java.util.*;
 
 @RestController
@@ -26,89 +29,28 @@ public class AdminController {
 
     private final UserService userService;
     private final UserRepository userRepository;
-    private final ScoreRepository scoreRepository;
+    private final FriendSuggestionService friendSuggestionService;
+    private final UserStatusCache userStatusCache;
+    private final RateLimitService rateLimitService;
+    private final AdminStatsService adminStatsService;
+    private final DailyStatsService dailyStatsService;
+    private final RetentionService retentionService;
 
     @GetMapping("/stats")
     public ResponseEntity<AdminStatsResponse> getStats() {
-        LocalDate today = DateUtils.todayAmsterdam();
-
-        AdminStatsResponse response = new AdminStatsResponse();
-        response.setTotalUsers(userService.countUsers());
-        response.setActiveToday(userService.countActiveToday(today));
-        response.setTotalPlays(scoreRepository.count());
-        response.setTodayPlays(scoreRepository.countByGameDate(today));
-
-        Map<String, AdminStatsResponse.GameStatEntry> gameStats = new LinkedHashMap<>();
-        long maxPlays = 0;
-        long maxTodayPlays = 0;
-
-        for (GameType gameType : GameType.values()) {
-            AdminStatsResponse.GameStatEntry entry = new AdminStatsResponse.GameStatEntry();
-            entry.setDisplayName(gameType.getDisplayName());
-            entry.setTotalPlays(scoreRepository.countByGameType(gameType));
-            entry.setTodayPlays(scoreRepository.countByGameTypeAndGameDate(gameType, today));
-
-            if (entry.getTotalPlays() > maxPlays) {
-                maxPlays = entry.getTotalPlays();
-            }
-            if (entry.getTodayPlays() > maxTodayPlays) {
-                maxTodayPlays = entry.getTodayPlays();
-            }
-
-            gameStats.put(gameType.name(), entry);
-        }
-
-        response.setGameStats(gameStats);
-        response.setMaxPlays(maxPlays > 0 ? maxPlays : 1);
-        response.setMaxTodayPlays(maxTodayPlays > 0 ? maxTodayPlays : 1);
-
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(adminStatsService.getStats());
     }
 
     @GetMapping("/stats/historical")
     public ResponseEntity<Map<String, Object>> getHistoricalStats(
-            @RequestParam(defaultValue = "30") int days) {
-        LocalDate endDate = DateUtils.todayAmsterdam();
-        LocalDate startDate = endDate.minusDays(days - 1);
-
-        Map<String, Object> response = new HashMap<>();
-
-        // Daily active users for the period
-        List<Map<String, Object>> dailyUsers = new ArrayList<>();
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            Map<String, Object> dayData = new HashMap<>();
-            dayData.put("date", date.toString());
-            dayData.put("activeUsers", scoreRepository.countDistinctUsersByGameDate(date));
-            dailyUsers.add(dayData);
-        }
-        response.put("dailyUsers", dailyUsers);
-
-        // Games played per day
-        List<Map<String, Object>> dailyGames = new ArrayList<>();
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            Map<String, Object> dayData = new HashMap<>();
-            dayData.put("date", date.toString());
-            dayData.put("gamesPlayed", scoreRepository.countByGameDate(date));
-            dailyGames.add(dayData);
-        }
-        response.put("dailyGames", dailyGames);
-
-        // User growth (cumulative users by registration date)
-        List<Map<String, Object>> userGrowth = new ArrayList<>();
-        long cumulativeUsers = userRepository.countByCreatedAtBefore(startDate.atStartOfDay());
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            cumulativeUsers += userRepository.countByCreatedAtBetween(
-                date.atStartOfDay(),
-                date.plusDays(1).atStartOfDay()
-            );
-            Map<String, Object> dayData = new HashMap<>();
-            dayData.put("date", date.toString());
-            dayData.put("totalUsers", cumulativeUsers);
-            userGrowth.add(dayData);
-        }
-        response.put("userGrowth", userGrowth);
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(required = false) GameType gameType) {
+        return ResponseEntity.ok(dailyStatsService.getHistoricalStats(days, gameType));
+    }
 
-        return ResponseEntity.ok(response);
+    @GetMapping("/stats/retention")
+    public ResponseEntity<RetentionResponse> getRetention() {
+        return ResponseEntity.ok(retentionService.getReport());
     }
 
     @GetMapping("/admins")
@@ -138,6 +80,7 @@ public class AdminController {
         }
         user.setIsAdmin(true);
         userRepository.save(user);
+        userStatusCache.evict(userId);
         return ResponseEntity.ok(Map.of("message", "Admin added successfully"));
     }
 
@@ -155,9 +98,28 @@ public class AdminController {
         }
         user.setIsAdmin(false);
         userRepository.save(user);
+        userStatusCache.evict(userId);
         return ResponseEntity.ok(Map.of("message", "Admin removed successfully"));
     }
 
+    @PostMapping("/jobs/friend-suggestions")
+    public ResponseEntity<Map<String, String>> recomputeFriendSuggestions() {
+        if (!friendSuggestionService.triggerRecompute()) {
+            return ResponseEntity.status(409)
+                .body(Map.of("error", "Friend suggestion job is already running"));
+        }
+        return ResponseEntity.accepted().body(Map.of("message", "Friend suggestion job started"));
+    }
+
+    @GetMapping("/rate-limits")
+    public ResponseEntity<Map<String, Object>> getRateLimitStats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("trackedKeys", rateLimitService.trackedKeys());
+        response.put("untrackedRequests", rateLimitService.untrackedRequests());
+        response.put("rejected", rateLimitService.rejectionCounts());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/users/search")
     public ResponseEntity<List<Map<String, Object>>> searchUsers(
             @RequestParam String query) {
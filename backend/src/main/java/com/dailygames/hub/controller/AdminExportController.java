@@ -0,0 +1,107 @@
+package com.dailygames.hub.controller;
+
+import com.dailygames.hub.model.GameType;
+import com.dailygames.hub.service.ExportService;
+import com.dailygames.hub.service.RateLimitExceededException;
+import com.dailygames.hub.util.DateUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/admin/export")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminExportController {
+
+    private final ExportService exportService;
+
+    private static final long BUSY_RETRY_AFTER_MS = 30_000;
+    private static final String SLOT_INTERCEPTOR_KEY = AdminExportController.class.getName() + ".slot";
+
+    // Export slot states: taken for the request, taken by the running export, given back
+    private static final int SLOT_HELD = 0;
+    private static final int SLOT_IN_USE = 1;
+    private static final int SLOT_RELEASED = 2;
+
+    /**
+     * Streams scores, users or ratings as CSV or NDJSON, gzip-compressed on the fly when the
+     * client accepts it. Answers 429 while the maximum number of exports is already running.
+     * The slot is released when the export ends, or when the async request completes without
+     * the export having started (timeout, disconnect, rejected by the executor).
+     */
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) GameType gameType,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
+        ExportService.Query query = new ExportService.Query(ExportService.Dataset.parse(dataset), from, to, gameType);
+        ExportService.Format exportFormat = ExportService.Format.parse(format);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        if (!exportService.tryStartExport()) {
+            throw new RateLimitExceededException(BUSY_RETRY_AFTER_MS);
+        }
+        AtomicInteger slot = new AtomicInteger(SLOT_HELD);
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(SLOT_INTERCEPTOR_KEY,
+            new CallableProcessingInterceptor() {
+                @Override
+                public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                    if (slot.compareAndSet(SLOT_HELD, SLOT_RELEASED)) {
+                        exportService.finishExport();
+                    }
+                }
+            });
+
+        StreamingResponseBody body = out -> {
+            if (!slot.compareAndSet(SLOT_HELD, SLOT_IN_USE)) {
+                // The request completed before the export could start and the slot is gone
+                return;
+            }
+            try {
+                if (gzip) {
+                    GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                    exportService.export(query, exportFormat, compressed);
+                    compressed.finish();
+                } else {
+                    exportService.export(query, exportFormat, out);
+                }
+            } finally {
+                slot.set(SLOT_RELEASED);
+                exportService.finishExport();
+            }
+        };
+
+        String filename = query.dataset().name().toLowerCase(Locale.ROOT) + "-" + DateUtils.todayAmsterdam()
+            + "." + exportFormat.getExtension();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(new MediaType(MediaType.parseMediaType(exportFormat.getContentType()), StandardCharsets.UTF_8))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
@@ -1,20 +1,26 @@
 package com.dailygames.hub.controller;
 
+import com.dailygames.hub.config.CurrentUserResolver;
 import com.dailygames.hub.config.JwtUtil;
 import com.dailygames.hub.dto.*;
 import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.LoginView;
 import com.dailygames.hub.service.PasswordResetService;
+import com.dailygames.hub.service.RateLimitExceededException;
+import com.dailygames.hub.service.RateLimitPolicy;
 import com.dailygames.hub.service.RateLimitService;
-import com.dailygames.hub.service.RatingService;
+import com.dailygames.hub.service.RefreshTokenService;
+import com.dailygames.hub.service.TokenRevocationService;
 import com.dailygames.hub.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -22,70 +28,106 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
     private final UserService userService;
     private final JwtUtil jwtUtil;
     private final PasswordResetService passwordResetService;
-    private final RatingService ratingService;
     private final RateLimitService rateLimitService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final CurrentUserResolver currentUserResolver;
 
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
         User user = userService.registerUser(request);
-        String token = jwtUtil.generateToken(user.getUsername(), Boolean.TRUE.equals(user.getIsAdmin()));
-        int avgRating = calculateAverageRating(user);
-        return ResponseEntity.ok(new AuthResponse(
-            token,
-            user.getUsername(),
-            user.getEmail(),
-            user.getDisplayName(),
-            user.getGlobalDayStreak(),
-            avgRating,
-            user.getIsAdmin()
-        ));
+        return ResponseEntity.ok(issueTokens(user, refreshTokenService.issue(user)));
     }
 
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
+        long retryAfterMillis = rateLimitService.tryAcquire(RateLimitPolicy.LOGIN_USERNAME, request.getUsername().toLowerCase());
+        if (retryAfterMillis > 0) {
+            throw new RateLimitExceededException(retryAfterMillis);
+        }
+        LoginView user = userService.authenticate(request.getUsername(), request.getPassword());
+        String refreshToken = refreshTokenService.issue(user.getId());
+        return ResponseEntity.ok(toResponse(
+            jwtUtil.generateToken(user.getId(), user.getUsername(), Boolean.TRUE.equals(user.getIsAdmin())),
+            refreshToken, user));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshRequest request) {
+        try {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+            return ResponseEntity.ok(issueTokens(rotation.user(), rotation.refreshToken()));
+        } catch (BadCredentialsException e) {
+            return ResponseEntity.status(401).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Map<String, String>> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestBody(required = false) RefreshRequest request) {
+        if (request != null && request.getRefreshToken() != null) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            try {
+                Claims claims = jwtUtil.parseClaims(authorization.substring(7));
+                if (claims.getId() != null) {
+                    tokenRevocationService.revoke(claims.getId(), claims.getExpiration());
+                }
+            } catch (JwtException e) {
+                // Expired or invalid access token: nothing left to revoke
+            }
+        }
+        return ResponseEntity.ok(Map.of("message", "Logged out"));
+    }
+
+    /**
+     * Usernames are public, so their availability can be shown while typing. Whether an email
+     * has an account is not answered here; a duplicate is reported only on registration.
+     */
+    @GetMapping("/check-availability")
+    public ResponseEntity<Map<String, Boolean>> checkAvailability(@RequestParam(required = false) String username) {
+        Map<String, Boolean> response = new LinkedHashMap<>();
+        if (username != null && !username.isBlank()) {
+            response.put("usernameAvailable", !userService.isUsernameTaken(username));
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<AuthResponse> getCurrentUser() {
+        return ResponseEntity.ok(toResponse(null, null, currentUserResolver.loginView()));
+    }
 
-        User user = userService.findByUsername(request.getUsername());
-        String token = jwtUtil.generateToken(user.getUsername(), Boolean.TRUE.equals(user.getIsAdmin()));
-        int avgRating = calculateAverageRating(user);
-        return ResponseEntity.ok(new AuthResponse(
+    private AuthResponse issueTokens(User user, String refreshToken) {
+        String token = jwtUtil.generateToken(user.getId(), user.getUsername(), Boolean.TRUE.equals(user.getIsAdmin()));
+        return new AuthResponse(
             token,
             user.getUsername(),
             user.getEmail(),
             user.getDisplayName(),
             user.getGlobalDayStreak(),
-            avgRating,
-            user.getIsAdmin()
-        ));
+            user.getAverageRating(),
+            user.getIsAdmin(),
+            refreshToken
+        );
     }
 
-    @GetMapping("/me")
-    public ResponseEntity<AuthResponse> getCurrentUser(Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName());
-        int avgRating = calculateAverageRating(user);
-        return ResponseEntity.ok(new AuthResponse(
-            null,
+    private AuthResponse toResponse(String token, String refreshToken, LoginView user) {
+        return new AuthResponse(
+            token,
             user.getUsername(),
             user.getEmail(),
             user.getDisplayName(),
             user.getGlobalDayStreak(),
-            avgRating,
-            user.getIsAdmin()
-        ));
-    }
-
-    private int calculateAverageRating(User user) {
-        var ratings = ratingService.getUserRatings(user);
-        return (int) ratings.stream()
-            .mapToInt(RatingResponse::getRating)
-            .average()
-            .orElse(1000);
+            user.getAverageRating(),
+            user.getIsAdmin(),
+            refreshToken
+        );
     }
 
     @PostMapping("/forgot-password")
@@ -101,14 +143,10 @@ public class AuthController {
 
         try {
             passwordResetService.createPasswordResetToken(request.getEmail());
-            return ResponseEntity.ok(Map.of("message", "Password reset link sent to your email"));
         } catch (IllegalArgumentException e) {
-            // Don't reveal if email exists or not for security
-            return ResponseEntity.ok(Map.of("message", "If this email is registered, you will receive a password reset link"));
-        } catch (RuntimeException e) {
-            // Email sending failed
-            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to send email. Please try again later."));
+            // Unknown email: answer exactly as for a known one, so the reply does not reveal which
         }
+        return ResponseEntity.ok(Map.of("message", "If this email is registered, you will receive a password reset link"));
     }
 
     @PostMapping("/reset-password")
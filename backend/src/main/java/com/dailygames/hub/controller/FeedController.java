@@ -0,0 +1,32 @@
+package com.dailygames.hub.controller;
+
+import com.dailygames.hub.config.CurrentUserResolver;
+import com.dailygames.hub.dto.FeedResponse;
+import com.dailygames.hub.model.User;
+import com.dailygames.hub.service.ActivityFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/feed")
+@RequiredArgsConstructor
+public class FeedController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ActivityFeedService activityFeedService;
+    private final CurrentUserResolver currentUserResolver;
+
+    @GetMapping
+    public ResponseEntity<FeedResponse> getFeed(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        User user = currentUserResolver.get();
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(activityFeedService.getFeed(user, cursor, pageSize));
+    }
+}
@@ -1,14 +1,13 @@
 package com.dailygames.hub.controller;
 
+import com.dailygames.hub.config.CurrentUserResolver;
 import com.dailygames.hub.dto.FriendGroupRequest;
 import com.dailygames.hub.dto.FriendGroupResponse;
 import com.dailygames.hub.model.User;
 import com.dailygames.hub.service.FriendGroupService;
-import com.dailygames.hub.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -19,44 +18,36 @@ import java.util.List;
 public class FriendGroupController {
 
     private final FriendGroupService friendGroupService;
-    private final UserService userService;
+    private final CurrentUserResolver currentUserResolver;
 
     @PostMapping
-    public ResponseEntity<FriendGroupResponse> createGroup(
-            @Valid @RequestBody FriendGroupRequest request,
-            Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName());
+    public ResponseEntity<FriendGroupResponse> createGroup(@Valid @RequestBody FriendGroupRequest request) {
+        User user = currentUserResolver.get();
         return ResponseEntity.ok(friendGroupService.createGroup(user, request));
     }
 
     @GetMapping
-    public ResponseEntity<List<FriendGroupResponse>> getMyGroups(Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName());
+    public ResponseEntity<List<FriendGroupResponse>> getMyGroups() {
+        User user = currentUserResolver.get();
         return ResponseEntity.ok(friendGroupService.getUserGroups(user));
     }
 
     @PostMapping("/join/{inviteCode}")
-    public ResponseEntity<FriendGroupResponse> joinGroup(
-            @PathVariable String inviteCode,
-            Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName());
+    public ResponseEntity<FriendGroupResponse> joinGroup(@PathVariable String inviteCode) {
+        User user = currentUserResolver.get();
         return ResponseEntity.ok(friendGroupService.joinGroup(user, inviteCode));
     }
 
     @DeleteMapping("/{groupId}/leave")
-    public ResponseEntity<Void> leaveGroup(
-            @PathVariable Long groupId,
-            Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName());
+    public ResponseEntity<Void> leaveGroup(@PathVariable Long groupId) {
+        User user = currentUserResolver.get();
         friendGroupService.leaveGroup(user, groupId);
         return ResponseEntity.ok().build();
     }
 
     @DeleteMapping("/{groupId}")
-    public ResponseEntity<Void> deleteGroup(
-            @PathVariable Long groupId,
-            Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName());
+    public ResponseEntity<Void> deleteGroup(@PathVariable Long groupId) {
+        User user = currentUserResolver.get();
         friendGroupService.deleteGroup(user, groupId);
         return ResponseEntity.ok().build();
     }
@@ -64,18 +55,16 @@ public class FriendGroupController {
     @PutMapping("/{groupId}/rename")
     public ResponseEntity<FriendGroupResponse> renameGroup(
             @PathVariable Long groupId,
-            @RequestBody FriendGroupRequest request,
-            Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName());
+            @RequestBody FriendGroupRequest request) {
+        User user = currentUserResolver.get();
         return ResponseEntity.ok(friendGroupService.renameGroup(user, groupId, request.getName()));
     }
 
     @DeleteMapping("/{groupId}/members/{memberId}")
     public ResponseEntity<FriendGroupResponse> removeMember(
             @PathVariable Long groupId,
-            @PathVariable Long memberId,
-            Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName());
+            @PathVariable Long memberId) {
+        User user = currentUserResolver.get();
         return ResponseEntity.ok(friendGroupService.removeMember(user, groupId, memberId));
     }
 }
@@ -1,12 +1,13 @@
 package com.dailygames.hub.controller;
 
+import com.dailygames.hub.config.CurrentUserResolver;
 import com.dailygames.hub.dto.FriendResponse;
+import com.dailygames.hub.dto.FriendSuggestionResponse;
 import com.dailygames.hub.model.User;
-import com.dailygames.hub.repository.UserRepository;
+import com.dailygames.hub.service.FriendSuggestionService;
 import com.dailygames.hub.service.FriendshipService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -17,58 +18,78 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class FriendshipController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final FriendshipService friendshipService;
-    private final UserRepository userRepository;
+    private final FriendSuggestionService friendSuggestionService;
+    private final CurrentUserResolver currentUserResolver;
 
     @GetMapping
-    public ResponseEntity<List<FriendResponse>> getFriends(Authentication auth) {
-        User currentUser = userRepository.findByUsername(auth.getName()).orElseThrow();
-        return ResponseEntity.ok(friendshipService.getFriends(currentUser));
+    public ResponseEntity<List<FriendResponse>> getFriends(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "200") int limit) {
+        User currentUser = currentUserResolver.get();
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return page(friendshipService.getFriends(currentUser, after, pageSize), pageSize);
     }
 
     @GetMapping("/requests/pending")
-    public ResponseEntity<List<FriendResponse>> getPendingRequests(Authentication auth) {
-        User currentUser = userRepository.findByUsername(auth.getName()).orElseThrow();
-        return ResponseEntity.ok(friendshipService.getPendingRequests(currentUser));
+    public ResponseEntity<List<FriendResponse>> getPendingRequests(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "200") int limit) {
+        User currentUser = currentUserResolver.get();
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return page(friendshipService.getPendingRequests(currentUser, after, pageSize), pageSize);
     }
 
     @GetMapping("/requests/sent")
-    public ResponseEntity<List<FriendResponse>> getSentRequests(Authentication auth) {
-        User currentUser = userRepository.findByUsername(auth.getName()).orElseThrow();
-        return ResponseEntity.ok(friendshipService.getSentRequests(currentUser));
+    public ResponseEntity<List<FriendResponse>> getSentRequests(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "200") int limit) {
+        User currentUser = currentUserResolver.get();
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return page(friendshipService.getSentRequests(currentUser, after, pageSize), pageSize);
+    }
+
+    @GetMapping("/suggestions")
+    public ResponseEntity<List<FriendSuggestionResponse>> getSuggestions() {
+        User currentUser = currentUserResolver.get();
+        return ResponseEntity.ok(friendSuggestionService.getSuggestions(currentUser));
     }
 
     @PostMapping("/request/{userId}")
-    public ResponseEntity<FriendResponse> sendFriendRequest(
-            Authentication auth,
-            @PathVariable Long userId) {
-        User currentUser = userRepository.findByUsername(auth.getName()).orElseThrow();
+    public ResponseEntity<FriendResponse> sendFriendRequest(@PathVariable Long userId) {
+        User currentUser = currentUserResolver.get();
         return ResponseEntity.ok(friendshipService.sendFriendRequest(currentUser, userId));
     }
 
     @PostMapping("/accept/{friendshipId}")
-    public ResponseEntity<FriendResponse> acceptFriendRequest(
-            Authentication auth,
-            @PathVariable Long friendshipId) {
-        User currentUser = userRepository.findByUsername(auth.getName()).orElseThrow();
+    public ResponseEntity<FriendResponse> acceptFriendRequest(@PathVariable Long friendshipId) {
+        User currentUser = currentUserResolver.get();
         return ResponseEntity.ok(friendshipService.acceptFriendRequest(currentUser, friendshipId));
     }
 
     @PostMapping("/decline/{friendshipId}")
-    public ResponseEntity<Map<String, String>> declineFriendRequest(
-            Authentication auth,
-            @PathVariable Long friendshipId) {
-        User currentUser = userRepository.findByUsername(auth.getName()).orElseThrow();
+    public ResponseEntity<Map<String, String>> declineFriendRequest(@PathVariable Long friendshipId) {
+        User currentUser = currentUserResolver.get();
         friendshipService.declineFriendRequest(currentUser, friendshipId);
         return ResponseEntity.ok(Map.of("message", "Request declined"));
     }
 
     @DeleteMapping("/{friendId}")
-    public ResponseEntity<Map<String, String>> removeFriend(
-            Authentication auth,
-            @PathVariable Long friendId) {
-        User currentUser = userRepository.findByUsername(auth.getName()).orElseThrow();
+    public ResponseEntity<Map<String, String>> removeFriend(@PathVariable Long friendId) {
+        User currentUser = currentUserResolver.get();
         friendshipService.removeFriend(currentUser, friendId);
         return ResponseEntity.ok(Map.of("message", "Friend removed"));
     }
+
+    // Keeps the array body the frontend expects; the cursor for the next page travels in a header
+    private ResponseEntity<List<FriendResponse>> page(List<FriendResponse> items, int pageSize) {
+        if (items.size() < pageSize) {
+            return ResponseEntity.ok(items);
+        }
+        return ResponseEntity.ok()
+            .header("X-Next-Cursor", String.valueOf(items.get(items.size() - 1).getId()))
+            .body(items);
+    }
 }
@@ -1,12 +1,17 @@
 package com.dailygames.hub.controller;
 
+import com.dailygames.hub.config.PasswordHashingOverloadException;
+import com.dailygames.hub.service.RateLimitExceededException;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -38,6 +43,40 @@ public class GlobalExceptionHandler {
             .body(new ErrorResponse("Unauthorized", "Invalid username or password", errorCode));
     }
 
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleAccessDenied(AccessDeniedException ex) {
+        String errorCode = generateErrorCode("AUTH");
+        logger.warn("AccessDeniedException [{}]: {}", errorCode, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+            .body(new ErrorResponse("Forbidden", "Access denied", errorCode));
+    }
+
+    @ExceptionHandler(PasswordHashingOverloadException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingOverload(PasswordHashingOverloadException ex) {
+        String errorCode = generateErrorCode("BUSY");
+        logger.warn("PasswordHashingOverloadException [{}]: {}", errorCode, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(new ErrorResponse("Service Unavailable", "Server is busy, please try again shortly", errorCode));
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException ex) {
+        String errorCode = generateErrorCode("RATE");
+        logger.warn("RateLimitExceededException [{}]: retry after {}s", errorCode, ex.getRetryAfterSeconds());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(new ErrorResponse("Too Many Requests", "Too many requests, please slow down", errorCode));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrentUpdate(OptimisticLockingFailureException ex) {
+        String errorCode = generateErrorCode("LOCK");
+        logger.warn("OptimisticLockingFailureException [{}]: {}", errorCode, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .body(new ErrorResponse("Conflict", "This was changed by another request at the same time, please try again", errorCode));
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ErrorResponse> handleDataIntegrity(DataIntegrityViolationException ex) {
         String errorCode = generateErrorCode("DATA");
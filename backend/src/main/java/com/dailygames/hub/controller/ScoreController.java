@@ -1,16 +1,16 @@
 package com.dailygames.hub.controller;
 
+import com.dailygames.hub.config.CurrentUserResolver;
 import com.dailygames.hub.dto.ScoreRequest;
 import com.dailygames.hub.dto.ScoreResponse;
 import com.dailygames.hub.model.User;
 import com.dailygames.hub.service.FriendGroupService;
 import com.dailygames.hub.service.ScoreService;
-import com.dailygames.hub.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import com.dailygames.hub.util.DateUtils;
@@ -23,22 +23,31 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ScoreController {
 
+    private static final int MAX_SUBMIT_ATTEMPTS = 3;
+
     private final ScoreService scoreService;
-    private final UserService userService;
     private final FriendGroupService friendGroupService;
+    private final CurrentUserResolver currentUserResolver;
 
     @PostMapping
-    public ResponseEntity<ScoreResponse> submitScore(
-            @Valid @RequestBody ScoreRequest request,
-            Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName());
-        ScoreResponse response = scoreService.submitScore(user, request);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<ScoreResponse> submitScore(@Valid @RequestBody ScoreRequest request) {
+        User user = currentUserResolver.get();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return ResponseEntity.ok(scoreService.submitScore(user, request));
+            } catch (OptimisticLockingFailureException e) {
+                // A streak, rating or group row changed since it was read; the rollback dropped it, so retry on fresh rows
+                if (attempt == MAX_SUBMIT_ATTEMPTS) {
+                    throw e;
+                }
+                user = currentUserResolver.reload();
+            }
+        }
     }
 
     @GetMapping("/my")
-    public ResponseEntity<List<ScoreResponse>> getMyScores(Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName());
+    public ResponseEntity<List<ScoreResponse>> getMyScores() {
+        User user = currentUserResolver.get();
         return ResponseEntity.ok(scoreService.getUserScores(user));
     }
 
@@ -56,8 +65,7 @@ public class ScoreController {
     @GetMapping("/group/{groupId}")
     public ResponseEntity<List<ScoreResponse>> getGroupScores(
             @PathVariable Long groupId,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-            Authentication authentication) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         LocalDate queryDate = date != null ? date : DateUtils.todayAmsterdam();
         List<User> members = friendGroupService.getGroupMembers(groupId);
         return ResponseEntity.ok(scoreService.getGroupScoresForDate(members, queryDate));
@@ -1,13 +1,12 @@
 package com.dailygames.hub.controller;
 
+import com.dailygames.hub.config.CurrentUserResolver;
 import com.dailygames.hub.model.Streak;
 import com.dailygames.hub.model.User;
 import com.dailygames.hub.service.StreakService;
-import com.dailygames.hub.service.UserService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -22,11 +21,11 @@ import java.util.stream.Collectors;
 public class StreakController {
 
     private final StreakService streakService;
-    private final UserService userService;
+    private final CurrentUserResolver currentUserResolver;
 
     @GetMapping("/my")
-    public ResponseEntity<List<StreakResponse>> getMyStreaks(Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName());
+    public ResponseEntity<List<StreakResponse>> getMyStreaks() {
+        User user = currentUserResolver.get();
         List<StreakResponse> streaks = streakService.getUserStreaks(user).stream()
             .map(this::mapToResponse)
             .collect(Collectors.toList());
@@ -1,5 +1,6 @@
 package com.dailygames.hub.controller;
 
+import com.dailygames.hub.config.CurrentUserResolver;
 import com.dailygames.hub.dto.PasswordChangeRequest;
 import com.dailygames.hub.dto.ProfileUpdateRequest;
 import com.dailygames.hub.dto.AuthResponse;
@@ -8,7 +9,6 @@ import com.dailygames.hub.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -17,12 +17,11 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final CurrentUserResolver currentUserResolver;
 
     @PutMapping("/profile")
-    public ResponseEntity<AuthResponse> updateProfile(
-            Authentication authentication,
-            @RequestBody ProfileUpdateRequest request) {
-        User user = userService.findByUsername(authentication.getName());
+    public ResponseEntity<AuthResponse> updateProfile(@RequestBody ProfileUpdateRequest request) {
+        User user = currentUserResolver.get();
         User updated = userService.updateProfile(user, request.getDisplayName(), request.getEmail());
 
         return ResponseEntity.ok(new AuthResponse(
@@ -32,15 +31,14 @@ public class UserController {
             updated.getDisplayName(),
             updated.getGlobalDayStreak(),
             updated.getAverageRating(),
-            updated.getIsAdmin()
+            updated.getIsAdmin(),
+            null
         ));
     }
 
     @PutMapping("/password")
-    public ResponseEntity<Void> changePassword(
-            Authentication authentication,
-            @Valid @RequestBody PasswordChangeRequest request) {
-        User user = userService.findByUsername(authentication.getName());
+    public ResponseEntity<Void> changePassword(@Valid @RequestBody PasswordChangeRequest request) {
+        User user = currentUserResolver.get();
         try {
             userService.changePassword(user, request.getCurrentPassword(), request.getNewPassword());
             return ResponseEntity.ok().build();
@@ -1,6 +1,7 @@
 package com.dailygames.hub.dto;
 
 import lombok.Data;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Data
@@ -12,6 +13,7 @@ public class AdminStatsResponse {
     private Map<String, GameStatEntry> gameStats;
     private long maxPlays;
     private long maxTodayPlays;
+    private LocalDateTime asOf;
 
     @Data
     public static class GameStatEntry {
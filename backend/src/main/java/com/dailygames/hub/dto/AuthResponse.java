@@ -15,4 +15,5 @@ public class AuthResponse {
     private Integer globalDayStreak;
     private Integer averageRating;
     private Boolean isAdmin;
+    private String refreshToken;
 }
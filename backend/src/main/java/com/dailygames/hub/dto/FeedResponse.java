@@ -0,0 +1,29 @@
+package com.dailygames.hub.dto;
+
+import com.dailygames.hub.model.GameType;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class FeedResponse {
+    private List<FeedItem> items;
+    private Long nextCursor; // null when there are no older entries
+
+    @Data
+    public static class FeedItem {
+        private Long scoreId;
+        private Long userId;
+        private String username;
+        private String displayName;
+        private GameType gameType;
+        private String gameDisplayName;
+        private LocalDate gameDate;
+        private Integer attempts;
+        private Boolean solved;
+        private Integer score;
+        private LocalDateTime submittedAt;
+    }
+}
@@ -1,10 +1,13 @@
 package com.dailygames.hub.dto;
 
+import com.dailygames.hub.model.Friendship.FriendshipStatus;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class FriendResponse {
     private Long id;
     private Long friendId;
@@ -15,4 +18,18 @@ public class FriendResponse {
     private String status;
     private LocalDateTime since;
     private Boolean isSender;
+
+    // Used by the JPQL constructor projections in FriendshipRepository
+    public FriendResponse(Long id, Long friendId, String username, String displayName, Integer globalDayStreak,
+                          Integer averageRating, FriendshipStatus status, LocalDateTime since, Boolean isSender) {
+        this.id = id;
+        this.friendId = friendId;
+        this.username = username;
+        this.displayName = displayName;
+        this.globalDayStreak = globalDayStreak;
+        this.averageRating = averageRating;
+        this.status = status.name();
+        this.since = since;
+        this.isSender = isSender;
+    }
 }
@@ -0,0 +1,14 @@
+package com.dailygames.hub.dto;
+
+import lombok.Data;
+
+@Data
+public class FriendSuggestionResponse {
+    private Long userId;
+    private String username;
+    private String displayName;
+    private Integer globalDayStreak;
+    private Integer averageRating;
+    private Integer mutualFriends;
+    private Integer sharedGroups;
+}
@@ -0,0 +1,29 @@
+package com.dailygames.hub.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class RetentionResponse {
+    private List<Cohort> byRegistrationWeek;
+    private List<Cohort> byFirstGame;
+    private long usersAnalyzed;
+    private long scoresAnalyzed;
+    private long computeMillis;
+    private LocalDateTime asOf;
+
+    /**
+     * Share of the cohort active exactly 1, 7 and 30 days after registering. A rate is null
+     * until at least one member is old enough to have reached that day.
+     */
+    @Data
+    public static class Cohort {
+        private String label;
+        private long users;
+        private Double d1;
+        private Double d7;
+        private Double d30;
+    }
+}
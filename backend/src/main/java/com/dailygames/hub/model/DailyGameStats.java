@@ -0,0 +1,35 @@
+package com.dailygames.hub.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Plays of one game on one game date; the per-game breakdown of {@link DailyStats}.
+ */
+@Entity
+@Table(name = "daily_game_stats", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_daily_game_stats_key", columnNames = {"game_type", "stat_date"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailyGameStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "game_type", nullable = false, length = 32)
+    private GameType gameType;
+
+    @Column(nullable = false)
+    private Long plays;
+}
@@ -0,0 +1,39 @@
+package com.dailygames.hub.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Per-day rollup behind the historical admin charts. Maintained incrementally by
+ * DailyStatsService and recomputed from scores and users by its nightly reconciliation.
+ */
+@Entity
+@Table(name = "daily_stats", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_daily_stats_date", columnNames = {"stat_date"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailyStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    // Distinct users with a score for this game date
+    @Column(name = "active_users", nullable = false)
+    private Long activeUsers;
+
+    @Column(nullable = false)
+    private Long plays;
+
+    @Column(nullable = false)
+    private Long registrations;
+}
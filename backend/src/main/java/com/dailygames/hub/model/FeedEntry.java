@@ -0,0 +1,60 @@
+package com.dailygames.hub.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One score fanned out to one friend's activity feed. Keyed by (owner, score) so feed
+ * pages are keyset reads on the primary key.
+ */
+@Entity
+@Table(name = "feed_entries", indexes = {
+    @Index(name = "idx_feed_entries_submitted_at", columnList = "submitted_at")
+})
+@IdClass(FeedEntry.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedEntry {
+
+    @Id
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Id
+    @Column(name = "score_id")
+    private Long scoreId;
+
+    @Column(name = "actor_id", nullable = false)
+    private Long actorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private GameType gameType;
+
+    @Column(nullable = false)
+    private LocalDate gameDate;
+
+    private Integer attempts;
+
+    private Boolean solved;
+
+    private Integer score;
+
+    @Column(name = "submitted_at", nullable = false)
+    private LocalDateTime submittedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long ownerId;
+        private Long scoreId;
+    }
+}
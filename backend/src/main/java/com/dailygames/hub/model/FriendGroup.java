@@ -1,6 +1,8 @@
 package com.dailygames.hub.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
@@ -13,6 +15,7 @@ import java.util.Objects;
 import java.util.Set;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "friend-groups")
 @Table(name = "friend_groups")
 @Getter
 @Setter
@@ -24,6 +27,9 @@ public class FriendGroup {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    private Long version;
+
     @Column(nullable = false)
     private String name;
 
@@ -35,6 +41,7 @@ public class FriendGroup {
     private User owner;
 
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "friend-group-members")
     @JoinTable(
         name = "friend_group_members",
         joinColumns = @JoinColumn(name = "group_id"),
@@ -0,0 +1,47 @@
+package com.dailygames.hub.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Precomputed "people you may know" entry, rewritten by the nightly suggestion job.
+ * The (user_id, rank) primary key makes the per-user read a single index range scan.
+ */
+@Entity
+@Table(name = "friend_suggestions")
+@IdClass(FriendSuggestion.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FriendSuggestion {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "suggestion_rank")
+    private Integer rank;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "suggested_user_id", nullable = false)
+    private User suggestedUser;
+
+    @Column(nullable = false)
+    private Integer mutualFriends;
+
+    @Column(nullable = false)
+    private Integer sharedGroups;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Integer rank;
+    }
+}
@@ -10,6 +10,9 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "friendships", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "friend_id"})
+}, indexes = {
+    @Index(name = "idx_friendships_user_status", columnList = "user_id, status, id"),
+    @Index(name = "idx_friendships_friend_status", columnList = "friend_id, status, id")
 })
 @Data
 @NoArgsConstructor
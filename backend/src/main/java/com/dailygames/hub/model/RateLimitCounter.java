@@ -0,0 +1,39 @@
+package com.dailygames.hub.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Requests admitted for one rate-limit key within one policy window, summed across instances.
+ * Written only through JdbcRateLimitStore; the entity exists so the table is part of the schema.
+ */
+@Entity
+@Table(name = "rate_limit_counters", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_rate_limit_counters_key", columnNames = {"policy", "bucket_key", "window_start"})
+}, indexes = {
+    @Index(name = "idx_rate_limit_counters_window", columnList = "window_start")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class RateLimitCounter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    private String policy;
+
+    @Column(name = "bucket_key", nullable = false, length = 320)
+    private String bucketKey;
+
+    // Epoch milliseconds of the window start
+    @Column(name = "window_start", nullable = false)
+    private Long windowStart;
+
+    @Column(nullable = false)
+    private Long hits;
+}
@@ -1,6 +1,8 @@
 package com.dailygames.hub.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -8,6 +10,7 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "streaks")
 @Table(name = "streaks", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "game_type"})
 })
@@ -20,6 +23,9 @@ public class Streak {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
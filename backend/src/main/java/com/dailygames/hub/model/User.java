@@ -1,6 +1,10 @@
 package com.dailygames.hub.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
@@ -12,6 +16,8 @@ import java.util.Objects;
 import java.util.Set;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-username")
 @Table(name = "users")
 @Getter
 @Setter
@@ -23,6 +29,12 @@ public class User {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Checked on every update, so a copy served stale from one instance's second-level cache
+    // cannot be written back over a newer row
+    @Version
+    private Long version;
+
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String username;
 
@@ -0,0 +1,15 @@
+package com.dailygames.hub.repository;
+
+import com.dailygames.hub.model.DailyGameStats;
+import com.dailygames.hub.model.GameType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyGameStatsRepository extends JpaRepository<DailyGameStats, Long> {
+
+    List<DailyGameStats> findByGameTypeAndStatDateBetweenOrderByStatDate(GameType gameType, LocalDate start, LocalDate end);
+}
@@ -0,0 +1,19 @@
+package com.dailygames.hub.repository;
+
+import com.dailygames.hub.model.DailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyStatsRepository extends JpaRepository<DailyStats, Long> {
+
+    List<DailyStats> findByStatDateBetweenOrderByStatDate(LocalDate start, LocalDate end);
+
+    @Query("SELECT COALESCE(SUM(d.registrations), 0) FROM DailyStats d WHERE d.statDate < :date")
+    long sumRegistrationsBefore(@Param("date") LocalDate date);
+}
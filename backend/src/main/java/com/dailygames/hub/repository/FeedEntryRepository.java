@@ -0,0 +1,23 @@
+package com.dailygames.hub.repository;
+
+import com.dailygames.hub.model.FeedEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FeedEntryRepository extends JpaRepository<FeedEntry, FeedEntry.Key> {
+
+    @Query("SELECT e FROM FeedEntry e WHERE e.ownerId = :ownerId AND e.scoreId < :before ORDER BY e.scoreId DESC")
+    List<FeedEntry> findPage(@Param("ownerId") Long ownerId, @Param("before") Long before, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM FeedEntry e WHERE e.submittedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -16,7 +16,8 @@ public interface FriendGroupRepository extends JpaRepository<FriendGroup, Long>
     @Query("SELECT fg FROM FriendGroup fg LEFT JOIN FETCH fg.members LEFT JOIN FETCH fg.owner WHERE fg.inviteCode = :inviteCode")
     Optional<FriendGroup> findByInviteCode(@Param("inviteCode") String inviteCode);
 
-    @Query("SELECT DISTINCT fg FROM FriendGroup fg LEFT JOIN FETCH fg.members LEFT JOIN FETCH fg.owner WHERE :user MEMBER OF fg.members")
+    @Query("SELECT DISTINCT fg FROM FriendGroup fg LEFT JOIN FETCH fg.members LEFT JOIN FETCH fg.owner " +
+           "WHERE fg.id IN (SELECT g.id FROM FriendGroup g JOIN g.members m WHERE m = :user)")
     List<FriendGroup> findByMember(@Param("user") User user);
 
     @Query("SELECT fg FROM FriendGroup fg LEFT JOIN FETCH fg.members LEFT JOIN FETCH fg.owner WHERE fg.id = :id")
@@ -0,0 +1,16 @@
+package com.dailygames.hub.repository;
+
+import com.dailygames.hub.model.FriendSuggestion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FriendSuggestionRepository extends JpaRepository<FriendSuggestion, FriendSuggestion.Key> {
+
+    @Query("SELECT s FROM FriendSuggestion s JOIN FETCH s.suggestedUser WHERE s.userId = :userId ORDER BY s.rank")
+    List<FriendSuggestion> findByUserId(@Param("userId") Long userId);
+}
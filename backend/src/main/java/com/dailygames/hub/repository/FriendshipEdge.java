@@ -0,0 +1,12 @@
+package com.dailygames.hub.repository;
+
+import com.dailygames.hub.model.Friendship.FriendshipStatus;
+
+/**
+ * Id-only view of a friendship row, used to stream the graph without loading User entities.
+ */
+public interface FriendshipEdge {
+    Long getUserId();
+    Long getFriendId();
+    FriendshipStatus getStatus();
+}
@@ -1,36 +1,57 @@
 package com.dailygames.hub.repository;
 
+import com.dailygames.hub.dto.FriendResponse;
 import com.dailygames.hub.model.Friendship;
 import com.dailygames.hub.model.Friendship.FriendshipStatus;
 import com.dailygames.hub.model.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface FriendshipRepository extends JpaRepository<Friendship, Long> {
 
     Optional<Friendship> findByUserAndFriend(User user, User friend);
 
-    @Query("SELECT f FROM Friendship f WHERE (f.user = :user OR f.friend = :user) AND f.status = :status")
-    List<Friendship> findByUserOrFriendAndStatus(@Param("user") User user, @Param("status") FriendshipStatus status);
+    // Listing projections: one joined statement per side, keyset-paginated on the friendship id
 
-    @Query("SELECT f FROM Friendship f WHERE f.friend = :user AND f.status = 'PENDING'")
-    List<Friendship> findPendingRequestsForUser(@Param("user") User user);
+    @Query("SELECT new com.dailygames.hub.dto.FriendResponse(f.id, u.id, u.username, u.displayName, " +
+           "u.globalDayStreak, u.averageRating, f.status, COALESCE(f.acceptedAt, f.createdAt), true) " +
+           "FROM Friendship f JOIN f.friend u " +
+           "WHERE f.user.id = :userId AND f.status = :status AND f.id > :after ORDER BY f.id")
+    List<FriendResponse> findSentListing(@Param("userId") Long userId, @Param("status") FriendshipStatus status,
+                                         @Param("after") Long after, Pageable pageable);
 
-    @Query("SELECT f FROM Friendship f WHERE f.user = :user AND f.status = 'PENDING'")
-    List<Friendship> findSentRequestsByUser(@Param("user") User user);
+    @Query("SELECT new com.dailygames.hub.dto.FriendResponse(f.id, u.id, u.username, u.displayName, " +
+           "u.globalDayStreak, u.averageRating, f.status, COALESCE(f.acceptedAt, f.createdAt), false) " +
+           "FROM Friendship f JOIN f.user u " +
+           "WHERE f.friend.id = :userId AND f.status = :status AND f.id > :after ORDER BY f.id")
+    List<FriendResponse> findReceivedListing(@Param("userId") Long userId, @Param("status") FriendshipStatus status,
+                                             @Param("after") Long after, Pageable pageable);
 
     @Query("SELECT CASE WHEN COUNT(f) > 0 THEN true ELSE false END FROM Friendship f " +
-           "WHERE ((f.user = :user1 AND f.friend = :user2) OR (f.user = :user2 AND f.friend = :user1)) " +
+           "WHERE f.user IN (:user1, :user2) AND f.friend IN (:user1, :user2) AND f.user <> f.friend " +
            "AND f.status = 'ACCEPTED'")
     boolean areFriends(@Param("user1") User user1, @Param("user2") User user2);
 
     @Query("SELECT f FROM Friendship f WHERE " +
-           "((f.user = :user1 AND f.friend = :user2) OR (f.user = :user2 AND f.friend = :user1))")
+           "f.user IN (:user1, :user2) AND f.friend IN (:user1, :user2) AND f.user <> f.friend")
     Optional<Friendship> findFriendshipBetween(@Param("user1") User user1, @Param("user2") User user2);
+
+    // Streams every non-declined edge for warming the in-memory friendship graph
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT f.user.id AS userId, f.friend.id AS friendId, f.status AS status FROM Friendship f " +
+           "WHERE f.status <> 'DECLINED'")
+    Stream<FriendshipEdge> streamActiveEdges();
 }
@@ -0,0 +1,12 @@
+package com.dailygames.hub.repository;
+
+import com.dailygames.hub.model.GameType;
+
+/**
+ * All-time and per-day play counts for one game, from a single GROUP BY.
+ */
+public interface GameTypeCounts {
+    GameType getGameType();
+    Long getTotal();
+    Long getToday();
+}
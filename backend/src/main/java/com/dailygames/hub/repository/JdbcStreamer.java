@@ -0,0 +1,39 @@
+package com.dailygames.hub.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Runs a query through a forward-only, read-only cursor with a bounded fetch size, handing
+ * rows to a callback one at a time so heap use stays flat regardless of the result size.
+ * The read-only transaction is required for PostgreSQL to honour the fetch size.
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcStreamer {
+
+    public static final int DEFAULT_FETCH_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    public void forEachRow(String sql, RowCallbackHandler handler, Object... args) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        tx.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(DEFAULT_FETCH_SIZE);
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            return ps;
+        }, handler));
+    }
+}
@@ -0,0 +1,16 @@
+package com.dailygames.hub.repository;
+
+/**
+ * Everything login and /api/auth/me need about a user, read in one query: the password hash
+ * to verify against and the fields returned in the auth response.
+ */
+public interface LoginView {
+    Long getId();
+    String getUsername();
+    String getEmail();
+    String getDisplayName();
+    String getPassword();
+    Boolean getIsAdmin();
+    Integer getGlobalDayStreak();
+    Integer getAverageRating();
+}
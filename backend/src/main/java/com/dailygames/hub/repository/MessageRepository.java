@@ -12,9 +12,9 @@ import java.util.List;
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
 
+    // IN lists rather than an OR of pairs, so both directions are range scans on one index
     @Query("SELECT m FROM Message m WHERE " +
-           "(m.sender = :user1 AND m.receiver = :user2) OR " +
-           "(m.sender = :user2 AND m.receiver = :user1) " +
+           "m.sender IN (:user1, :user2) AND m.receiver IN (:user1, :user2) AND m.sender <> m.receiver " +
            "ORDER BY m.sentAt ASC")
     List<Message> findConversation(@Param("user1") User user1, @Param("user2") User user2);
 
@@ -24,7 +24,8 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     @Query("SELECT COUNT(m) FROM Message m WHERE m.receiver = :user AND m.isRead = false")
     Long countUnreadForUser(@Param("user") User user);
 
-    @Query("SELECT DISTINCT CASE WHEN m.sender = :user THEN m.receiver ELSE m.sender END " +
-           "FROM Message m WHERE m.sender = :user OR m.receiver = :user")
+    @Query("SELECT u FROM User u WHERE u.id IN (" +
+           "SELECT m.receiver.id FROM Message m WHERE m.sender = :user UNION " +
+           "SELECT m.sender.id FROM Message m WHERE m.receiver = :user)")
     List<User> findConversationPartners(@Param("user") User user);
 }
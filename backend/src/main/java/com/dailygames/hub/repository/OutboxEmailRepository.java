@@ -0,0 +1,54 @@
+package com.dailygames.hub.repository;
+
+import com.dailygames.hub.model.OutboxEmail;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Called by the dispatcher outside any service transaction, so every method declares its own;
+ * none is read-only, as a lagging replica would hide freshly queued mail.
+ */
+@Repository
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+    @Transactional
+    @Query("SELECT e FROM OutboxEmail e WHERE e.status = 'PENDING' AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+    List<OutboxEmail> findDue(LocalDateTime now, Pageable pageable);
+
+    /**
+     * Takes the lease on a due email and counts the attempt; 0 when another instance got there first.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OutboxEmail e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :leaseUntil "
+        + "WHERE e.id = :id AND e.status = 'PENDING' AND e.nextAttemptAt <= :now")
+    int claim(Long id, LocalDateTime now, LocalDateTime leaseUntil);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OutboxEmail e SET e.status = 'SENT', e.sentAt = :sentAt, e.lastError = NULL WHERE e.id IN :ids")
+    int markSent(Collection<Long> ids, LocalDateTime sentAt);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OutboxEmail e SET e.nextAttemptAt = :nextAttemptAt, e.lastError = :error WHERE e.id = :id")
+    int retryLater(Long id, LocalDateTime nextAttemptAt, String error);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OutboxEmail e SET e.status = 'DEAD', e.lastError = :error WHERE e.id = :id")
+    int markDead(Long id, String error);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM OutboxEmail e WHERE e.status = 'SENT' AND e.sentAt < :cutoff")
+    int deleteSentBefore(LocalDateTime cutoff);
+}
@@ -3,8 +3,11 @@ package com.dailygames.hub.repository;
 import com.dailygames.hub.model.GameType;
 import com.dailygames.hub.model.Rating;
 import com.dailygames.hub.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,8 +17,10 @@ import java.util.Optional;
 @Repository
 public interface RatingRepository extends JpaRepository<Rating, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Rating> findByUserAndGameType(User user, GameType gameType);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Rating> findByUser(User user);
 
     @Query("SELECT AVG(r.rating) FROM Rating r WHERE r.user = :user")
@@ -0,0 +1,24 @@
+package com.dailygames.hub.repository;
+
+import com.dailygames.hub.model.RevokedAccessToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedAccessTokenRepository extends JpaRepository<RevokedAccessToken, String> {
+
+    @Query("SELECT r.jti FROM RevokedAccessToken r WHERE r.expiresAt > :now")
+    List<String> findActiveJtis(LocalDateTime now);
+
+    @Query("SELECT r.jti FROM RevokedAccessToken r WHERE r.revokedAt >= :since AND r.expiresAt > :now")
+    List<String> findJtisRevokedSince(LocalDateTime since, LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM RevokedAccessToken r WHERE r.expiresAt < :cutoff")
+    int deleteExpiredBefore(LocalDateTime cutoff);
+}
@@ -3,6 +3,7 @@ package com.dailygames.hub.repository;
 import com.dailygames.hub.model.GameType;
 import com.dailygames.hub.model.Score;
 import com.dailygames.hub.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -29,9 +30,13 @@ public interface ScoreRepository extends JpaRepository<Score, Long> {
     @Query("SELECT s FROM Score s WHERE s.user.id = :userId ORDER BY s.submittedAt DESC")
     List<Score> findRecentByUser(@Param("userId") Long userId);
 
-    long countByGameType(GameType gameType);
+    @Query("SELECT s FROM Score s WHERE s.user.id IN :userIds AND s.id < :before ORDER BY s.id DESC")
+    List<Score> findRecentByUserIds(@Param("userIds") List<Long> userIds, @Param("before") Long before, Pageable pageable);
 
-    long countByGameTypeAndGameDate(GameType gameType, LocalDate gameDate);
+    @Query("SELECT s.gameType AS gameType, COUNT(s) AS total, " +
+           "SUM(CASE WHEN s.gameDate = :today THEN 1 ELSE 0 END) AS today " +
+           "FROM Score s GROUP BY s.gameType")
+    List<GameTypeCounts> countPlaysByGameType(@Param("today") LocalDate today);
 
     long countByGameDate(LocalDate gameDate);
 
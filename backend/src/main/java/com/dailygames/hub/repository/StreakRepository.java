@@ -3,7 +3,10 @@ package com.dailygames.hub.repository;
 import com.dailygames.hub.model.GameType;
 import com.dailygames.hub.model.Streak;
 import com.dailygames.hub.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,7 +15,9 @@ import java.util.Optional;
 @Repository
 public interface StreakRepository extends JpaRepository<Streak, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Streak> findByUser(User user);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Streak> findByUserAndGameType(User user, GameType gameType);
 }
@@ -0,0 +1,9 @@
+package com.dailygames.hub.repository;
+
+/**
+ * The two user columns the JWT filter needs to confirm a token still matches an active account.
+ */
+public interface UserAuthStatus {
+    String getUsername();
+    Boolean getIsAdmin();
+}
@@ -0,0 +1,13 @@
+package com.dailygames.hub.repository;
+
+import com.dailygames.hub.model.User;
+
+import java.util.Optional;
+
+/**
+ * Username lookups through Hibernate's natural-id API, which resolves the id from the natural-id
+ * cache and the user from the entity cache before going to the database.
+ */
+public interface UserNaturalIdRepository {
+    Optional<User> findByUsername(String username);
+}
@@ -5,18 +5,14 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
-    long countByLastActiveDate(LocalDate date);
 
     @Query("SELECT u FROM User u WHERE LOWER(u.username) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(u.displayName) LIKE LOWER(CONCAT('%', :query, '%'))")
     List<User> searchUsers(String query);
@@ -24,7 +20,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Admin queries
     List<User> findByIsAdminTrue();
 
-    // Historical stats queries
-    long countByCreatedAtBefore(LocalDateTime dateTime);
-    long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+    // JWT filter status check
+    @Query("SELECT u.username AS username, u.isAdmin AS isAdmin FROM User u WHERE u.id = :id")
+    Optional<UserAuthStatus> findAuthStatusById(Long id);
+
+    // Login and /me: one projection instead of the entity plus its ratings
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email, u.displayName AS displayName, " +
+           "u.password AS password, u.isAdmin AS isAdmin, u.globalDayStreak AS globalDayStreak, " +
+           "u.averageRating AS averageRating FROM User u WHERE u.username = :username")
+    Optional<LoginView> findLoginViewByUsername(String username);
+
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email, u.displayName AS displayName, " +
+           "u.password AS password, u.isAdmin AS isAdmin, u.globalDayStreak AS globalDayStreak, " +
+           "u.averageRating AS averageRating FROM User u WHERE u.id = :id")
+    Optional<LoginView> findLoginViewById(Long id);
 }
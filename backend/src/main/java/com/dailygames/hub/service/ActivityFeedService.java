@@ -0,0 +1,311 @@
+package com.dailygames.hub.service;
+
+import com.dailygames.hub.dto.FeedResponse;
+import com.dailygames.hub.model.FeedEntry;
+import com.dailygames.hub.model.Score;
+import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.FeedEntryRepository;
+import com.dailygames.hub.repository.ScoreRepository;
+import com.dailygames.hub.repository.UserRepository;
+import com.dailygames.hub.util.TransactionUtils;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * "What my friends played" feed. Scores are fanned out on write into each friend's bounded
+ * in-memory timeline and written behind to the feed_entries table, which serves timelines that
+ * are not resident and pages older than the ring buffer. Users with more friends than the
+ * fan-out limit are not fanned out; their scores are pulled from the scores table at read time.
+ * Stored entries may come from users who are no longer friends; reads skip them and keep
+ * scanning older entries to fill the page.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ActivityFeedService {
+
+    private static final int FLUSH_BATCH_SIZE = 500;
+    // Pages of candidates scanned per read before returning a short page with a cursor
+    private static final int MAX_SCAN_ROUNDS = 5;
+
+    // Idempotent, so a batch that failed part way can be retried
+    private static final String MERGE_ENTRY_SQL =
+        "MERGE INTO feed_entries f " +
+        "USING (SELECT CAST(? AS BIGINT) AS owner_id, CAST(? AS BIGINT) AS score_id, CAST(? AS BIGINT) AS actor_id, " +
+        "CAST(? AS VARCHAR(32)) AS game_type, CAST(? AS DATE) AS game_date, CAST(? AS INTEGER) AS attempts, " +
+        "CAST(? AS BOOLEAN) AS solved, CAST(? AS INTEGER) AS score, CAST(? AS TIMESTAMP) AS submitted_at) v " +
+        "ON f.owner_id = v.owner_id AND f.score_id = v.score_id " +
+        "WHEN NOT MATCHED THEN INSERT (owner_id, score_id, actor_id, game_type, game_date, attempts, solved, score, submitted_at) " +
+        "VALUES (v.owner_id, v.score_id, v.actor_id, v.game_type, v.game_date, v.attempts, v.solved, v.score, v.submitted_at)";
+
+    private final FriendshipGraph friendshipGraph;
+    private final FeedEntryRepository feedEntryRepository;
+    private final ScoreRepository scoreRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.feed.timeline-capacity:100}")
+    private int timelineCapacity;
+
+    @Value("${app.feed.max-resident-timelines:100000}")
+    private int maxResidentTimelines;
+
+    @Value("${app.feed.fanout-limit:500}")
+    private int fanoutLimit;
+
+    @Value("${app.feed.retention-days:30}")
+    private int retentionDays;
+
+    // Caps the entries held while the database is slow or down; beyond it they are dropped
+    @Value("${app.feed.max-pending-writes:100000}")
+    private int maxPendingWrites;
+
+    private final Queue<FeedEntry> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong droppedWrites = new AtomicLong();
+
+    // Access-ordered so the least recently read or written timeline is dropped first
+    private final LinkedHashMap<Long, ActivityTimeline> timelines = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ActivityTimeline> eldest) {
+            return size() > maxResidentTimelines;
+        }
+    };
+
+    /**
+     * Fans a newly saved score out to the submitter's friends once the transaction commits.
+     */
+    public void recordScore(Score score) {
+        ActivityTimeline.Entry entry = toEntry(score);
+        TransactionUtils.afterCommit(() -> fanOut(entry));
+    }
+
+    void fanOut(ActivityTimeline.Entry entry) {
+        if (!friendshipGraph.isReady()) {
+            return;
+        }
+        long[] friendIds = friendshipGraph.friendIds(entry.actorId());
+        if (friendIds.length > fanoutLimit) {
+            // Celebrity: readers pull this user's scores instead
+            return;
+        }
+        for (long friendId : friendIds) {
+            ActivityTimeline timeline;
+            synchronized (timelines) {
+                timeline = timelines.get(friendId);
+            }
+            if (timeline != null) {
+                timeline.push(entry);
+            }
+            enqueue(toFeedEntry(friendId, entry));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Timed(value = "feed.read", histogram = true)
+    public FeedResponse getFeed(User user, Long cursor, int limit) {
+        long before = cursor != null ? cursor : Long.MAX_VALUE;
+        ActivityTimeline timeline = residentTimeline(user.getId());
+        boolean graphReady = friendshipGraph.isReady();
+
+        List<ActivityTimeline.Entry> page = new ArrayList<>(limit);
+        boolean exhausted = false;
+        for (int round = 0; round < MAX_SCAN_ROUNDS && page.size() < limit && !exhausted; round++) {
+            List<ActivityTimeline.Entry> candidates = candidates(user.getId(), timeline, before, limit);
+            for (ActivityTimeline.Entry entry : candidates) {
+                before = entry.scoreId();
+                if (!graphReady || friendshipGraph.areFriends(user.getId(), entry.actorId())) {
+                    page.add(entry);
+                    if (page.size() == limit) {
+                        break;
+                    }
+                }
+            }
+            exhausted = candidates.size() < limit;
+        }
+
+        FeedResponse response = new FeedResponse();
+        response.setItems(mapToItems(page));
+        // Continues after the last entry scanned, which may be past the last one returned
+        response.setNextCursor(exhausted && page.size() < limit ? null : before);
+        return response;
+    }
+
+    /**
+     * The newest {@code limit} entries older than {@code before} across the timeline, the table
+     * and celebrity friends' scores, newest first and without duplicates.
+     */
+    private List<ActivityTimeline.Entry> candidates(Long userId, ActivityTimeline timeline, long before, int limit) {
+        List<ActivityTimeline.Entry> candidates = new ArrayList<>(timeline.page(before, limit));
+        if (candidates.size() < limit && timeline.isTruncated()) {
+            long olderThan = Math.min(before, timeline.oldestScoreId());
+            feedEntryRepository.findPage(userId, olderThan, PageRequest.of(0, limit - candidates.size()))
+                .forEach(e -> candidates.add(toEntry(e)));
+        }
+        candidates.addAll(celebrityEntries(userId, before, limit));
+
+        // Merge newest first, de-duplicating scores present both in memory and in the table
+        TreeMap<Long, ActivityTimeline.Entry> merged = new TreeMap<>(Comparator.reverseOrder());
+        candidates.forEach(e -> merged.putIfAbsent(e.scoreId(), e));
+        return merged.values().stream().limit(limit).collect(Collectors.toList());
+    }
+
+    @Scheduled(fixedDelayString = "${app.feed.flush-interval-ms:1000}")
+    @PreDestroy
+    public void flushPendingWrites() {
+        List<FeedEntry> batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+        // Only what is queued now, so a failed batch put back is retried on the next run
+        int remaining = pendingCount.get();
+        FeedEntry next;
+        while (remaining-- > 0 && (next = pendingWrites.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(next);
+            if (batch.size() == FLUSH_BATCH_SIZE) {
+                insertBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(batch);
+        }
+    }
+
+    public int pendingWriteCount() {
+        return pendingCount.get();
+    }
+
+    public long droppedWriteCount() {
+        return droppedWrites.get();
+    }
+
+    @Scheduled(cron = "0 30 3 * * *", zone = "Europe/Amsterdam")
+    @Transactional
+    public void pruneExpiredEntries() {
+        int deleted = feedEntryRepository.deleteOlderThan(LocalDateTime.now().minusDays(retentionDays));
+        log.info("Pruned {} feed entries older than {} days", deleted, retentionDays);
+    }
+
+    private ActivityTimeline residentTimeline(Long ownerId) {
+        synchronized (timelines) {
+            ActivityTimeline timeline = timelines.get(ownerId);
+            if (timeline != null) {
+                return timeline;
+            }
+        }
+        // Rehydrate from the persistent store outside the lock
+        ActivityTimeline loaded = new ActivityTimeline(timelineCapacity);
+        List<FeedEntry> stored = feedEntryRepository.findPage(ownerId, Long.MAX_VALUE, PageRequest.of(0, timelineCapacity));
+        for (int i = stored.size() - 1; i >= 0; i--) {
+            loaded.push(toEntry(stored.get(i)));
+        }
+        synchronized (timelines) {
+            return timelines.computeIfAbsent(ownerId, id -> loaded);
+        }
+    }
+
+    private List<ActivityTimeline.Entry> celebrityEntries(Long userId, long before, int limit) {
+        List<Long> celebrities = new ArrayList<>();
+        for (long friendId : friendshipGraph.friendIds(userId)) {
+            if (friendshipGraph.friendCount(friendId) > fanoutLimit) {
+                celebrities.add(friendId);
+            }
+        }
+        if (celebrities.isEmpty()) {
+            return List.of();
+        }
+        return scoreRepository.findRecentByUserIds(celebrities, before, PageRequest.of(0, limit)).stream()
+            .map(this::toEntry)
+            .collect(Collectors.toList());
+    }
+
+    private List<FeedResponse.FeedItem> mapToItems(List<ActivityTimeline.Entry> entries) {
+        Set<Long> actorIds = entries.stream().map(ActivityTimeline.Entry::actorId).collect(Collectors.toSet());
+        Map<Long, User> actors = userRepository.findAllById(actorIds).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<FeedResponse.FeedItem> items = new ArrayList<>(entries.size());
+        for (ActivityTimeline.Entry entry : entries) {
+            User actor = actors.get(entry.actorId());
+            if (actor == null) {
+                continue;
+            }
+            FeedResponse.FeedItem item = new FeedResponse.FeedItem();
+            item.setScoreId(entry.scoreId());
+            item.setUserId(actor.getId());
+            item.setUsername(actor.getUsername());
+            item.setDisplayName(actor.getDisplayName());
+            item.setGameType(entry.gameType());
+            item.setGameDisplayName(entry.gameType().getDisplayName());
+            item.setGameDate(entry.gameDate());
+            item.setAttempts(entry.attempts());
+            item.setSolved(entry.solved());
+            item.setScore(entry.score());
+            item.setSubmittedAt(entry.submittedAt());
+            items.add(item);
+        }
+        return items;
+    }
+
+    private void enqueue(FeedEntry entry) {
+        if (pendingCount.incrementAndGet() > maxPendingWrites) {
+            pendingCount.decrementAndGet();
+            droppedWrites.incrementAndGet();
+            return;
+        }
+        pendingWrites.add(entry);
+    }
+
+    private void insertBatch(List<FeedEntry> batch) {
+        try {
+            jdbcTemplate.batchUpdate(MERGE_ENTRY_SQL, batch, batch.size(), (ps, e) -> {
+                    ps.setLong(1, e.getOwnerId());
+                    ps.setLong(2, e.getScoreId());
+                    ps.setLong(3, e.getActorId());
+                    ps.setString(4, e.getGameType().name());
+                    ps.setObject(5, e.getGameDate());
+                    ps.setObject(6, e.getAttempts(), Types.INTEGER);
+                    ps.setObject(7, e.getSolved(), Types.BOOLEAN);
+                    ps.setObject(8, e.getScore(), Types.INTEGER);
+                    ps.setTimestamp(9, Timestamp.valueOf(e.getSubmittedAt()));
+                });
+        } catch (RuntimeException ex) {
+            // Retried on the next flush; the in-memory timelines serve them meanwhile
+            batch.forEach(this::enqueue);
+            log.error("Failed to persist {} feed entries, {} now pending, {} dropped so far",
+                batch.size(), pendingCount.get(), droppedWrites.get(), ex);
+        }
+    }
+
+    private ActivityTimeline.Entry toEntry(Score score) {
+        return new ActivityTimeline.Entry(score.getId(), score.getUser().getId(), score.getGameType(),
+            score.getGameDate(), score.getAttempts(), score.getSolved(), score.getScore(), score.getSubmittedAt());
+    }
+
+    private ActivityTimeline.Entry toEntry(FeedEntry e) {
+        return new ActivityTimeline.Entry(e.getScoreId(), e.getActorId(), e.getGameType(),
+            e.getGameDate(), e.getAttempts(), e.getSolved(), e.getScore(), e.getSubmittedAt());
+    }
+
+    private FeedEntry toFeedEntry(long ownerId, ActivityTimeline.Entry entry) {
+        return new FeedEntry(ownerId, entry.scoreId(), entry.actorId(), entry.gameType(), entry.gameDate(),
+            entry.attempts(), entry.solved(), entry.score(), entry.submittedAt());
+    }
+}
@@ -0,0 +1,93 @@
+package com.dailygames.hub.service;
+
+import com.dailygames.hub.model.GameType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded ring buffer holding the newest feed entries for one user, newest last.
+ * Once full, each push overwrites the oldest entry; older pages come from the feed_entries table.
+ */
+class ActivityTimeline {
+
+    record Entry(long scoreId, long actorId, GameType gameType, LocalDate gameDate,
+                 Integer attempts, Boolean solved, Integer score, LocalDateTime submittedAt) {
+    }
+
+    private final Entry[] ring;
+    private int head; // next write position
+    private int size;
+
+    ActivityTimeline(int capacity) {
+        this.ring = new Entry[capacity];
+    }
+
+    synchronized void push(Entry entry) {
+        // Scores are fanned out after commit, so ids can arrive slightly out of order
+        if (size > 0 && entry.scoreId() <= newest().scoreId()) {
+            insertOrdered(entry);
+            return;
+        }
+        ring[head] = entry;
+        head = (head + 1) % ring.length;
+        if (size < ring.length) {
+            size++;
+        }
+    }
+
+    /**
+     * Entries with a score id below {@code before}, newest first, at most {@code limit}.
+     */
+    synchronized List<Entry> page(long before, int limit) {
+        List<Entry> result = new ArrayList<>(Math.min(limit, size));
+        for (int i = 0; i < size && result.size() < limit; i++) {
+            Entry entry = ring[Math.floorMod(head - 1 - i, ring.length)];
+            if (entry.scoreId() < before) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * True when entries older than the oldest one held here may exist in the persistent store.
+     */
+    synchronized boolean isTruncated() {
+        return size == ring.length;
+    }
+
+    synchronized long oldestScoreId() {
+        return size == 0 ? Long.MAX_VALUE : ring[Math.floorMod(head - size, ring.length)].scoreId();
+    }
+
+    private Entry newest() {
+        return ring[Math.floorMod(head - 1, ring.length)];
+    }
+
+    private void insertOrdered(Entry entry) {
+        List<Entry> entries = new ArrayList<>(size + 1);
+        for (int i = size - 1; i >= 0; i--) {
+            Entry existing = ring[Math.floorMod(head - 1 - i, ring.length)];
+            if (existing.scoreId() == entry.scoreId()) {
+                return;
+            }
+            entries.add(existing);
+        }
+        int pos = 0;
+        while (pos < entries.size() && entries.get(pos).scoreId() < entry.scoreId()) {
+            pos++;
+        }
+        entries.add(pos, entry);
+        int start = Math.max(0, entries.size() - ring.length);
+        size = 0;
+        head = 0;
+        for (int i = start; i < entries.size(); i++) {
+            ring[head] = entries.get(i);
+            head = (head + 1) % ring.length;
+            size++;
+        }
+    }
+}
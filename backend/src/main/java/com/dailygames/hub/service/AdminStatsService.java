@@ -0,0 +1,131 @@
+package com.dailygames.hub.service;
+
+import com.dailygames.hub.dto.AdminStatsResponse;
+import com.dailygames.hub.model.GameType;
+import com.dailygames.hub.repository.GameTypeCounts;
+import com.dailygames.hub.repository.ScoreRepository;
+import com.dailygames.hub.repository.UserRepository;
+import com.dailygames.hub.util.DateUtils;
+import com.dailygames.hub.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Admin dashboard counters, served from an in-memory snapshot. The snapshot is rebuilt on a
+ * schedule from one GROUP BY over scores plus two counts, and patched after each committed score
+ * or registration in between. Patches that race a rebuild can be lost; the next rebuild corrects them.
+ */
+@Service
+@RequiredArgsConstructor
+public class AdminStatsService {
+
+    private final ScoreRepository scoreRepository;
+    private final UserRepository userRepository;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * Immutable counts for one day; patches copy the small per-game arrays.
+     */
+    record Snapshot(LocalDate day, long totalUsers, long activeToday, long[] totalPlays, long[] todayPlays,
+                    LocalDateTime asOf) {
+
+        Snapshot withScore(GameType gameType, boolean today, boolean newlyActive) {
+            long[] total = totalPlays.clone();
+            long[] todays = todayPlays.clone();
+            total[gameType.ordinal()]++;
+            if (today) {
+                todays[gameType.ordinal()]++;
+            }
+            return new Snapshot(day, totalUsers, activeToday + (newlyActive ? 1 : 0), total, todays, asOf);
+        }
+
+        Snapshot withRegistration() {
+            return new Snapshot(day, totalUsers + 1, activeToday, totalPlays, todayPlays, asOf);
+        }
+    }
+
+    public AdminStatsResponse getStats() {
+        Snapshot current = snapshot.get();
+        if (current == null || !current.day().equals(DateUtils.todayAmsterdam())) {
+            // First request, or the day rolled over since the last rebuild
+            current = rebuild();
+        }
+        return toResponse(current);
+    }
+
+    @Scheduled(fixedDelayString = "${app.admin-stats.refresh-ms:60000}", initialDelayString = "${app.admin-stats.refresh-ms:60000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    private Snapshot rebuild() {
+        LocalDate today = DateUtils.todayAmsterdam();
+        long[] total = new long[GameType.values().length];
+        long[] todays = new long[GameType.values().length];
+        for (GameTypeCounts counts : scoreRepository.countPlaysByGameType(today)) {
+            total[counts.getGameType().ordinal()] = counts.getTotal();
+            todays[counts.getGameType().ordinal()] = counts.getToday() != null ? counts.getToday() : 0;
+        }
+        Snapshot fresh = new Snapshot(today, userRepository.count(),
+            scoreRepository.countDistinctUsersByGameDate(today), total, todays, LocalDateTime.now());
+        snapshot.set(fresh);
+        return fresh;
+    }
+
+    /**
+     * Counts a score once its transaction commits. {@code firstForDate} says whether this is the
+     * user's first score for its game date, which makes them newly active when that date is today.
+     */
+    public void recordScore(GameType gameType, LocalDate gameDate, boolean firstForDate) {
+        TransactionUtils.afterCommit(() -> snapshot.updateAndGet(current -> {
+            if (current == null) {
+                return null;
+            }
+            boolean today = gameDate.equals(current.day());
+            return current.withScore(gameType, today, today && firstForDate);
+        }));
+    }
+
+    public void recordRegistration() {
+        TransactionUtils.afterCommit(() -> snapshot.updateAndGet(current -> current != null ? current.withRegistration() : null));
+    }
+
+    private AdminStatsResponse toResponse(Snapshot current) {
+        AdminStatsResponse response = new AdminStatsResponse();
+        response.setTotalUsers(current.totalUsers());
+        response.setActiveToday(current.activeToday());
+        response.setAsOf(current.asOf());
+
+        Map<String, AdminStatsResponse.GameStatEntry> gameStats = new LinkedHashMap<>();
+        long totalPlays = 0;
+        long todayPlays = 0;
+        long maxPlays = 0;
+        long maxTodayPlays = 0;
+        for (GameType gameType : GameType.values()) {
+            AdminStatsResponse.GameStatEntry entry = new AdminStatsResponse.GameStatEntry();
+            entry.setDisplayName(gameType.getDisplayName());
+            entry.setTotalPlays(current.totalPlays()[gameType.ordinal()]);
+            entry.setTodayPlays(current.todayPlays()[gameType.ordinal()]);
+            totalPlays += entry.getTotalPlays();
+            todayPlays += entry.getTodayPlays();
+            maxPlays = Math.max(maxPlays, entry.getTotalPlays());
+            maxTodayPlays = Math.max(maxTodayPlays, entry.getTodayPlays());
+            gameStats.put(gameType.name(), entry);
+        }
+
+        response.setTotalPlays(totalPlays);
+        response.setTodayPlays(todayPlays);
+        response.setGameStats(gameStats);
+        response.setMaxPlays(maxPlays > 0 ? maxPlays : 1);
+        response.setMaxTodayPlays(maxTodayPlays > 0 ? maxTodayPlays : 1);
+        return response;
+    }
+}
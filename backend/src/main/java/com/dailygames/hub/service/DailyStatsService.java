@@ -0,0 +1,306 @@
+package com.dailygames.hub.service;
+
+import com.dailygames.hub.model.DailyStats;
+import com.dailygames.hub.model.GameType;
+import com.dailygames.hub.repository.DailyGameStatsRepository;
+import com.dailygames.hub.repository.DailyStatsRepository;
+import com.dailygames.hub.util.DateUtils;
+import com.dailygames.hub.util.TransactionUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Maintains the daily_stats and daily_game_stats rollups behind the historical admin charts.
+ * Committed scores and registrations are counted in memory and merged into the tables in one
+ * batch per flush, so submissions never contend on the row for today. A nightly job recomputes
+ * recent days from scores and users, which corrects increments lost to a crash and the
+ * approximate active-user counts of back-dated submissions. It runs on one instance at a time
+ * through {@link JobLock}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DailyStatsService {
+
+    private static final String MERGE_DAY_SQL =
+        "MERGE INTO daily_stats d " +
+        "USING (SELECT CAST(? AS DATE) AS stat_date, CAST(? AS BIGINT) AS active_users, " +
+        "CAST(? AS BIGINT) AS plays, CAST(? AS BIGINT) AS registrations) v " +
+        "ON d.stat_date = v.stat_date " +
+        "WHEN MATCHED THEN UPDATE SET active_users = d.active_users + v.active_users, " +
+        "plays = d.plays + v.plays, registrations = d.registrations + v.registrations " +
+        "WHEN NOT MATCHED THEN INSERT (stat_date, active_users, plays, registrations) " +
+        "VALUES (v.stat_date, v.active_users, v.plays, v.registrations)";
+
+    private static final String ZERO_DAY_SQL =
+        "MERGE INTO daily_stats d USING (SELECT CAST(? AS DATE) AS stat_date) v ON d.stat_date = v.stat_date " +
+        "WHEN MATCHED THEN UPDATE SET active_users = 0, plays = 0, registrations = 0 " +
+        "WHEN NOT MATCHED THEN INSERT (stat_date, active_users, plays, registrations) VALUES (v.stat_date, 0, 0, 0)";
+
+    private static final String RECONCILE_LOCK = "daily-stats-reconcile";
+
+    private static final String MERGE_GAME_SQL =
+        "MERGE INTO daily_game_stats g " +
+        "USING (SELECT CAST(? AS DATE) AS stat_date, CAST(? AS VARCHAR(32)) AS game_type, CAST(? AS BIGINT) AS plays) v " +
+        "ON g.stat_date = v.stat_date AND g.game_type = v.game_type " +
+        "WHEN MATCHED THEN UPDATE SET plays = g.plays + v.plays " +
+        "WHEN NOT MATCHED THEN INSERT (stat_date, game_type, plays) VALUES (v.stat_date, v.game_type, v.plays)";
+
+    private final DailyStatsRepository dailyStatsRepository;
+    private final DailyGameStatsRepository dailyGameStatsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final JobLock jobLock;
+
+    @Value("${app.daily-stats.max-days:366}")
+    private int maxDays;
+
+    @Value("${app.daily-stats.reconcile-days:7}")
+    private int reconcileDays;
+
+    // Longer than a full backfill can take; frees the lock if the instance running it dies
+    @Value("${app.daily-stats.lock-at-most-for:PT1H}")
+    private Duration lockAtMostFor;
+
+    private final ConcurrentHashMap<LocalDate, Delta> pending = new ConcurrentHashMap<>();
+
+    private static final class Delta {
+        final LongAdder activeUsers = new LongAdder();
+        final LongAdder registrations = new LongAdder();
+        final LongAdder[] plays = new LongAdder[GameType.values().length];
+
+        Delta() {
+            for (int i = 0; i < plays.length; i++) {
+                plays[i] = new LongAdder();
+            }
+        }
+    }
+
+    /**
+     * Counts a score once its transaction commits. {@code firstForDate} says whether it is the
+     * user's first score for its game date.
+     */
+    public void recordScore(GameType gameType, LocalDate gameDate, boolean firstForDate) {
+        TransactionUtils.afterCommit(() -> {
+            Delta delta = pending.computeIfAbsent(gameDate, d -> new Delta());
+            delta.plays[gameType.ordinal()].increment();
+            if (firstForDate) {
+                delta.activeUsers.increment();
+            }
+        });
+    }
+
+    public void recordRegistration(LocalDate date) {
+        TransactionUtils.afterCommit(() -> pending.computeIfAbsent(date, d -> new Delta()).registrations.increment());
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${app.daily-stats.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Object[]> dayRows = new ArrayList<>();
+        List<Object[]> gameRows = new ArrayList<>();
+        Map<LocalDate, long[]> drained = new HashMap<>();
+        pending.forEach((date, delta) -> {
+            // Slot 0 active users, 1 registrations, then plays per game
+            long[] counts = new long[2 + GameType.values().length];
+            counts[0] = delta.activeUsers.sumThenReset();
+            counts[1] = delta.registrations.sumThenReset();
+            long plays = 0;
+            for (int i = 0; i < delta.plays.length; i++) {
+                counts[2 + i] = delta.plays[i].sumThenReset();
+                plays += counts[2 + i];
+                if (counts[2 + i] > 0) {
+                    gameRows.add(new Object[]{Date.valueOf(date), GameType.values()[i].name(), counts[2 + i]});
+                }
+            }
+            if (counts[0] + counts[1] + plays == 0) {
+                // Idle since the last flush; an increment racing with this removal is dropped
+                pending.remove(date, delta);
+                return;
+            }
+            drained.put(date, counts);
+            dayRows.add(new Object[]{Date.valueOf(date), counts[0], plays, counts[1]});
+        });
+        if (dayRows.isEmpty()) {
+            return;
+        }
+
+        try {
+            merge(dayRows, gameRows);
+        } catch (RuntimeException e) {
+            log.warn("Daily stats flush failed, retrying with the next flush: {}", e.getMessage());
+            drained.forEach((date, counts) -> {
+                Delta delta = pending.computeIfAbsent(date, d -> new Delta());
+                delta.activeUsers.add(counts[0]);
+                delta.registrations.add(counts[1]);
+                for (int i = 0; i < delta.plays.length; i++) {
+                    delta.plays[i].add(counts[2 + i]);
+                }
+            });
+        }
+    }
+
+    private void merge(List<Object[]> dayRows, List<Object[]> gameRows) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Runnable batch = () -> tx.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(MERGE_DAY_SQL, dayRows);
+            if (!gameRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(MERGE_GAME_SQL, gameRows);
+            }
+        });
+        try {
+            batch.run();
+        } catch (DuplicateKeyException e) {
+            // Another instance inserted one of these rows concurrently; the batch rolled back and now matches
+            batch.run();
+        }
+    }
+
+    @Scheduled(cron = "${app.daily-stats.reconcile-cron:0 20 0 * * *}", zone = "Europe/Amsterdam")
+    public void reconcileRecent() {
+        LocalDate today = DateUtils.todayAmsterdam();
+        jobLock.runExclusively(RECONCILE_LOCK, lockAtMostFor, () -> reconcile(today.minusDays(reconcileDays), today));
+    }
+
+    /**
+     * Builds the rollup from scratch when it is empty, e.g. on first start after an upgrade.
+     */
+    public void backfillIfEmpty() {
+        jobLock.runExclusively(RECONCILE_LOCK, lockAtMostFor, this::backfill);
+    }
+
+    private void backfill() {
+        if (dailyStatsRepository.count() > 0) {
+            return;
+        }
+        Date firstScore = jdbcTemplate.queryForObject("SELECT MIN(game_date) FROM scores", Date.class);
+        Date firstUser = jdbcTemplate.queryForObject("SELECT CAST(MIN(created_at) AS DATE) FROM users", Date.class);
+        LocalDate from = DateUtils.todayAmsterdam();
+        for (Date date : new Date[]{firstScore, firstUser}) {
+            if (date != null && date.toLocalDate().isBefore(from)) {
+                from = date.toLocalDate();
+            }
+        }
+        reconcile(from, DateUtils.todayAmsterdam());
+    }
+
+    /**
+     * Replaces the rollup rows between the two dates, inclusive, with counts recomputed from
+     * scores and users. Pending increments are flushed first so they are not applied twice.
+     * The rows are zeroed before the recount, in the same transaction, which also locks them:
+     * a flush from another instance waits and then adds on top of the recount instead of being
+     * overwritten. Only increments still buffered on other instances for scores the recount
+     * already saw are counted twice, at most one flush interval's worth.
+     */
+    public synchronized void reconcile(LocalDate from, LocalDate to) {
+        flush();
+        long start = System.currentTimeMillis();
+        int[] activeDays = new int[1];
+        Runnable replace = () -> new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            activeDays[0] = recountAndReplace(from, to));
+        try {
+            replace.run();
+        } catch (DuplicateKeyException e) {
+            // A flush inserted one of the rows concurrently; the transaction rolled back and now matches
+            replace.run();
+        }
+        log.info("Reconciled daily stats for {} to {} ({} days with activity) in {} ms", from, to, activeDays[0],
+            System.currentTimeMillis() - start);
+    }
+
+    private int recountAndReplace(LocalDate from, LocalDate to) {
+        Date fromDate = Date.valueOf(from);
+        Date toDate = Date.valueOf(to);
+
+        List<Object[]> dates = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            dates.add(new Object[]{Date.valueOf(date)});
+        }
+        jdbcTemplate.batchUpdate(ZERO_DAY_SQL, dates);
+        jdbcTemplate.update("UPDATE daily_game_stats SET plays = 0 WHERE stat_date BETWEEN ? AND ?", fromDate, toDate);
+
+        TreeMap<LocalDate, long[]> days = new TreeMap<>();
+        List<Object[]> gameRows = new ArrayList<>();
+        jdbcTemplate.query(
+            "SELECT game_date, game_type, COUNT(*) FROM scores WHERE game_date BETWEEN ? AND ? GROUP BY game_date, game_type",
+            rs -> {
+                LocalDate date = rs.getDate(1).toLocalDate();
+                days.computeIfAbsent(date, d -> new long[3])[1] += rs.getLong(3);
+                gameRows.add(new Object[]{rs.getDate(1), rs.getString(2), rs.getLong(3)});
+            }, fromDate, toDate);
+        jdbcTemplate.query(
+            "SELECT game_date, COUNT(DISTINCT user_id) FROM scores WHERE game_date BETWEEN ? AND ? GROUP BY game_date",
+            rs -> {
+                days.computeIfAbsent(rs.getDate(1).toLocalDate(), d -> new long[3])[0] = rs.getLong(2);
+            }, fromDate, toDate);
+        jdbcTemplate.query(
+            "SELECT CAST(created_at AS DATE), COUNT(*) FROM users WHERE created_at >= ? AND created_at < ? " +
+            "GROUP BY CAST(created_at AS DATE)",
+            rs -> {
+                days.computeIfAbsent(rs.getDate(1).toLocalDate(), d -> new long[3])[2] = rs.getLong(2);
+            }, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+
+        // The rows are zero now, so the flush merges add the recounted values
+        List<Object[]> dayRows = new ArrayList<>(days.size());
+        days.forEach((date, counts) -> dayRows.add(new Object[]{Date.valueOf(date), counts[0], counts[1], counts[2]}));
+        jdbcTemplate.batchUpdate(MERGE_DAY_SQL, dayRows);
+        jdbcTemplate.batchUpdate(MERGE_GAME_SQL, gameRows);
+        return dayRows.size();
+    }
+
+    /**
+     * Chart series for the last {@code days} days, read from the rollup. With a game type the
+     * games-played series counts only that game.
+     */
+    public Map<String, Object> getHistoricalStats(int days, GameType gameType) {
+        if (days < 1 || days > maxDays) {
+            throw new IllegalArgumentException("Days must be between 1 and " + maxDays);
+        }
+        LocalDate endDate = DateUtils.todayAmsterdam();
+        LocalDate startDate = endDate.minusDays(days - 1);
+
+        Map<LocalDate, DailyStats> byDate = new HashMap<>();
+        dailyStatsRepository.findByStatDateBetweenOrderByStatDate(startDate, endDate)
+            .forEach(row -> byDate.put(row.getStatDate(), row));
+        Map<LocalDate, Long> gamePlays = new HashMap<>();
+        if (gameType != null) {
+            dailyGameStatsRepository.findByGameTypeAndStatDateBetweenOrderByStatDate(gameType, startDate, endDate)
+                .forEach(row -> gamePlays.put(row.getStatDate(), row.getPlays()));
+        }
+
+        List<Map<String, Object>> dailyUsers = new ArrayList<>();
+        List<Map<String, Object>> dailyGames = new ArrayList<>();
+        List<Map<String, Object>> userGrowth = new ArrayList<>();
+        long cumulativeUsers = dailyStatsRepository.sumRegistrationsBefore(startDate);
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            DailyStats row = byDate.get(date);
+            cumulativeUsers += row != null ? row.getRegistrations() : 0;
+            long plays = gameType != null ? gamePlays.getOrDefault(date, 0L) : row != null ? row.getPlays() : 0;
+
+            dailyUsers.add(Map.of("date", date.toString(), "activeUsers", row != null ? row.getActiveUsers() : 0L));
+            dailyGames.add(Map.of("date", date.toString(), "gamesPlayed", plays));
+            userGrowth.add(Map.of("date", date.toString(), "totalUsers", cumulativeUsers));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("dailyUsers", dailyUsers);
+        response.put("dailyGames", dailyGames);
+        response.put("userGrowth", userGrowth);
+        return response;
+    }
+}
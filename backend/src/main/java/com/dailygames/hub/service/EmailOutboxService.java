@@ -0,0 +1,235 @@
+package com.dailygames.hub.service;
+
+import com.dailygames.hub.model.OutboxEmail;
+import com.dailygames.hub.repository.OutboxEmailRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transactional outbox for email. Callers queue mail inside their own transaction, so it is sent
+ * only if that transaction commits, and a slow or failing SMTP server never holds their database
+ * connection or request thread. The dispatcher sends each batch over a single SMTP connection and
+ * retries failures with exponential backoff until {@code maxAttempts}, after which the email is
+ * left as {@link OutboxEmail.Status#DEAD}. The dispatcher polls on a thread of its own, so an SMTP
+ * server that stalls up to its timeouts never delays the jobs on the shared scheduler.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final JavaMailSender mailSender;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.retry-backoff-ms:30000}")
+    private long retryBackoffMs;
+
+    @Value("${app.mail.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    // Longer than a batch can take to send; a claimed email is retried once it runs out
+    @Value("${app.mail.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${app.mail.outbox.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${app.mail.outbox.poll-ms:2000}")
+    private long pollMs;
+
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "email-outbox");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+
+    @Transactional
+    public void enqueue(String recipient, String subject, String body) {
+        outboxEmailRepository.save(new OutboxEmail(recipient, subject, body));
+    }
+
+    @PostConstruct
+    public void startDispatcher() {
+        dispatcher.scheduleWithFixedDelay(() -> {
+            try {
+                dispatch();
+            } catch (Exception e) {
+                // An escaping exception would cancel every later run
+                log.error("Email outbox dispatch failed", e);
+            }
+        }, pollMs, pollMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Sends due emails until none are left. Safe to run on several instances at once: each email
+     * is claimed before it is sent.
+     */
+    public void dispatch() {
+        int claimed;
+        do {
+            claimed = dispatchBatch();
+        } while (claimed == batchSize);
+    }
+
+    int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEmail> batch = new ArrayList<>();
+        for (OutboxEmail email : outboxEmailRepository.findDue(now, PageRequest.of(0, batchSize))) {
+            if (outboxEmailRepository.claim(email.getId(), now, now.plusSeconds(leaseSeconds)) == 1) {
+                email.setAttempts(email.getAttempts() + 1);
+                batch.add(email);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<OutboxEmail, Exception> failures = send(batch);
+        List<Long> delivered = new ArrayList<>();
+        for (OutboxEmail email : batch) {
+            Exception failure = failures.get(email);
+            if (failure == null) {
+                delivered.add(email.getId());
+            } else {
+                recordFailure(email, failure);
+            }
+        }
+        if (!delivered.isEmpty()) {
+            outboxEmailRepository.markSent(delivered, LocalDateTime.now());
+            sent.addAndGet(delivered.size());
+        }
+        return batch.size();
+    }
+
+    @Scheduled(cron = "0 50 3 * * *", zone = "Europe/Amsterdam")
+    public void pruneSent() {
+        int deleted = outboxEmailRepository.deleteSentBefore(LocalDateTime.now().minusDays(retentionDays));
+        log.info("Pruned {} sent emails older than {} days", deleted, retentionDays);
+    }
+
+    public long sentCount() {
+        return sent.get();
+    }
+
+    public long failedCount() {
+        return failed.get();
+    }
+
+    public long deadCount() {
+        return dead.get();
+    }
+
+    /**
+     * Sends the batch over one connection and returns the emails that failed.
+     */
+    private Map<OutboxEmail, Exception> send(List<OutboxEmail> batch) {
+        Map<OutboxEmail, Exception> failures = new HashMap<>();
+        // Neither class overrides equals, so both maps key on identity; this one keeps queue order
+        Map<MimeMessage, OutboxEmail> messages = new LinkedHashMap<>();
+        for (OutboxEmail email : batch) {
+            try {
+                messages.put(toMessage(email), email);
+            } catch (MessagingException e) {
+                failures.put(email, e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            // Covers every message when the connection itself failed
+            e.getFailedMessages().forEach((message, cause) -> {
+                OutboxEmail email = messages.get(message);
+                if (email != null) {
+                    failures.put(email, cause);
+                }
+            });
+            if (e.getFailedMessages().isEmpty()) {
+                messages.values().forEach(email -> failures.put(email, e));
+            }
+        } catch (MailException e) {
+            messages.values().forEach(email -> failures.put(email, e));
+        }
+        return failures;
+    }
+
+    private MimeMessage toMessage(OutboxEmail email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody());
+        return message;
+    }
+
+    private void recordFailure(OutboxEmail email, Exception failure) {
+        String error = failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName();
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        if (email.getAttempts() >= maxAttempts) {
+            outboxEmailRepository.markDead(email.getId(), error);
+            dead.incrementAndGet();
+            log.error("Giving up on email {} to {} after {} attempts: {}",
+                email.getId(), email.getRecipient(), email.getAttempts(), error);
+        } else {
+            LocalDateTime nextAttemptAt = LocalDateTime.now().plusNanos(backoffMillis(email.getAttempts()) * 1_000_000);
+            outboxEmailRepository.retryLater(email.getId(), nextAttemptAt, error);
+            failed.incrementAndGet();
+            log.warn("Email {} to {} failed (attempt {}), retrying at {}: {}",
+                email.getId(), email.getRecipient(), email.getAttempts(), nextAttemptAt, error);
+        }
+    }
+
+    long backoffMillis(int attempts) {
+        int doublings = Math.min(attempts - 1, 30);
+        return Math.min(retryBackoffMs << doublings, maxBackoffMs);
+    }
+}
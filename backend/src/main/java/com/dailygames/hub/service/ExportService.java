@@ -0,0 +1,295 @@
+package com.dailygames.hub.service;
+
+import com.dailygames.hub.model.GameType;
+import com.dailygames.hub.repository.JdbcStreamer;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams admin exports row by row from a forward-only cursor straight into the response, so
+ * heap use does not depend on the number of rows exported. Each export holds a pooled
+ * connection and a request thread for as long as it runs, so at most {@code max-concurrent}
+ * run at once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JdbcStreamer jdbcStreamer;
+
+    @Value("${app.export.max-concurrent:2}")
+    private int maxConcurrent;
+
+    private final AtomicInteger running = new AtomicInteger();
+
+    public enum Dataset {
+        SCORES("SELECT s.id, s.user_id, u.username, s.game_type, s.game_date, s.attempts, s.solved, s.score, " +
+               "s.time_seconds, s.rating_change, s.submitted_at, s.raw_result " +
+               "FROM scores s JOIN users u ON u.id = s.user_id", "s.game_date", "s.game_type", "s.id"),
+        USERS("SELECT id, username, email, display_name, created_at, last_active_date, global_day_streak, " +
+              "longest_global_streak, average_rating, is_admin FROM users", "CAST(created_at AS DATE)", null, "id"),
+        RATINGS("SELECT r.id, r.user_id, u.username, r.game_type, r.rating, r.games_played, r.games_won " +
+                "FROM ratings r JOIN users u ON u.id = r.user_id", null, "r.game_type", "r.id");
+
+        private final String select;
+        private final String dateColumn;
+        private final String gameColumn;
+        private final String orderColumn;
+
+        Dataset(String select, String dateColumn, String gameColumn, String orderColumn) {
+            this.select = select;
+            this.dateColumn = dateColumn;
+            this.gameColumn = gameColumn;
+            this.orderColumn = orderColumn;
+        }
+
+        public static Dataset parse(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown export: " + name);
+            }
+        }
+    }
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format parse(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown export format: " + name);
+            }
+        }
+    }
+
+    /**
+     * Filters for one export; null fields are not applied. Rejected up front so a bad request
+     * fails before the response is committed.
+     */
+    public record Query(Dataset dataset, LocalDate from, LocalDate to, GameType gameType) {
+        public Query {
+            if (from != null && to != null && from.isAfter(to)) {
+                throw new IllegalArgumentException("From date must not be after to date");
+            }
+            if ((from != null || to != null) && dataset.dateColumn == null) {
+                throw new IllegalArgumentException("Date filters are not supported for " + dataset.name().toLowerCase(Locale.ROOT));
+            }
+            if (gameType != null && dataset.gameColumn == null) {
+                throw new IllegalArgumentException("Game filter is not supported for " + dataset.name().toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    /**
+     * Claims one of the export slots. Returns false when all are taken; otherwise the caller
+     * must call {@link #finishExport()} once the export is done, whether or not it succeeded.
+     */
+    public boolean tryStartExport() {
+        if (running.incrementAndGet() > maxConcurrent) {
+            running.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void finishExport() {
+        running.decrementAndGet();
+    }
+
+    public int runningExports() {
+        return running.get();
+    }
+
+    public void export(Query query, Format format, OutputStream out) throws IOException {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        Dataset dataset = query.dataset();
+        if (query.from() != null) {
+            conditions.add(dataset.dateColumn + " >= ?");
+            args.add(Date.valueOf(query.from()));
+        }
+        if (query.to() != null) {
+            conditions.add(dataset.dateColumn + " <= ?");
+            args.add(Date.valueOf(query.to()));
+        }
+        if (query.gameType() != null) {
+            conditions.add(dataset.gameColumn + " = ?");
+            args.add(query.gameType().name());
+        }
+        String sql = dataset.select
+            + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+            + " ORDER BY " + dataset.orderColumn;
+
+        long start = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        long[] rows = new long[1];
+        try {
+            jdbcStreamer.forEachRow(sql, rs -> {
+                try {
+                    rowWriter.write(rs);
+                } catch (IOException e) {
+                    // Usually the client went away; stop reading from the cursor
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            }, args.toArray());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        log.info("Exported {} {} rows as {} in {} ms", rows[0], dataset, format, System.currentTimeMillis() - start);
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private String[] columns;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            if (columns == null) {
+                columns = columnNames(rs);
+                writeLine(columns);
+            }
+            String[] values = new String[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                Object value = value(rs, i + 1);
+                values[i] = value != null ? value.toString() : "";
+            }
+            writeLine(values);
+        }
+
+        private void writeLine(String[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write("\r\n");
+        }
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+        private final JsonGenerator generator;
+        private String[] columns;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            this.generator = JSON_FACTORY.createGenerator(writer);
+            // The writer is owned by the export; the generator only formats into it
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            if (columns == null) {
+                columns = columnNames(rs);
+            }
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                Object value = value(rs, i + 1);
+                generator.writeFieldName(columns[i]);
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Number || value instanceof Boolean) {
+                    generator.writeObject(value);
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.flush();
+            writer.write('\n');
+        }
+    }
+
+    private static String[] columnNames(ResultSet rs) throws SQLException {
+        String[] names = new String[rs.getMetaData().getColumnCount()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = rs.getMetaData().getColumnLabel(i + 1).toLowerCase(Locale.ROOT);
+        }
+        return names;
+    }
+
+    private static Object value(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return value;
+    }
+
+    /**
+     * Quotes fields that need it, and defuses values a spreadsheet would run as a formula.
+     */
+    static String escape(String value) {
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0 && !isNumber(value)) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    private static boolean isNumber(String value) {
+        try {
+            Double.parseDouble(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -8,7 +8,9 @@ import com.dailygames.hub.model.Score;
 import com.dailygames.hub.model.User;
 import com.dailygames.hub.repository.FriendGroupRepository;
 import com.dailygames.hub.repository.ScoreRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,12 +21,23 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class FriendGroupService {
 
     private final FriendGroupRepository friendGroupRepository;
     private final ScoreRepository scoreRepository;
     private final RatingService ratingService;
+    private final Timer groupStatsTimer;
+
+    public FriendGroupService(FriendGroupRepository friendGroupRepository, ScoreRepository scoreRepository,
+                              RatingService ratingService, MeterRegistry meterRegistry) {
+        this.friendGroupRepository = friendGroupRepository;
+        this.scoreRepository = scoreRepository;
+        this.ratingService = ratingService;
+        this.groupStatsTimer = Timer.builder("groups.stats.compute")
+            .description("Computing one group's daily stats")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
 
     @Transactional
     public FriendGroupResponse createGroup(User owner, FriendGroupRequest request) {
@@ -90,6 +103,7 @@ public class FriendGroupService {
     }
 
     @Transactional(readOnly = true)
+    @Timed(value = "groups.list", histogram = true)
     public List<FriendGroupResponse> getUserGroups(User user) {
         return friendGroupRepository.findByMember(user).stream()
             .map(this::mapToResponse)
@@ -104,7 +118,8 @@ public class FriendGroupService {
 
     @Transactional(readOnly = true)
     public List<User> getGroupMembers(Long groupId) {
-        FriendGroup group = friendGroupRepository.findByIdWithMembers(groupId)
+        // Served from the group and membership cache regions once warm
+        FriendGroup group = friendGroupRepository.findById(groupId)
             .orElseThrow(() -> new IllegalArgumentException("Group not found"));
         return List.copyOf(group.getMembers());
     }
@@ -152,31 +167,14 @@ public class FriendGroupService {
         FriendGroup group = friendGroupRepository.findByIdWithMembers(groupId)
             .orElseThrow(() -> new IllegalArgumentException("Group not found"));
 
-        LocalDate lastActive = group.getLastActiveDate();
-
-        if (lastActive == null) {
-            group.setGroupStreak(1);
-            group.setLongestGroupStreak(1);
-            group.setLastActiveDate(gameDate);
-        } else if (lastActive.equals(gameDate)) {
-            // Already counted for this date
+        StreakTransition next = StreakTransition.play(group.getGroupStreak(), group.getLongestGroupStreak(),
+            group.getLastActiveDate(), gameDate);
+        if (next == null) {
             return;
-        } else if (gameDate.isBefore(lastActive)) {
-            // Submitting for an older date - don't change streak or lastActiveDate
-            return;
-        } else if (lastActive.plusDays(1).equals(gameDate)) {
-            // Consecutive day
-            group.setGroupStreak(group.getGroupStreak() + 1);
-            if (group.getGroupStreak() > group.getLongestGroupStreak()) {
-                group.setLongestGroupStreak(group.getGroupStreak());
-            }
-            group.setLastActiveDate(gameDate);
-        } else {
-            // Streak broken (gap of more than 1 day)
-            group.setGroupStreak(1);
-            group.setLastActiveDate(gameDate);
         }
-
+        group.setGroupStreak(next.current());
+        group.setLongestGroupStreak(next.longest());
+        group.setLastActiveDate(next.lastDate());
         friendGroupRepository.save(group);
     }
 
@@ -220,7 +218,7 @@ public class FriendGroupService {
         response.setMemberCount(memberList.size());
 
         // Calculate group stats
-        response.setStats(calculateGroupStats(group));
+        response.setStats(groupStatsTimer.record(() -> calculateGroupStats(group)));
 
         return response;
     }
@@ -231,37 +229,8 @@ public class FriendGroupService {
             return 0;
         }
 
-        // Get all distinct dates when any group member played
-        List<LocalDate> activeDates = scoreRepository.findDistinctDatesByUsers(members);
-        if (activeDates.isEmpty()) {
-            return 0;
-        }
-
-        // Sort dates ascending
-        List<LocalDate> sortedDates = activeDates.stream()
-            .sorted()
-            .collect(Collectors.toList());
-
-        // Calculate the longest consecutive streak by checking actual dates
-        int longestStreak = 1;
-        int currentStreak = 1;
-
-        for (int i = 1; i < sortedDates.size(); i++) {
-            LocalDate prevDate = sortedDates.get(i - 1);
-            LocalDate currDate = sortedDates.get(i);
-
-            // Check if dates are consecutive (exactly 1 day apart)
-            if (prevDate.plusDays(1).equals(currDate)) {
-                currentStreak++;
-                if (currentStreak > longestStreak) {
-                    longestStreak = currentStreak;
-                }
-            } else {
-                currentStreak = 1;
-            }
-        }
-
-        return longestStreak;
+        // Longest run of days on which any member played
+        return StreakTransition.longestRun(scoreRepository.findDistinctDatesByUsers(members));
     }
 
     private FriendGroupResponse.GroupStats calculateGroupStats(FriendGroup group) {
@@ -0,0 +1,562 @@
+package com.dailygames.hub.service;
+
+import com.dailygames.hub.dto.FriendSuggestionResponse;
+import com.dailygames.hub.model.FriendSuggestion;
+import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.FriendSuggestionRepository;
+import com.dailygames.hub.repository.JdbcStreamer;
+import com.dailygames.hub.util.LongHashSet;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * "People you may know", ranked by mutual friends and shared group memberships.
+ *
+ * A periodic batch job streams the friendships and friend_group_members tables into
+ * compressed adjacency arrays indexed by dense user position (CSR), then scores
+ * friends-of-friends and co-members in parallel over contiguous user id partitions.
+ * Each worker reuses four per-thread int scratch arrays sized to the user count, so heap use is
+ * fixed at roughly 4 bytes per friendship endpoint plus 16 bytes per user per worker:
+ * a 1M-user, 20M-edge graph needs about 170 MB of adjacency and 16 MB per worker.
+ * Friends with more than max-expansion-degree friends and groups larger than max-group-size
+ * are not expanded, which bounds the work per user. The top-K results per partition are
+ * handed through a bounded queue to a single writer so the database sees one writer.
+ * Scheduled and admin-triggered runs both execute on one job thread owned by this service,
+ * never on the shared scheduler thread, and on one instance at a time through {@link JobLock}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FriendSuggestionService {
+
+    private static final int MUTUAL_FRIEND_WEIGHT = 3;
+    private static final int SHARED_GROUP_WEIGHT = 2;
+    private static final int USERS_PER_PARTITION = 2048;
+    private static final String LOCK_NAME = "friend-suggestions";
+
+    private final FriendSuggestionRepository friendSuggestionRepository;
+    private final FriendshipGraph friendshipGraph;
+    private final JdbcStreamer jdbcStreamer;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final JobLock jobLock;
+
+    @Value("${app.suggestions.top-k:20}")
+    private int topK;
+
+    @Value("${app.suggestions.max-expansion-degree:1000}")
+    private int maxExpansionDegree;
+
+    @Value("${app.suggestions.max-group-size:200}")
+    private int maxGroupSize;
+
+    @Value("${app.suggestions.parallelism:0}")
+    private int parallelism;
+
+    // Longer than a run can take; frees the lock if the instance running the job dies
+    @Value("${app.suggestions.lock-at-most-for:PT2H}")
+    private Duration lockAtMostFor;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "friend-suggestions");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Transactional(readOnly = true)
+    public List<FriendSuggestionResponse> getSuggestions(User user) {
+        return friendSuggestionRepository.findByUserId(user.getId()).stream()
+            // Drop people the user has befriended or requested since the last batch run
+            .filter(s -> !friendshipGraph.isReady()
+                || friendshipGraph.relation(user.getId(), s.getSuggestedUser().getId()) == FriendshipGraph.Relation.NONE)
+            .map(this::mapToResponse)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Starts a recomputation on the job thread unless one is already running.
+     */
+    public boolean triggerRecompute() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            jobExecutor.execute(() -> {
+                try {
+                    recomputeSuggestions();
+                } catch (Exception e) {
+                    log.error("Friend suggestion job failed", e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            return false;
+        }
+        return true;
+    }
+
+    @Scheduled(cron = "${app.suggestions.cron:0 0 4 * * *}", zone = "Europe/Amsterdam")
+    public void scheduleRecompute() {
+        if (!triggerRecompute()) {
+            log.info("Friend suggestion job already running, skipping");
+        }
+    }
+
+    /**
+     * Recomputes every user's suggestions on the calling thread, unless another instance is
+     * already doing so. Returns whether it ran.
+     */
+    public boolean recomputeSuggestions() {
+        return jobLock.runExclusively(LOCK_NAME, lockAtMostFor, this::computeAll);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+
+    void computeAll() {
+        long start = System.currentTimeMillis();
+
+        long[] userIds = loadUserIds();
+        int n = userIds.length;
+        if (n == 0) {
+            return;
+        }
+        Csr friends = loadFriendships(userIds);
+        LongHashSet otherPairs = loadNonAcceptedPairs(userIds);
+        Memberships groups = loadGroupMemberships(userIds);
+        log.info("Friend suggestion input: {} users, {} friendship endpoints, {} group memberships loaded in {} ms",
+            n, friends.adjacency.length, groups.groupMembers.length, System.currentTimeMillis() - start);
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        int partitions = (n + USERS_PER_PARTITION - 1) / USERS_PER_PARTITION;
+        BlockingQueue<PartitionResult> results = new ArrayBlockingQueue<>(threads * 2);
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "friend-suggestions-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(() -> new Scratch(n, topK));
+
+        try {
+            for (int p = 0; p < partitions; p++) {
+                int lo = p * USERS_PER_PARTITION;
+                int hi = Math.min(n, lo + USERS_PER_PARTITION);
+                pool.execute(() -> {
+                    PartitionResult result;
+                    try {
+                        result = scorePartition(lo, hi, userIds, friends, otherPairs, groups, scratch.get());
+                    } catch (Throwable e) {
+                        // Anything that escapes would leave the collector waiting for this partition forever
+                        result = PartitionResult.failed(e);
+                    }
+                    try {
+                        results.put(result);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            long written = 0;
+            for (int i = 0; i < partitions; i++) {
+                PartitionResult result = results.take();
+                if (result.error != null) {
+                    throw new IllegalStateException("Suggestion partition failed", result.error);
+                }
+                written += writePartition(result);
+            }
+            log.info("Friend suggestions recomputed: {} rows for {} users in {} ms",
+                written, n, System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private PartitionResult scorePartition(int lo, int hi, long[] userIds, Csr friends, LongHashSet otherPairs,
+                                           Memberships groups, Scratch s) {
+        PartitionResult result = new PartitionResult(userIds[lo], userIds[hi - 1]);
+
+        for (int u = lo; u < hi; u++) {
+            int stamp = u + 1;
+            for (int i = friends.offsets[u]; i < friends.offsets[u + 1]; i++) {
+                int f = friends.adjacency[i];
+                if (f >= 0) {
+                    s.friendStamp[f] = stamp;
+                }
+            }
+
+            // Friends of friends
+            for (int i = friends.offsets[u]; i < friends.offsets[u + 1]; i++) {
+                int f = friends.adjacency[i];
+                if (f < 0 || friends.degree(f) > maxExpansionDegree) {
+                    continue;
+                }
+                for (int j = friends.offsets[f]; j < friends.offsets[f + 1]; j++) {
+                    int c = friends.adjacency[j];
+                    if (c >= 0) {
+                        s.touch(c);
+                        s.mutual[c]++;
+                    }
+                }
+            }
+
+            // Co-members of the user's groups
+            for (int i = groups.userOffsets[u]; i < groups.userOffsets[u + 1]; i++) {
+                int g = groups.userGroups[i];
+                int from = groups.groupOffsets[g];
+                int to = groups.groupOffsets[g + 1];
+                if (to - from > maxGroupSize) {
+                    continue;
+                }
+                for (int j = from; j < to; j++) {
+                    int c = groups.groupMembers[j];
+                    s.touch(c);
+                    s.shared[c]++;
+                }
+            }
+
+            s.resetTop();
+            for (int t = 0; t < s.touchedCount; t++) {
+                int c = s.touched[t];
+                if (c != u && s.friendStamp[c] != stamp && !otherPairs.contains(pairKey(u, c))) {
+                    s.offer(c, s.mutual[c] * MUTUAL_FRIEND_WEIGHT + s.shared[c] * SHARED_GROUP_WEIGHT);
+                }
+            }
+            int[] ranked = s.rankedCandidates();
+            for (int rank = 0; rank < ranked.length; rank++) {
+                int c = ranked[rank];
+                result.add(userIds[u], userIds[c], s.mutual[c], s.shared[c], rank + 1);
+            }
+            s.clearTouched();
+        }
+        return result;
+    }
+
+    private long writePartition(PartitionResult result) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        return tx.execute(status -> {
+            jdbcTemplate.update("DELETE FROM friend_suggestions WHERE user_id BETWEEN ? AND ?",
+                result.fromUserId, result.toUserId);
+            if (result.size == 0) {
+                return 0L;
+            }
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO friend_suggestions (user_id, suggestion_rank, suggested_user_id, mutual_friends, shared_groups) " +
+                "VALUES (?, ?, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, result.userIds[i]);
+                        ps.setInt(2, result.ranks[i]);
+                        ps.setLong(3, result.suggestedIds[i]);
+                        ps.setInt(4, result.mutual[i]);
+                        ps.setInt(5, result.shared[i]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return result.size;
+                    }
+                });
+            return (long) result.size;
+        });
+    }
+
+    private long[] loadUserIds() {
+        LongList ids = new LongList();
+        jdbcStreamer.forEachRow("SELECT id FROM users", rs -> ids.add(rs.getLong(1)));
+        long[] sorted = ids.toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private Csr loadFriendships(long[] userIds) {
+        String sql = "SELECT user_id, friend_id FROM friendships WHERE status = 'ACCEPTED'";
+        int n = userIds.length;
+
+        // Pass 1: degrees, so the adjacency array can be allocated exactly once
+        int[] offsets = new int[n + 1];
+        jdbcStreamer.forEachRow(sql, rs -> {
+            int a = Arrays.binarySearch(userIds, rs.getLong(1));
+            int b = Arrays.binarySearch(userIds, rs.getLong(2));
+            if (a >= 0 && b >= 0) {
+                offsets[a + 1]++;
+                offsets[b + 1]++;
+            }
+        });
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        // Pass 2: fill; rows added between passes are skipped, rows removed leave -1 holes
+        int[] adjacency = new int[offsets[n]];
+        Arrays.fill(adjacency, -1);
+        int[] cursor = Arrays.copyOf(offsets, n);
+        jdbcStreamer.forEachRow(sql, rs -> {
+            int a = Arrays.binarySearch(userIds, rs.getLong(1));
+            int b = Arrays.binarySearch(userIds, rs.getLong(2));
+            if (a >= 0 && b >= 0 && cursor[a] < offsets[a + 1] && cursor[b] < offsets[b + 1]) {
+                adjacency[cursor[a]++] = b;
+                adjacency[cursor[b]++] = a;
+            }
+        });
+        return new Csr(offsets, adjacency);
+    }
+
+    private LongHashSet loadNonAcceptedPairs(long[] userIds) {
+        LongHashSet pairs = new LongHashSet();
+        jdbcStreamer.forEachRow("SELECT user_id, friend_id FROM friendships WHERE status <> 'ACCEPTED'", rs -> {
+            int a = Arrays.binarySearch(userIds, rs.getLong(1));
+            int b = Arrays.binarySearch(userIds, rs.getLong(2));
+            if (a >= 0 && b >= 0 && a != b) {
+                pairs.add(pairKey(a, b));
+            }
+        });
+        return pairs;
+    }
+
+    private Memberships loadGroupMemberships(long[] userIds) {
+        int n = userIds.length;
+        IntList groupStarts = new IntList();
+        IntList members = new IntList();
+        long[] lastGroup = {Long.MIN_VALUE};
+        jdbcStreamer.forEachRow("SELECT group_id, user_id FROM friend_group_members ORDER BY group_id", rs -> {
+            int member = Arrays.binarySearch(userIds, rs.getLong(2));
+            if (member < 0) {
+                return;
+            }
+            long groupId = rs.getLong(1);
+            if (groupId != lastGroup[0]) {
+                groupStarts.add(members.size);
+                lastGroup[0] = groupId;
+            }
+            members.add(member);
+        });
+        groupStarts.add(members.size);
+
+        int[] groupOffsets = groupStarts.toArray();
+        int[] groupMembers = members.toArray();
+        int groupCount = groupOffsets.length - 1;
+
+        int[] userOffsets = new int[n + 1];
+        for (int member : groupMembers) {
+            userOffsets[member + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            userOffsets[i + 1] += userOffsets[i];
+        }
+        int[] userGroups = new int[groupMembers.length];
+        int[] cursor = Arrays.copyOf(userOffsets, n);
+        for (int g = 0; g < groupCount; g++) {
+            for (int j = groupOffsets[g]; j < groupOffsets[g + 1]; j++) {
+                userGroups[cursor[groupMembers[j]]++] = g;
+            }
+        }
+        return new Memberships(groupOffsets, groupMembers, userOffsets, userGroups);
+    }
+
+    private static long pairKey(int a, int b) {
+        int lo = Math.min(a, b);
+        int hi = Math.max(a, b);
+        return ((long) lo << 32) | hi;
+    }
+
+    private FriendSuggestionResponse mapToResponse(FriendSuggestion suggestion) {
+        User suggested = suggestion.getSuggestedUser();
+        FriendSuggestionResponse response = new FriendSuggestionResponse();
+        response.setUserId(suggested.getId());
+        response.setUsername(suggested.getUsername());
+        response.setDisplayName(suggested.getDisplayName());
+        response.setGlobalDayStreak(suggested.getGlobalDayStreak());
+        response.setAverageRating(suggested.getAverageRating());
+        response.setMutualFriends(suggestion.getMutualFriends());
+        response.setSharedGroups(suggestion.getSharedGroups());
+        return response;
+    }
+
+    private record Csr(int[] offsets, int[] adjacency) {
+        int degree(int node) {
+            return offsets[node + 1] - offsets[node];
+        }
+    }
+
+    private record Memberships(int[] groupOffsets, int[] groupMembers, int[] userOffsets, int[] userGroups) {
+    }
+
+    /**
+     * Per-worker counters indexed by user position, reset sparsely via the touched list.
+     */
+    private static class Scratch {
+        final int[] mutual;
+        final int[] shared;
+        final int[] friendStamp;
+        final int[] touched;
+        int touchedCount;
+
+        final int[] top;
+        final int[] topScore;
+        int topSize;
+
+        Scratch(int users, int k) {
+            mutual = new int[users];
+            shared = new int[users];
+            friendStamp = new int[users];
+            touched = new int[users];
+            top = new int[k];
+            topScore = new int[k];
+        }
+
+        void touch(int c) {
+            if (mutual[c] == 0 && shared[c] == 0) {
+                touched[touchedCount++] = c;
+            }
+        }
+
+        void clearTouched() {
+            for (int i = 0; i < touchedCount; i++) {
+                mutual[touched[i]] = 0;
+                shared[touched[i]] = 0;
+            }
+            touchedCount = 0;
+        }
+
+        void resetTop() {
+            topSize = 0;
+        }
+
+        void offer(int candidate, int score) {
+            if (topSize < top.length) {
+                top[topSize] = candidate;
+                topScore[topSize++] = score;
+                return;
+            }
+            int worst = 0;
+            for (int i = 1; i < topSize; i++) {
+                if (isWorse(i, worst)) {
+                    worst = i;
+                }
+            }
+            // Ties go to the lower user position so runs are deterministic
+            if (score > topScore[worst] || (score == topScore[worst] && candidate < top[worst])) {
+                top[worst] = candidate;
+                topScore[worst] = score;
+            }
+        }
+
+        int[] rankedCandidates() {
+            Integer[] order = new Integer[topSize];
+            for (int i = 0; i < topSize; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> topScore[a] != topScore[b]
+                ? Integer.compare(topScore[b], topScore[a])
+                : Integer.compare(top[a], top[b]));
+            int[] ranked = new int[topSize];
+            for (int i = 0; i < topSize; i++) {
+                ranked[i] = top[order[i]];
+            }
+            return ranked;
+        }
+
+        private boolean isWorse(int i, int j) {
+            return topScore[i] < topScore[j] || (topScore[i] == topScore[j] && top[i] > top[j]);
+        }
+    }
+
+    private static class PartitionResult {
+        final long fromUserId;
+        final long toUserId;
+        long[] userIds = new long[64];
+        long[] suggestedIds = new long[64];
+        int[] mutual = new int[64];
+        int[] shared = new int[64];
+        int[] ranks = new int[64];
+        int size;
+        Throwable error;
+
+        PartitionResult(long fromUserId, long toUserId) {
+            this.fromUserId = fromUserId;
+            this.toUserId = toUserId;
+        }
+
+        static PartitionResult failed(Throwable error) {
+            PartitionResult result = new PartitionResult(0, 0);
+            result.error = error;
+            return result;
+        }
+
+        void add(long userId, long suggestedId, int mutualCount, int sharedCount, int rank) {
+            if (size == userIds.length) {
+                int capacity = size * 2;
+                userIds = Arrays.copyOf(userIds, capacity);
+                suggestedIds = Arrays.copyOf(suggestedIds, capacity);
+                mutual = Arrays.copyOf(mutual, capacity);
+                shared = Arrays.copyOf(shared, capacity);
+                ranks = Arrays.copyOf(ranks, capacity);
+            }
+            userIds[size] = userId;
+            suggestedIds[size] = suggestedId;
+            mutual[size] = mutualCount;
+            shared[size] = sharedCount;
+            ranks[size] = rank;
+            size++;
+        }
+    }
+
+    private static class IntList {
+        int[] values = new int[1024];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static class LongList {
+        long[] values = new long[1024];
+        int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.dailygames.hub.service;
+
+import com.dailygames.hub.model.Friendship.FriendshipStatus;
+import com.dailygames.hub.repository.FriendshipEdge;
+import com.dailygames.hub.repository.FriendshipRepository;
+import com.dailygames.hub.util.LongHashSet;
+import com.dailygames.hub.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory copy of the friendships table keyed by user id, so friend checks and
+ * friendship status lookups are O(1) set probes instead of OR-heavy queries.
+ *
+ * Each user with at least one edge has a node holding up to three primitive sets
+ * (accepted friends, outgoing requests, incoming requests); empty sets are not allocated.
+ * Memory budget: roughly 90 bytes of fixed overhead per node (map entry, boxed key, node
+ * and set headers) plus 8 bytes per slot at a 0.75 load factor rounded up to a power of two.
+ * At 1M users with an average of 20 friends that is about 370 MB; at 5 friends about 180 MB.
+ * A rebuild loads a second copy before swapping it in, so peak usage is twice that.
+ * Declined requests are not kept. Until {@link #warm()} has run, {@link #isReady()} is false
+ * and callers fall back to the repository.
+ *
+ * Every change is also logged to {@code friendship_changes} in the transaction that makes it.
+ * Each instance applies its own changes once they commit and picks up those made through other
+ * instances from the log every {@code app.friendship-graph.sync-ms}. The periodic full rebuild
+ * ({@code app.friendship-graph.rebuild-ms}) is only a safety net.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FriendshipGraph {
+
+    public enum Change {
+        SENT,
+        ACCEPTED,
+        DECLINED,
+        REMOVED
+    }
+
+    public enum Relation {
+        NONE,
+        ACCEPTED,
+        // the first user sent a request to the second
+        SENT,
+        // the second user sent a request to the first
+        RECEIVED
+    }
+
+    // Changes may commit out of id order; re-read this many ids back on every sync
+    private static final long SYNC_ID_OVERLAP = 1000;
+
+    private final FriendshipRepository friendshipRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.friendship-graph.change-retention-hours:24}")
+    private long changeRetentionHours;
+
+    // Guarded by lock
+    private Map<Long, Node> nodes = new HashMap<>();
+    // Changes applied while a rebuild is loading, replayed onto the new copy; null otherwise
+    private List<Consumer<Map<Long, Node>>> journal;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready = false;
+    // Highest change id applied by a rebuild or sync; guarded by this
+    private long lastChangeId;
+
+    /**
+     * Loads a fresh copy without holding the lock, so lookups and updates carry on against the
+     * current one, then swaps it in. Updates made meanwhile are replayed onto the fresh copy;
+     * they are idempotent, so one the load already saw is harmless.
+     */
+    // Read-write so it never loads from a lagging replica, which later updates assume it has seen
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.friendship-graph.rebuild-ms:3600000}",
+        initialDelayString = "${app.friendship-graph.rebuild-ms:3600000}")
+    public synchronized void warm() {
+        long start = System.currentTimeMillis();
+        long edges = 0;
+        write(current -> journal = new ArrayList<>());
+        // Read first: a change logged while the edges stream is either in them or replayed by the next sync
+        Long maxChangeId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM friendship_changes", Long.class);
+        Map<Long, Node> fresh = new HashMap<>();
+        try (Stream<FriendshipEdge> stream = friendshipRepository.streamActiveEdges()) {
+            for (FriendshipEdge edge : (Iterable<FriendshipEdge>) stream::iterator) {
+                if (edge.getStatus() == FriendshipStatus.ACCEPTED) {
+                    link(fresh, edge.getUserId(), edge.getFriendId());
+                } else {
+                    addPending(fresh, edge.getUserId(), edge.getFriendId());
+                }
+                edges++;
+            }
+        } catch (RuntimeException e) {
+            write(current -> journal = null);
+            throw e;
+        }
+        int replayed = read(() -> journal.size());
+        write(current -> {
+            journal.forEach(change -> change.accept(fresh));
+            journal = null;
+            nodes = fresh;
+            ready = true;
+        });
+        lastChangeId = maxChangeId != null ? maxChangeId : 0;
+        log.info("Friendship graph loaded with {} edges over {} users in {} ms (~{} KB, {} changes replayed)",
+            edges, fresh.size(), System.currentTimeMillis() - start, estimatedBytes() / 1024, replayed);
+    }
+
+    /**
+     * Applies the changes logged since the last rebuild or sync, including those made through
+     * other instances. Changes already applied are applied again in order, which is harmless.
+     */
+    @Scheduled(fixedDelayString = "${app.friendship-graph.sync-ms:5000}", initialDelayString = "${app.friendship-graph.sync-ms:5000}")
+    public synchronized void syncChanges() {
+        if (!ready) {
+            return;
+        }
+        long[] maxId = {lastChangeId};
+        jdbcTemplate.query("SELECT id, user_id, friend_id, kind FROM friendship_changes WHERE id > ? ORDER BY id", rs -> {
+            maxId[0] = Math.max(maxId[0], rs.getLong(1));
+            apply(Change.valueOf(rs.getString(4)), rs.getLong(2), rs.getLong(3));
+        }, lastChangeId - SYNC_ID_OVERLAP);
+        lastChangeId = maxId[0];
+    }
+
+    /**
+     * Logs a change in the caller's transaction for the other instances and applies it here once
+     * that transaction commits. For a request, {@code userId} is the sender.
+     */
+    public void publish(Change change, long userId, long otherId) {
+        jdbcTemplate.update("INSERT INTO friendship_changes (user_id, friend_id, kind, created_at) VALUES (?, ?, ?, ?)",
+            userId, otherId, change.name(), LocalDateTime.now());
+        TransactionUtils.afterCommit(() -> apply(change, userId, otherId));
+    }
+
+    @Scheduled(cron = "0 35 3 * * *", zone = "Europe/Amsterdam")
+    public void pruneChanges() {
+        int deleted = jdbcTemplate.update("DELETE FROM friendship_changes WHERE created_at < ?",
+            LocalDateTime.now().minusHours(changeRetentionHours));
+        log.info("Pruned {} friendship changes older than {} hours", deleted, changeRetentionHours);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean areFriends(long userId, long otherId) {
+        return read(() -> {
+            Node node = nodes.get(userId);
+            return node != null && node.friends != null && node.friends.contains(otherId);
+        });
+    }
+
+    public Relation relation(long userId, long otherId) {
+        return read(() -> {
+            Node node = nodes.get(userId);
+            if (node == null) {
+                return Relation.NONE;
+            }
+            if (node.friends != null && node.friends.contains(otherId)) {
+                return Relation.ACCEPTED;
+            }
+            if (node.outgoing != null && node.outgoing.contains(otherId)) {
+                return Relation.SENT;
+            }
+            if (node.incoming != null && node.incoming.contains(otherId)) {
+                return Relation.RECEIVED;
+            }
+            return Relation.NONE;
+        });
+    }
+
+    public long[] friendIds(long userId) {
+        return read(() -> {
+            Node node = nodes.get(userId);
+            return node == null || node.friends == null ? new long[0] : node.friends.toArray();
+        });
+    }
+
+    public int friendCount(long userId) {
+        return read(() -> sizeOf(userId, Kind.FRIENDS));
+    }
+
+    public int incomingCount(long userId) {
+        return read(() -> sizeOf(userId, Kind.INCOMING));
+    }
+
+    public int outgoingCount(long userId) {
+        return read(() -> sizeOf(userId, Kind.OUTGOING));
+    }
+
+    private void apply(Change change, long userId, long otherId) {
+        switch (change) {
+            case SENT -> requestSent(userId, otherId);
+            case ACCEPTED -> requestAccepted(userId, otherId);
+            case DECLINED -> requestDeclined(userId, otherId);
+            case REMOVED -> friendshipRemoved(userId, otherId);
+        }
+    }
+
+    public void requestSent(long senderId, long receiverId) {
+        change(graph -> addPending(graph, senderId, receiverId));
+    }
+
+    public void requestAccepted(long senderId, long receiverId) {
+        change(graph -> {
+            removePending(graph, senderId, receiverId);
+            link(graph, senderId, receiverId);
+        });
+    }
+
+    public void requestDeclined(long senderId, long receiverId) {
+        change(graph -> removePending(graph, senderId, receiverId));
+    }
+
+    public void friendshipRemoved(long userId, long otherId) {
+        change(graph -> {
+            removePending(graph, userId, otherId);
+            removePending(graph, otherId, userId);
+            Node a = graph.get(userId);
+            Node b = graph.get(otherId);
+            if (a != null && a.friends != null) {
+                a.friends.remove(otherId);
+            }
+            if (b != null && b.friends != null) {
+                b.friends.remove(userId);
+            }
+            prune(graph, userId);
+            prune(graph, otherId);
+        });
+    }
+
+    public long estimatedBytes() {
+        return read(() -> {
+            long bytes = 0;
+            for (Node node : nodes.values()) {
+                bytes += 90;
+                bytes += node.friends != null ? node.friends.estimatedBytes() : 0;
+                bytes += node.outgoing != null ? node.outgoing.estimatedBytes() : 0;
+                bytes += node.incoming != null ? node.incoming.estimatedBytes() : 0;
+            }
+            return bytes;
+        });
+    }
+
+    private static void link(Map<Long, Node> graph, long a, long b) {
+        node(graph, a).friends().add(b);
+        node(graph, b).friends().add(a);
+    }
+
+    private static void addPending(Map<Long, Node> graph, long senderId, long receiverId) {
+        node(graph, senderId).outgoing().add(receiverId);
+        node(graph, receiverId).incoming().add(senderId);
+    }
+
+    private static void removePending(Map<Long, Node> graph, long senderId, long receiverId) {
+        Node sender = graph.get(senderId);
+        Node receiver = graph.get(receiverId);
+        if (sender != null && sender.outgoing != null) {
+            sender.outgoing.remove(receiverId);
+        }
+        if (receiver != null && receiver.incoming != null) {
+            receiver.incoming.remove(senderId);
+        }
+        prune(graph, senderId);
+        prune(graph, receiverId);
+    }
+
+    private static Node node(Map<Long, Node> graph, long userId) {
+        return graph.computeIfAbsent(userId, id -> new Node());
+    }
+
+    private static void prune(Map<Long, Node> graph, long userId) {
+        Node node = graph.get(userId);
+        if (node != null && node.isEmpty()) {
+            graph.remove(userId);
+        }
+    }
+
+    private int sizeOf(long userId, Kind kind) {
+        Node node = nodes.get(userId);
+        if (node == null) {
+            return 0;
+        }
+        LongHashSet set = switch (kind) {
+            case FRIENDS -> node.friends;
+            case OUTGOING -> node.outgoing;
+            case INCOMING -> node.incoming;
+        };
+        return set == null ? 0 : set.size();
+    }
+
+    private <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<Map<Long, Node>> action) {
+        lock.writeLock().lock();
+        try {
+            action.accept(nodes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void change(Consumer<Map<Long, Node>> change) {
+        write(graph -> {
+            change.accept(graph);
+            if (journal != null) {
+                journal.add(change);
+            }
+        });
+    }
+
+    private enum Kind {
+        FRIENDS, OUTGOING, INCOMING
+    }
+
+    private static class Node {
+        LongHashSet friends;
+        LongHashSet outgoing;
+        LongHashSet incoming;
+
+        LongHashSet friends() {
+            if (friends == null) {
+                friends = new LongHashSet();
+            }
+            return friends;
+        }
+
+        LongHashSet outgoing() {
+            if (outgoing == null) {
+                outgoing = new LongHashSet();
+            }
+            return outgoing;
+        }
+
+        LongHashSet incoming() {
+            if (incoming == null) {
+                incoming = new LongHashSet();
+            }
+            return incoming;
+        }
+
+        boolean isEmpty() {
+            return (friends == null || friends.isEmpty())
+                && (outgoing == null || outgoing.isEmpty())
+                && (incoming == null || incoming.isEmpty());
+        }
+    }
+}
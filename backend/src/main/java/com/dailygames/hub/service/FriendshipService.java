@@ -7,14 +7,15 @@ import com.dailygames.hub.model.User;
 import com.dailygames.hub.repository.FriendshipRepository;
 import com.dailygames.hub.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +23,7 @@ public class FriendshipService {
 
     private final FriendshipRepository friendshipRepository;
     private final UserRepository userRepository;
+    private final FriendshipGraph friendshipGraph;
 
     @Transactional
     public FriendResponse sendFriendRequest(User sender, Long receiverId) {
@@ -48,6 +50,7 @@ public class FriendshipService {
         friendship.setStatus(FriendshipStatus.PENDING);
 
         Friendship saved = friendshipRepository.save(friendship);
+        friendshipGraph.publish(FriendshipGraph.Change.SENT, sender.getId(), receiverId);
         return mapToResponse(saved, sender);
     }
 
@@ -68,6 +71,8 @@ public class FriendshipService {
         friendship.setAcceptedAt(LocalDateTime.now());
 
         Friendship saved = friendshipRepository.save(friendship);
+        Long senderId = friendship.getUser().getId();
+        friendshipGraph.publish(FriendshipGraph.Change.ACCEPTED, senderId, user.getId());
         return mapToResponse(saved, user);
     }
 
@@ -82,6 +87,8 @@ public class FriendshipService {
 
         friendship.setStatus(FriendshipStatus.DECLINED);
         friendshipRepository.save(friendship);
+        Long senderId = friendship.getUser().getId();
+        friendshipGraph.publish(FriendshipGraph.Change.DECLINED, senderId, user.getId());
     }
 
     @Transactional
@@ -91,27 +98,49 @@ public class FriendshipService {
 
         Optional<Friendship> friendship = friendshipRepository.findFriendshipBetween(user, friend);
         friendship.ifPresent(friendshipRepository::delete);
+        friendshipGraph.publish(FriendshipGraph.Change.REMOVED, user.getId(), friendId);
     }
 
-    public List<FriendResponse> getFriends(User user) {
-        return friendshipRepository.findByUserOrFriendAndStatus(user, FriendshipStatus.ACCEPTED).stream()
-            .map(f -> mapToResponse(f, user))
-            .collect(Collectors.toList());
+    /**
+     * Accepted friends ordered by friendship id, starting after the given id. Both sides of the
+     * relation are read with their own index-backed projection and merged.
+     */
+    @Transactional(readOnly = true)
+    public List<FriendResponse> getFriends(User user, Long after, int limit) {
+        if (friendshipGraph.isReady() && friendshipGraph.friendCount(user.getId()) == 0) {
+            return new ArrayList<>();
+        }
+        long from = after != null ? after : 0L;
+        PageRequest page = PageRequest.of(0, limit);
+        List<FriendResponse> friends = new ArrayList<>(
+            friendshipRepository.findSentListing(user.getId(), FriendshipStatus.ACCEPTED, from, page));
+        friends.addAll(friendshipRepository.findReceivedListing(user.getId(), FriendshipStatus.ACCEPTED, from, page));
+        friends.sort(Comparator.comparing(FriendResponse::getId));
+        return friends.size() > limit ? new ArrayList<>(friends.subList(0, limit)) : friends;
     }
 
-    public List<FriendResponse> getPendingRequests(User user) {
-        return friendshipRepository.findPendingRequestsForUser(user).stream()
-            .map(f -> mapToResponse(f, user))
-            .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<FriendResponse> getPendingRequests(User user, Long after, int limit) {
+        if (friendshipGraph.isReady() && friendshipGraph.incomingCount(user.getId()) == 0) {
+            return new ArrayList<>();
+        }
+        return friendshipRepository.findReceivedListing(user.getId(), FriendshipStatus.PENDING,
+            after != null ? after : 0L, PageRequest.of(0, limit));
     }
 
-    public List<FriendResponse> getSentRequests(User user) {
-        return friendshipRepository.findSentRequestsByUser(user).stream()
-            .map(f -> mapToResponse(f, user))
-            .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<FriendResponse> getSentRequests(User user, Long after, int limit) {
+        if (friendshipGraph.isReady() && friendshipGraph.outgoingCount(user.getId()) == 0) {
+            return new ArrayList<>();
+        }
+        return friendshipRepository.findSentListing(user.getId(), FriendshipStatus.PENDING,
+            after != null ? after : 0L, PageRequest.of(0, limit));
     }
 
     public boolean areFriends(User user1, User user2) {
+        if (friendshipGraph.isReady()) {
+            return friendshipGraph.areFriends(user1.getId(), user2.getId());
+        }
         return friendshipRepository.areFriends(user1, user2);
     }
 
@@ -120,6 +149,15 @@ public class FriendshipService {
             return null;
         }
 
+        if (friendshipGraph.isReady()) {
+            return switch (friendshipGraph.relation(currentUser.getId(), otherUser.getId())) {
+                case ACCEPTED -> "ACCEPTED";
+                case SENT -> "SENT";
+                case RECEIVED -> "PENDING";
+                case NONE -> null;
+            };
+        }
+
         Optional<Friendship> friendship = friendshipRepository.findFriendshipBetween(currentUser, otherUser);
         if (friendship.isEmpty()) {
             return null;
@@ -0,0 +1,135 @@
+package com.dailygames.hub.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Shares rate-limit usage through the rate_limit_counters table: one row per key and policy
+ * window holding the hits admitted by all instances. Each sync merges this instance's hits in
+ * one batch and reads back the totals of the keys it has used in the current window; anything
+ * above its own contribution came from other instances. Keys longer than the column (only an
+ * over-long login name or email can be) are limited on this instance alone.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "jdbc")
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcRateLimitStore implements RateLimitStore {
+
+    private static final int QUERY_CHUNK = 500;
+    private static final int MAX_KEY_LENGTH = 320;
+
+    private static final String MERGE_SQL =
+        "MERGE INTO rate_limit_counters c " +
+        "USING (SELECT CAST(? AS VARCHAR(32)) AS policy, CAST(? AS VARCHAR(320)) AS bucket_key, " +
+        "CAST(? AS BIGINT) AS window_start, CAST(? AS BIGINT) AS hits) v " +
+        "ON c.policy = v.policy AND c.bucket_key = v.bucket_key AND c.window_start = v.window_start " +
+        "WHEN MATCHED THEN UPDATE SET hits = c.hits + v.hits " +
+        "WHEN NOT MATCHED THEN INSERT (policy, bucket_key, window_start, hits) " +
+        "VALUES (v.policy, v.bucket_key, v.window_start, v.hits)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    // Keys this instance used in their current window; only touched under the instance lock
+    private final Map<RateLimitKey, Watched> watched = new HashMap<>();
+
+    private static final class Watched {
+        final long windowStart;
+        long own;
+        long remoteSeen;
+
+        Watched(long windowStart) {
+            this.windowStart = windowStart;
+        }
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
+    @Override
+    public synchronized Map<RateLimitKey, Long> exchange(Map<RateLimitKey, Long> localHits, long nowMs) {
+        watched.entrySet().removeIf(e -> e.getValue().windowStart != windowStart(e.getKey().policy(), nowMs));
+
+        Map<RateLimitKey, Long> shared = new HashMap<>(localHits);
+        shared.keySet().removeIf(key -> key.key().length() > MAX_KEY_LENGTH);
+        List<Object[]> rows = new ArrayList<>(shared.size());
+        shared.forEach((key, hits) ->
+            rows.add(new Object[]{key.policy().name(), key.key(), windowStart(key.policy(), nowMs), hits}));
+        if (!rows.isEmpty()) {
+            merge(rows);
+        }
+        // Counted only once merged, or a failed sync would hide as many hits by other instances
+        shared.forEach((key, hits) ->
+            watched.computeIfAbsent(key, k -> new Watched(windowStart(k.policy(), nowMs))).own += hits);
+        return readRemoteHits(nowMs);
+    }
+
+    @Scheduled(cron = "0 */10 * * * *")
+    public void purgeExpired() {
+        long longestPeriod = Arrays.stream(RateLimitPolicy.values())
+            .mapToLong(p -> p.getPeriod().toMillis())
+            .max()
+            .orElse(0);
+        int deleted = jdbcTemplate.update("DELETE FROM rate_limit_counters WHERE window_start < ?",
+            System.currentTimeMillis() - 2 * longestPeriod);
+        log.debug("Purged {} expired rate-limit counters", deleted);
+    }
+
+    private void merge(List<Object[]> rows) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        try {
+            tx.executeWithoutResult(status -> jdbcTemplate.batchUpdate(MERGE_SQL, rows));
+        } catch (DuplicateKeyException e) {
+            // Another instance inserted one of these rows concurrently; the batch rolled back and now matches
+            tx.executeWithoutResult(status -> jdbcTemplate.batchUpdate(MERGE_SQL, rows));
+        }
+    }
+
+    private Map<RateLimitKey, Long> readRemoteHits(long nowMs) {
+        Map<RateLimitPolicy, List<String>> keysByPolicy = new EnumMap<>(RateLimitPolicy.class);
+        watched.keySet().forEach(k -> keysByPolicy.computeIfAbsent(k.policy(), p -> new ArrayList<>()).add(k.key()));
+
+        Map<RateLimitKey, Long> remote = new HashMap<>();
+        keysByPolicy.forEach((policy, keys) -> {
+            for (int from = 0; from < keys.size(); from += QUERY_CHUNK) {
+                MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("policy", policy.name())
+                    .addValue("window", windowStart(policy, nowMs))
+                    .addValue("keys", keys.subList(from, Math.min(keys.size(), from + QUERY_CHUNK)));
+                namedParameterJdbcTemplate.query(
+                    "SELECT bucket_key, hits FROM rate_limit_counters " +
+                    "WHERE policy = :policy AND window_start = :window AND bucket_key IN (:keys)",
+                    params, rs -> {
+                        RateLimitKey key = new RateLimitKey(policy, rs.getString(1));
+                        Watched w = watched.get(key);
+                        long others = rs.getLong(2) - w.own;
+                        if (others > w.remoteSeen) {
+                            remote.put(key, others - w.remoteSeen);
+                            w.remoteSeen = others;
+                        }
+                    });
+            }
+        });
+        return remote;
+    }
+
+    private static long windowStart(RateLimitPolicy policy, long nowMs) {
+        long period = policy.getPeriod().toMillis();
+        return nowMs - Math.floorMod(nowMs, period);
+    }
+}
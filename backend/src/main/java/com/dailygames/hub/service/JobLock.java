@@ -0,0 +1,41 @@
+package com.dailygames.hub.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.core.LockConfiguration;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.core.SimpleLock;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Runs a batch job on at most one instance at a time. A lock left by an instance that died
+ * mid-run expires after {@code lockAtMostFor}, which must exceed the job's longest run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobLock {
+
+    private final LockProvider lockProvider;
+
+    /**
+     * Runs the job unless another instance holds the named lock, and returns whether it ran.
+     */
+    public boolean runExclusively(String name, Duration lockAtMostFor, Runnable job) {
+        Optional<SimpleLock> lock = lockProvider.lock(new LockConfiguration(Instant.now(), name, lockAtMostFor, Duration.ZERO));
+        if (lock.isEmpty()) {
+            log.info("Skipping {}: another instance is running it", name);
+            return false;
+        }
+        try {
+            job.run();
+        } finally {
+            lock.get().unlock();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,24 @@
+package com.dailygames.hub.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Single-instance store: nothing to share, limits are purely local.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimitStore implements RateLimitStore {
+
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+
+    @Override
+    public Map<RateLimitKey, Long> exchange(Map<RateLimitKey, Long> localHits, long nowMs) {
+        return Map.of();
+    }
+}
@@ -7,6 +7,7 @@ import com.dailygames.hub.model.Message;
 import com.dailygames.hub.model.User;
 import com.dailygames.hub.repository.MessageRepository;
 import com.dailygames.hub.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -71,6 +72,8 @@ public class MessageService {
         }
     }
 
+    @Transactional(readOnly = true)
+    @Timed(value = "messages.conversations", histogram = true)
     public List<ConversationResponse> getConversations(User currentUser) {
         List<User> partners = messageRepository.findConversationPartners(currentUser);
         List<ConversationResponse> conversations = new ArrayList<>();
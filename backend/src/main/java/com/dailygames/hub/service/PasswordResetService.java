@@ -7,9 +7,6 @@ import com.dailygames.hub.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,14 +19,12 @@ public class PasswordResetService {
     private final UserRepository userRepository;
     private final PasswordResetTokenRepository tokenRepository;
     private final PasswordEncoder passwordEncoder;
-    private final JavaMailSender mailSender;
+    private final RefreshTokenService refreshTokenService;
+    private final EmailOutboxService emailOutboxService;
 
     @Value("${app.frontend-url:http://localhost:5173}")
     private String frontendUrl;
 
-    @Value("${spring.mail.username}")
-    private String fromEmail;
-
     @Transactional
     public void createPasswordResetToken(String email) {
         User user = userRepository.findByEmail(email)
@@ -42,18 +37,14 @@ public class PasswordResetService {
         PasswordResetToken resetToken = new PasswordResetToken(user);
         tokenRepository.save(resetToken);
 
-        // Send email
+        // Queue the email; it is sent once this transaction commits
         sendResetEmail(user.getEmail(), resetToken.getToken());
     }
 
     private void sendResetEmail(String toEmail, String token) {
         String resetUrl = frontendUrl + "/reset-password?token=" + token;
 
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(toEmail);
-        message.setSubject("Scordle - Password Reset Request");
-        message.setText(
+        emailOutboxService.enqueue(toEmail, "Scordle - Password Reset Request",
             "Hello,\n\n" +
             "You have requested to reset your password for your Scordle account.\n\n" +
             "Click the following link to reset your password:\n" +
@@ -63,14 +54,7 @@ public class PasswordResetService {
             "Best regards,\n" +
             "The Scordle Team"
         );
-
-        try {
-            mailSender.send(message);
-            log.info("Password reset email sent successfully to: {}", toEmail);
-        } catch (MailException e) {
-            log.error("Failed to send password reset email to: {}", toEmail, e);
-            throw new RuntimeException("Failed to send password reset email. Please try again later.");
-        }
+        log.info("Password reset email queued for: {}", toEmail);
     }
 
     @Transactional
@@ -89,6 +73,7 @@ public class PasswordResetService {
         User user = resetToken.getUser();
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        refreshTokenService.revokeAllForUser(user);
 
         resetToken.setUsed(true);
         tokenRepository.save(resetToken);
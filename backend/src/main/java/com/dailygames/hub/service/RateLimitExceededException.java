@@ -0,0 +1,18 @@
+package com.dailygames.hub.service;
+
+/**
+ * Thrown when a caller has used up its rate-limit allowance; mapped to 429 with Retry-After.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterMillis) {
+        super("Too many requests");
+        this.retryAfterSeconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
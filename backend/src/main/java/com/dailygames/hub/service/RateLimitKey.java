@@ -0,0 +1,7 @@
+package com.dailygames.hub.service;
+
+/**
+ * Identifies one token bucket: the policy and the caller it limits (user, address, email...).
+ */
+public record RateLimitKey(RateLimitPolicy policy, String key) {
+}
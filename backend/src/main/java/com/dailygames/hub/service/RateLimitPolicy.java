@@ -0,0 +1,35 @@
+package com.dailygames.hub.service;
+
+import java.time.Duration;
+
+/**
+ * Rate-limited operations. Each policy has its own buckets; the capacity is configured in
+ * {@link RateLimitService} and refills evenly over the policy's period. Policies that guard
+ * credentials or account data fail closed: once the limiter is full they refuse new keys
+ * instead of letting them through, since rotating keys is how those limits get attacked.
+ */
+public enum RateLimitPolicy {
+    LOGIN_IP(Duration.ofMinutes(1), true),
+    LOGIN_USERNAME(Duration.ofMinutes(1), true),
+    SCORE_SUBMIT(Duration.ofMinutes(1), false),
+    SEARCH(Duration.ofMinutes(1), false),
+    MESSAGE(Duration.ofMinutes(1), false),
+    AVAILABILITY_CHECK(Duration.ofMinutes(1), true),
+    PASSWORD_RESET(Duration.ofHours(1), true);
+
+    private final Duration period;
+    private final boolean failClosed;
+
+    RateLimitPolicy(Duration period, boolean failClosed) {
+        this.period = period;
+        this.failClosed = failClosed;
+    }
+
+    public Duration getPeriod() {
+        return period;
+    }
+
+    public boolean isFailClosed() {
+        return failClosed;
+    }
+}
@@ -1,79 +1,250 @@
 package com.dailygames.hub.service;
 
+import com.dailygames.hub.util.TimingWheel;
+import com.dailygames.hub.util.TokenBucket;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 
 /**
- * Simple in-memory rate limiting service for password reset requests.
- * Limits requests by email address to prevent abuse.
+ * In-memory token-bucket rate limiting, one bucket per (policy, key). Buckets are lock-free;
+ * a bucket is scheduled on a timing wheel for the moment it would be full again and dropped
+ * then if nothing has drawn from it, since a full bucket is indistinguishable from a new one.
+ * This keeps memory proportional to recently active keys. Past {@code max-keys} new keys under
+ * one policy are let through untracked rather than letting the map grow, except under fail-closed
+ * policies ({@link RateLimitPolicy#isFailClosed()}), which refuse them until idle buckets have been
+ * swept. The cap is per policy, so a flood of keys under one policy cannot lock out another.
+ * With a shared {@link RateLimitStore}
+ * the quota is enforced across instances, up to one sync interval of slack.
  */
 @Service
+@Slf4j
 public class RateLimitService {
 
-    private static final int MAX_REQUESTS = 3;
-    private static final long WINDOW_SECONDS = 3600; // 1 hour window
+    private static final long TICK_MS = 1000;
+    private static final int WHEEL_SLOTS = 512;
 
-    private final ConcurrentMap<String, RateLimitEntry> requestCounts = new ConcurrentHashMap<>();
+    @Value("${app.rate-limit.login-ip-per-minute:30}")
+    private int loginIpPerMinute = 30;
+
+    @Value("${app.rate-limit.login-username-per-minute:10}")
+    private int loginUsernamePerMinute = 10;
+
+    @Value("${app.rate-limit.score-submit-per-minute:30}")
+    private int scoreSubmitPerMinute = 30;
+
+    @Value("${app.rate-limit.search-per-minute:60}")
+    private int searchPerMinute = 60;
+
+    @Value("${app.rate-limit.message-per-minute:30}")
+    private int messagePerMinute = 30;
+
+    @Value("${app.rate-limit.availability-check-per-minute:60}")
+    private int availabilityCheckPerMinute = 60;
+
+    @Value("${app.rate-limit.password-reset-per-hour:3}")
+    private int passwordResetPerHour = 3;
+
+    // Per policy
+    @Value("${app.rate-limit.max-keys:200000}")
+    private int maxKeys = 200_000;
+
+    private LongSupplier clock = System::currentTimeMillis;
+
+    private final RateLimitStore store;
+
+    private final ConcurrentHashMap<RateLimitKey, Tracked> buckets = new ConcurrentHashMap<>();
+    private final TimingWheel<RateLimitKey> expiryWheel = new TimingWheel<>(TICK_MS, WHEEL_SLOTS, System.currentTimeMillis());
+    private final Map<RateLimitPolicy, LongAdder> rejected = new EnumMap<>(RateLimitPolicy.class);
+    private final Map<RateLimitPolicy, AtomicInteger> keyCounts = new EnumMap<>(RateLimitPolicy.class);
+    private final LongAdder untracked = new LongAdder();
+    // Hits admitted since the last sync, only kept when the store is shared
+    private final ConcurrentHashMap<RateLimitKey, LongAdder> pendingHits = new ConcurrentHashMap<>();
+
+    private static final class Tracked {
+        final TokenBucket bucket;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Tracked(TokenBucket bucket) {
+            this.bucket = bucket;
+        }
+    }
+
+    public RateLimitService() {
+        this(new LocalRateLimitStore());
+    }
+
+    @Autowired
+    public RateLimitService(RateLimitStore store) {
+        this.store = store;
+        for (RateLimitPolicy policy : RateLimitPolicy.values()) {
+            rejected.put(policy, new LongAdder());
+            keyCounts.put(policy, new AtomicInteger());
+        }
+    }
 
     /**
-     * Check if a request is allowed for the given key (e.g., email address).
-     * Returns true if the request is within rate limits, false if rate limited.
+     * Takes a token for the key under the given policy. Returns 0 when the request may proceed,
+     * otherwise the milliseconds until it could be retried.
      */
-    public boolean isAllowed(String key) {
-        String normalizedKey = key.toLowerCase().trim();
-        Instant now = Instant.now();
-
-        requestCounts.compute(normalizedKey, (k, entry) -> {
-            if (entry == null || entry.isExpired(now)) {
-                return new RateLimitEntry(1, now);
+    public long tryAcquire(RateLimitPolicy policy, String key) {
+        long now = clock.getAsLong();
+        RateLimitKey bucketKey = new RateLimitKey(policy, key);
+        Tracked tracked = buckets.get(bucketKey);
+        if (tracked == null) {
+            AtomicInteger keyCount = keyCounts.get(policy);
+            if (keyCount.get() >= maxKeys) {
+                if (policy.isFailClosed()) {
+                    // Full buckets are swept every tick, which frees room for new keys
+                    rejected.get(policy).increment();
+                    return TICK_MS;
+                }
+                untracked.increment();
+                return 0;
             }
-            entry.incrementCount();
-            return entry;
-        });
+            Tracked created = new Tracked(newBucket(policy, now));
+            tracked = buckets.putIfAbsent(bucketKey, created);
+            if (tracked == null) {
+                keyCount.incrementAndGet();
+                tracked = created;
+            }
+        }
 
-        RateLimitEntry entry = requestCounts.get(normalizedKey);
-        return entry != null && entry.getCount() <= MAX_REQUESTS;
+        long retryAfter = tracked.bucket.tryConsume(now);
+        if (retryAfter > 0) {
+            rejected.get(policy).increment();
+        } else if (store.isShared()) {
+            pendingHits.computeIfAbsent(bucketKey, k -> new LongAdder()).increment();
+        }
+        if (tracked.scheduled.compareAndSet(false, true)) {
+            expiryWheel.schedule(bucketKey, now + tracked.bucket.millisUntilFull(now));
+        }
+        return retryAfter;
     }
 
     /**
-     * Get the remaining time in seconds until the rate limit resets for the given key.
+     * Check if a password reset request is allowed for the given email address.
+     */
+    public boolean isAllowed(String key) {
+        return tryAcquire(RateLimitPolicy.PASSWORD_RESET, normalize(key)) == 0;
+    }
+
+    /**
+     * Seconds until the password reset allowance for the given email is fully restored.
      */
     public long getSecondsUntilReset(String key) {
-        String normalizedKey = key.toLowerCase().trim();
-        RateLimitEntry entry = requestCounts.get(normalizedKey);
-        if (entry == null) {
+        Tracked tracked = buckets.get(new RateLimitKey(RateLimitPolicy.PASSWORD_RESET, normalize(key)));
+        if (tracked == null) {
             return 0;
         }
-        long elapsed = Instant.now().getEpochSecond() - entry.getWindowStart().getEpochSecond();
-        return Math.max(0, WINDOW_SECONDS - elapsed);
+        return (tracked.bucket.millisUntilFull(clock.getAsLong()) + 999) / 1000;
     }
 
-    private static class RateLimitEntry {
-        private int count;
-        private final Instant windowStart;
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:1000}")
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        expiryWheel.advance(now, key -> {
+            Tracked tracked = buckets.get(key);
+            if (tracked == null) {
+                return;
+            }
+            long untilFull = tracked.bucket.millisUntilFull(now);
+            if (untilFull == 0) {
+                // A request holding this bucket may still draw one token from it; that is harmless
+                if (buckets.remove(key, tracked)) {
+                    keyCounts.get(key.policy()).decrementAndGet();
+                }
+            } else {
+                expiryWheel.schedule(key, now + untilFull);
+            }
+        });
+    }
 
-        RateLimitEntry(int count, Instant windowStart) {
-            this.count = count;
-            this.windowStart = windowStart;
+    /**
+     * Publishes local hits to a shared store and drains what other instances admitted from the
+     * local buckets. Between syncs each instance may over-admit by what the others admitted.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.sync-interval-ms:1000}")
+    public void syncWithStore() {
+        if (!store.isShared()) {
+            return;
         }
+        Map<RateLimitKey, Long> hits = new HashMap<>();
+        pendingHits.forEach((key, adder) -> {
+            long count = adder.sumThenReset();
+            if (count > 0) {
+                hits.put(key, count);
+            } else {
+                // Idle since the last sync; a hit racing with this removal is dropped
+                pendingHits.remove(key, adder);
+            }
+        });
 
-        void incrementCount() {
-            this.count++;
+        long now = clock.getAsLong();
+        Map<RateLimitKey, Long> remote;
+        try {
+            remote = store.exchange(hits, now);
+        } catch (RuntimeException e) {
+            // Keep limiting locally; these hits are simply not shared
+            log.warn("Rate-limit sync failed: {}", e.getMessage());
+            return;
         }
+        remote.forEach((key, count) -> {
+            Tracked tracked = buckets.get(key);
+            if (tracked != null) {
+                tracked.bucket.drain(count, now);
+            }
+        });
+    }
 
-        int getCount() {
-            return count;
-        }
+    public int trackedKeys() {
+        return buckets.size();
+    }
 
-        Instant getWindowStart() {
-            return windowStart;
-        }
+    public long untrackedRequests() {
+        return untracked.sum();
+    }
 
-        boolean isExpired(Instant now) {
-            return now.getEpochSecond() - windowStart.getEpochSecond() > WINDOW_SECONDS;
-        }
+    public long rejectionCount(RateLimitPolicy policy) {
+        return rejected.get(policy).sum();
+    }
+
+    public Map<String, Long> rejectionCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        rejected.forEach((policy, count) -> counts.put(policy.name(), count.sum()));
+        return counts;
+    }
+
+    private TokenBucket newBucket(RateLimitPolicy policy, long now) {
+        int capacity = Math.min(capacity(policy), TokenBucket.MAX_CAPACITY);
+        return new TokenBucket(capacity, policy.getPeriod().toMillis(), now);
+    }
+
+    private int capacity(RateLimitPolicy policy) {
+        return switch (policy) {
+            case LOGIN_IP -> loginIpPerMinute;
+            case LOGIN_USERNAME -> loginUsernamePerMinute;
+            case SCORE_SUBMIT -> scoreSubmitPerMinute;
+            case SEARCH -> searchPerMinute;
+            case MESSAGE -> messagePerMinute;
+            case AVAILABILITY_CHECK -> availabilityCheckPerMinute;
+            case PASSWORD_RESET -> passwordResetPerHour;
+        };
+    }
+
+    private static String normalize(String key) {
+        return key.toLowerCase().trim();
     }
 }
@@ -0,0 +1,22 @@
+package com.dailygames.hub.service;
+
+import java.util.Map;
+
+/**
+ * Where rate-limit usage is shared between instances. {@link RateLimitService} always decides
+ * from its local buckets; a shared store is consulted periodically to publish local usage and
+ * learn what other instances admitted, which is then drained from the local buckets.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Whether other instances see this store. When false the limiter skips recording usage.
+     */
+    boolean isShared();
+
+    /**
+     * Publishes the hits admitted locally since the previous call and returns, per key, the
+     * hits other instances admitted since the previous call.
+     */
+    Map<RateLimitKey, Long> exchange(Map<RateLimitKey, Long> localHits, long nowMs);
+}
@@ -6,6 +6,7 @@ import com.dailygames.hub.model.Rating;
 import com.dailygames.hub.model.User;
 import com.dailygames.hub.repository.RatingRepository;
 import com.dailygames.hub.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +25,7 @@ public class RatingService {
     private static final int BASE_RATING = 1000;
 
     @Transactional
+    @Timed(value = "ratings.update", histogram = true)
     public int updateRating(User user, GameType gameType, boolean solved, int attempts, Integer score) {
         Rating rating = ratingRepository.findByUserAndGameType(user, gameType)
             .orElseGet(() -> {
@@ -37,48 +39,10 @@ public class RatingService {
             });
 
         rating.setGamesPlayed(rating.getGamesPlayed() + 1);
-
-        // Symmetric MMR: perfect score gives +K_FACTOR, worst score gives -K_FACTOR
-        int maxAttempts = getMaxAttemptsForGame(gameType);
-        int ratingChange;
-
-        // Special handling for Horse game - always solved, score-based (higher is better)
-        if (gameType == GameType.HORSE && score != null) {
+        if (solved || (gameType == GameType.HORSE && score != null)) {
             rating.setGamesWon(rating.getGamesWon() + 1);
-            // Score is 0-100, convert to performance (-1 to +1 range, where 100 = +1, 0 = -1)
-            double performance = (score - 50.0) / 50.0;
-            ratingChange = (int) (K_FACTOR * performance);
-        } else if (gameType == GameType.CONNECTIONS) {
-            // Connections: attempts = total guesses (4-8), mistakes = attempts - 4
-            // 0 mistakes (4 guesses) = +32, 1 = +24, 2 = +16, 3 = +8, 4+ = -32
-            if (solved) {
-                rating.setGamesWon(rating.getGamesWon() + 1);
-                int mistakes = attempts - 4; // 4 correct guesses needed, rest are mistakes
-                // Each mistake costs 8 points: (4 - mistakes) / 4 gives 1.0, 0.75, 0.5, 0.25
-                double performance = (4.0 - mistakes) / 4.0;
-                ratingChange = (int) (K_FACTOR * performance);
-            } else {
-                ratingChange = -K_FACTOR;
-            }
-        } else if (gameType == GameType.TRAVLE) {
-            // Travle: attempts = penalty (extra tries beyond perfect, the +X value)
-            // +0 (perfect) = +32, +1 = +28, +2 = +24, etc. (-4 per extra try)
-            if (solved) {
-                rating.setGamesWon(rating.getGamesWon() + 1);
-                ratingChange = K_FACTOR - (attempts * 4);
-            } else {
-                ratingChange = -K_FACTOR;
-            }
-        } else if (solved) {
-            rating.setGamesWon(rating.getGamesWon() + 1);
-            // Symmetric: perfect (1 attempt) = +K_FACTOR, worst solved (max attempts) = 0
-            // performance ranges from 1.0 (perfect) to 0.0 (worst solved)
-            double performance = 1.0 - ((double) (attempts - 1) / (maxAttempts - 1));
-            ratingChange = (int) (K_FACTOR * performance);
-        } else {
-            // Failed: always -K_FACTOR (symmetric with perfect score which gives +K_FACTOR)
-            ratingChange = -K_FACTOR;
         }
+        int ratingChange = ratingChange(gameType, solved, attempts, score);
 
         rating.setRating(Math.max(0, rating.getRating() + ratingChange));
         ratingRepository.save(rating);
@@ -89,7 +53,40 @@ public class RatingService {
         return ratingChange;
     }
 
-    private int getMaxAttemptsForGame(GameType gameType) {
+    /**
+     * Rating change for one result, before the rating is clamped at zero.
+     */
+    public static int ratingChange(GameType gameType, boolean solved, int attempts, Integer score) {
+        // Special handling for Horse game - always solved, score-based (higher is better)
+        if (gameType == GameType.HORSE && score != null) {
+            // Score is 0-100, convert to performance (-1 to +1 range, where 100 = +1, 0 = -1)
+            double performance = (score - 50.0) / 50.0;
+            return (int) (K_FACTOR * performance);
+        }
+        if (!solved) {
+            // Failed: always -K_FACTOR (symmetric with perfect score which gives +K_FACTOR)
+            return -K_FACTOR;
+        }
+        if (gameType == GameType.CONNECTIONS) {
+            // Connections: attempts = total guesses (4-8), mistakes = attempts - 4
+            // 0 mistakes (4 guesses) = +32, 1 = +24, 2 = +16, 3 = +8
+            int mistakes = attempts - 4; // 4 correct guesses needed, rest are mistakes
+            // Each mistake costs 8 points: (4 - mistakes) / 4 gives 1.0, 0.75, 0.5, 0.25
+            double performance = (4.0 - mistakes) / 4.0;
+            return (int) (K_FACTOR * performance);
+        }
+        if (gameType == GameType.TRAVLE) {
+            // Travle: attempts = penalty (extra tries beyond perfect, the +X value)
+            // +0 (perfect) = +32, +1 = +28, +2 = +24, etc. (-4 per extra try)
+            return K_FACTOR - (attempts * 4);
+        }
+        // Symmetric MMR: perfect (1 attempt) = +K_FACTOR, worst solved (max attempts) = 0
+        // performance ranges from 1.0 (perfect) to 0.0 (worst solved)
+        double performance = 1.0 - ((double) (attempts - 1) / (getMaxAttemptsForGame(gameType) - 1));
+        return (int) (K_FACTOR * performance);
+    }
+
+    private static int getMaxAttemptsForGame(GameType gameType) {
         // Define max attempts for each game type
         return switch (gameType) {
             case WORDLE -> 6;
@@ -129,6 +126,7 @@ public class RatingService {
         userRepository.save(user);
     }
 
+    @Transactional(readOnly = true)
     public List<RatingResponse> getUserRatings(User user) {
         // Return ratings for ALL games, including unplayed ones with default rating
         List<Rating> existingRatings = ratingRepository.findByUser(user);
@@ -0,0 +1,135 @@
+package com.dailygames.hub.service;
+
+import com.dailygames.hub.model.RefreshToken;
+import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.RefreshTokenRepository;
+import com.dailygames.hub.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+
+    @Value("${jwt.refresh-expiration:2592000000}")
+    private long refreshExpiration;
+
+    // Covers tabs and retried requests that refresh with the same token at about the same time
+    @Value("${jwt.refresh-reuse-grace-ms:30000}")
+    private long reuseGraceMs;
+
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    @Transactional
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Issues a token for a user known only by id, without loading the entity.
+     */
+    @Transactional
+    public String issue(Long userId) {
+        return issue(userRepository.getReferenceById(userId), UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new one in the same family. Presenting a token that was
+     * already rotated means it leaked, so the whole family is revoked. The exception is a token
+     * rotated less than {@code reuseGraceMs} ago whose family is still live: that is a second
+     * tab or a retry racing the first refresh, and it gets a successor of its own.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+            .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        if (token.isRevoked() && isWithinReuseGrace(token)) {
+            log.debug("Refresh token for user {} reused within the grace window", token.getUser().getId());
+            return new Rotation(token.getUser(), issue(token.getUser(), token.getFamilyId()));
+        }
+        if (token.isRevoked()) {
+            log.warn("Refresh token reuse detected for user {}, revoking family", token.getUser().getId());
+            refreshTokenRepository.revokeFamily(token.getFamilyId());
+            throw new BadCredentialsException("Refresh token has been revoked");
+        }
+        if (token.isExpired()) {
+            throw new BadCredentialsException("Refresh token has expired");
+        }
+
+        token.setRevoked(true);
+        token.setRotatedAt(LocalDateTime.now());
+        refreshTokenRepository.save(token);
+        return new Rotation(token.getUser(), issue(token.getUser(), token.getFamilyId()));
+    }
+
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+            .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    @Transactional
+    public void revokeAllForUser(User user) {
+        refreshTokenRepository.revokeAllForUser(user.getId());
+    }
+
+    @Scheduled(cron = "0 40 3 * * *", zone = "Europe/Amsterdam")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        log.info("Purged {} expired refresh tokens", deleted);
+    }
+
+    private boolean isWithinReuseGrace(RefreshToken token) {
+        return token.getRotatedAt() != null
+            && token.getRotatedAt().isAfter(LocalDateTime.now().minus(Duration.ofMillis(reuseGraceMs)))
+            && !token.isExpired()
+            && refreshTokenRepository.existsByFamilyIdAndRevokedFalse(token.getFamilyId());
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setFamilyId(familyId);
+        token.setUser(user);
+        token.setExpiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshExpiration)));
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.dailygames.hub.service;
+
+import com.dailygames.hub.dto.RetentionResponse;
+import com.dailygames.hub.model.GameType;
+import com.dailygames.hub.repository.JdbcStreamer;
+import com.dailygames.hub.util.DateUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * D1/D7/D30 retention by registration week and by first game played. Users registered within
+ * the window and their scores are streamed once, without sorting or grouping in the database,
+ * into a {@link UserActivityTable}; the matrices are then counted in parallel over user ranges
+ * with fork/join. The report is cached and rebuilt nightly.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RetentionService {
+
+    static final int[] RETENTION_DAYS = {1, 7, 30};
+
+    // Cohort size, then eligible and retained users for each retention day
+    private static final int STRIDE = 1 + 2 * RETENTION_DAYS.length;
+    private static final int SEQUENTIAL_THRESHOLD = 16 * 1024;
+
+    private final JdbcStreamer jdbcStreamer;
+
+    @Value("${app.retention.weeks:26}")
+    private int weeks;
+
+    private final AtomicReference<RetentionResponse> cached = new AtomicReference<>();
+
+    public RetentionResponse getReport() {
+        RetentionResponse report = cached.get();
+        if (report == null) {
+            synchronized (this) {
+                report = cached.get();
+                if (report == null) {
+                    report = compute(DateUtils.todayAmsterdam());
+                    cached.set(report);
+                }
+            }
+        }
+        return report;
+    }
+
+    @Scheduled(cron = "0 40 4 * * *", zone = "Europe/Amsterdam")
+    public synchronized void refresh() {
+        cached.set(compute(DateUtils.todayAmsterdam()));
+    }
+
+    RetentionResponse compute(LocalDate today) {
+        long start = System.currentTimeMillis();
+        LocalDate firstWeek = today.minusWeeks(weeks - 1).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+        UserActivityTable table = new UserActivityTable();
+        jdbcStreamer.forEachRow("SELECT id, created_at FROM users WHERE created_at >= ? ORDER BY id",
+            rs -> table.add(rs.getLong(1), (int) rs.getTimestamp(2).toLocalDateTime().toLocalDate().toEpochDay()),
+            firstWeek.atStartOfDay());
+
+        long[] scores = new long[1];
+        GameType[] games = GameType.values();
+        jdbcStreamer.forEachRow("SELECT user_id, game_date, game_type FROM scores WHERE game_date >= ?", rs -> {
+            int index = table.indexOf(rs.getLong(1));
+            if (index >= 0) {
+                table.recordPlay(index, (int) rs.getDate(2).toLocalDate().toEpochDay(),
+                    GameType.valueOf(rs.getString(3)).ordinal());
+                scores[0]++;
+            }
+        }, Date.valueOf(firstWeek));
+
+        Counts counts = ForkJoinPool.commonPool().invoke(
+            new CountTask(table, (int) firstWeek.toEpochDay(), (int) today.toEpochDay(), weeks, games.length, 0, table.size()));
+
+        List<RetentionResponse.Cohort> byWeek = new ArrayList<>(weeks);
+        for (int week = 0; week < weeks; week++) {
+            byWeek.add(cohort(firstWeek.plusWeeks(week).toString(), counts.byWeek, week));
+        }
+        List<RetentionResponse.Cohort> byGame = new ArrayList<>(games.length);
+        for (GameType game : games) {
+            if (counts.byGame[game.ordinal() * STRIDE] > 0) {
+                byGame.add(cohort(game.getDisplayName(), counts.byGame, game.ordinal()));
+            }
+        }
+
+        RetentionResponse response = new RetentionResponse();
+        response.setByRegistrationWeek(byWeek);
+        response.setByFirstGame(byGame);
+        response.setUsersAnalyzed(table.size());
+        response.setScoresAnalyzed(scores[0]);
+        response.setComputeMillis(System.currentTimeMillis() - start);
+        response.setAsOf(LocalDateTime.now());
+        log.info("Computed retention for {} users and {} scores in {} ms", table.size(), scores[0],
+            response.getComputeMillis());
+        return response;
+    }
+
+    private static RetentionResponse.Cohort cohort(String label, long[] counts, int cohort) {
+        int base = cohort * STRIDE;
+        RetentionResponse.Cohort result = new RetentionResponse.Cohort();
+        result.setLabel(label);
+        result.setUsers(counts[base]);
+        result.setD1(rate(counts, base, 0));
+        result.setD7(rate(counts, base, 1));
+        result.setD30(rate(counts, base, 2));
+        return result;
+    }
+
+    private static Double rate(long[] counts, int base, int retention) {
+        long eligible = counts[base + 1 + 2 * retention];
+        return eligible == 0 ? null : (double) counts[base + 2 + 2 * retention] / eligible;
+    }
+
+    private record Counts(long[] byWeek, long[] byGame) {
+        Counts add(Counts other) {
+            for (int i = 0; i < byWeek.length; i++) {
+                byWeek[i] += other.byWeek[i];
+            }
+            for (int i = 0; i < byGame.length; i++) {
+                byGame[i] += other.byGame[i];
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Counts a range of users, splitting in half until ranges are small enough to scan directly.
+     */
+    private static final class CountTask extends RecursiveTask<Counts> {
+        private final UserActivityTable table;
+        private final int firstDay;
+        private final int today;
+        private final int weeks;
+        private final int games;
+        private final int from;
+        private final int to;
+
+        CountTask(UserActivityTable table, int firstDay, int today, int weeks, int games, int from, int to) {
+            this.table = table;
+            this.firstDay = firstDay;
+            this.today = today;
+            this.weeks = weeks;
+            this.games = games;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Counts compute() {
+            if (to - from > SEQUENTIAL_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                CountTask left = new CountTask(table, firstDay, today, weeks, games, from, mid);
+                left.fork();
+                Counts right = new CountTask(table, firstDay, today, weeks, games, mid, to).compute();
+                return right.add(left.join());
+            }
+
+            Counts counts = new Counts(new long[weeks * STRIDE], new long[games * STRIDE]);
+            for (int user = from; user < to; user++) {
+                int signup = table.signupDay(user);
+                int week = (signup - firstDay) / 7;
+                if (week < 0 || week >= weeks) {
+                    continue;
+                }
+                int game = table.firstGame(user);
+                count(counts.byWeek, week * STRIDE, user, signup);
+                if (game >= 0) {
+                    count(counts.byGame, game * STRIDE, user, signup);
+                }
+            }
+            return counts;
+        }
+
+        private void count(long[] matrix, int base, int user, int signup) {
+            matrix[base]++;
+            for (int r = 0; r < RETENTION_DAYS.length; r++) {
+                // Only users who have lived through the whole day count towards its rate
+                if (signup + RETENTION_DAYS[r] < today) {
+                    matrix[base + 1 + 2 * r]++;
+                    if (table.activeOn(user, RETENTION_DAYS[r])) {
+                        matrix[base + 2 + 2 * r]++;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -7,18 +7,23 @@ import com.dailygames.hub.repository.FriendGroupRepository;
 import com.dailygames.hub.repository.ScoreRepository;
 import com.dailygames.hub.repository.StreakRepository;
 import com.dailygames.hub.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.dailygames.hub.util.DateUtils;
+import com.dailygames.hub.util.TransactionUtils;
 
 import java.time.LocalDate;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class ScoreService {
 
     private final ScoreRepository scoreRepository;
@@ -26,8 +31,40 @@ public class ScoreService {
     private final UserRepository userRepository;
     private final FriendGroupRepository friendGroupRepository;
     private final RatingService ratingService;
+    private final ActivityFeedService activityFeedService;
+    private final AdminStatsService adminStatsService;
+    private final DailyStatsService dailyStatsService;
+
+    // Built here rather than through @Timed so the private mapping path is timed without a proxy
+    private final Timer mapTimer;
+    private final Map<GameType, Counter> submissions = new EnumMap<>(GameType.class);
+
+    public ScoreService(ScoreRepository scoreRepository, StreakRepository streakRepository,
+                        UserRepository userRepository, FriendGroupRepository friendGroupRepository,
+                        RatingService ratingService, ActivityFeedService activityFeedService,
+                        AdminStatsService adminStatsService, DailyStatsService dailyStatsService,
+                        MeterRegistry meterRegistry) {
+        this.scoreRepository = scoreRepository;
+        this.streakRepository = streakRepository;
+        this.userRepository = userRepository;
+        this.friendGroupRepository = friendGroupRepository;
+        this.ratingService = ratingService;
+        this.activityFeedService = activityFeedService;
+        this.adminStatsService = adminStatsService;
+        this.dailyStatsService = dailyStatsService;
+        this.mapTimer = Timer.builder("scores.map")
+            .description("Mapping one score to its response, including the lazy user load")
+            .register(meterRegistry);
+        for (GameType gameType : GameType.values()) {
+            submissions.put(gameType, Counter.builder("scores.submitted")
+                .description("Committed score submissions")
+                .tag("game", gameType.name())
+                .register(meterRegistry));
+        }
+    }
 
     @Transactional
+    @Timed(value = "scores.submit", histogram = true)
     public ScoreResponse submitScore(User user, ScoreRequest request) {
         LocalDate gameDate = request.getGameDate() != null ? request.getGameDate() : DateUtils.todayAmsterdam();
 
@@ -49,6 +86,8 @@ public class ScoreService {
         // Update game-specific streak
         updateStreak(user, request.getGameType(), gameDate);
 
+        boolean firstForDate = user.getLastActiveDate() == null || user.getLastActiveDate().isBefore(gameDate);
+
         // Update global day streak
         updateGlobalDayStreak(user, gameDate);
 
@@ -61,6 +100,10 @@ public class ScoreService {
         // Save the rating change with the score
         score.setRatingChange(ratingChange);
         Score saved = scoreRepository.save(score);
+        activityFeedService.recordScore(saved);
+        adminStatsService.recordScore(saved.getGameType(), gameDate, firstForDate);
+        dailyStatsService.recordScore(saved.getGameType(), gameDate, firstForDate);
+        TransactionUtils.afterCommit(submissions.get(saved.getGameType())::increment);
 
         // Update group streaks for all groups the user is in
         updateGroupStreaks(user, gameDate);
@@ -71,62 +114,26 @@ public class ScoreService {
     private void updateGroupStreaks(User user, LocalDate gameDate) {
         List<FriendGroup> userGroups = friendGroupRepository.findByMember(user);
         for (FriendGroup group : userGroups) {
-            LocalDate lastActive = group.getLastActiveDate();
-
-            if (lastActive == null) {
-                group.setGroupStreak(1);
-                group.setLongestGroupStreak(1);
-                group.setLastActiveDate(gameDate);
-            } else if (lastActive.equals(gameDate)) {
-                // Already counted for this date
-                continue;
-            } else if (gameDate.isBefore(lastActive)) {
-                // Submitting for an older date - don't change streak or lastActiveDate
-                continue;
-            } else if (lastActive.plusDays(1).equals(gameDate)) {
-                // Consecutive day
-                group.setGroupStreak(group.getGroupStreak() + 1);
-                if (group.getGroupStreak() > group.getLongestGroupStreak()) {
-                    group.setLongestGroupStreak(group.getGroupStreak());
-                }
-                group.setLastActiveDate(gameDate);
-            } else {
-                // Streak broken (gap of more than 1 day)
-                group.setGroupStreak(1);
-                group.setLastActiveDate(gameDate);
+            StreakTransition next = StreakTransition.play(group.getGroupStreak(), group.getLongestGroupStreak(),
+                group.getLastActiveDate(), gameDate);
+            if (next != null) {
+                group.setGroupStreak(next.current());
+                group.setLongestGroupStreak(next.longest());
+                group.setLastActiveDate(next.lastDate());
+                friendGroupRepository.save(group);
             }
-
-            friendGroupRepository.save(group);
         }
     }
 
     private void updateGlobalDayStreak(User user, LocalDate gameDate) {
-        LocalDate lastActive = user.getLastActiveDate();
-
-        if (lastActive == null) {
-            // First game ever
-            user.setGlobalDayStreak(1);
-            user.setLongestGlobalStreak(1);
-            user.setLastActiveDate(gameDate);
-        } else if (lastActive.equals(gameDate)) {
-            // Already played for this date, no change to streak
+        StreakTransition next = StreakTransition.play(user.getGlobalDayStreak(), user.getLongestGlobalStreak(),
+            user.getLastActiveDate(), gameDate);
+        if (next == null) {
             return;
-        } else if (gameDate.isBefore(lastActive)) {
-            // Submitting for an older date - don't change streak or lastActiveDate
-            return;
-        } else if (lastActive.plusDays(1).equals(gameDate)) {
-            // Consecutive day
-            user.setGlobalDayStreak(user.getGlobalDayStreak() + 1);
-            if (user.getGlobalDayStreak() > user.getLongestGlobalStreak()) {
-                user.setLongestGlobalStreak(user.getGlobalDayStreak());
-            }
-            user.setLastActiveDate(gameDate);
-        } else {
-            // Streak broken (gap of more than 1 day)
-            user.setGlobalDayStreak(1);
-            user.setLastActiveDate(gameDate);
         }
-
+        user.setGlobalDayStreak(next.current());
+        user.setLongestGlobalStreak(next.longest());
+        user.setLastActiveDate(next.lastDate());
         userRepository.save(user);
     }
 
@@ -141,47 +148,35 @@ public class ScoreService {
                 return newStreak;
             });
 
-        LocalDate lastPlayed = streak.getLastPlayedDate();
-
-        if (lastPlayed == null) {
-            // Starting new streak
-            streak.setCurrentStreak(1);
-            streak.setLongestStreak(1);
-            streak.setLastPlayedDate(gameDate);
-        } else if (lastPlayed.equals(gameDate)) {
-            // Already played this game for this date
-            return;
-        } else if (gameDate.isBefore(lastPlayed)) {
-            // Submitting for an older date - don't change streak
+        StreakTransition next = StreakTransition.play(streak.getCurrentStreak(), streak.getLongestStreak(),
+            streak.getLastPlayedDate(), gameDate);
+        if (next == null) {
             return;
-        } else if (lastPlayed.plusDays(1).equals(gameDate)) {
-            // Continuing streak
-            streak.setCurrentStreak(streak.getCurrentStreak() + 1);
-            if (streak.getCurrentStreak() > streak.getLongestStreak()) {
-                streak.setLongestStreak(streak.getCurrentStreak());
-            }
-            streak.setLastPlayedDate(gameDate);
-        } else {
-            // Streak broken, start new one
-            streak.setCurrentStreak(1);
-            streak.setLastPlayedDate(gameDate);
         }
-
+        streak.setCurrentStreak(next.current());
+        streak.setLongestStreak(next.longest());
+        streak.setLastPlayedDate(next.lastDate());
         streakRepository.save(streak);
     }
 
+    @Transactional(readOnly = true)
+    @Timed(value = "scores.query", histogram = true)
     public List<ScoreResponse> getScoresForDate(LocalDate date) {
         return scoreRepository.findByGameDateOrderBySubmittedAtDesc(date).stream()
             .map(this::mapToResponse)
             .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    @Timed(value = "scores.query", histogram = true)
     public List<ScoreResponse> getUserScores(User user) {
         return scoreRepository.findRecentByUser(user.getId()).stream()
             .map(this::mapToResponse)
             .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    @Timed(value = "scores.query", histogram = true)
     public List<ScoreResponse> getGroupScoresForDate(List<User> members, LocalDate date) {
         return scoreRepository.findByUsersAndDate(members, date).stream()
             .map(this::mapToResponse)
@@ -189,6 +184,10 @@ public class ScoreService {
     }
 
     private ScoreResponse mapToResponse(Score score) {
+        return mapTimer.record(() -> toResponse(score));
+    }
+
+    static ScoreResponse toResponse(Score score) {
         ScoreResponse response = new ScoreResponse();
         response.setId(score.getId());
         response.setUsername(score.getUser().getUsername());
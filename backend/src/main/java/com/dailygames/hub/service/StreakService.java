@@ -5,6 +5,7 @@ import com.dailygames.hub.model.User;
 import com.dailygames.hub.repository.StreakRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -14,6 +15,7 @@ public class StreakService {
 
     private final StreakRepository streakRepository;
 
+    @Transactional(readOnly = true)
     public List<Streak> getUserStreaks(User user) {
         return streakRepository.findByUser(user);
     }
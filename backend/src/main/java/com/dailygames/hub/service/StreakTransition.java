@@ -0,0 +1,54 @@
+package com.dailygames.hub.service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Day-streak state after playing on a date, shared by per-game, global and group streaks.
+ */
+record StreakTransition(int current, int longest, LocalDate lastDate) {
+
+    /**
+     * The state after playing on {@code gameDate}, or null when it leaves the streak unchanged:
+     * the date was already counted or is older than the last one.
+     */
+    static StreakTransition play(int current, int longest, LocalDate lastDate, LocalDate gameDate) {
+        if (lastDate == null) {
+            return new StreakTransition(1, 1, gameDate);
+        }
+        if (!gameDate.isAfter(lastDate)) {
+            return null;
+        }
+        if (lastDate.plusDays(1).equals(gameDate)) {
+            return new StreakTransition(current + 1, Math.max(longest, current + 1), gameDate);
+        }
+        return new StreakTransition(1, longest, gameDate);
+    }
+
+    /**
+     * Longest run of consecutive days among the given dates, in any order, duplicates allowed.
+     */
+    static int longestRun(List<LocalDate> dates) {
+        if (dates.isEmpty()) {
+            return 0;
+        }
+        long[] days = new long[dates.size()];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = dates.get(i).toEpochDay();
+        }
+        Arrays.sort(days);
+
+        int longest = 1;
+        int run = 1;
+        for (int i = 1; i < days.length; i++) {
+            long gap = days[i] - days[i - 1];
+            if (gap == 1) {
+                longest = Math.max(longest, ++run);
+            } else if (gap > 1) {
+                run = 1;
+            }
+        }
+        return longest;
+    }
+}
@@ -0,0 +1,99 @@
+package com.dailygames.hub.service;
+
+import com.dailygames.hub.model.RevokedAccessToken;
+import com.dailygames.hub.repository.RevokedAccessTokenRepository;
+import com.dailygames.hub.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked access-token ids (jti), checked on every authenticated request. A Bloom filter
+ * answers the common "not revoked" case without touching the exact set; only filter positives
+ * are confirmed against it. Both are rebuilt from revoked_access_tokens at startup and after
+ * expired rows are purged, and new rows written by other instances are picked up periodically.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+
+    @Value("${app.auth.revocation-expected-entries:100000}")
+    private long expectedEntries;
+
+    private volatile Snapshot snapshot = new Snapshot(new BloomFilter(1024, FALSE_POSITIVE_RATE), ConcurrentHashMap.newKeySet());
+    private volatile LocalDateTime lastSync = LocalDateTime.now();
+
+    private record Snapshot(BloomFilter filter, Set<String> exact) {
+    }
+
+    public boolean isRevoked(String jti) {
+        Snapshot current = snapshot;
+        return current.filter().mightContain(jti) && current.exact().contains(jti);
+    }
+
+    @Transactional
+    public void revoke(String jti, Date expiresAt) {
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault());
+        if (expiry.isBefore(LocalDateTime.now()) || revokedAccessTokenRepository.existsById(jti)) {
+            return;
+        }
+        revokedAccessTokenRepository.save(new RevokedAccessToken(jti, expiry, LocalDateTime.now()));
+        remember(jti);
+    }
+
+    // Read-write so it never loads from a lagging replica
+    @Transactional
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> jtis = revokedAccessTokenRepository.findActiveJtis(now);
+        BloomFilter filter = new BloomFilter(Math.max(expectedEntries, jtis.size() * 2L), FALSE_POSITIVE_RATE);
+        Set<String> exact = ConcurrentHashMap.newKeySet(jtis.size());
+        for (String jti : jtis) {
+            filter.add(jti);
+            exact.add(jti);
+        }
+        snapshot = new Snapshot(filter, exact);
+        lastSync = now;
+        log.info("Loaded {} revoked access tokens (~{} KB filter)", jtis.size(), filter.estimatedBytes() / 1024);
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.revocation-sync-ms:30000}")
+    @Transactional
+    public void syncFromDatabase() {
+        LocalDateTime now = LocalDateTime.now();
+        // Overlap the window slightly so rows committed around the last sync are not missed
+        revokedAccessTokenRepository.findJtisRevokedSince(lastSync.minusSeconds(5), now).forEach(this::remember);
+        lastSync = now;
+    }
+
+    @Scheduled(cron = "0 20 * * * *")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = revokedAccessTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            // Bloom filters cannot drop entries; start from a clean one
+            rebuild();
+        }
+    }
+
+    private void remember(String jti) {
+        Snapshot current = snapshot;
+        current.filter().add(jti);
+        current.exact().add(jti);
+    }
+}
@@ -0,0 +1,80 @@
+package com.dailygames.hub.service;
+
+import java.util.Arrays;
+
+/**
+ * Columnar per-user activity for retention analysis: registration day plus a 64-bit set whose
+ * bit k means "played on day k after registering". Users must be added in ascending id order;
+ * lookups by id are binary searches over the id column.
+ */
+class UserActivityTable {
+
+    static final int TRACKED_DAYS = Long.SIZE;
+
+    private long[] ids = new long[1024];
+    private int[] signupDays = new int[1024];
+    private long[] activity = new long[1024];
+    private int[] firstPlayDays = new int[1024];
+    private byte[] firstGames = new byte[1024];
+    private int size;
+
+    void add(long id, int signupDay) {
+        if (size > 0 && id <= ids[size - 1]) {
+            throw new IllegalStateException("Users must be added in ascending id order");
+        }
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            signupDays = Arrays.copyOf(signupDays, capacity);
+            activity = Arrays.copyOf(activity, capacity);
+            firstPlayDays = Arrays.copyOf(firstPlayDays, capacity);
+            firstGames = Arrays.copyOf(firstGames, capacity);
+        }
+        ids[size] = id;
+        signupDays[size] = signupDay;
+        firstPlayDays[size] = Integer.MAX_VALUE;
+        firstGames[size] = -1;
+        size++;
+    }
+
+    /**
+     * Index of the user, or a negative value when the user is not in the table.
+     */
+    int indexOf(long id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    /**
+     * Records a play on an epoch day. Ties on the first day go to the lowest game ordinal so the
+     * result does not depend on row order.
+     */
+    void recordPlay(int index, int day, int gameOrdinal) {
+        int offset = day - signupDays[index];
+        if (offset >= 0 && offset < TRACKED_DAYS) {
+            activity[index] |= 1L << offset;
+        }
+        if (day < firstPlayDays[index] || (day == firstPlayDays[index] && gameOrdinal < firstGames[index])) {
+            firstPlayDays[index] = day;
+            firstGames[index] = (byte) gameOrdinal;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int signupDay(int index) {
+        return signupDays[index];
+    }
+
+    boolean activeOn(int index, int daysAfterSignup) {
+        return (activity[index] & (1L << daysAfterSignup)) != 0;
+    }
+
+    /**
+     * Ordinal of the first game the user played, or -1 if they never played.
+     */
+    int firstGame(int index) {
+        return firstGames[index];
+    }
+}
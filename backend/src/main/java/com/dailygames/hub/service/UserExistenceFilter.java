@@ -0,0 +1,139 @@
+package com.dailygames.hub.service;
+
+import com.dailygames.hub.repository.JdbcStreamer;
+import com.dailygames.hub.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Bloom filters over lowercase usernames and emails, so availability checks for names that
+ * were never taken skip the database. A positive answer only means "maybe" and must be confirmed
+ * with the exact query; the unique constraints stay the final arbiter. Until the first build
+ * finishes every lookup answers "maybe". Each instance keeps its own filters and picks up users
+ * registered on other instances every {@code app.user-filter.sync-ms}; an email changed on
+ * another instance is only picked up by the nightly rebuild.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserExistenceFilter {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    // Ids are allocated before commit, so a row can appear below ids already seen; rescan a margin
+    private static final long SYNC_ID_OVERLAP = 1000;
+
+    private final JdbcStreamer jdbcStreamer;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.user-filter.min-expected-users:100000}")
+    private long minExpectedUsers;
+
+    private volatile Filters current;
+    // Highest user id the current filters have seen, guarded by this
+    private long lastSeenId;
+    // Registrations made while a rebuild is scanning go into both filters
+    private volatile Filters building;
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+        static Filters sized(long expected) {
+            return new Filters(new BloomFilter(expected, FALSE_POSITIVE_RATE), new BloomFilter(expected, FALSE_POSITIVE_RATE));
+        }
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    public boolean mightContainUsername(String username) {
+        Filters filters = current;
+        return filters == null || filters.usernames().mightContain(normalize(username));
+    }
+
+    public boolean mightContainEmail(String email) {
+        Filters filters = current;
+        return filters == null || filters.emails().mightContain(normalize(email));
+    }
+
+    public void addUsername(String username) {
+        String value = normalize(username);
+        forEachLive(filters -> filters.usernames().add(value));
+    }
+
+    public void addEmail(String email) {
+        String value = normalize(email);
+        forEachLive(filters -> filters.emails().add(value));
+    }
+
+    /**
+     * Builds fresh filters from a streaming scan of the users table and swaps them in. Filters
+     * cannot drop entries, so this also forgets old emails and deleted accounts.
+     */
+    @Scheduled(cron = "0 10 4 * * *", zone = "Europe/Amsterdam")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Long userCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        // Leave headroom for registrations until the next nightly rebuild
+        Filters next = Filters.sized(Math.max(minExpectedUsers, (userCount != null ? userCount : 0) * 2));
+        long[] maxId = {0};
+        building = next;
+        try {
+            jdbcStreamer.forEachRow("SELECT id, username, email FROM users", rs -> {
+                maxId[0] = Math.max(maxId[0], rs.getLong(1));
+                add(next, rs.getString(2), rs.getString(3));
+            });
+            current = next;
+            lastSeenId = maxId[0];
+        } finally {
+            building = null;
+        }
+        log.info("Built user existence filters for {} users in {} ms (~{} KB)", userCount,
+            System.currentTimeMillis() - start, 2 * next.usernames().estimatedBytes() / 1024);
+    }
+
+    /**
+     * Adds the users registered since the last build or sync, including those registered
+     * through other instances.
+     */
+    @Scheduled(fixedDelayString = "${app.user-filter.sync-ms:5000}", initialDelayString = "${app.user-filter.sync-ms:5000}")
+    public synchronized void syncNewUsers() {
+        Filters filters = current;
+        if (filters == null) {
+            return;
+        }
+        long[] maxId = {lastSeenId};
+        jdbcTemplate.query("SELECT id, username, email FROM users WHERE id > ?", rs -> {
+            maxId[0] = Math.max(maxId[0], rs.getLong(1));
+            add(filters, rs.getString(2), rs.getString(3));
+        }, lastSeenId - SYNC_ID_OVERLAP);
+        lastSeenId = maxId[0];
+    }
+
+    private static void add(Filters filters, String username, String email) {
+        filters.usernames().add(normalize(username));
+        if (email != null) {
+            filters.emails().add(normalize(email));
+        }
+    }
+
+    private void forEachLive(Consumer<Filters> action) {
+        Filters filters = current;
+        if (filters != null) {
+            action.accept(filters);
+        }
+        Filters pending = building;
+        if (pending != null) {
+            action.accept(pending);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
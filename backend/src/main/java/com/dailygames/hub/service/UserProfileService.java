@@ -11,6 +11,7 @@ import com.dailygames.hub.repository.ScoreRepository;
 import com.dailygames.hub.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.dailygames.hub.util.DateUtils;
 
@@ -28,6 +29,7 @@ public class UserProfileService {
     private final FriendshipService friendshipService;
     private final RatingService ratingService;
 
+    @Transactional(readOnly = true)
     public UserProfileResponse getProfile(User currentUser, String username) {
         User profileUser = userRepository.findByUsername(username)
             .orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -35,6 +37,7 @@ public class UserProfileService {
         return buildProfileResponse(currentUser, profileUser);
     }
 
+    @Transactional(readOnly = true)
     public UserProfileResponse getProfileById(User currentUser, Long userId) {
         User profileUser = userRepository.findById(userId)
             .orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -42,6 +45,7 @@ public class UserProfileService {
         return buildProfileResponse(currentUser, profileUser);
     }
 
+    @Transactional(readOnly = true)
     public List<UserProfileResponse> searchUsers(User currentUser, String query) {
         // Simple search by username or display name
         return userRepository.findAll().stream()
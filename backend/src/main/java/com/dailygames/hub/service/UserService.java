@@ -2,25 +2,37 @@ package com.dailygames.hub.service;
 
 import com.dailygames.hub.dto.RegisterRequest;
 import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.LoginView;
 import com.dailygames.hub.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenService refreshTokenService;
+    private final UserExistenceFilter userExistenceFilter;
+    private final AdminStatsService adminStatsService;
+    private final DailyStatsService dailyStatsService;
+
+    private volatile String dummyHash;
 
     @Transactional
     public User registerUser(RegisterRequest request) {
-        if (userRepository.existsByUsername(request.getUsername())) {
+        if (isUsernameTaken(request.getUsername())) {
             throw new IllegalArgumentException("Username already exists");
         }
-        if (userRepository.existsByEmail(request.getEmail())) {
+        if (isEmailTaken(request.getEmail())) {
             throw new IllegalArgumentException("Email already exists");
         }
 
@@ -30,7 +42,40 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(request.getPassword()));
         user.setDisplayName(request.getDisplayName() != null ? request.getDisplayName() : request.getUsername());
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userExistenceFilter.addUsername(saved.getUsername());
+        userExistenceFilter.addEmail(saved.getEmail());
+        adminStatsService.recordRegistration();
+        dailyStatsService.recordRegistration(saved.getCreatedAt().toLocalDate());
+        return saved;
+    }
+
+    /**
+     * Exact answer; the Bloom filter only saves the query when the name was never taken.
+     */
+    public boolean isUsernameTaken(String username) {
+        return userExistenceFilter.mightContainUsername(username) && userRepository.existsByUsername(username);
+    }
+
+    public boolean isEmailTaken(String email) {
+        return userExistenceFilter.mightContainEmail(email) && userRepository.existsByEmail(email);
+    }
+
+    /**
+     * Verifies the credentials against a single projection query. Unknown usernames still pay
+     * for one hash comparison so response time does not reveal which accounts exist.
+     */
+    @Timed(value = "auth.authenticate", histogram = true)
+    public LoginView authenticate(String username, String password) {
+        Optional<LoginView> user = userRepository.findLoginViewByUsername(username);
+        if (user.isEmpty()) {
+            passwordEncoder.matches(password, dummyHash());
+            throw new BadCredentialsException("Bad credentials");
+        }
+        if (!passwordEncoder.matches(password, user.get().getPassword())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        return user.get();
     }
 
     public User findByUsername(String username) {
@@ -46,10 +91,11 @@ public class UserService {
     @Transactional
     public User updateProfile(User user, String displayName, String email) {
         if (email != null && !email.equals(user.getEmail())) {
-            if (userRepository.existsByEmail(email)) {
+            if (isEmailTaken(email)) {
                 throw new IllegalArgumentException("Email already exists");
             }
             user.setEmail(email);
+            userExistenceFilter.addEmail(email);
         }
         if (displayName != null) {
             user.setDisplayName(displayName);
@@ -64,13 +110,19 @@ public class UserService {
         }
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        refreshTokenService.revokeAllForUser(user);
     }
 
     public long countUsers() {
         return userRepository.count();
     }
 
-    public long countActiveToday(java.time.LocalDate today) {
-        return userRepository.countByLastActiveDate(today);
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            dummyHash = hash;
+        }
+        return hash;
     }
 }
@@ -0,0 +1,163 @@
+package com.dailygames.hub.util;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing hash set of primitive longs (linear probing, backward-shift deletion).
+ * Avoids the ~40 bytes of boxing and node overhead a HashSet<Long> pays per element.
+ * Zero is reserved as the empty-slot marker, which is fine for database identity values.
+ * Not thread-safe; callers guard access externally.
+ */
+public class LongHashSet {
+
+    private static final int MIN_CAPACITY = 4;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private long[] slots;
+    private int size;
+
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongHashSet(int expectedSize) {
+        slots = new long[capacityFor(expectedSize)];
+    }
+
+    public boolean add(long value) {
+        checkValue(value);
+        int mask = slots.length - 1;
+        int i = mix(value) & mask;
+        while (slots[i] != 0) {
+            if (slots[i] == value) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        slots[i] = value;
+        if (++size > slots.length * LOAD_FACTOR) {
+            rehash(slots.length << 1);
+        }
+        return true;
+    }
+
+    public boolean contains(long value) {
+        if (value == 0) {
+            return false;
+        }
+        int mask = slots.length - 1;
+        int i = mix(value) & mask;
+        while (slots[i] != 0) {
+            if (slots[i] == value) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public boolean remove(long value) {
+        if (value == 0) {
+            return false;
+        }
+        int mask = slots.length - 1;
+        int i = mix(value) & mask;
+        while (slots[i] != 0) {
+            if (slots[i] == value) {
+                shiftBack(i);
+                size--;
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(LongConsumer action) {
+        for (long value : slots) {
+            if (value != 0) {
+                action.accept(value);
+            }
+        }
+    }
+
+    public long[] toArray() {
+        long[] result = new long[size];
+        int n = 0;
+        for (long value : slots) {
+            if (value != 0) {
+                result[n++] = value;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Approximate retained heap in bytes (object header + slot array).
+     */
+    public long estimatedBytes() {
+        return 24L + 16L + 8L * slots.length;
+    }
+
+    private void shiftBack(int hole) {
+        int mask = slots.length - 1;
+        int i = (hole + 1) & mask;
+        while (slots[i] != 0) {
+            int home = mix(slots[i]) & mask;
+            // Move the entry into the hole if its home slot does not lie in (hole, i]
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                slots[hole] = slots[i];
+                hole = i;
+            }
+            i = (i + 1) & mask;
+        }
+        slots[hole] = 0;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] old = slots;
+        slots = new long[newCapacity];
+        int mask = newCapacity - 1;
+        for (long value : old) {
+            if (value != 0) {
+                int i = mix(value) & mask;
+                while (slots[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                slots[i] = value;
+            }
+        }
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR) + 1;
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(needed - 1) << 1);
+    }
+
+    private static int mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static void checkValue(long value) {
+        if (value == 0) {
+            throw new IllegalArgumentException("0 is reserved as the empty marker");
+        }
+    }
+
+    @Override
+    public String toString() {
+        long[] values = toArray();
+        Arrays.sort(values);
+        return Arrays.toString(values);
+    }
+}
@@ -0,0 +1,72 @@
+package com.dailygames.hub.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for coarse expiry. Scheduling is an O(1) append to the slot for the
+ * deadline's tick; deadlines more than one revolution out stay in their slot until the wheel
+ * comes round to them. Any thread may schedule; only one thread may advance.
+ */
+public class TimingWheel<K> {
+
+    private final long tickMs;
+    private final int mask;
+    private final Queue<Entry<K>>[] slots;
+    private volatile long currentTick;
+
+    private record Entry<K>(K key, long deadlineTick) {
+    }
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMs, int slotCount, long nowMs) {
+        if (Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("Slot count must be a power of two");
+        }
+        this.tickMs = tickMs;
+        this.mask = slotCount - 1;
+        this.slots = new Queue[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.currentTick = nowMs / tickMs;
+    }
+
+    public void schedule(K key, long deadlineMs) {
+        long tick = Math.max(ceilTick(deadlineMs), currentTick + 1);
+        slots[(int) (tick & mask)].add(new Entry<>(key, tick));
+    }
+
+    /**
+     * Moves the wheel up to {@code nowMs}, handing every key whose deadline has passed to {@code due}.
+     */
+    public void advance(long nowMs, Consumer<K> due) {
+        long target = nowMs / tickMs;
+        long from = currentTick;
+        // After a long pause, one pass over every slot is enough to find all due entries
+        long steps = Math.min(target - from, slots.length);
+        for (long i = 1; i <= steps; i++) {
+            Queue<Entry<K>> slot = slots[(int) ((from + i) & mask)];
+            // Bounded by the size at entry so keys re-scheduled into this slot wait a revolution
+            for (int n = slot.size(); n > 0; n--) {
+                Entry<K> entry = slot.poll();
+                if (entry == null) {
+                    break;
+                }
+                if (entry.deadlineTick() <= target) {
+                    due.accept(entry.key());
+                } else {
+                    slot.add(entry);
+                }
+            }
+        }
+        if (target > from) {
+            currentTick = target;
+        }
+    }
+
+    private long ceilTick(long ms) {
+        return (ms + tickMs - 1) / tickMs;
+    }
+}
@@ -0,0 +1,106 @@
+package com.dailygames.hub.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket whose token count and last refill time share a single AtomicLong, so taking a
+ * token is one CAS loop with no lock. Tokens are kept in thousandths (low 24 bits) so slow
+ * rates such as 3 per hour still refill smoothly; the refill time is milliseconds since
+ * {@link #EPOCH_MS} (high 40 bits, good for ~34 years). Capacity is capped at 16,000 tokens.
+ */
+public class TokenBucket {
+
+    public static final int MAX_CAPACITY = 16_000;
+
+    private static final long EPOCH_MS = 1_704_067_200_000L; // 2024-01-01T00:00:00Z
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLI = 1000;
+
+    private final long maxMilliTokens;
+    private final long periodMs;
+    private final AtomicLong state;
+
+    /**
+     * @param capacity burst size, refilled evenly over {@code periodMs}
+     */
+    public TokenBucket(int capacity, long periodMs, long nowMs) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        if (periodMs < 1) {
+            throw new IllegalArgumentException("Refill period must be positive");
+        }
+        this.maxMilliTokens = capacity * MILLI;
+        this.periodMs = periodMs;
+        this.state = new AtomicLong(pack(maxMilliTokens, nowMs - EPOCH_MS));
+    }
+
+    /**
+     * Takes one token. Returns 0 on success, otherwise the milliseconds until one is available.
+     */
+    public long tryConsume(long nowMs) {
+        long now = nowMs - EPOCH_MS;
+        while (true) {
+            long current = state.get();
+            long stamp = current >>> TOKEN_BITS;
+            long refill = refill(current, now);
+            long available = refilled(current, refill);
+            if (available < MILLI) {
+                return Math.max(1, ceilDiv((MILLI - available) * periodMs, maxMilliTokens));
+            }
+            // Only move the stamp when tokens were added, or sub-millitoken progress is lost forever
+            long next = pack(available - MILLI, refill > 0 ? Math.max(now, stamp) : stamp);
+            if (state.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Removes up to {@code tokens} tokens without failing, e.g. for usage recorded elsewhere.
+     */
+    public void drain(long tokens, long nowMs) {
+        long now = nowMs - EPOCH_MS;
+        while (true) {
+            long current = state.get();
+            long stamp = current >>> TOKEN_BITS;
+            long refill = refill(current, now);
+            long available = refilled(current, refill);
+            long remaining = Math.max(0, available - Math.min(tokens, maxMilliTokens / MILLI) * MILLI);
+            long next = pack(remaining, refill > 0 ? Math.max(now, stamp) : stamp);
+            if (state.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    public long millisUntilFull(long nowMs) {
+        long current = state.get();
+        long available = refilled(current, refill(current, nowMs - EPOCH_MS));
+        return ceilDiv((maxMilliTokens - available) * periodMs, maxMilliTokens);
+    }
+
+    public double availableTokens(long nowMs) {
+        long current = state.get();
+        return refilled(current, refill(current, nowMs - EPOCH_MS)) / (double) MILLI;
+    }
+
+    private long refill(long current, long now) {
+        long elapsed = Math.max(0, now - (current >>> TOKEN_BITS));
+        // Past one period the bucket is full anyway; clamping also keeps the product from overflowing
+        return elapsed >= periodMs ? maxMilliTokens : elapsed * maxMilliTokens / periodMs;
+    }
+
+    private long refilled(long current, long refill) {
+        return Math.min(maxMilliTokens, (current & TOKEN_MASK) + refill);
+    }
+
+    private static long pack(long milliTokens, long stamp) {
+        return (stamp << TOKEN_BITS) | milliTokens;
+    }
+
+    private static long ceilDiv(long a, long b) {
+        return (a + b - 1) / b;
+    }
+}
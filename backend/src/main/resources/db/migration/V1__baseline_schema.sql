@@ -0,0 +1,116 @@
+-- Schema as the last release before Flyway created it with Hibernate's ddl-auto=update. Databases created
+-- that way are baselined at this version and receive every later migration. Portable between H2 2.x and
+-- PostgreSQL 10+.
+
+create table users (
+    id bigint generated by default as identity,
+    username varchar(255) not null unique,
+    email varchar(255) not null unique,
+    password varchar(255) not null,
+    display_name varchar(255),
+    created_at timestamp(6) not null,
+    global_day_streak integer not null,
+    longest_global_streak integer not null,
+    last_active_date date,
+    average_rating integer not null,
+    is_admin boolean,
+    primary key (id)
+);
+
+create table scores (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    game_type varchar(255) not null check (game_type in ('WORDLE','CONNECTIONS','CONTEXTO','SEMANTLE','HORSE','TRAVLE','MINUTE_CRYPTIC','COUNTRYLE','SPOTLE','BANDLE')),
+    game_date date not null,
+    raw_result varchar(2000),
+    attempts integer,
+    solved boolean,
+    score integer,
+    time_seconds integer,
+    rating_change integer,
+    submitted_at timestamp(6) not null,
+    primary key (id),
+    unique (user_id, game_type, game_date)
+);
+
+create table streaks (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    game_type varchar(255) not null check (game_type in ('WORDLE','CONNECTIONS','CONTEXTO','SEMANTLE','HORSE','TRAVLE','MINUTE_CRYPTIC','COUNTRYLE','SPOTLE','BANDLE')),
+    current_streak integer not null,
+    longest_streak integer not null,
+    last_played_date date,
+    primary key (id),
+    unique (user_id, game_type)
+);
+
+create table ratings (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    game_type varchar(255) not null check (game_type in ('WORDLE','CONNECTIONS','CONTEXTO','SEMANTLE','HORSE','TRAVLE','MINUTE_CRYPTIC','COUNTRYLE','SPOTLE','BANDLE')),
+    rating integer not null,
+    games_played integer not null,
+    games_won integer not null,
+    primary key (id),
+    unique (user_id, game_type)
+);
+
+create table friendships (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    friend_id bigint not null,
+    status varchar(255) not null check (status in ('PENDING','ACCEPTED','DECLINED')),
+    created_at timestamp(6) not null,
+    accepted_at timestamp(6),
+    primary key (id),
+    unique (user_id, friend_id)
+);
+
+create table friend_groups (
+    id bigint generated by default as identity,
+    name varchar(255) not null,
+    invite_code varchar(255) not null unique,
+    owner_id bigint not null,
+    created_at timestamp(6) not null,
+    group_streak integer not null,
+    longest_group_streak integer not null,
+    last_active_date date,
+    primary key (id)
+);
+
+create table friend_group_members (
+    group_id bigint not null,
+    user_id bigint not null,
+    primary key (group_id, user_id)
+);
+
+create table messages (
+    id bigint generated by default as identity,
+    sender_id bigint not null,
+    receiver_id bigint not null,
+    content varchar(1000) not null,
+    sent_at timestamp(6) not null,
+    is_read boolean not null,
+    primary key (id)
+);
+
+create table password_reset_tokens (
+    id bigint generated by default as identity,
+    token varchar(255) not null unique,
+    user_id bigint not null,
+    expiry_date timestamp(6) not null,
+    used boolean not null,
+    primary key (id)
+);
+
+alter table scores add constraint fk_scores_user foreign key (user_id) references users;
+alter table streaks add constraint fk_streaks_user foreign key (user_id) references users;
+alter table ratings add constraint fk_ratings_user foreign key (user_id) references users;
+alter table friendships add constraint fk_friendships_user foreign key (user_id) references users;
+alter table friendships add constraint fk_friendships_friend foreign key (friend_id) references users;
+alter table friend_groups add constraint fk_friend_groups_owner foreign key (owner_id) references users;
+alter table friend_group_members add constraint fk_friend_group_members_group foreign key (group_id) references friend_groups;
+alter table friend_group_members add constraint fk_friend_group_members_user foreign key (user_id) references users;
+alter table messages add constraint fk_messages_sender foreign key (sender_id) references users;
+alter table messages add constraint fk_messages_receiver foreign key (receiver_id) references users;
+alter table password_reset_tokens add constraint fk_password_reset_tokens_user foreign key (user_id) references users;
@@ -0,0 +1,79 @@
+-- Tables added after the Flyway baseline. "if not exists" because a database that ran an intermediate
+-- build with ddl-auto=update may already have some of them.
+
+create table if not exists friend_suggestions (
+    user_id bigint not null,
+    suggestion_rank integer not null,
+    suggested_user_id bigint not null,
+    mutual_friends integer not null,
+    shared_groups integer not null,
+    primary key (user_id, suggestion_rank),
+    constraint fk_friend_suggestions_suggested foreign key (suggested_user_id) references users
+);
+
+create table if not exists feed_entries (
+    owner_id bigint not null,
+    score_id bigint not null,
+    actor_id bigint not null,
+    game_type varchar(255) not null check (game_type in ('WORDLE','CONNECTIONS','CONTEXTO','SEMANTLE','HORSE','TRAVLE','MINUTE_CRYPTIC','COUNTRYLE','SPOTLE','BANDLE')),
+    game_date date not null,
+    attempts integer,
+    solved boolean,
+    score integer,
+    submitted_at timestamp(6) not null,
+    primary key (owner_id, score_id)
+);
+
+create table if not exists refresh_tokens (
+    id bigint generated by default as identity,
+    token_hash varchar(64) not null unique,
+    family_id varchar(36) not null,
+    user_id bigint not null,
+    created_at timestamp(6) not null,
+    expires_at timestamp(6) not null,
+    revoked boolean not null,
+    primary key (id),
+    constraint fk_refresh_tokens_user foreign key (user_id) references users
+);
+
+create table if not exists revoked_access_tokens (
+    jti varchar(36) not null,
+    revoked_at timestamp(6) not null,
+    expires_at timestamp(6) not null,
+    primary key (jti)
+);
+
+create table if not exists rate_limit_counters (
+    id bigint generated by default as identity,
+    policy varchar(32) not null,
+    bucket_key varchar(191) not null,
+    window_start bigint not null,
+    hits bigint not null,
+    primary key (id),
+    constraint uk_rate_limit_counters_key unique (policy, bucket_key, window_start)
+);
+
+create table if not exists daily_stats (
+    id bigint generated by default as identity,
+    stat_date date not null,
+    registrations bigint not null,
+    active_users bigint not null,
+    plays bigint not null,
+    primary key (id),
+    constraint uk_daily_stats_date unique (stat_date)
+);
+
+create table if not exists daily_game_stats (
+    id bigint generated by default as identity,
+    stat_date date not null,
+    game_type varchar(32) not null check (game_type in ('WORDLE','CONNECTIONS','CONTEXTO','SEMANTLE','HORSE','TRAVLE','MINUTE_CRYPTIC','COUNTRYLE','SPOTLE','BANDLE')),
+    plays bigint not null,
+    primary key (id),
+    constraint uk_daily_game_stats_key unique (game_type, stat_date)
+);
+
+create index if not exists idx_feed_entries_submitted_at on feed_entries (submitted_at);
+create index if not exists idx_rate_limit_counters_window on rate_limit_counters (window_start);
+create index if not exists idx_refresh_tokens_family on refresh_tokens (family_id);
+create index if not exists idx_refresh_tokens_user on refresh_tokens (user_id);
+create index if not exists idx_revoked_access_tokens_revoked_at on revoked_access_tokens (revoked_at);
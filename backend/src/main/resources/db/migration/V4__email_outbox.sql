@@ -0,0 +1,15 @@
+create table email_outbox (
+    id bigint generated by default as identity,
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body varchar(4000) not null,
+    status varchar(16) not null check (status in ('PENDING','SENT','DEAD')),
+    attempts integer not null,
+    next_attempt_at timestamp(6) not null,
+    created_at timestamp(6) not null,
+    sent_at timestamp(6),
+    last_error varchar(1000),
+    primary key (id)
+);
+
+create index idx_email_outbox_due on email_outbox (status, next_attempt_at);
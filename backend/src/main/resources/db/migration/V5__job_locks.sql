@@ -0,0 +1,8 @@
+-- Batch job locks (JobLock); the layout is the one ShedLock's JDBC provider expects.
+create table shedlock (
+    name varchar(64) not null,
+    lock_until timestamp(3) not null,
+    locked_at timestamp(3) not null,
+    locked_by varchar(255) not null,
+    primary key (name)
+);
@@ -0,0 +1,2 @@
+-- Lets a token rotated moments ago be told apart from one revoked by logout or reuse detection.
+alter table refresh_tokens add column rotated_at timestamp(6);
@@ -0,0 +1,5 @@
+-- Optimistic-lock versions for the entities kept in the second-level cache.
+alter table users add column version bigint default 0 not null;
+alter table ratings add column version bigint default 0 not null;
+alter table streaks add column version bigint default 0 not null;
+alter table friend_groups add column version bigint default 0 not null;
@@ -0,0 +1,11 @@
+-- Friendship changes in id order, so each instance can apply those made through the others to its
+-- in-memory friendship graph (FriendshipGraph.syncChanges). Pruned after a day.
+create table friendship_changes (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    friend_id bigint not null,
+    kind varchar(16) not null,
+    created_at timestamp(6) not null,
+    primary key (id)
+);
+create index idx_friendship_changes_created_at on friendship_changes (created_at);
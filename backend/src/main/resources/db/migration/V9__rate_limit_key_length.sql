@@ -0,0 +1,2 @@
+-- Room for a full-length email address as a rate-limit key; 191 was too short for some.
+alter table rate_limit_counters alter column bucket_key set data type varchar(320);
@@ -0,0 +1,99 @@
+package com.dailygames.hub.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        encoder.destroy();
+    }
+
+    @Test
+    @DisplayName("Should shed work immediately once the worker and queue are full")
+    void encode_ShedsWhenSaturated() throws Exception {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1, 5000);
+        callers.submit(() -> encoder.encode("first"));   // occupies the only worker
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        callers.submit(() -> encoder.encode("second"));  // fills the queue
+        waitForQueued(1);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> encoder.matches("third", "hash"))
+            .isInstanceOf(PasswordHashingOverloadException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+        assertThat(encoder.stats().rejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should give up on work that waits longer than the limit")
+    void encode_TimesOutWhenQueuedTooLong() throws Exception {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 4, 100);
+        callers.submit(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> encoder.encode("second"))
+            .isInstanceOf(PasswordHashingOverloadException.class);
+    }
+
+    @Test
+    @DisplayName("Should delegate and record completed work")
+    void matches_DelegatesAndRecordsStats() {
+        release.countDown();
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 2, 4, 5000);
+
+        assertThat(encoder.matches("secret", "encoded:secret")).isTrue();
+        assertThat(encoder.encode("secret")).isEqualTo("encoded:secret");
+        assertThat(encoder.stats().completed()).isEqualTo(2);
+    }
+
+    private void waitForQueued(int expected) throws InterruptedException {
+        for (int i = 0; i < 500 && encoder.stats().queued() < expected; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(encoder.stats().queued()).isEqualTo(expected);
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                await();
+                return "encoded:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                await();
+                return encodedPassword.equals("encoded:" + rawPassword);
+            }
+
+            private void await() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+}
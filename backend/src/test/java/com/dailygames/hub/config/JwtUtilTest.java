@@ -0,0 +1,68 @@
+package com.dailygames.hub.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "TestSecretKeyForJWTTokenGenerationMustBeAtLeast256BitsLongForTesting!";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = jwtUtil(3_600_000L);
+    }
+
+    @Test
+    @DisplayName("Should return the same verified claims for a repeated token")
+    void parseClaims_CachesVerifiedToken() {
+        String token = jwtUtil.generateToken(7L, "alice", true);
+
+        Claims first = jwtUtil.parseClaims(token);
+        Claims second = jwtUtil.parseClaims(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getSubject()).isEqualTo("alice");
+        assertThat(first.get(JwtUtil.USER_ID_CLAIM, Long.class)).isEqualTo(7L);
+        assertThat(jwtUtil.validateToken(token, "alice")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject a token with a tampered signature even after the original was cached")
+    void parseClaims_RejectsTamperedToken() {
+        String token = jwtUtil.generateToken(7L, "alice", false);
+        jwtUtil.parseClaims(token);
+
+        // Flip a character inside the signature; the final one may only carry padding bits
+        int i = token.length() - 10;
+        String tampered = token.substring(0, i) + (token.charAt(i) == 'A' ? 'B' : 'A') + token.substring(i + 1);
+
+        assertThatThrownBy(() -> jwtUtil.parseClaims(tampered)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void parseClaims_RejectsExpiredToken() {
+        String token = jwtUtil(-1000L).generateToken(7L, "alice", false);
+
+        assertThatThrownBy(() -> jwtUtil.parseClaims(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    private JwtUtil jwtUtil(long expiration) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", SECRET);
+        ReflectionTestUtils.setField(util, "expiration", expiration);
+        ReflectionTestUtils.setField(util, "verifiedCacheSize", 100);
+        util.init();
+        return util;
+    }
+}
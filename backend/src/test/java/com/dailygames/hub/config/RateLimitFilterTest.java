@@ -0,0 +1,77 @@
+package com.dailygames.hub.config;
+
+import com.dailygames.hub.service.RateLimitPolicy;
+import com.dailygames.hub.service.RateLimitService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private RateLimitService rateLimitService;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitService = new RateLimitService();
+        ReflectionTestUtils.setField(rateLimitService, "searchPerMinute", 2);
+        ReflectionTestUtils.setField(rateLimitService, "loginIpPerMinute", 1);
+        filter = new RateLimitFilter(rateLimitService, new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should limit search per authenticated user and answer 429 with Retry-After")
+    void searchLimitedPerUser() throws Exception {
+        authenticate(1L);
+        assertThat(perform("GET", "/api/users/search").getStatus()).isEqualTo(200);
+        assertThat(perform("GET", "/api/users/search").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = perform("GET", "/api/users/search");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("30");
+        assertThat(rejected.getContentAsString()).contains("Too Many Requests");
+
+        // Another user has their own bucket
+        authenticate(2L);
+        assertThat(perform("GET", "/api/users/search").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should limit login per client address and leave other routes alone")
+    void loginLimitedPerAddress() throws Exception {
+        assertThat(perform("POST", "/api/auth/login").getStatus()).isEqualTo(200);
+        assertThat(perform("POST", "/api/auth/login").getStatus()).isEqualTo(429);
+        assertThat(perform("GET", "/api/scores/today").getStatus()).isEqualTo(200);
+        assertThat(RateLimitFilter.policyFor("POST", "/api/messages")).isEqualTo(RateLimitPolicy.MESSAGE);
+        assertThat(rateLimitService.rejectionCounts()).containsEntry("LOGIN_IP", 1L);
+    }
+
+    private void authenticate(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+            new AuthenticatedUser(userId, "user" + userId, false), null, List.of()));
+    }
+
+    private MockHttpServletResponse perform(String method, String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,73 @@
+package com.dailygames.hub.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        routing = new ReplicaRoutingDataSource(primary, replica, "SELECT 0", 5, 5000, 500, 100);
+        routing.afterPropertiesSet();
+        ReflectionTestUtils.setField(routing, "replicaUsable", true);
+        ReflectionTestUtils.setField(routing, "probedAtMillis", System.currentTimeMillis());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("Should read from the replica while it is usable")
+    void readsFromReplica() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(replica.getConnection()).thenReturn(connection);
+
+        assertThat(routing.getConnection()).isSameAs(connection);
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica refuses a connection")
+    void fallsBackWhenReplicaIsDown() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(primary.getConnection()).thenReturn(connection);
+
+        assertThat(routing.getConnection()).isSameAs(connection);
+        assertThat(routing.isReplicaUsable()).isFalse();
+
+        routing.getConnection();
+        verify(replica, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should read from the primary once the last successful probe is too old")
+    void staleProbe() throws SQLException {
+        ReflectionTestUtils.setField(routing, "probedAtMillis", System.currentTimeMillis() - 6000);
+
+        routing.getConnection();
+
+        verify(primary).getConnection();
+        verifyNoInteractions(replica);
+    }
+}
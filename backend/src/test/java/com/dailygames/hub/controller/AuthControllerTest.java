@@ -6,9 +6,12 @@ import com.dailygames.hub.dto.ForgotPasswordRequest;
 import com.dailygames.hub.dto.RegisterRequest;
 import com.dailygames.hub.dto.ResetPasswordRequest;
 import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.LoginView;
 import com.dailygames.hub.service.PasswordResetService;
 import com.dailygames.hub.service.RateLimitService;
 import com.dailygames.hub.service.RatingService;
+import com.dailygames.hub.service.RefreshTokenService;
+import com.dailygames.hub.service.TokenRevocationService;
 import com.dailygames.hub.service.UserService;
 import com.dailygames.hub.dto.RatingResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -20,14 +23,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.web.servlet.MockMvc;
 
 import org.springframework.context.annotation.Import;
 import com.dailygames.hub.config.SecurityConfig;
 import com.dailygames.hub.config.JwtAuthFilter;
+import com.dailygames.hub.config.PasswordHashingOverloadException;
+import com.dailygames.hub.config.CurrentUserResolver;
+import com.dailygames.hub.config.UserStatusCache;
 
 import java.util.List;
 import java.util.Collections;
@@ -39,6 +44,8 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -75,6 +82,18 @@ class AuthControllerTest {
     @MockBean
     private UserDetailsService userDetailsService;
 
+    @MockBean
+    private UserStatusCache userStatusCache;
+
+    @MockBean
+    private CurrentUserResolver currentUserResolver;
+
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
     private User testUser;
 
     @BeforeEach
@@ -115,7 +134,7 @@ class AuthControllerTest {
         newUser.setAverageRating(1000);
 
         when(userService.registerUser(any(RegisterRequest.class))).thenReturn(newUser);
-        when(jwtUtil.generateToken(eq("newuser"), eq(false))).thenReturn("jwt-token");
+        when(jwtUtil.generateToken(eq(2L), eq("newuser"), eq(false))).thenReturn("jwt-token");
 
         mockMvc.perform(post("/api/auth/register")
                 .with(csrf())
@@ -134,11 +153,10 @@ class AuthControllerTest {
         request.setUsername("testuser");
         request.setPassword("password123");
 
-        Authentication auth = mock(Authentication.class);
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-            .thenReturn(auth);
-        when(userService.findByUsername("testuser")).thenReturn(testUser);
-        when(jwtUtil.generateToken(eq("testuser"), eq(false))).thenReturn("jwt-token");
+        LoginView view = loginView(testUser);
+        when(userService.authenticate("testuser", "password123")).thenReturn(view);
+        when(refreshTokenService.issue(1L)).thenReturn("refresh-token");
+        when(jwtUtil.generateToken(eq(1L), eq("testuser"), eq(false))).thenReturn("jwt-token");
 
         mockMvc.perform(post("/api/auth/login")
                 .with(csrf())
@@ -147,7 +165,29 @@ class AuthControllerTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.token").value("jwt-token"))
             .andExpect(jsonPath("$.username").value("testuser"))
-            .andExpect(jsonPath("$.globalDayStreak").value(5));
+            .andExpect(jsonPath("$.globalDayStreak").value(5))
+            .andExpect(jsonPath("$.averageRating").value(1200))
+            .andExpect(jsonPath("$.refreshToken").value("refresh-token"));
+
+        verify(userService, never()).findByUsername(anyString());
+        verifyNoInteractions(ratingService);
+    }
+
+    @Test
+    @DisplayName("Should reject login with bad credentials")
+    void login_BadCredentials() throws Exception {
+        AuthRequest request = new AuthRequest();
+        request.setUsername("testuser");
+        request.setPassword("wrong");
+
+        when(userService.authenticate("testuser", "wrong")).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        mockMvc.perform(post("/api/auth/login")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isUnauthorized());
+        verifyNoInteractions(refreshTokenService);
     }
 
     @Test
@@ -158,7 +198,7 @@ class AuthControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content("{\"email\":\"test@example.com\"}"))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$.message").exists());
+            .andExpect(jsonPath("$.message").value("If this email is registered, you will receive a password reset link"));
 
         verify(passwordResetService).createPasswordResetToken("test@example.com");
     }
@@ -191,6 +231,24 @@ class AuthControllerTest {
             .andExpect(jsonPath("$.error").value("Too many password reset requests. Please try again in 30 minutes."));
     }
 
+    @Test
+    @DisplayName("Should shed login with 503 when password hashing is saturated")
+    void login_PasswordHashingOverloaded() throws Exception {
+        AuthRequest request = new AuthRequest();
+        request.setUsername("testuser");
+        request.setPassword("password123");
+
+        when(userService.authenticate(anyString(), anyString()))
+            .thenThrow(new PasswordHashingOverloadException("Password hashing queue is full"));
+
+        mockMvc.perform(post("/api/auth/login")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "1"));
+    }
+
     @Test
     @DisplayName("Should reset password successfully")
     void resetPassword_Success() throws Exception {
@@ -262,4 +320,16 @@ class AuthControllerTest {
                 .content(objectMapper.writeValueAsString(request)))
             .andExpect(status().isBadRequest());
     }
+
+    private LoginView loginView(User user) {
+        LoginView view = mock(LoginView.class);
+        when(view.getId()).thenReturn(user.getId());
+        when(view.getUsername()).thenReturn(user.getUsername());
+        when(view.getEmail()).thenReturn(user.getEmail());
+        when(view.getDisplayName()).thenReturn(user.getDisplayName());
+        when(view.getIsAdmin()).thenReturn(user.getIsAdmin());
+        when(view.getGlobalDayStreak()).thenReturn(user.getGlobalDayStreak());
+        when(view.getAverageRating()).thenReturn(user.getAverageRating());
+        return view;
+    }
 }
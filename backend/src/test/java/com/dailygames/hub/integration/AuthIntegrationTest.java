@@ -1,9 +1,15 @@
 package com.dailygames.hub.integration;
 
+import com.dailygames.hub.config.JwtUtil;
+import com.dailygames.hub.config.UserStatusCache;
 import com.dailygames.hub.dto.AuthRequest;
 import com.dailygames.hub.dto.RegisterRequest;
+import com.dailygames.hub.model.User;
 import com.dailygames.hub.repository.UserRepository;
+import com.dailygames.hub.service.UserExistenceFilter;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,11 +17,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,6 +44,21 @@ class AuthIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserStatusCache userStatusCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserExistenceFilter userExistenceFilter;
+
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
@@ -140,6 +164,156 @@ class AuthIntegrationTest {
     @DisplayName("Should reject access without token")
     void accessProtectedWithoutToken() throws Exception {
         mockMvc.perform(get("/api/auth/me"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should stop honouring the admin role in a token once the account is demoted")
+    void demotedAdminLosesAccess() throws Exception {
+        User admin = new User();
+        admin.setUsername("tokenadmin");
+        admin.setEmail("tokenadmin@test.com");
+        admin.setPassword("hash");
+        admin.setIsAdmin(true);
+        admin = userRepository.save(admin);
+        String token = jwtUtil.generateToken(admin.getId(), admin.getUsername(), true);
+
+        mockMvc.perform(get("/api/admin/admins")
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+
+        admin.setIsAdmin(false);
+        userRepository.save(admin);
+        userStatusCache.evict(admin.getId());
+
+        mockMvc.perform(get("/api/admin/admins")
+                .header("Authorization", "Bearer " + token))
             .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/auth/me")
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.username").value("tokenadmin"));
+    }
+
+    @Test
+    @DisplayName("Should rotate refresh tokens and revoke the family when an old one is replayed")
+    void refreshRotationAndReuse() throws Exception {
+        JsonNode registered = register("refresher");
+        String first = registered.get("refreshToken").asText();
+
+        MvcResult refreshed = mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("refreshToken", first))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.token").exists())
+            .andExpect(jsonPath("$.username").value("refresher"))
+            .andReturn();
+        String second = objectMapper.readTree(refreshed.getResponse().getContentAsString()).get("refreshToken").asText();
+        assertThat(second).isNotEqualTo(first);
+
+        // Once the grace window has passed, replaying the rotated token is treated as theft and kills the whole chain
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE refresh_tokens SET rotated_at = DATEADD('MINUTE', -5, rotated_at) WHERE rotated_at IS NOT NULL");
+        entityManager.clear();
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("refreshToken", first))))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("refreshToken", second))))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should give a concurrent refresh with the just-rotated token its own successor")
+    void refreshReuseWithinGrace() throws Exception {
+        JsonNode registered = register("tabs");
+        String first = registered.get("refreshToken").asText();
+
+        String second = refresh(first);
+        String sibling = refresh(first);
+
+        assertThat(sibling).isNotEqualTo(second);
+        refresh(second);
+        refresh(sibling);
+    }
+
+    @Test
+    @DisplayName("Should reject the access and refresh tokens after logout")
+    void logoutRevokesTokens() throws Exception {
+        JsonNode registered = register("leaver");
+        String token = registered.get("token").asText();
+        String refreshToken = registered.get("refreshToken").asText();
+
+        mockMvc.perform(post("/api/auth/logout")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken))))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/auth/me")
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken))))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should report taken and free usernames but never whether an email is registered")
+    void checkAvailability() throws Exception {
+        register("takenname");
+
+        mockMvc.perform(get("/api/auth/check-availability")
+                .param("username", "takenname")
+                .param("email", "takenname@test.com"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.usernameAvailable").value(false))
+            .andExpect(jsonPath("$.emailAvailable").doesNotExist());
+        mockMvc.perform(get("/api/auth/check-availability")
+                .param("username", "freename"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.usernameAvailable").value(true))
+            .andExpect(jsonPath("$.emailAvailable").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should report usernames registered through another instance as taken once synced")
+    void checkAvailability_RegisteredElsewhere() throws Exception {
+        jdbcTemplate.update("INSERT INTO users (username, email, password, created_at, global_day_streak,"
+            + " longest_global_streak, average_rating) VALUES ('elsewhere', 'elsewhere@test.com', 'hash', CURRENT_TIMESTAMP, 0, 0, 1500)");
+
+        userExistenceFilter.syncNewUsers();
+
+        mockMvc.perform(get("/api/auth/check-availability")
+                .param("username", "elsewhere"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.usernameAvailable").value(false));
+    }
+
+    private JsonNode register(String username) throws Exception {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@test.com");
+        request.setPassword("password123");
+
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.refreshToken").exists())
+            .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private String refresh(String refreshToken) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken))))
+            .andExpect(status().isOk())
+            .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("refreshToken").asText();
     }
 }
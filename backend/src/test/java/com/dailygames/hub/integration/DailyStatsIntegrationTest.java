@@ -0,0 +1,157 @@
+package com.dailygames.hub.integration;
+
+import com.dailygames.hub.model.DailyGameStats;
+import com.dailygames.hub.model.DailyStats;
+import com.dailygames.hub.model.GameType;
+import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.DailyGameStatsRepository;
+import com.dailygames.hub.repository.DailyStatsRepository;
+import com.dailygames.hub.repository.ScoreRepository;
+import com.dailygames.hub.repository.UserRepository;
+import com.dailygames.hub.service.DailyStatsService;
+import com.dailygames.hub.util.DateUtils;
+import net.javacrumbs.shedlock.core.LockConfiguration;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.core.SimpleLock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Not transactional: increments are only counted after commit and flushed in their own transaction.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DailyStatsIntegrationTest {
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private LockProvider lockProvider;
+
+    @Autowired
+    private DailyStatsService dailyStatsService;
+
+    @Autowired
+    private DailyStatsRepository dailyStatsRepository;
+
+    @Autowired
+    private DailyGameStatsRepository dailyGameStatsRepository;
+
+    @Autowired
+    private ScoreRepository scoreRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        today = DateUtils.todayAmsterdam();
+        cleanUp();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        dailyStatsService.flush();
+        dailyStatsRepository.deleteAll();
+        dailyGameStatsRepository.deleteAll();
+        scoreRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should merge buffered increments into the rollup on each flush")
+    void flush_MergesIncrements() {
+        dailyStatsService.recordScore(GameType.WORDLE, today, true);
+        dailyStatsService.recordScore(GameType.CONNECTIONS, today, false);
+        dailyStatsService.recordRegistration(today);
+        dailyStatsService.flush();
+        dailyStatsService.recordScore(GameType.WORDLE, today, true);
+        dailyStatsService.flush();
+
+        DailyStats day = dailyStatsRepository.findByStatDateBetweenOrderByStatDate(today, today).get(0);
+        assertThat(day.getActiveUsers()).isEqualTo(2);
+        assertThat(day.getPlays()).isEqualTo(3);
+        assertThat(day.getRegistrations()).isEqualTo(1);
+        List<DailyGameStats> wordle = dailyGameStatsRepository
+            .findByGameTypeAndStatDateBetweenOrderByStatDate(GameType.WORDLE, today, today);
+        assertThat(wordle).singleElement().extracting(DailyGameStats::getPlays).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should rebuild days from scores and users and serve charts from the rollup")
+    void reconcile_RebuildsFromSource() {
+        User alice = user("alice");
+        User bob = user("bob");
+        testData.score(alice, GameType.WORDLE, today);
+        testData.score(alice, GameType.CONNECTIONS, today);
+        testData.score(bob, GameType.WORDLE, today);
+        testData.score(bob, GameType.WORDLE, today.minusDays(1));
+        // A stale increment that reconciliation must replace
+        dailyStatsService.recordScore(GameType.WORDLE, today, true);
+
+        dailyStatsService.reconcile(today.minusDays(1), today);
+
+        Map<String, Object> stats = dailyStatsService.getHistoricalStats(2, null);
+        assertThat(series(stats, "dailyUsers", "activeUsers")).containsExactly(1L, 2L);
+        assertThat(series(stats, "dailyGames", "gamesPlayed")).containsExactly(1L, 3L);
+        assertThat(series(stats, "userGrowth", "totalUsers")).containsExactly(0L, 2L);
+
+        Map<String, Object> connections = dailyStatsService.getHistoricalStats(2, GameType.CONNECTIONS);
+        assertThat(series(connections, "dailyGames", "gamesPlayed")).containsExactly(0L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should leave reconciliation to the instance holding its lock")
+    void reconcileRecent_SkipsWhileLocked() {
+        testData.score(user("alice"), GameType.WORDLE, today);
+        Optional<SimpleLock> held = lockProvider.lock(
+            new LockConfiguration(Instant.now(), "daily-stats-reconcile", Duration.ofMinutes(5), Duration.ZERO));
+        assertThat(held).isPresent();
+        try {
+            dailyStatsService.reconcileRecent();
+            assertThat(dailyStatsRepository.findByStatDateBetweenOrderByStatDate(today, today)).isEmpty();
+        } finally {
+            held.get().unlock();
+        }
+
+        dailyStatsService.reconcileRecent();
+        assertThat(dailyStatsRepository.findByStatDateBetweenOrderByStatDate(today, today))
+            .singleElement().extracting(DailyStats::getPlays).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject ranges outside the allowed number of days")
+    void getHistoricalStats_RejectsUnboundedRange() {
+        assertThatThrownBy(() -> dailyStatsService.getHistoricalStats(10_000, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> dailyStatsService.getHistoricalStats(0, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> series(Map<String, Object> stats, String name, String field) {
+        return ((List<Map<String, Object>>) stats.get(name)).stream().map(day -> day.get(field)).toList();
+    }
+
+    private User user(String username) {
+        return testData.user(username, user -> user.setCreatedAt(today.atTime(12, 0)));
+    }
+}
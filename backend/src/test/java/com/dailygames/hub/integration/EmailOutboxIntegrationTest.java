@@ -0,0 +1,142 @@
+package com.dailygames.hub.integration;
+
+import com.dailygames.hub.model.OutboxEmail;
+import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.OutboxEmailRepository;
+import com.dailygames.hub.repository.PasswordResetTokenRepository;
+import com.dailygames.hub.repository.UserRepository;
+import com.dailygames.hub.service.EmailOutboxService;
+import com.dailygames.hub.service.PasswordResetService;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Delivers the outbox to GreenMail, an in-process SMTP server. Not transactional: the outbox row
+ * has to commit before the dispatcher can see it.
+ */
+@SpringBootTest(properties = {
+    "spring.mail.host=localhost",
+    // ServerSetupTest.SMTP
+    "spring.mail.port=3025"
+})
+@ActiveProfiles("test")
+class EmailOutboxIntegrationTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+        // Accepts whatever credentials the test profile logs in with
+        .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private PasswordResetService passwordResetService;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        User user = new User();
+        user.setUsername("outboxuser");
+        user.setEmail("outboxuser@test.com");
+        user.setPassword("hash");
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        outboxEmailRepository.deleteAll();
+        passwordResetTokenRepository.deleteAll();
+        userRepository.findByUsername("outboxuser").ifPresent(userRepository::delete);
+    }
+
+    @Test
+    @DisplayName("Should deliver the password reset email after the request has committed")
+    void deliversResetEmail() throws Exception {
+        passwordResetService.createPasswordResetToken("outboxuser@test.com");
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+
+        emailOutboxService.dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(1);
+        assertThat(received[0].getAllRecipients()[0].toString()).isEqualTo("outboxuser@test.com");
+        String token = passwordResetTokenRepository.findAll().get(0).getToken();
+        assertThat(received[0].getContent().toString()).contains("/reset-password?token=" + token);
+        assertThat(outboxEmailRepository.findAll()).singleElement().satisfies(email -> {
+            assertThat(email.getStatus()).isEqualTo(OutboxEmail.Status.SENT);
+            assertThat(email.getSentAt()).isNotNull();
+        });
+    }
+
+    @Test
+    @DisplayName("Should send every due email in one dispatch")
+    void sendsBatch() {
+        for (int i = 0; i < 3; i++) {
+            emailOutboxService.enqueue("friend" + i + "@test.com", "Hello " + i, "Body " + i);
+        }
+
+        emailOutboxService.dispatch();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(3);
+        assertThat(outboxEmailRepository.findAll())
+            .allSatisfy(email -> assertThat(email.getStatus()).isEqualTo(OutboxEmail.Status.SENT));
+    }
+
+    @Test
+    @DisplayName("Should not queue mail for a transaction that rolls back")
+    void rolledBackTransaction() {
+        transactionTemplate.executeWithoutResult(status -> {
+            emailOutboxService.enqueue("nobody@test.com", "Never sent", "Body");
+            status.setRollbackOnly();
+        });
+
+        assertThat(outboxEmailRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep the reset token and back off when the SMTP server is down")
+    void smtpDown() {
+        greenMail.stop();
+
+        passwordResetService.createPasswordResetToken("outboxuser@test.com");
+        assertThat(passwordResetTokenRepository.findAll()).hasSize(1);
+
+        emailOutboxService.dispatch();
+        emailOutboxService.dispatch();
+
+        assertThat(outboxEmailRepository.findAll()).singleElement().satisfies(email -> {
+            assertThat(email.getStatus()).isEqualTo(OutboxEmail.Status.PENDING);
+            assertThat(email.getAttempts()).isEqualTo(1);
+            assertThat(email.getLastError()).isNotBlank();
+            assertThat(email.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        });
+    }
+}
@@ -0,0 +1,158 @@
+package com.dailygames.hub.integration;
+
+import com.dailygames.hub.config.JwtUtil;
+import com.dailygames.hub.model.GameType;
+import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.ScoreRepository;
+import com.dailygames.hub.repository.UserRepository;
+import com.dailygames.hub.service.ExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: the export reads on its own connection from the async request thread.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportIntegrationTest {
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ScoreRepository scoreRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ExportService exportService;
+
+    private String adminToken;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        today = LocalDate.of(2026, 3, 14);
+        User admin = user("exportadmin", true);
+        adminToken = jwtUtil.generateToken(admin.getId(), admin.getUsername(), true);
+
+        User player = user("=player", false);
+        testData.score(player, GameType.WORDLE, today, score -> score.setRawResult("Wordle 1 3/6\nline, two"));
+        testData.score(player, GameType.CONNECTIONS, today);
+        testData.score(player, GameType.WORDLE, today.minusDays(1));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        scoreRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should stream filtered scores as CSV with quoting and a defused formula")
+    void exportScoresCsv() throws Exception {
+        String body = export("/api/admin/export/scores?from=" + today + "&to=" + today + "&gameType=WORDLE", false)
+            .getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\r\n");
+        assertThat(lines[0]).startsWith("id,user_id,username,game_type,game_date,");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[1]).contains(",'=player,WORDLE,2026-03-14,").endsWith("\"Wordle 1 3/6\nline, two\"");
+    }
+
+    @Test
+    @DisplayName("Should gzip NDJSON when the client accepts it")
+    void exportUsersNdjsonGzip() throws Exception {
+        MvcResult result = export("/api/admin/export/users?format=ndjson", true);
+
+        assertThat(result.getResponse().getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(result.getResponse().getHeader("Content-Disposition")).contains("users-").contains(".ndjson");
+        String body;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("username").asText()).isEqualTo("exportadmin");
+        assertThat(first.get("is_admin").asBoolean()).isTrue();
+        assertThat(first.has("password")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject unknown exports and unsupported filters before streaming")
+    void rejectsBadRequests() throws Exception {
+        mockMvc.perform(get("/api/admin/export/passwords").header("Authorization", "Bearer " + adminToken))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/admin/export/ratings?from=" + today).header("Authorization", "Bearer " + adminToken))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should answer 429 while the maximum number of exports is running and free the slot afterwards")
+    void capsConcurrentExports() throws Exception {
+        assertThat(exportService.tryStartExport()).isTrue();
+        assertThat(exportService.tryStartExport()).isTrue();
+        try {
+            mockMvc.perform(get("/api/admin/export/users").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+        } finally {
+            exportService.finishExport();
+            exportService.finishExport();
+        }
+
+        export("/api/admin/export/users", false);
+        assertThat(exportService.runningExports()).isZero();
+    }
+
+    private MvcResult export(String url, boolean gzip) throws Exception {
+        MvcResult started = mockMvc.perform(get(url)
+                .header("Authorization", "Bearer " + adminToken)
+                .header("Accept-Encoding", gzip ? "gzip, deflate" : "identity"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andReturn();
+    }
+
+    private User user(String username, boolean admin) {
+        return testData.user(username, user -> {
+            user.setEmail(username.replace("=", "") + "@test.com");
+            user.setIsAdmin(admin);
+        });
+    }
+}
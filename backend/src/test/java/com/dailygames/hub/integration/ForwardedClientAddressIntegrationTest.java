@@ -0,0 +1,71 @@
+package com.dailygames.hub.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs on a real server, because the client address is resolved by Tomcat from the
+ * forwarded headers before any filter sees the request. The test client connects from
+ * loopback, which Tomcat trusts as a proxy.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "server.forward-headers-strategy=native",
+    "app.rate-limit.login-ip-per-minute=2",
+    "app.rate-limit.availability-check-per-minute=1"
+})
+@ActiveProfiles("test")
+class ForwardedClientAddressIntegrationTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("Should rate-limit logins per forwarded client address, not per proxy")
+    void loginLimitedPerForwardedAddress() throws Exception {
+        assertThat(login("203.0.113.7", "first")).isEqualTo(401);
+        assertThat(login("203.0.113.7", "second")).isEqualTo(401);
+        assertThat(login("203.0.113.7", "third")).isEqualTo(429);
+
+        assertThat(login("198.51.100.20", "fourth")).isEqualTo(401);
+    }
+
+    @Test
+    @DisplayName("Should rate-limit availability checks per forwarded client address")
+    void availabilityCheckLimitedPerForwardedAddress() throws Exception {
+        assertThat(checkAvailability("203.0.113.8")).isEqualTo(200);
+        assertThat(checkAvailability("203.0.113.8")).isEqualTo(429);
+
+        assertThat(checkAvailability("198.51.100.21")).isEqualTo(200);
+    }
+
+    private int checkAvailability(String clientAddress) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/auth/check-availability?username=someone"))
+            .header("X-Forwarded-For", clientAddress)
+            .GET()
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int login(String clientAddress, String username) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+            .header("Content-Type", "application/json")
+            .header("X-Forwarded-For", clientAddress)
+            .POST(HttpRequest.BodyPublishers.ofString(
+                "{\"username\":\"" + username + "\",\"password\":\"password123\"}"))
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,94 @@
+package com.dailygames.hub.integration;
+
+import com.dailygames.hub.dto.FriendSuggestionResponse;
+import com.dailygames.hub.model.FriendGroup;
+import com.dailygames.hub.model.Friendship;
+import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.FriendGroupRepository;
+import com.dailygames.hub.service.FriendSuggestionService;
+import jakarta.persistence.EntityManager;
+import net.javacrumbs.shedlock.core.LockConfiguration;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.core.SimpleLock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class FriendSuggestionIntegrationTest {
+
+    @Autowired
+    private FriendSuggestionService friendSuggestionService;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private FriendGroupRepository friendGroupRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private LockProvider lockProvider;
+
+    @Test
+    @DisplayName("Should rank friends of friends and group co-members, excluding friends and pending requests")
+    void recompute_RanksMutualFriendsAndGroupMembers() {
+        User alice = testData.user("alice");
+        User bob = testData.user("bob");
+        User carol = testData.user("carol");
+        User dave = testData.user("dave");
+        User erin = testData.user("erin");
+
+        testData.friendship(alice, bob, Friendship.FriendshipStatus.ACCEPTED);
+        testData.friendship(bob, carol, Friendship.FriendshipStatus.ACCEPTED);
+        testData.friendship(bob, erin, Friendship.FriendshipStatus.ACCEPTED);
+        testData.friendship(alice, erin, Friendship.FriendshipStatus.PENDING);
+
+        FriendGroup group = new FriendGroup();
+        group.setName("Puzzlers");
+        group.setInviteCode("SUGGEST1");
+        group.setOwner(alice);
+        group.setMembers(Set.of(alice, dave));
+        friendGroupRepository.save(group);
+        entityManager.flush();
+
+        friendSuggestionService.recomputeSuggestions();
+        entityManager.clear();
+
+        List<FriendSuggestionResponse> suggestions = friendSuggestionService.getSuggestions(alice);
+
+        assertThat(suggestions).extracting(FriendSuggestionResponse::getUsername).containsExactly("carol", "dave");
+        assertThat(suggestions.get(0).getMutualFriends()).isEqualTo(1);
+        assertThat(suggestions.get(1).getSharedGroups()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should skip the job while another instance holds its lock")
+    void recompute_SkipsWhileLocked() {
+        Optional<SimpleLock> held = lockProvider.lock(
+            new LockConfiguration(Instant.now(), "friend-suggestions", Duration.ofMinutes(5), Duration.ZERO));
+        assertThat(held).isPresent();
+        try {
+            assertThat(friendSuggestionService.recomputeSuggestions()).isFalse();
+        } finally {
+            held.get().unlock();
+        }
+
+        assertThat(friendSuggestionService.recomputeSuggestions()).isTrue();
+    }
+}
@@ -0,0 +1,111 @@
+package com.dailygames.hub.integration;
+
+import com.dailygames.hub.dto.FriendResponse;
+import com.dailygames.hub.model.Friendship;
+import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.FriendshipRepository;
+import com.dailygames.hub.service.FriendshipGraph;
+import com.dailygames.hub.service.FriendshipService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class FriendshipListingIntegrationTest {
+
+    @Autowired
+    private FriendshipService friendshipService;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private FriendshipRepository friendshipRepository;
+
+    @Autowired
+    private FriendshipGraph friendshipGraph;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterTransaction
+    void resetGraph() {
+        // The graph saw this test's uncommitted rows; reload it from the rolled-back table
+        friendshipGraph.warm();
+    }
+
+    @Test
+    @DisplayName("Should page friends from both sides of the relation in friendship id order")
+    void getFriends_PagesAcrossBothSides() {
+        User owner = testData.user("owner");
+        User sentTo = testData.user("sentto");
+        User receivedFrom = testData.user("receivedfrom");
+        User third = testData.user("third");
+        User requester = testData.user("requester");
+
+        testData.friendship(owner, sentTo, Friendship.FriendshipStatus.ACCEPTED);
+        testData.friendship(receivedFrom, owner, Friendship.FriendshipStatus.ACCEPTED);
+        testData.friendship(owner, third, Friendship.FriendshipStatus.ACCEPTED);
+        testData.friendship(requester, owner, Friendship.FriendshipStatus.PENDING);
+        friendshipRepository.flush();
+        friendshipGraph.warm();
+
+        List<FriendResponse> first = friendshipService.getFriends(owner, null, 2);
+        assertThat(first).extracting(FriendResponse::getUsername).containsExactly("sentto", "receivedfrom");
+        assertThat(first).extracting(FriendResponse::getIsSender).containsExactly(true, false);
+
+        List<FriendResponse> second = friendshipService.getFriends(owner, first.get(1).getId(), 2);
+        assertThat(second).extracting(FriendResponse::getUsername).containsExactly("third");
+
+        List<FriendResponse> pending = friendshipService.getPendingRequests(owner, null, 10);
+        assertThat(pending).extracting(FriendResponse::getUsername).containsExactly("requester");
+        assertThat(pending.get(0).getStatus()).isEqualTo("PENDING");
+    }
+
+    @Test
+    @DisplayName("Should apply friendship changes made through another instance at the next sync")
+    void syncChanges_AppliesChangesFromOtherInstances() {
+        User sender = testData.user("elsewheresender");
+        User receiver = testData.user("elsewherereceiver");
+        friendshipGraph.warm();
+
+        // What another instance's acceptFriendRequest leaves behind, without touching this graph
+        testData.friendship(sender, receiver, Friendship.FriendshipStatus.ACCEPTED);
+        friendshipRepository.flush();
+        jdbcTemplate.update("INSERT INTO friendship_changes (user_id, friend_id, kind, created_at)"
+            + " VALUES (?, ?, 'ACCEPTED', CURRENT_TIMESTAMP)", sender.getId(), receiver.getId());
+        assertThat(friendshipService.areFriends(receiver, sender)).isFalse();
+
+        friendshipGraph.syncChanges();
+
+        assertThat(friendshipService.areFriends(receiver, sender)).isTrue();
+        assertThat(friendshipService.getFriends(receiver, null, 10))
+            .extracting(FriendResponse::getUsername).containsExactly("elsewheresender");
+    }
+
+    @Test
+    @DisplayName("Should log each change so the other instances can apply it")
+    void publish_LogsChanges() {
+        User sender = testData.user("logsender");
+        User receiver = testData.user("logreceiver");
+
+        FriendResponse request = friendshipService.sendFriendRequest(sender, receiver.getId());
+        friendshipService.acceptFriendRequest(receiver, request.getId());
+        friendshipService.removeFriend(sender, receiver.getId());
+
+        assertThat(jdbcTemplate.queryForList("SELECT kind FROM friendship_changes WHERE user_id IN (?, ?) ORDER BY id",
+            String.class, sender.getId(), receiver.getId()))
+            .containsExactly("SENT", "ACCEPTED", "REMOVED");
+    }
+}
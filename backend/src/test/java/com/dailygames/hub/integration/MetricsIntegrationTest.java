@@ -0,0 +1,106 @@
+package com.dailygames.hub.integration;
+
+import com.dailygames.hub.config.JwtUtil;
+import com.dailygames.hub.dto.ScoreRequest;
+import com.dailygames.hub.model.GameType;
+import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Own database: a second context recreating the shared schema would reset ids under the cached contexts
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:metrics;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "app.metrics.scrape-token=test-scrape-token"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@Transactional
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    @DisplayName("Should publish service timers, pool and endpoint metrics to Prometheus")
+    void prometheusScrape() throws Exception {
+        User player = new User();
+        player.setUsername("metricsplayer");
+        player.setEmail("metricsplayer@test.com");
+        player.setPassword("hash");
+        player = userRepository.save(player);
+        String token = jwtUtil.generateToken(player.getId(), player.getUsername(), false);
+
+        ScoreRequest request = new ScoreRequest();
+        request.setGameType(GameType.WORDLE);
+        request.setRawResult("Wordle 123 3/6");
+        request.setAttempts(3);
+        request.setSolved(true);
+        mockMvc.perform(post("/api/scores")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk());
+
+        String body = mockMvc.perform(get("/actuator/prometheus")
+                .header("Authorization", "Bearer test-scrape-token"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(body)
+            .contains("scores_submit_seconds_bucket")
+            .contains("ratings_update_seconds_count")
+            .contains("scores_map_seconds_count")
+            .containsPattern("scores_submitted_total\\{[^}]*game=\"WORDLE\"")
+            .contains("http_server_requests_seconds_bucket")
+            .contains("hikaricp_connections_acquire_seconds_bucket")
+            .contains("hibernate_sessions_open_total")
+            .contains("password_hashing_completed_total")
+            .contains("rate_limit_rejected_total");
+    }
+
+    @Test
+    @DisplayName("Should keep metrics private while leaving health public")
+    void metricsRequireAdminOrScrapeToken() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer wrong-token"))
+            .andExpect(status().isUnauthorized());
+
+        User admin = new User();
+        admin.setUsername("metricsadmin");
+        admin.setEmail("metricsadmin@test.com");
+        admin.setPassword("hash");
+        admin.setIsAdmin(true);
+        admin = userRepository.save(admin);
+        mockMvc.perform(get("/actuator/metrics")
+                .header("Authorization", "Bearer " + jwtUtil.generateToken(admin.getId(), admin.getUsername(), true)))
+            .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,72 @@
+package com.dailygames.hub.integration;
+
+import com.dailygames.hub.repository.UserRepository;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application on a database created by the last release before Flyway, which has no
+ * schema history table. Startup itself checks most of it: Hibernate validates the migrated
+ * schema against the entities.
+ */
+@SpringBootTest(properties = "spring.datasource.url=" + PreFlywaySchemaMigrationIntegrationTest.URL)
+@ActiveProfiles("test")
+class PreFlywaySchemaMigrationIntegrationTest {
+
+    static final String URL = "jdbc:h2:mem:preflywaydb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    static {
+        DriverManagerDataSource legacy = new DriverManagerDataSource(URL, "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/pre-flyway-schema.sql")).execute(legacy);
+        new JdbcTemplate(legacy).update("INSERT INTO users (username, email, password, created_at, global_day_streak,"
+            + " longest_global_streak, average_rating) VALUES ('legacy', 'legacy@test.com', 'hash', CURRENT_TIMESTAMP, 3, 5, 1000)");
+    }
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Should baseline a pre-Flyway database at V1 and apply every later migration")
+    void baselinesAndMigrates() {
+        List<MigrationInfo> applied = Arrays.asList(flyway.info().applied());
+
+        assertThat(applied.get(0).getType().isBaseline()).isTrue();
+        assertThat(applied.get(0).getVersion().getVersion()).isEqualTo("1");
+        assertThat(applied.subList(1, applied.size()))
+            .isNotEmpty()
+            .allMatch(m -> m.getState() == MigrationState.SUCCESS);
+        assertThat(flyway.info().pending()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should add the feature tables and query indexes next to the existing data")
+    void addsSchemaAndKeepsData() {
+        assertThat(userRepository.findByUsername("legacy"))
+            .hasValueSatisfying(user -> assertThat(user.getLongestGlobalStreak()).isEqualTo(5));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM friend_suggestions", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForList(
+            "SELECT index_name FROM information_schema.indexes WHERE table_name = 'SCORES'", String.class))
+            .contains("IDX_SCORES_USER_DATE", "IDX_SCORES_DATE_SUBMITTED");
+    }
+}
@@ -0,0 +1,35 @@
+package com.dailygames.hub.integration;
+
+import com.dailygames.hub.config.QueryAccounting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the number of SQL statements an action may run, so a lazy-load N+1 fails the test that
+ * introduced it. The failure message lists the most frequent statements.
+ */
+final class QueryBudget {
+
+    @FunctionalInterface
+    interface Action {
+        void run() throws Exception;
+    }
+
+    private QueryBudget() {
+    }
+
+    static QueryAccounting.Stats measure(Action action) throws Exception {
+        try (QueryAccounting.Stats stats = QueryAccounting.start()) {
+            action.run();
+            return stats;
+        }
+    }
+
+    static QueryAccounting.Stats assertAtMost(int maxStatements, Action action) throws Exception {
+        QueryAccounting.Stats stats = measure(action);
+        assertThat(stats.statements())
+            .as("SQL statements, most frequent:%s", stats.histogram(10))
+            .isLessThanOrEqualTo(maxStatements);
+        return stats;
+    }
+}
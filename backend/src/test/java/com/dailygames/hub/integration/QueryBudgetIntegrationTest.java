@@ -0,0 +1,147 @@
+package com.dailygames.hub.integration;
+
+import com.dailygames.hub.config.JwtUtil;
+import com.dailygames.hub.config.QueryAccounting;
+import com.dailygames.hub.config.QueryAccountingFilter;
+import com.dailygames.hub.model.FriendGroup;
+import com.dailygames.hub.model.GameType;
+import com.dailygames.hub.model.Message;
+import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.FriendGroupRepository;
+import com.dailygames.hub.repository.MessageRepository;
+import com.dailygames.hub.repository.RatingRepository;
+import com.dailygames.hub.repository.ScoreRepository;
+import com.dailygames.hub.repository.UserRepository;
+import com.dailygames.hub.util.DateUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional: inside a test transaction the persistence context would serve the fixture
+ * and hide the queries a real request runs.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetIntegrationTest {
+
+    private static final int FRIENDS = 4;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FriendGroupRepository friendGroupRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private ScoreRepository scoreRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private User owner;
+    private FriendGroup group;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        LocalDate today = DateUtils.todayAmsterdam();
+        owner = testData.user("budgetowner");
+        token = jwtUtil.generateToken(owner.getId(), owner.getUsername(), false);
+
+        List<User> friends = new ArrayList<>();
+        for (int i = 0; i < FRIENDS; i++) {
+            User friend = testData.user("budgetfriend" + i);
+            friends.add(friend);
+            testData.score(friend, GameType.WORDLE, today);
+            message(friend, owner);
+            message(owner, friend);
+        }
+        testData.score(owner, GameType.WORDLE, today);
+
+        group = new FriendGroup();
+        group.setName("Budget group");
+        group.setInviteCode("BUDGET01");
+        group.setOwner(owner);
+        group.getMembers().add(owner);
+        group.getMembers().addAll(friends);
+        group = friendGroupRepository.save(group);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        friendGroupRepository.deleteAll();
+        messageRepository.deleteAll();
+        ratingRepository.deleteAll();
+        scoreRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should report the statement count in a response header outside production")
+    void queryCountHeader() throws Exception {
+        QueryAccounting.Stats stats = QueryBudget.measure(() -> {
+            MvcResult result = mockMvc.perform(get("/api/users/profile/budgetfriend0")
+                    .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+            assertThat(result.getResponse().getHeader(QueryAccountingFilter.HEADER)).isNotNull();
+        });
+
+        assertThat(stats.statements()).isPositive();
+        assertThat(stats.rows()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should keep endpoint query counts within their pinned budgets")
+    void endpointBudgets() throws Exception {
+        // Group listing and conversations still load ratings and messages per member and per partner
+        QueryBudget.assertAtMost(5 + FRIENDS + 1, () -> perform("/api/groups"));
+        QueryBudget.assertAtMost(2 + FRIENDS, () -> perform("/api/messages/conversations"));
+        QueryBudget.assertAtMost(4, () -> perform("/api/users/profile/budgetfriend0"));
+        QueryBudget.assertAtMost(2, () -> perform("/api/scores/group/" + group.getId()));
+    }
+
+    private void perform(String url) throws Exception {
+        mockMvc.perform(get(url).header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+    }
+
+    private void message(User sender, User receiver) {
+        Message message = new Message();
+        message.setSender(sender);
+        message.setReceiver(receiver);
+        message.setContent("hi " + receiver.getUsername());
+        messageRepository.save(message);
+    }
+}
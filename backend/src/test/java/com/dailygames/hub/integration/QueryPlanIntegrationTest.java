@@ -0,0 +1,379 @@
+package com.dailygames.hub.integration;
+
+import com.dailygames.hub.model.Friendship.FriendshipStatus;
+import com.dailygames.hub.model.GameType;
+import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.DailyGameStatsRepository;
+import com.dailygames.hub.repository.DailyStatsRepository;
+import com.dailygames.hub.repository.FeedEntryRepository;
+import com.dailygames.hub.repository.FriendGroupRepository;
+import com.dailygames.hub.repository.FriendSuggestionRepository;
+import com.dailygames.hub.repository.FriendshipRepository;
+import com.dailygames.hub.repository.MessageRepository;
+import com.dailygames.hub.repository.OutboxEmailRepository;
+import com.dailygames.hub.repository.PasswordResetTokenRepository;
+import com.dailygames.hub.repository.RatingRepository;
+import com.dailygames.hub.repository.RefreshTokenRepository;
+import com.dailygames.hub.repository.RevokedAccessTokenRepository;
+import com.dailygames.hub.repository.ScoreRepository;
+import com.dailygames.hub.repository.StreakRepository;
+import com.dailygames.hub.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every repository query, captures the SQL Hibernate sends, and fails when H2's plan for
+ * it reads a whole table or index. H2 also indexes foreign keys on its own and PostgreSQL does
+ * not, so a plan that relies on one of those indexes fails too. H2 plans more crudely than
+ * PostgreSQL; a query that passes here can still deserve an EXPLAIN ANALYZE on production data.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class QueryPlanIntegrationTest {
+
+    // "/* PUBLIC.SCORES.tableScan */", "/* PUBLIC.PRIMARY_KEY_9 */" or "/* PUBLIC.IDX_X: USER_ID = ?1 */"
+    private static final Pattern ACCESS = Pattern.compile("/\\* PUBLIC\\.(\\w+)(\\.tableScan)?(?:: (.*?))? \\*/");
+
+    // Queries whose job is to read the whole table
+    private static final Map<String, String> ALLOWED_SCANS = Map.of(
+        "UserRepository.searchUsers", "admin substring search; LIKE '%q%' cannot use a btree index",
+        "UserRepository.findByIsAdminTrue", "admin listing over a boolean that is true for a handful of rows",
+        "ScoreRepository.countPlaysByGameType", "admin totals over every score, cached by AdminStatsService",
+        "FriendshipRepository.streamActiveEdges", "streams every edge once to warm the friendship graph");
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ScoreRepository scoreRepository;
+    @Autowired
+    private RatingRepository ratingRepository;
+    @Autowired
+    private StreakRepository streakRepository;
+    @Autowired
+    private FriendshipRepository friendshipRepository;
+    @Autowired
+    private FriendGroupRepository friendGroupRepository;
+    @Autowired
+    private FriendSuggestionRepository friendSuggestionRepository;
+    @Autowired
+    private MessageRepository messageRepository;
+    @Autowired
+    private FeedEntryRepository feedEntryRepository;
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private RevokedAccessTokenRepository revokedAccessTokenRepository;
+    @Autowired
+    private DailyStatsRepository dailyStatsRepository;
+    @Autowired
+    private DailyGameStatsRepository dailyGameStatsRepository;
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        alice = testData.user("planalice");
+        bob = testData.user("planbob");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.findByUsername("planalice").ifPresent(userRepository::delete);
+        userRepository.findByUsername("planbob").ifPresent(userRepository::delete);
+    }
+
+    @Test
+    @DisplayName("Should exercise every repository query method")
+    void coversEveryQuery() {
+        Set<String> declared = new TreeSet<>();
+        Repositories repositories = new Repositories(applicationContext);
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            information.getQueryMethods().forEach(method ->
+                declared.add(information.getRepositoryInterface().getSimpleName() + "." + method.getName()));
+        }
+
+        assertThat(queries().keySet()).containsAll(declared);
+    }
+
+    @Test
+    @DisplayName("Should plan every repository query without a full table scan")
+    void noFullScans() throws Exception {
+        assertThat(dataSource).isInstanceOf(ProxyDataSource.class);
+        StatementCapture capture = new StatementCapture();
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(capture);
+
+        Map<String, String> leadingColumns = new HashMap<>();
+        Map<String, String> tables = new HashMap<>();
+        Set<String> foreignKeyIndexes = new HashSet<>();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("SELECT INDEX_NAME, TABLE_NAME, COLUMN_NAME "
+                    + "FROM INFORMATION_SCHEMA.INDEX_COLUMNS WHERE TABLE_SCHEMA = 'PUBLIC' AND ORDINAL_POSITION = 1")) {
+                while (rs.next()) {
+                    tables.put(rs.getString(1), rs.getString(2));
+                    leadingColumns.put(rs.getString(1), rs.getString(3));
+                }
+            }
+            try (ResultSet rs = statement.executeQuery("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS "
+                    + "WHERE TABLE_SCHEMA = 'PUBLIC' AND CONSTRAINT_TYPE = 'FOREIGN KEY' "
+                    + "AND INDEX_NAME LIKE CONSTRAINT_NAME || '_INDEX_%'")) {
+                while (rs.next()) {
+                    foreignKeyIndexes.add(rs.getString(1));
+                }
+            }
+        }
+        // Table and first column of every index PostgreSQL would have too
+        Set<String> portableLeads = new HashSet<>();
+        leadingColumns.forEach((index, column) -> {
+            if (!foreignKeyIndexes.contains(index)) {
+                portableLeads.add(tables.get(index) + "." + column);
+            }
+        });
+
+        List<String> failures = new ArrayList<>();
+        for (Map.Entry<String, Runnable> query : queries().entrySet()) {
+            entityManagerFactory.getCache().evictAll();
+            List<CapturedStatement> statements = capture.during(() -> transactionTemplate.executeWithoutResult(status -> {
+                query.getValue().run();
+                status.setRollbackOnly();
+            }));
+            assertThat(statements).as("SQL issued by %s", query.getKey()).isNotEmpty();
+            if (ALLOWED_SCANS.containsKey(query.getKey())) {
+                continue;
+            }
+            for (CapturedStatement statement : statements) {
+                String plan = explain(statement);
+                Matcher access = ACCESS.matcher(plan);
+                while (access.find()) {
+                    String index = access.group(1);
+                    String condition = access.group(3);
+                    String problem = access.group(2) != null ? "scans table " + index
+                        : foreignKeyIndexes.contains(index)
+                            && !portableLeads.contains(tables.get(index) + "." + leadingColumns.get(index))
+                            ? "needs an index on the foreign key behind " + index
+                        : condition == null ? "scans all of " + index
+                        : !leads(leadingColumns.get(index), condition) ? "scans " + index + " for " + condition
+                        : null;
+                    if (problem != null) {
+                        failures.add(query.getKey() + " " + problem + ":\n    " + plan);
+                    }
+                }
+            }
+        }
+
+        assertThat(failures).as("Full table scans").isEmpty();
+    }
+
+    private Map<String, Runnable> queries() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page = PageRequest.of(0, 20);
+        List<User> users = List.of(alice, bob);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("UserRepository.findByUsername", () -> userRepository.findByUsername("planalice"));
+        queries.put("UserRepository.findByEmail", () -> userRepository.findByEmail("planalice@test.com"));
+        queries.put("UserRepository.existsByUsername", () -> userRepository.existsByUsername("planalice"));
+        queries.put("UserRepository.existsByEmail", () -> userRepository.existsByEmail("planalice@test.com"));
+        queries.put("UserRepository.searchUsers", () -> userRepository.searchUsers("plan"));
+        queries.put("UserRepository.findByIsAdminTrue", () -> userRepository.findByIsAdminTrue());
+        queries.put("UserRepository.findAuthStatusById", () -> userRepository.findAuthStatusById(alice.getId()));
+        queries.put("UserRepository.findLoginViewByUsername", () -> userRepository.findLoginViewByUsername("planalice"));
+        queries.put("UserRepository.findLoginViewById", () -> userRepository.findLoginViewById(alice.getId()));
+
+        queries.put("ScoreRepository.findByUserAndGameDate", () -> scoreRepository.findByUserAndGameDate(alice, today));
+        queries.put("ScoreRepository.findByUserAndGameType", () -> scoreRepository.findByUserAndGameType(alice, GameType.WORDLE));
+        queries.put("ScoreRepository.findByUserAndGameTypeAndGameDate",
+            () -> scoreRepository.findByUserAndGameTypeAndGameDate(alice, GameType.WORDLE, today));
+        queries.put("ScoreRepository.findByGameDateOrderBySubmittedAtDesc",
+            () -> scoreRepository.findByGameDateOrderBySubmittedAtDesc(today));
+        queries.put("ScoreRepository.findByUsersAndDate", () -> scoreRepository.findByUsersAndDate(users, today));
+        queries.put("ScoreRepository.findRecentByUser", () -> scoreRepository.findRecentByUser(alice.getId()));
+        queries.put("ScoreRepository.findRecentByUserIds",
+            () -> scoreRepository.findRecentByUserIds(List.of(alice.getId(), bob.getId()), Long.MAX_VALUE, page));
+        queries.put("ScoreRepository.countPlaysByGameType", () -> scoreRepository.countPlaysByGameType(today));
+        queries.put("ScoreRepository.countByGameDate", () -> scoreRepository.countByGameDate(today));
+        queries.put("ScoreRepository.findDistinctDatesByUsers", () -> scoreRepository.findDistinctDatesByUsers(users));
+        queries.put("ScoreRepository.countDistinctUsersByGameDate", () -> scoreRepository.countDistinctUsersByGameDate(today));
+
+        queries.put("RatingRepository.findByUserAndGameType", () -> ratingRepository.findByUserAndGameType(alice, GameType.WORDLE));
+        queries.put("RatingRepository.findByUser", () -> ratingRepository.findByUser(alice));
+        queries.put("RatingRepository.getAverageRatingForUser", () -> ratingRepository.getAverageRatingForUser(alice));
+        queries.put("RatingRepository.findTopByGameType", () -> ratingRepository.findTopByGameType(GameType.WORDLE));
+
+        queries.put("StreakRepository.findByUser", () -> streakRepository.findByUser(alice));
+        queries.put("StreakRepository.findByUserAndGameType", () -> streakRepository.findByUserAndGameType(alice, GameType.WORDLE));
+
+        queries.put("FriendshipRepository.findByUserAndFriend", () -> friendshipRepository.findByUserAndFriend(alice, bob));
+        queries.put("FriendshipRepository.findSentListing",
+            () -> friendshipRepository.findSentListing(alice.getId(), FriendshipStatus.ACCEPTED, 0L, page));
+        queries.put("FriendshipRepository.findReceivedListing",
+            () -> friendshipRepository.findReceivedListing(alice.getId(), FriendshipStatus.PENDING, 0L, page));
+        queries.put("FriendshipRepository.areFriends", () -> friendshipRepository.areFriends(alice, bob));
+        queries.put("FriendshipRepository.findFriendshipBetween", () -> friendshipRepository.findFriendshipBetween(alice, bob));
+        queries.put("FriendshipRepository.streamActiveEdges", () -> {
+            try (var edges = friendshipRepository.streamActiveEdges()) {
+                edges.count();
+            }
+        });
+
+        queries.put("FriendGroupRepository.findByInviteCode", () -> friendGroupRepository.findByInviteCode("PLAN0001"));
+        queries.put("FriendGroupRepository.findByMember", () -> friendGroupRepository.findByMember(alice));
+        queries.put("FriendGroupRepository.findByIdWithMembers", () -> friendGroupRepository.findByIdWithMembers(1L));
+        queries.put("FriendGroupRepository.findByOwner", () -> friendGroupRepository.findByOwner(alice));
+        queries.put("FriendSuggestionRepository.findByUserId", () -> friendSuggestionRepository.findByUserId(alice.getId()));
+
+        queries.put("MessageRepository.findConversation", () -> messageRepository.findConversation(alice, bob));
+        queries.put("MessageRepository.findUnreadForUser", () -> messageRepository.findUnreadForUser(alice));
+        queries.put("MessageRepository.countUnreadForUser", () -> messageRepository.countUnreadForUser(alice));
+        queries.put("MessageRepository.findConversationPartners", () -> messageRepository.findConversationPartners(alice));
+
+        queries.put("FeedEntryRepository.findPage", () -> feedEntryRepository.findPage(alice.getId(), Long.MAX_VALUE, page));
+        queries.put("FeedEntryRepository.deleteOlderThan", () -> feedEntryRepository.deleteOlderThan(now.minusDays(30)));
+
+        queries.put("PasswordResetTokenRepository.findByToken", () -> passwordResetTokenRepository.findByToken("token"));
+        queries.put("PasswordResetTokenRepository.deleteByUser", () -> passwordResetTokenRepository.deleteByUser(alice));
+        queries.put("RefreshTokenRepository.findByTokenHash", () -> refreshTokenRepository.findByTokenHash("hash"));
+        queries.put("RefreshTokenRepository.existsByFamilyIdAndRevokedFalse",
+            () -> refreshTokenRepository.existsByFamilyIdAndRevokedFalse("family"));
+        queries.put("RefreshTokenRepository.revokeFamily", () -> refreshTokenRepository.revokeFamily("family"));
+        queries.put("RefreshTokenRepository.revokeAllForUser", () -> refreshTokenRepository.revokeAllForUser(alice.getId()));
+        queries.put("RefreshTokenRepository.deleteExpiredBefore", () -> refreshTokenRepository.deleteExpiredBefore(now));
+        queries.put("RevokedAccessTokenRepository.findActiveJtis", () -> revokedAccessTokenRepository.findActiveJtis(now));
+        queries.put("RevokedAccessTokenRepository.findJtisRevokedSince",
+            () -> revokedAccessTokenRepository.findJtisRevokedSince(now.minusMinutes(1), now));
+        queries.put("RevokedAccessTokenRepository.deleteExpiredBefore",
+            () -> revokedAccessTokenRepository.deleteExpiredBefore(now));
+
+        queries.put("DailyStatsRepository.findByStatDateBetweenOrderByStatDate",
+            () -> dailyStatsRepository.findByStatDateBetweenOrderByStatDate(today.minusDays(30), today));
+        queries.put("DailyStatsRepository.sumRegistrationsBefore", () -> dailyStatsRepository.sumRegistrationsBefore(today));
+        queries.put("DailyGameStatsRepository.findByGameTypeAndStatDateBetweenOrderByStatDate",
+            () -> dailyGameStatsRepository.findByGameTypeAndStatDateBetweenOrderByStatDate(
+                GameType.WORDLE, today.minusDays(30), today));
+
+        queries.put("OutboxEmailRepository.findDue", () -> outboxEmailRepository.findDue(now, page));
+        queries.put("OutboxEmailRepository.claim", () -> outboxEmailRepository.claim(1L, now, now.plusMinutes(5)));
+        queries.put("OutboxEmailRepository.markSent", () -> outboxEmailRepository.markSent(List.of(1L, 2L), now));
+        queries.put("OutboxEmailRepository.retryLater", () -> outboxEmailRepository.retryLater(1L, now, "error"));
+        queries.put("OutboxEmailRepository.markDead", () -> outboxEmailRepository.markDead(1L, "error"));
+        queries.put("OutboxEmailRepository.deleteSentBefore",
+            () -> outboxEmailRepository.deleteSentBefore(now.minusDays(7)));
+        return queries;
+    }
+
+    // The index is only searched, not scanned, when the condition constrains its first column
+    private static boolean leads(String leadingColumn, String condition) {
+        return leadingColumn != null
+            && Pattern.compile("(^|AND )" + leadingColumn + " (=|<|>|IN\\(|IS )").matcher(condition).find();
+    }
+
+    private String explain(CapturedStatement statement) throws Exception {
+        DataSource target = ((ProxyDataSource) dataSource).getDataSource();
+        try (Connection connection = target.getConnection();
+             PreparedStatement ps = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+            for (ParameterSetOperation operation : statement.parameters()) {
+                operation.getMethod().invoke(ps, operation.getArgs());
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getString(1).replaceAll("\\s+", " ");
+            }
+        }
+    }
+
+    private record CapturedStatement(String sql, List<ParameterSetOperation> parameters) {
+    }
+
+    /**
+     * Records the statements the test thread runs while a capture is open, ignoring schedulers.
+     */
+    private static final class StatementCapture implements QueryExecutionListener {
+        private volatile Thread capturing;
+        private final List<CapturedStatement> statements = new ArrayList<>();
+
+        List<CapturedStatement> during(Runnable action) {
+            statements.clear();
+            capturing = Thread.currentThread();
+            try {
+                action.run();
+            } finally {
+                capturing = null;
+            }
+            return List.copyOf(statements);
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (Thread.currentThread() != capturing) {
+                return;
+            }
+            for (QueryInfo query : queryInfoList) {
+                List<ParameterSetOperation> parameters = query.getParametersList().isEmpty()
+                    ? List.of() : query.getParametersList().get(0);
+                statements.add(new CapturedStatement(query.getQuery(), parameters));
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.dailygames.hub.integration;
+
+import com.dailygames.hub.config.AuthenticatedUser;
+import com.dailygames.hub.config.JwtUtil;
+import com.dailygames.hub.config.ReplicaRoutingDataSource;
+import com.dailygames.hub.dto.ScoreRequest;
+import com.dailygames.hub.model.GameType;
+import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against two in-memory H2 databases with no replication between them, so every read shows
+ * which one served it: a row inserted only into the replica is visible exactly when a query was
+ * routed there.
+ */
+@SpringBootTest(properties = {
+    "app.datasource.replica.url=" + ReadReplicaRoutingIntegrationTest.REPLICA_URL,
+    "app.datasource.replica.username=sa",
+    "app.datasource.replica.lag-query=SELECT seconds FROM replica_lag",
+    "app.datasource.replica.max-lag-seconds=5",
+    "app.datasource.replica.sticky-ms=500",
+    "app.datasource.replica.lag-check-ms=3600000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadReplicaRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    private static final String REPLICA_ONLY = "replicaonly";
+
+    private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    static {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "")
+            .locations("classpath:db/migration", "classpath:db/vendor/h2")
+            .load().migrate();
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds DOUBLE PRECISION NOT NULL)");
+    }
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        cleanUp();
+        replica.update("INSERT INTO replica_lag (seconds) VALUES (0)");
+        replica.update("INSERT INTO users (username, email, password, created_at, global_day_streak,"
+            + " longest_global_streak, average_rating) VALUES (?, ?, 'hash', CURRENT_TIMESTAMP, 0, 0, 1500)",
+            REPLICA_ONLY, REPLICA_ONLY + "@test.com");
+        routing.checkLag();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+        for (String table : new String[]{"feed_entries", "scores", "streaks", "ratings"}) {
+            String userColumn = table.equals("feed_entries") ? "actor_id" : "user_id";
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE " + userColumn
+                + " IN (SELECT id FROM users WHERE username LIKE 'routed%')");
+        }
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'routed%'");
+        replica.update("DELETE FROM users");
+        replica.update("DELETE FROM replica_lag");
+        // Ids on the two databases overlap, so entities cached from either must not outlive a test
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and everything else to the primary")
+    void routesByTransactionType() {
+        assertThat(routing.isReplicaUsable()).isTrue();
+
+        assertThat(readOnlySees(REPLICA_ONLY)).isTrue();
+        assertThat(userRepository.findByUsername(REPLICA_ONLY)).isPresent();
+        assertThat(readWriteSees(REPLICA_ONLY)).isFalse();
+        assertThat(sees(REPLICA_ONLY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should send a request's write to the primary after its read-only user lookup went to the replica")
+    void writeAfterReplicaReadInOneRequest() throws Exception {
+        User user = testData.user("routedrequest");
+        // The replica holds a copy of the user, under the same id
+        replica.update("DELETE FROM users");
+        replica.update("INSERT INTO users (id, username, email, password, created_at, global_day_streak,"
+            + " longest_global_streak, average_rating) VALUES (?, ?, ?, 'hash', CURRENT_TIMESTAMP, 0, 0, 1000)",
+            user.getId(), user.getUsername(), user.getEmail());
+        entityManagerFactory.getCache().evictAll();
+
+        ScoreRequest request = new ScoreRequest();
+        request.setGameType(GameType.WORDLE);
+        request.setRawResult("Wordle 1 3/6");
+        request.setAttempts(3);
+        request.setSolved(true);
+        mockMvc.perform(post("/api/scores")
+                .header("Authorization", "Bearer " + jwtUtil.generateToken(user.getId(), user.getUsername(), false))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM scores WHERE user_id = ?", Long.class, user.getId()))
+            .isEqualTo(1);
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM scores", Long.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should write to the primary only")
+    void writesGoToThePrimary() {
+        testData.user("routedwrite");
+
+        assertThat(readWriteSees("routedwrite")).isTrue();
+        assertThat(replica.queryForList("SELECT id FROM users WHERE username = 'routedwrite'")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should read a user's own writes from the primary for a short window")
+    void readYourWrites() throws InterruptedException {
+        authenticate(1001L, "writer");
+        readWrite().executeWithoutResult(status -> testData.user("routedsticky"));
+
+        assertThat(readOnlySees("routedsticky")).isTrue();
+        assertThat(readOnlySees(REPLICA_ONLY)).isFalse();
+
+        authenticate(1002L, "reader");
+        assertThat(readOnlySees(REPLICA_ONLY)).isTrue();
+
+        authenticate(1001L, "writer");
+        Thread.sleep(600);
+        assertThat(readOnlySees(REPLICA_ONLY)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not make a user sticky for a transaction that rolls back")
+    void rolledBackWriteIsNotSticky() {
+        authenticate(1001L, "writer");
+        readWrite().executeWithoutResult(status -> {
+            testData.user("routedrollback");
+            status.setRollbackOnly();
+        });
+
+        assertThat(readOnlySees(REPLICA_ONLY)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should read from the primary while the replica lags or cannot be probed")
+    void lagFallback() {
+        replica.update("UPDATE replica_lag SET seconds = 30");
+        routing.checkLag();
+
+        assertThat(routing.isReplicaUsable()).isFalse();
+        assertThat(routing.getLagSeconds()).isEqualTo(30.0);
+        assertThat(readOnlySees(REPLICA_ONLY)).isFalse();
+
+        replica.update("UPDATE replica_lag SET seconds = 1");
+        routing.checkLag();
+        assertThat(readOnlySees(REPLICA_ONLY)).isTrue();
+
+        replica.execute("ALTER TABLE replica_lag RENAME TO replica_lag_broken");
+        try {
+            routing.checkLag();
+            assertThat(routing.isReplicaUsable()).isFalse();
+            assertThat(readOnlySees(REPLICA_ONLY)).isFalse();
+        } finally {
+            replica.execute("ALTER TABLE replica_lag_broken RENAME TO replica_lag");
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep entities read from the replica out of the second-level cache")
+    void replicaReadsAreNotCached() {
+        Long replicaId = readOnly().execute(status -> userRepository.findByUsername(REPLICA_ONLY).orElseThrow().getId());
+        assertThat(entityManagerFactory.getCache().contains(User.class, replicaId)).isFalse();
+
+        User written = testData.user("routedcached");
+        entityManagerFactory.getCache().evict(User.class);
+        replica.update("UPDATE replica_lag SET seconds = 30");
+        routing.checkLag();
+        readOnly().executeWithoutResult(status -> userRepository.findById(written.getId()));
+        assertThat(entityManagerFactory.getCache().contains(User.class, written.getId())).isTrue();
+    }
+
+    private boolean readOnlySees(String username) {
+        return Boolean.TRUE.equals(readOnly().execute(status -> sees(username)));
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly;
+    }
+
+    private boolean readWriteSees(String username) {
+        return Boolean.TRUE.equals(readWrite().execute(status -> sees(username)));
+    }
+
+    private TransactionTemplate readWrite() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private boolean sees(String username) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM users WHERE username = ?", Long.class, username);
+        return !ids.isEmpty();
+    }
+
+    private static void authenticate(Long id, String username) {
+        AuthenticatedUser principal = new AuthenticatedUser(id, username, false);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+}
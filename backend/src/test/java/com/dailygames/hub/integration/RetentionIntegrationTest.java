@@ -0,0 +1,79 @@
+package com.dailygames.hub.integration;
+
+import com.dailygames.hub.dto.RetentionResponse;
+import com.dailygames.hub.model.GameType;
+import com.dailygames.hub.model.User;
+import com.dailygames.hub.service.RetentionService;
+import com.dailygames.hub.util.DateUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RetentionIntegrationTest {
+
+    @Autowired
+    private RetentionService retentionService;
+
+    @Autowired
+    private TestData testData;
+
+    @Test
+    @DisplayName("Should compute day-N retention by registration week and first game")
+    void computesRetentionMatrices() {
+        LocalDate today = DateUtils.todayAmsterdam();
+        LocalDate signup = today.minusDays(10);
+
+        User alice = user("alice", signup);
+        testData.score(alice, GameType.WORDLE, signup);
+        testData.score(alice, GameType.CONNECTIONS, signup);
+        testData.score(alice, GameType.WORDLE, signup.plusDays(1));
+        testData.score(alice, GameType.WORDLE, signup.plusDays(7));
+        User bob = user("bob", signup);
+        testData.score(bob, GameType.CONNECTIONS, signup);
+        testData.score(bob, GameType.CONNECTIONS, signup.plusDays(2));
+        user("carol", today);
+
+        retentionService.refresh();
+        RetentionResponse report = retentionService.getReport();
+
+        assertThat(report.getUsersAnalyzed()).isEqualTo(3);
+        assertThat(report.getScoresAnalyzed()).isEqualTo(6);
+
+        RetentionResponse.Cohort week = cohort(report.getByRegistrationWeek(),
+            signup.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toString());
+        assertThat(week.getUsers()).isEqualTo(2);
+        assertThat(week.getD1()).isEqualTo(0.5);
+        assertThat(week.getD7()).isEqualTo(0.5);
+        assertThat(week.getD30()).isNull();
+
+        RetentionResponse.Cohort wordle = cohort(report.getByFirstGame(), "Wordle");
+        assertThat(wordle.getUsers()).isEqualTo(1);
+        assertThat(wordle.getD1()).isEqualTo(1.0);
+        assertThat(wordle.getD7()).isEqualTo(1.0);
+        RetentionResponse.Cohort connections = cohort(report.getByFirstGame(), "Connections");
+        assertThat(connections.getUsers()).isEqualTo(1);
+        assertThat(connections.getD1()).isEqualTo(0.0);
+        assertThat(connections.getD7()).isEqualTo(0.0);
+    }
+
+    private static RetentionResponse.Cohort cohort(List<RetentionResponse.Cohort> cohorts, String label) {
+        return cohorts.stream().filter(c -> c.getLabel().equals(label)).findFirst().orElseThrow();
+    }
+
+    private User user(String username, LocalDate registered) {
+        return testData.user(username, user -> user.setCreatedAt(registered.atTime(9, 0)));
+    }
+}
@@ -3,6 +3,7 @@ package com.dailygames.hub.integration;
 import com.dailygames.hub.dto.RegisterRequest;
 import com.dailygames.hub.dto.ScoreRequest;
 import com.dailygames.hub.model.GameType;
+import com.dailygames.hub.repository.GameTypeCounts;
 import com.dailygames.hub.repository.ScoreRepository;
 import com.dailygames.hub.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -19,6 +20,7 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -173,6 +175,33 @@ class ScoreIntegrationTest {
         mockMvc.perform(post("/api/scores")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(scoreRequest)))
-            .andExpect(status().isForbidden());
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should count plays per game in one grouped query")
+    void countPlaysByGameType() throws Exception {
+        LocalDate today = LocalDate.now();
+        for (LocalDate date : new LocalDate[] {today, today.minusDays(1)}) {
+            ScoreRequest scoreRequest = new ScoreRequest();
+            scoreRequest.setGameType(GameType.WORDLE);
+            scoreRequest.setRawResult("Wordle 123 4/6");
+            scoreRequest.setAttempts(4);
+            scoreRequest.setSolved(true);
+            scoreRequest.setGameDate(date);
+
+            mockMvc.perform(post("/api/scores")
+                    .header("Authorization", "Bearer " + authToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(scoreRequest)))
+                .andExpect(status().isOk());
+        }
+
+        List<GameTypeCounts> counts = scoreRepository.countPlaysByGameType(today);
+
+        assertThat(counts).hasSize(1);
+        assertThat(counts.get(0).getGameType()).isEqualTo(GameType.WORDLE);
+        assertThat(counts.get(0).getTotal()).isEqualTo(2L);
+        assertThat(counts.get(0).getToday()).isEqualTo(1L);
     }
 }
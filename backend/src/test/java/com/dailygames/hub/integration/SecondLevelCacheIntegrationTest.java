@@ -0,0 +1,164 @@
+package com.dailygames.hub.integration;
+
+import com.dailygames.hub.config.SecondLevelCacheConfig;
+import com.dailygames.hub.model.FriendGroup;
+import com.dailygames.hub.model.GameType;
+import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.FriendGroupRepository;
+import com.dailygames.hub.repository.RatingRepository;
+import com.dailygames.hub.repository.UserRepository;
+import com.dailygames.hub.service.FriendGroupService;
+import com.dailygames.hub.service.RatingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Not transactional: entities only reach the second-level cache when a transaction commits.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private FriendGroupRepository friendGroupRepository;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private FriendGroupService friendGroupService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        user = testData.user("cacheduser");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        friendGroupRepository.deleteAll();
+        ratingRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated user lookups by id and username from the cache")
+    void userLookups() throws Exception {
+        assertThat(QueryBudget.measure(() -> userRepository.findById(user.getId())).statements()).isPositive();
+
+        QueryBudget.assertAtMost(0, () -> assertThat(userRepository.findById(user.getId())).isPresent());
+        QueryBudget.assertAtMost(0, () ->
+            assertThat(userRepository.findByUsername("cacheduser")).map(User::getId).contains(user.getId()));
+        assertThat(userRepository.findByUsername("nobody")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should cache rating lookups and invalidate them when a rating changes")
+    void ratingLookups() throws Exception {
+        ratingService.updateRating(user, GameType.WORDLE, true, 3, null);
+        int rating = ratingRepository.findByUserAndGameType(user, GameType.WORDLE).orElseThrow().getRating();
+        ratingRepository.findByUser(user);
+
+        QueryBudget.assertAtMost(0, () -> ratingRepository.findByUserAndGameType(user, GameType.WORDLE));
+        QueryBudget.assertAtMost(0, () -> ratingRepository.findByUser(user));
+
+        // Each submission loads its user afresh; the copy updated above is stale by its version
+        user = userRepository.findById(user.getId()).orElseThrow();
+        int change = ratingService.updateRating(user, GameType.WORDLE, true, 2, null);
+
+        assertThat(ratingRepository.findByUserAndGameType(user, GameType.WORDLE).orElseThrow().getRating())
+            .isEqualTo(rating + change);
+        assertThat(ratingRepository.findByUser(user)).singleElement()
+            .satisfies(r -> assertThat(r.getGamesPlayed()).isEqualTo(2));
+    }
+
+    @Test
+    @DisplayName("Should reject writing back a rating another instance changed after it was cached")
+    void staleCachedRatingIsNotWrittenBack() {
+        ratingService.updateRating(user, GameType.WORDLE, true, 3, null);
+        ratingRepository.findByUserAndGameType(user, GameType.WORDLE);
+        // Another instance updates the row; this instance's cache still holds the old copy
+        jdbcTemplate.update("UPDATE ratings SET rating = 1500, games_played = games_played + 1, version = version + 1"
+            + " WHERE user_id = ?", user.getId());
+
+        User cached = userRepository.findById(user.getId()).orElseThrow();
+        assertThatThrownBy(() -> ratingService.updateRating(cached, GameType.WORDLE, true, 3, null))
+            .isInstanceOf(OptimisticLockingFailureException.class);
+
+        user = userRepository.findById(user.getId()).orElseThrow();
+        int change = ratingService.updateRating(user, GameType.WORDLE, true, 3, null);
+        assertThat(ratingRepository.findByUserAndGameType(user, GameType.WORDLE)).hasValueSatisfying(r -> {
+            assertThat(r.getRating()).isEqualTo(1500 + change);
+            assertThat(r.getGamesPlayed()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    @DisplayName("Should cache group memberships and pick up new members")
+    void groupMembers() throws Exception {
+        FriendGroup group = new FriendGroup();
+        group.setName("Cached group");
+        group.setInviteCode("CACHE001");
+        group.setOwner(user);
+        group.getMembers().add(user);
+        group = friendGroupRepository.save(group);
+        Long groupId = group.getId();
+
+        friendGroupService.getGroupMembers(groupId);
+        QueryBudget.assertAtMost(0, () -> assertThat(friendGroupService.getGroupMembers(groupId)).hasSize(1));
+
+        friendGroupService.joinGroup(testData.user("cachedfriend"), "CACHE001");
+
+        List<User> members = friendGroupService.getGroupMembers(groupId);
+        assertThat(members).extracting(User::getUsername).containsExactlyInAnyOrder("cacheduser", "cachedfriend");
+    }
+
+    @Test
+    @DisplayName("Should publish hit and miss counts per cache region")
+    void regionMetrics() {
+        userRepository.findById(user.getId());
+        userRepository.findById(user.getId());
+
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests")
+            .tags("region", SecondLevelCacheConfig.USERS, "result", "hit").functionCounter())
+            .isNotNull()
+            .satisfies(counter -> assertThat(counter.count()).isPositive());
+        assertThat(meterRegistry.find("hibernate.second.level.cache.entries")
+            .tag("region", SecondLevelCacheConfig.USERS).gauge()).isNotNull();
+    }
+}
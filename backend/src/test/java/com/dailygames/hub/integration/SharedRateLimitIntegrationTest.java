@@ -0,0 +1,98 @@
+package com.dailygames.hub.integration;
+
+import com.dailygames.hub.DailyGamesHubApplication;
+import com.dailygames.hub.service.RateLimitPolicy;
+import com.dailygames.hub.service.RateLimitService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two application instances sharing one H2 database, as two replicas would share PostgreSQL.
+ */
+class SharedRateLimitIntegrationTest {
+
+    private static ConfigurableApplicationContext first;
+    private static ConfigurableApplicationContext second;
+
+    @BeforeAll
+    static void startInstances() {
+        first = startInstance();
+        second = startInstance();
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        if (second != null) {
+            second.close();
+        }
+        if (first != null) {
+            first.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should enforce one quota across instances after they sync")
+    void quotaSharedAcrossInstances() {
+        RateLimitService a = first.getBean(RateLimitService.class);
+        RateLimitService b = second.getBean(RateLimitService.class);
+
+        // Quota is 4 per minute: instance A admits 3, instance B 1
+        for (int i = 0; i < 3; i++) {
+            assertThat(a.tryAcquire(RateLimitPolicy.SEARCH, "u:42")).isZero();
+        }
+        a.syncWithStore();
+        assertThat(b.tryAcquire(RateLimitPolicy.SEARCH, "u:42")).isZero();
+        b.syncWithStore();
+        a.syncWithStore();
+
+        assertThat(first.getBean(JdbcTemplate.class).queryForObject(
+            "SELECT hits FROM rate_limit_counters WHERE policy = 'SEARCH' AND bucket_key = 'u:42'", Long.class))
+            .isEqualTo(4L);
+        // Alone, each instance would still have tokens left
+        assertThat(b.tryAcquire(RateLimitPolicy.SEARCH, "u:42")).isPositive();
+        assertThat(a.tryAcquire(RateLimitPolicy.SEARCH, "u:42")).isPositive();
+        // Other keys are unaffected
+        assertThat(b.tryAcquire(RateLimitPolicy.SEARCH, "u:43")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should share full-length email keys and keep over-long keys local")
+    void longKeys() {
+        RateLimitService a = first.getBean(RateLimitService.class);
+        String email = "a".repeat(64) + "@" + "b".repeat(251) + ".com";
+        String overLong = "x".repeat(400);
+
+        assertThat(a.tryAcquire(RateLimitPolicy.SEARCH, email)).isZero();
+        assertThat(a.tryAcquire(RateLimitPolicy.SEARCH, overLong)).isZero();
+        a.syncWithStore();
+
+        JdbcTemplate jdbcTemplate = first.getBean(JdbcTemplate.class);
+        // The over-long key was left out rather than failing the whole batch
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT hits FROM rate_limit_counters WHERE policy = 'SEARCH' AND bucket_key = ?", Long.class, email))
+            .isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM rate_limit_counters WHERE LENGTH(bucket_key) > 320", Long.class))
+            .isZero();
+    }
+
+    private static ConfigurableApplicationContext startInstance() {
+        return new SpringApplicationBuilder(DailyGamesHubApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles("test")
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:shared-rate-limit;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "app.rate-limit.store=jdbc",
+                "app.rate-limit.search-per-minute=4",
+                "app.rate-limit.sync-interval-ms=3600000")
+            .run();
+    }
+}
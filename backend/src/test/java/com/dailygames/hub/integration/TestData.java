@@ -0,0 +1,69 @@
+package com.dailygames.hub.integration;
+
+import com.dailygames.hub.model.Friendship;
+import com.dailygames.hub.model.GameType;
+import com.dailygames.hub.model.Score;
+import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.FriendshipRepository;
+import com.dailygames.hub.repository.ScoreRepository;
+import com.dailygames.hub.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Saves the users, friendships and scores integration tests set up. Picked up by component
+ * scanning, so every test context shares it without a context of its own.
+ */
+@Component
+@RequiredArgsConstructor
+public class TestData {
+
+    private final UserRepository userRepository;
+    private final FriendshipRepository friendshipRepository;
+    private final ScoreRepository scoreRepository;
+
+    public User user(String username) {
+        return user(username, user -> { });
+    }
+
+    /**
+     * Saves a user after {@code customizer} has adjusted the defaults.
+     */
+    public User user(String username, Consumer<User> customizer) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword("hash");
+        user.setDisplayName(username);
+        customizer.accept(user);
+        return userRepository.save(user);
+    }
+
+    public Friendship friendship(User from, User to, Friendship.FriendshipStatus status) {
+        Friendship friendship = new Friendship();
+        friendship.setUser(from);
+        friendship.setFriend(to);
+        friendship.setStatus(status);
+        return friendshipRepository.save(friendship);
+    }
+
+    public Score score(User user, GameType gameType, LocalDate gameDate) {
+        return score(user, gameType, gameDate, score -> { });
+    }
+
+    /**
+     * Saves a solved score after {@code customizer} has adjusted it.
+     */
+    public Score score(User user, GameType gameType, LocalDate gameDate, Consumer<Score> customizer) {
+        Score score = new Score();
+        score.setUser(user);
+        score.setGameType(gameType);
+        score.setGameDate(gameDate);
+        score.setSolved(true);
+        customizer.accept(score);
+        return scoreRepository.save(score);
+    }
+}
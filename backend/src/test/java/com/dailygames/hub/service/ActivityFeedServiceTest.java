@@ -0,0 +1,181 @@
+package com.dailygames.hub.service;
+
+import com.dailygames.hub.dto.FeedResponse;
+import com.dailygames.hub.model.GameType;
+import com.dailygames.hub.model.Score;
+import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.FeedEntryRepository;
+import com.dailygames.hub.repository.ScoreRepository;
+import com.dailygames.hub.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityFeedServiceTest {
+
+    @Mock
+    private FriendshipGraph friendshipGraph;
+
+    @Mock
+    private FeedEntryRepository feedEntryRepository;
+
+    @Mock
+    private ScoreRepository scoreRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ActivityFeedService activityFeedService;
+
+    private User viewer;
+    private User friend;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(activityFeedService, "timelineCapacity", 3);
+        ReflectionTestUtils.setField(activityFeedService, "maxResidentTimelines", 10);
+        ReflectionTestUtils.setField(activityFeedService, "fanoutLimit", 2);
+        ReflectionTestUtils.setField(activityFeedService, "maxPendingWrites", 3);
+
+        viewer = user(1L, "viewer");
+        friend = user(2L, "friend");
+
+        lenient().when(friendshipGraph.isReady()).thenReturn(true);
+        lenient().when(friendshipGraph.areFriends(anyLong(), anyLong())).thenReturn(true);
+        lenient().when(friendshipGraph.friendIds(1L)).thenReturn(new long[]{2L});
+        lenient().when(friendshipGraph.friendIds(2L)).thenReturn(new long[]{1L});
+        lenient().when(friendshipGraph.friendCount(anyLong())).thenReturn(1);
+        lenient().when(feedEntryRepository.findPage(anyLong(), anyLong(), any())).thenReturn(List.of());
+        lenient().when(userRepository.findAllById(any())).thenReturn(List.of(friend));
+    }
+
+    @Test
+    @DisplayName("Should fan a score out into a resident friend timeline")
+    void recordScore_FansOutToFriends() {
+        activityFeedService.getFeed(viewer, null, 10); // make the viewer's timeline resident
+
+        activityFeedService.recordScore(score(10L, friend));
+        FeedResponse feed = activityFeedService.getFeed(viewer, null, 10);
+
+        assertThat(feed.getItems()).hasSize(1);
+        assertThat(feed.getItems().get(0).getUsername()).isEqualTo("friend");
+        assertThat(feed.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should page with a cursor and continue from the persistent store")
+    void getFeed_PagesWithCursor() {
+        activityFeedService.getFeed(viewer, null, 10);
+        for (long id = 10; id < 15; id++) {
+            activityFeedService.recordScore(score(id, friend));
+        }
+
+        FeedResponse first = activityFeedService.getFeed(viewer, null, 2);
+        assertThat(first.getItems()).extracting(FeedResponse.FeedItem::getScoreId).containsExactly(14L, 13L);
+        assertThat(first.getNextCursor()).isEqualTo(13L);
+
+        FeedResponse second = activityFeedService.getFeed(viewer, first.getNextCursor(), 2);
+        assertThat(second.getItems()).extracting(FeedResponse.FeedItem::getScoreId).containsExactly(12L);
+        // Ring only keeps 3 entries, so the remainder is read from the table
+        verify(feedEntryRepository).findPage(eq(1L), eq(12L), any());
+    }
+
+    @Test
+    @DisplayName("Should skip fan-out for users above the fan-out limit and pull on read instead")
+    void recordScore_CelebrityFallsBackToRead() {
+        when(friendshipGraph.friendIds(2L)).thenReturn(new long[]{1L, 3L, 4L});
+        when(friendshipGraph.friendCount(2L)).thenReturn(3);
+        when(scoreRepository.findRecentByUserIds(eq(List.of(2L)), anyLong(), any()))
+            .thenReturn(List.of(score(20L, friend)));
+
+        activityFeedService.recordScore(score(20L, friend));
+        activityFeedService.flushPendingWrites();
+        FeedResponse feed = activityFeedService.getFeed(viewer, null, 10);
+
+        verifyNoInteractions(jdbcTemplate);
+        assertThat(feed.getItems()).extracting(FeedResponse.FeedItem::getScoreId).containsExactly(20L);
+    }
+
+    @Test
+    @DisplayName("Should skip entries from former friends and keep scanning to fill the page")
+    void getFeed_FiltersBeforeLimit() {
+        User former = user(3L, "former");
+        activityFeedService.getFeed(viewer, null, 10);
+        when(friendshipGraph.friendIds(3L)).thenReturn(new long[]{1L});
+        activityFeedService.recordScore(score(10L, friend));
+        activityFeedService.recordScore(score(11L, former));
+        activityFeedService.recordScore(score(12L, former));
+        when(friendshipGraph.areFriends(1L, 3L)).thenReturn(false);
+
+        FeedResponse feed = activityFeedService.getFeed(viewer, null, 2);
+
+        assertThat(feed.getItems()).extracting(FeedResponse.FeedItem::getScoreId).containsExactly(10L);
+        assertThat(feed.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should bound queued writes and retry a batch that failed")
+    void flushPendingWrites_BoundedAndRetried() {
+        when(friendshipGraph.friendIds(2L)).thenReturn(new long[]{1L, 3L});
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any()))
+            .thenThrow(new DataAccessResourceFailureException("connection refused"))
+            .thenReturn(new int[][]{{1, 1, 1}});
+
+        activityFeedService.recordScore(score(10L, friend));
+        activityFeedService.recordScore(score(11L, friend));
+        assertThat(activityFeedService.pendingWriteCount()).isEqualTo(3);
+        assertThat(activityFeedService.droppedWriteCount()).isEqualTo(1);
+
+        activityFeedService.flushPendingWrites();
+        assertThat(activityFeedService.pendingWriteCount()).isEqualTo(3);
+
+        activityFeedService.flushPendingWrites();
+        assertThat(activityFeedService.pendingWriteCount()).isZero();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList(), eq(3), any());
+    }
+
+    private User user(Long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setDisplayName(username);
+        return user;
+    }
+
+    private Score score(Long id, User owner) {
+        Score score = new Score();
+        score.setId(id);
+        score.setUser(owner);
+        score.setGameType(GameType.WORDLE);
+        score.setGameDate(LocalDate.now());
+        score.setAttempts(3);
+        score.setSolved(true);
+        score.setSubmittedAt(LocalDateTime.now());
+        return score;
+    }
+}
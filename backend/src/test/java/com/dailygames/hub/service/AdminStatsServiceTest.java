@@ -0,0 +1,110 @@
+package com.dailygames.hub.service;
+
+import com.dailygames.hub.dto.AdminStatsResponse;
+import com.dailygames.hub.model.GameType;
+import com.dailygames.hub.repository.GameTypeCounts;
+import com.dailygames.hub.repository.ScoreRepository;
+import com.dailygames.hub.repository.UserRepository;
+import com.dailygames.hub.util.DateUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminStatsServiceTest {
+
+    @Mock
+    private ScoreRepository scoreRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private AdminStatsService adminStatsService;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        today = DateUtils.todayAmsterdam();
+        when(scoreRepository.countPlaysByGameType(any())).thenReturn(List.of(
+            counts(GameType.WORDLE, 10, 3L),
+            counts(GameType.CONNECTIONS, 4, null)));
+        when(userRepository.count()).thenReturn(7L);
+        when(scoreRepository.countDistinctUsersByGameDate(any())).thenReturn(2L);
+    }
+
+    @Test
+    @DisplayName("Should build stats from one grouped query and reuse the snapshot")
+    void getStats_BuildsOnceAndCaches() {
+        AdminStatsResponse first = adminStatsService.getStats();
+        AdminStatsResponse second = adminStatsService.getStats();
+
+        assertThat(first.getTotalUsers()).isEqualTo(7);
+        assertThat(first.getActiveToday()).isEqualTo(2);
+        assertThat(first.getTotalPlays()).isEqualTo(14);
+        assertThat(first.getTodayPlays()).isEqualTo(3);
+        assertThat(first.getGameStats().get("WORDLE").getTotalPlays()).isEqualTo(10);
+        assertThat(first.getGameStats().get("CONNECTIONS").getTodayPlays()).isZero();
+        assertThat(first.getMaxPlays()).isEqualTo(10);
+        assertThat(first.getAsOf()).isNotNull();
+        assertThat(second.getTotalPlays()).isEqualTo(14);
+        verify(scoreRepository, times(1)).countPlaysByGameType(today);
+    }
+
+    @Test
+    @DisplayName("Should patch the snapshot with scores and registrations")
+    void recordScoreAndRegistration_PatchSnapshot() {
+        adminStatsService.getStats();
+
+        adminStatsService.recordScore(GameType.WORDLE, today, true);
+        adminStatsService.recordScore(GameType.CONNECTIONS, today.minusDays(1), true);
+        adminStatsService.recordRegistration();
+        AdminStatsResponse stats = adminStatsService.getStats();
+
+        assertThat(stats.getTotalUsers()).isEqualTo(8);
+        assertThat(stats.getActiveToday()).isEqualTo(3);
+        assertThat(stats.getTotalPlays()).isEqualTo(16);
+        assertThat(stats.getTodayPlays()).isEqualTo(4);
+        assertThat(stats.getGameStats().get("CONNECTIONS").getTotalPlays()).isEqualTo(5);
+        verify(scoreRepository, times(1)).countPlaysByGameType(today);
+    }
+
+    @Test
+    @DisplayName("Should ignore patches before the first build")
+    void recordScore_BeforeFirstBuild() {
+        adminStatsService.recordScore(GameType.WORDLE, today, true);
+
+        assertThat(adminStatsService.getStats().getTotalPlays()).isEqualTo(14);
+    }
+
+    private static GameTypeCounts counts(GameType gameType, long total, Long today) {
+        return new GameTypeCounts() {
+            @Override
+            public GameType getGameType() {
+                return gameType;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+
+            @Override
+            public Long getToday() {
+                return today;
+            }
+        };
+    }
+}
@@ -0,0 +1,153 @@
+package com.dailygames.hub.service;
+
+import com.dailygames.hub.model.OutboxEmail;
+import com.dailygames.hub.repository.OutboxEmailRepository;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxServiceTest {
+
+    @Mock
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    @InjectMocks
+    private EmailOutboxService emailOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(emailOutboxService, "fromEmail", "noreply@scorle.app");
+        ReflectionTestUtils.setField(emailOutboxService, "batchSize", 50);
+        ReflectionTestUtils.setField(emailOutboxService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(emailOutboxService, "retryBackoffMs", 1000L);
+        ReflectionTestUtils.setField(emailOutboxService, "maxBackoffMs", 60000L);
+        ReflectionTestUtils.setField(emailOutboxService, "leaseSeconds", 300L);
+        lenient().when(mailSender.createMimeMessage())
+            .thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+    }
+
+    @Test
+    @DisplayName("Should send a batch over one connection and mark it sent")
+    void dispatch_SendsBatch() throws Exception {
+        due(email(1L, 0), email(2L, 0));
+
+        emailOutboxService.dispatch();
+
+        ArgumentCaptor<MimeMessage[]> captor = ArgumentCaptor.forClass(MimeMessage[].class);
+        verify(mailSender).send(captor.capture());
+        assertThat(captor.getValue()).hasSize(2);
+        assertThat(captor.getValue()[0].getAllRecipients()[0].toString()).isEqualTo("user1@example.com");
+        verify(outboxEmailRepository).markSent(eq(List.of(1L, 2L)), any());
+        assertThat(emailOutboxService.sentCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should skip emails another instance claimed first")
+    void dispatch_SkipsUnclaimed() {
+        OutboxEmail mine = email(1L, 0);
+        OutboxEmail theirs = email(2L, 0);
+        when(outboxEmailRepository.findDue(any(), any())).thenReturn(List.of(mine, theirs));
+        when(outboxEmailRepository.claim(eq(1L), any(), any())).thenReturn(1);
+        when(outboxEmailRepository.claim(eq(2L), any(), any())).thenReturn(0);
+
+        emailOutboxService.dispatch();
+
+        ArgumentCaptor<MimeMessage[]> captor = ArgumentCaptor.forClass(MimeMessage[].class);
+        verify(mailSender).send(captor.capture());
+        assertThat(captor.getValue()).hasSize(1);
+        verify(outboxEmailRepository).markSent(eq(List.of(1L)), any());
+    }
+
+    @Test
+    @DisplayName("Should retry only the messages that failed, with exponential backoff")
+    void dispatch_RetriesFailures() {
+        due(email(1L, 0), email(2L, 1));
+        doAnswer(invocation -> {
+            MimeMessage[] messages = Arrays.copyOf(invocation.getArguments(), invocation.getArguments().length, MimeMessage[].class);
+            throw new MailSendException("partial failure", null, Map.of(messages[1], new RuntimeException("452 mailbox full")));
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        LocalDateTime before = LocalDateTime.now();
+        emailOutboxService.dispatch();
+
+        verify(outboxEmailRepository).markSent(eq(List.of(1L)), any());
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxEmailRepository).retryLater(eq(2L), nextAttempt.capture(), eq("452 mailbox full"));
+        // Second attempt: 1s doubled once
+        assertThat(nextAttempt.getValue()).isAfterOrEqualTo(before.plusSeconds(2));
+        assertThat(emailOutboxService.failedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should dead-letter an email after the last attempt fails")
+    void dispatch_DeadLetters() {
+        due(email(1L, 2));
+        doThrow(new MailAuthenticationException("535 bad credentials")).when(mailSender).send(any(MimeMessage[].class));
+
+        emailOutboxService.dispatch();
+
+        verify(outboxEmailRepository).markDead(1L, "535 bad credentials");
+        verify(outboxEmailRepository, never()).retryLater(anyLong(), any(), anyString());
+        verify(outboxEmailRepository, never()).markSent(any(), any());
+        assertThat(emailOutboxService.deadCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not connect when nothing is due")
+    void dispatch_NothingDue() {
+        when(outboxEmailRepository.findDue(any(), any())).thenReturn(List.of());
+
+        emailOutboxService.dispatch();
+
+        verifyNoInteractions(mailSender);
+    }
+
+    @Test
+    @DisplayName("Should double the backoff per attempt up to the maximum")
+    void backoff() {
+        assertThat(emailOutboxService.backoffMillis(1)).isEqualTo(1000);
+        assertThat(emailOutboxService.backoffMillis(2)).isEqualTo(2000);
+        assertThat(emailOutboxService.backoffMillis(5)).isEqualTo(16000);
+        assertThat(emailOutboxService.backoffMillis(40)).isEqualTo(60000);
+    }
+
+    private void due(OutboxEmail... emails) {
+        when(outboxEmailRepository.findDue(any(), any())).thenReturn(List.of(emails));
+        when(outboxEmailRepository.claim(anyLong(), any(), any())).thenReturn(1);
+    }
+
+    private static OutboxEmail email(Long id, int attempts) {
+        OutboxEmail email = new OutboxEmail("user" + id + "@example.com", "Subject " + id, "Body " + id);
+        email.setId(id);
+        email.setAttempts(attempts);
+        return email;
+    }
+}
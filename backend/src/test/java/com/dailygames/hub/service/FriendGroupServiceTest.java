@@ -7,12 +7,15 @@ import com.dailygames.hub.model.FriendGroup;
 import com.dailygames.hub.model.User;
 import com.dailygames.hub.repository.FriendGroupRepository;
 import com.dailygames.hub.repository.ScoreRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.HashSet;
@@ -38,6 +41,9 @@ class FriendGroupServiceTest {
     @Mock
     private RatingService ratingService;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private FriendGroupService friendGroupService;
 
@@ -0,0 +1,142 @@
+package com.dailygames.hub.service;
+
+import com.dailygames.hub.model.Friendship.FriendshipStatus;
+import com.dailygames.hub.repository.FriendshipEdge;
+import com.dailygames.hub.repository.FriendshipRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FriendshipGraphTest {
+
+    @Mock
+    private FriendshipRepository friendshipRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private FriendshipGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        when(friendshipRepository.streamActiveEdges()).thenReturn(Stream.of(
+            edge(1L, 2L, FriendshipStatus.ACCEPTED),
+            edge(1L, 3L, FriendshipStatus.PENDING),
+            edge(4L, 1L, FriendshipStatus.PENDING)
+        ));
+        graph.warm();
+    }
+
+    @Test
+    @DisplayName("Should load accepted and pending edges on warm-up")
+    void warm_LoadsEdges() {
+        assertThat(graph.isReady()).isTrue();
+        assertThat(graph.areFriends(1L, 2L)).isTrue();
+        assertThat(graph.areFriends(2L, 1L)).isTrue();
+        assertThat(graph.areFriends(1L, 3L)).isFalse();
+        assertThat(graph.relation(1L, 3L)).isEqualTo(FriendshipGraph.Relation.SENT);
+        assertThat(graph.relation(3L, 1L)).isEqualTo(FriendshipGraph.Relation.RECEIVED);
+        assertThat(graph.relation(1L, 4L)).isEqualTo(FriendshipGraph.Relation.RECEIVED);
+        assertThat(graph.relation(2L, 3L)).isEqualTo(FriendshipGraph.Relation.NONE);
+    }
+
+    @Test
+    @DisplayName("Should move a request to friends when accepted")
+    void requestAccepted_LinksBothSides() {
+        graph.requestAccepted(1L, 3L);
+
+        assertThat(graph.areFriends(3L, 1L)).isTrue();
+        assertThat(graph.friendIds(1L)).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(graph.outgoingCount(1L)).isZero();
+        assertThat(graph.incomingCount(3L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop a request when declined")
+    void requestDeclined_RemovesPending() {
+        graph.requestDeclined(4L, 1L);
+
+        assertThat(graph.relation(1L, 4L)).isEqualTo(FriendshipGraph.Relation.NONE);
+        assertThat(graph.incomingCount(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should unlink both sides when a friendship is removed")
+    void friendshipRemoved_UnlinksBothSides() {
+        graph.friendshipRemoved(2L, 1L);
+
+        assertThat(graph.areFriends(1L, 2L)).isFalse();
+        assertThat(graph.friendCount(1L)).isZero();
+        assertThat(graph.friendIds(2L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep membership exact across many additions and removals")
+    void manyEdges_StayConsistent() {
+        for (long i = 100; i < 1100; i++) {
+            graph.requestSent(10L, i);
+            graph.requestAccepted(10L, i);
+        }
+        for (long i = 100; i < 1100; i += 2) {
+            graph.friendshipRemoved(10L, i);
+        }
+
+        assertThat(graph.friendCount(10L)).isEqualTo(500);
+        for (long i = 100; i < 1100; i++) {
+            assertThat(graph.areFriends(10L, i)).isEqualTo(i % 2 == 1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve the old copy during a rebuild and keep changes made meanwhile")
+    void warm_ReplaysConcurrentChanges() {
+        when(friendshipRepository.streamActiveEdges()).thenReturn(Stream.of(
+            edge(1L, 2L, FriendshipStatus.ACCEPTED),
+            edge(5L, 6L, FriendshipStatus.PENDING)
+        ).peek(edge -> {
+            if (edge.getUserId() == 1L) {
+                assertThat(graph.relation(1L, 4L)).isEqualTo(FriendshipGraph.Relation.RECEIVED);
+                graph.requestAccepted(5L, 6L);
+                graph.requestSent(7L, 8L);
+            }
+        }));
+
+        graph.warm();
+
+        assertThat(graph.areFriends(5L, 6L)).isTrue();
+        assertThat(graph.outgoingCount(5L)).isZero();
+        assertThat(graph.relation(7L, 8L)).isEqualTo(FriendshipGraph.Relation.SENT);
+        assertThat(graph.relation(1L, 4L)).isEqualTo(FriendshipGraph.Relation.NONE);
+    }
+
+    private FriendshipEdge edge(Long userId, Long friendId, FriendshipStatus status) {
+        return new FriendshipEdge() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Long getFriendId() {
+                return friendId;
+            }
+
+            @Override
+            public FriendshipStatus getStatus() {
+                return status;
+            }
+        };
+    }
+}
@@ -12,9 +12,6 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.MailSendException;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -25,6 +22,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,7 +38,10 @@ class PasswordResetServiceTest {
     private PasswordEncoder passwordEncoder;
 
     @Mock
-    private JavaMailSender mailSender;
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private EmailOutboxService emailOutboxService;
 
     @InjectMocks
     private PasswordResetService passwordResetService;
@@ -56,11 +57,10 @@ class PasswordResetServiceTest {
         testUser.setPassword("encodedPassword");
 
         ReflectionTestUtils.setField(passwordResetService, "frontendUrl", "http://localhost:5173");
-        ReflectionTestUtils.setField(passwordResetService, "fromEmail", "noreply@scorle.app");
     }
 
     @Test
-    @DisplayName("Should create password reset token and send email")
+    @DisplayName("Should create password reset token and queue email")
     void createPasswordResetToken_Success() {
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
 
@@ -68,7 +68,7 @@ class PasswordResetServiceTest {
 
         verify(tokenRepository).deleteByUser(testUser);
         verify(tokenRepository).save(any(PasswordResetToken.class));
-        verify(mailSender).send(any(SimpleMailMessage.class));
+        verify(emailOutboxService).enqueue(eq("test@example.com"), anyString(), anyString());
     }
 
     @Test
@@ -81,34 +81,20 @@ class PasswordResetServiceTest {
             .hasMessage("No user found with this email");
 
         verify(tokenRepository, never()).save(any());
-        verify(mailSender, never()).send(any(SimpleMailMessage.class));
-    }
-
-    @Test
-    @DisplayName("Should throw runtime exception when email sending fails")
-    void createPasswordResetToken_EmailFails() {
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        doThrow(new MailSendException("SMTP error")).when(mailSender).send(any(SimpleMailMessage.class));
-
-        assertThatThrownBy(() -> passwordResetService.createPasswordResetToken("test@example.com"))
-            .isInstanceOf(RuntimeException.class)
-            .hasMessageContaining("Failed to send password reset email");
+        verify(emailOutboxService, never()).enqueue(anyString(), anyString(), anyString());
     }
 
     @Test
-    @DisplayName("Should send email with correct reset link")
+    @DisplayName("Should queue email with correct reset link")
     void createPasswordResetToken_CorrectEmailContent() {
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
 
         passwordResetService.createPasswordResetToken("test@example.com");
 
-        ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender).send(messageCaptor.capture());
-
-        SimpleMailMessage sentMessage = messageCaptor.getValue();
-        assertThat(sentMessage.getTo()).contains("test@example.com");
-        assertThat(sentMessage.getSubject()).isEqualTo("Scordle - Password Reset Request");
-        assertThat(sentMessage.getText()).contains("http://localhost:5173/reset-password?token=");
+        ArgumentCaptor<String> bodyCaptor = ArgumentCaptor.forClass(String.class);
+        verify(emailOutboxService).enqueue(eq("test@example.com"), eq("Scordle - Password Reset Request"),
+            bodyCaptor.capture());
+        assertThat(bodyCaptor.getValue()).contains("http://localhost:5173/reset-password?token=");
     }
 
     @Test
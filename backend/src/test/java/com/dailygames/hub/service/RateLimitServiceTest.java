@@ -3,6 +3,10 @@ package com.dailygames.hub.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -88,4 +92,110 @@ class RateLimitServiceTest {
 
         assertThat(secondsUntilReset).isEqualTo(0);
     }
+
+    @Test
+    @DisplayName("Should refill tokens over the policy period and report the retry delay")
+    void tryAcquire_RefillsOverTime() {
+        AtomicLong now = useFakeClock();
+        ReflectionTestUtils.setField(rateLimitService, "searchPerMinute", 2);
+
+        assertThat(rateLimitService.tryAcquire(RateLimitPolicy.SEARCH, "u:1")).isZero();
+        assertThat(rateLimitService.tryAcquire(RateLimitPolicy.SEARCH, "u:1")).isZero();
+        long retryAfter = rateLimitService.tryAcquire(RateLimitPolicy.SEARCH, "u:1");
+        assertThat(retryAfter).isBetween(29_000L, 30_000L);
+
+        now.addAndGet(retryAfter);
+        assertThat(rateLimitService.tryAcquire(RateLimitPolicy.SEARCH, "u:1")).isZero();
+        assertThat(rateLimitService.rejectionCounts()).containsEntry("SEARCH", 1L);
+    }
+
+    @Test
+    @DisplayName("Should keep policies independent for the same key")
+    void tryAcquire_PoliciesIndependent() {
+        ReflectionTestUtils.setField(rateLimitService, "messagePerMinute", 1);
+
+        assertThat(rateLimitService.tryAcquire(RateLimitPolicy.MESSAGE, "u:1")).isZero();
+        assertThat(rateLimitService.tryAcquire(RateLimitPolicy.MESSAGE, "u:1")).isPositive();
+        assertThat(rateLimitService.tryAcquire(RateLimitPolicy.SCORE_SUBMIT, "u:1")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict buckets once they have refilled and keep busy ones")
+    void evictIdle_DropsRefilledBuckets() {
+        AtomicLong now = useFakeClock();
+        rateLimitService.tryAcquire(RateLimitPolicy.SEARCH, "idle");
+        rateLimitService.tryAcquire(RateLimitPolicy.PASSWORD_RESET, "slow@example.com");
+        assertThat(rateLimitService.trackedKeys()).isEqualTo(2);
+
+        // One search token refills in a second; a reset token takes twenty minutes
+        now.addAndGet(2_000);
+        rateLimitService.evictIdle();
+        assertThat(rateLimitService.trackedKeys()).isEqualTo(1);
+        assertThat(rateLimitService.getSecondsUntilReset("slow@example.com")).isPositive();
+
+        now.addAndGet(3_600_000);
+        rateLimitService.evictIdle();
+        assertThat(rateLimitService.trackedKeys()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should let new keys through untracked once the key limit is reached")
+    void tryAcquire_KeyLimit() {
+        ReflectionTestUtils.setField(rateLimitService, "maxKeys", 1);
+        ReflectionTestUtils.setField(rateLimitService, "searchPerMinute", 1);
+
+        rateLimitService.tryAcquire(RateLimitPolicy.SEARCH, "first");
+        assertThat(rateLimitService.tryAcquire(RateLimitPolicy.SEARCH, "second")).isZero();
+        assertThat(rateLimitService.tryAcquire(RateLimitPolicy.SEARCH, "second")).isZero();
+
+        assertThat(rateLimitService.trackedKeys()).isEqualTo(1);
+        assertThat(rateLimitService.untrackedRequests()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should refuse new keys for auth policies once the key limit is reached")
+    void tryAcquire_KeyLimitFailsClosed() {
+        ReflectionTestUtils.setField(rateLimitService, "maxKeys", 1);
+
+        assertThat(rateLimitService.tryAcquire(RateLimitPolicy.LOGIN_IP, "ip:10.0.0.1")).isZero();
+        assertThat(rateLimitService.tryAcquire(RateLimitPolicy.LOGIN_IP, "ip:10.0.0.2")).isPositive();
+        assertThat(rateLimitService.tryAcquire(RateLimitPolicy.LOGIN_IP, "ip:10.0.0.1")).isZero();
+
+        assertThat(rateLimitService.untrackedRequests()).isZero();
+        assertThat(rateLimitService.rejectionCount(RateLimitPolicy.LOGIN_IP)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep admitting new keys under one policy when another is full")
+    void tryAcquire_KeyLimitPerPolicy() {
+        ReflectionTestUtils.setField(rateLimitService, "maxKeys", 2);
+
+        rateLimitService.tryAcquire(RateLimitPolicy.LOGIN_USERNAME, "user:first");
+        rateLimitService.tryAcquire(RateLimitPolicy.LOGIN_USERNAME, "user:second");
+        assertThat(rateLimitService.tryAcquire(RateLimitPolicy.LOGIN_USERNAME, "user:third")).isPositive();
+
+        assertThat(rateLimitService.tryAcquire(RateLimitPolicy.LOGIN_IP, "ip:10.0.0.1")).isZero();
+        assertThat(rateLimitService.isAllowed("victim@example.com")).isTrue();
+        assertThat(rateLimitService.trackedKeys()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should free a policy's key slots as its idle buckets are swept")
+    void evictIdle_FreesKeySlots() {
+        AtomicLong now = useFakeClock();
+        ReflectionTestUtils.setField(rateLimitService, "maxKeys", 1);
+
+        rateLimitService.tryAcquire(RateLimitPolicy.LOGIN_IP, "ip:10.0.0.1");
+        assertThat(rateLimitService.tryAcquire(RateLimitPolicy.LOGIN_IP, "ip:10.0.0.2")).isPositive();
+
+        now.addAndGet(5_000);
+        rateLimitService.evictIdle();
+        assertThat(rateLimitService.tryAcquire(RateLimitPolicy.LOGIN_IP, "ip:10.0.0.2")).isZero();
+    }
+
+    private AtomicLong useFakeClock() {
+        AtomicLong now = new AtomicLong(System.currentTimeMillis());
+        ReflectionTestUtils.setField(rateLimitService, "clock", (LongSupplier) now::get);
+        return now;
+    }
 }
@@ -7,12 +7,15 @@ import com.dailygames.hub.repository.FriendGroupRepository;
 import com.dailygames.hub.repository.ScoreRepository;
 import com.dailygames.hub.repository.StreakRepository;
 import com.dailygames.hub.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
@@ -44,6 +47,18 @@ class ScoreServiceTest {
     @Mock
     private RatingService ratingService;
 
+    @Mock
+    private ActivityFeedService activityFeedService;
+
+    @Mock
+    private AdminStatsService adminStatsService;
+
+    @Mock
+    private DailyStatsService dailyStatsService;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private ScoreService scoreService;
 
@@ -0,0 +1,42 @@
+package com.dailygames.hub.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreakTransitionTest {
+
+    private final LocalDate today = LocalDate.of(2026, 3, 14);
+
+    @Test
+    @DisplayName("Should start, extend, break and ignore streak days")
+    void play() {
+        assertThat(StreakTransition.play(0, 0, null, today))
+            .isEqualTo(new StreakTransition(1, 1, today));
+        assertThat(StreakTransition.play(4, 4, today.minusDays(1), today))
+            .isEqualTo(new StreakTransition(5, 5, today));
+        assertThat(StreakTransition.play(2, 9, today.minusDays(1), today))
+            .isEqualTo(new StreakTransition(3, 9, today));
+        assertThat(StreakTransition.play(6, 9, today.minusDays(3), today))
+            .isEqualTo(new StreakTransition(1, 9, today));
+        assertThat(StreakTransition.play(3, 3, today, today)).isNull();
+        assertThat(StreakTransition.play(3, 3, today, today.minusDays(2))).isNull();
+    }
+
+    @Test
+    @DisplayName("Should find the longest run of consecutive days in any order")
+    void longestRun() {
+        assertThat(StreakTransition.longestRun(List.of())).isZero();
+        assertThat(StreakTransition.longestRun(List.of(today))).isEqualTo(1);
+        assertThat(StreakTransition.longestRun(List.of(
+            today, today.minusDays(1), today.minusDays(2),
+            today.minusDays(5), today.minusDays(6), today.minusDays(7), today.minusDays(8),
+            today.minusDays(10)))).isEqualTo(4);
+        assertThat(StreakTransition.longestRun(List.of(today.minusDays(1), today, today, today.minusDays(2))))
+            .isEqualTo(3);
+    }
+}
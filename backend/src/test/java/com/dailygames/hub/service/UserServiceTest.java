@@ -2,6 +2,7 @@ package com.dailygames.hub.service;
 
 import com.dailygames.hub.dto.RegisterRequest;
 import com.dailygames.hub.model.User;
+import com.dailygames.hub.repository.LoginView;
 import com.dailygames.hub.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
@@ -29,6 +31,18 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private UserExistenceFilter userExistenceFilter;
+
+    @Mock
+    private AdminStatsService adminStatsService;
+
+    @Mock
+    private DailyStatsService dailyStatsService;
+
     @InjectMocks
     private UserService userService;
 
@@ -49,6 +63,10 @@ class UserServiceTest {
         user.setEmail("test@example.com");
         user.setPassword("encodedPassword");
         user.setDisplayName("Test User");
+
+        // "Maybe present" sends every check on to the repository
+        lenient().when(userExistenceFilter.mightContainUsername(anyString())).thenReturn(true);
+        lenient().when(userExistenceFilter.mightContainEmail(anyString())).thenReturn(true);
     }
 
     @Test
@@ -92,6 +110,45 @@ class UserServiceTest {
         verify(userRepository, never()).save(any(User.class));
     }
 
+    @Test
+    @DisplayName("Should skip the database when the filter rules a name out")
+    void registerUser_FilterNegativeSkipsQueries() {
+        when(userExistenceFilter.mightContainUsername("testuser")).thenReturn(false);
+        when(userExistenceFilter.mightContainEmail("test@example.com")).thenReturn(false);
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenReturn(user);
+
+        userService.registerUser(registerRequest);
+
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userExistenceFilter).addUsername("testuser");
+        verify(userExistenceFilter).addEmail("test@example.com");
+    }
+
+    @Test
+    @DisplayName("Should authenticate against the login projection")
+    void authenticate_Success() {
+        LoginView view = mock(LoginView.class);
+        when(view.getPassword()).thenReturn("encodedPassword");
+        when(userRepository.findLoginViewByUsername("testuser")).thenReturn(Optional.of(view));
+        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+
+        assertThat(userService.authenticate("testuser", "password123")).isSameAs(view);
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Should still hash once for unknown usernames before rejecting")
+    void authenticate_UnknownUser() {
+        when(userRepository.findLoginViewByUsername("ghost")).thenReturn(Optional.empty());
+        when(passwordEncoder.encode(anyString())).thenReturn("dummyHash");
+
+        assertThatThrownBy(() -> userService.authenticate("ghost", "password123"))
+            .isInstanceOf(BadCredentialsException.class);
+        verify(passwordEncoder).matches("password123", "dummyHash");
+    }
+
     @Test
     @DisplayName("Should find user by username")
     void findByUsername_Success() {
@@ -0,0 +1,23 @@
+-- What Hibernate's ddl-auto=update created for the last release before Flyway, with its generated
+-- constraint names and column order. PreFlywaySchemaMigrationIntegrationTest starts the application on it.
+
+create table friend_group_members (group_id bigint not null, user_id bigint not null, primary key (group_id, user_id));
+create table friend_groups (group_streak integer not null, last_active_date date, longest_group_streak integer not null, created_at timestamp(6) not null, id bigint generated by default as identity, owner_id bigint not null, invite_code varchar(255) not null unique, name varchar(255) not null, primary key (id));
+create table friendships (accepted_at timestamp(6), created_at timestamp(6) not null, friend_id bigint not null, id bigint generated by default as identity, user_id bigint not null, status varchar(255) not null check (status in ('PENDING','ACCEPTED','DECLINED')), primary key (id), constraint UKft2ahdlobl6ahh5vr6wxrj0yp unique (user_id, friend_id));
+create table messages (is_read boolean not null, id bigint generated by default as identity, receiver_id bigint not null, sender_id bigint not null, sent_at timestamp(6) not null, content varchar(1000) not null, primary key (id));
+create table password_reset_tokens (used boolean not null, expiry_date timestamp(6) not null, id bigint generated by default as identity, user_id bigint not null, token varchar(255) not null unique, primary key (id));
+create table ratings (games_played integer not null, games_won integer not null, rating integer not null, id bigint generated by default as identity, user_id bigint not null, game_type varchar(255) not null check (game_type in ('WORDLE','CONNECTIONS','CONTEXTO','SEMANTLE','HORSE','TRAVLE','MINUTE_CRYPTIC','COUNTRYLE','SPOTLE','BANDLE')), primary key (id), constraint UK4a3q5k6x2mdqhl7lh2k8ys5f4 unique (user_id, game_type));
+create table scores (attempts integer, game_date date not null, rating_change integer, score integer, solved boolean, time_seconds integer, id bigint generated by default as identity, submitted_at timestamp(6) not null, user_id bigint not null, game_type varchar(255) not null check (game_type in ('WORDLE','CONNECTIONS','CONTEXTO','SEMANTLE','HORSE','TRAVLE','MINUTE_CRYPTIC','COUNTRYLE','SPOTLE','BANDLE')), raw_result varchar(2000), primary key (id), constraint UKhv0bb5m1c7sq7c8ym4cv0wy0x unique (user_id, game_type, game_date));
+create table streaks (current_streak integer not null, last_played_date date, longest_streak integer not null, id bigint generated by default as identity, user_id bigint not null, game_type varchar(255) not null check (game_type in ('WORDLE','CONNECTIONS','CONTEXTO','SEMANTLE','HORSE','TRAVLE','MINUTE_CRYPTIC','COUNTRYLE','SPOTLE','BANDLE')), primary key (id), constraint UKqx8t6nr5c3s3d0nrr0wqej9fn unique (user_id, game_type));
+create table users (average_rating integer not null, global_day_streak integer not null, is_admin boolean, last_active_date date, longest_global_streak integer not null, created_at timestamp(6) not null, id bigint generated by default as identity, display_name varchar(255), email varchar(255) not null unique, password varchar(255) not null, username varchar(255) not null unique, primary key (id));
+alter table if exists friend_group_members add constraint FKpn7s7d2vtgycxg9krpjp9ss6t foreign key (user_id) references users;
+alter table if exists friend_group_members add constraint FKnr9qg33qt2ovmv29g4vc3gtdx foreign key (group_id) references friend_groups;
+alter table if exists friend_groups add constraint FKb2w8bxr0fwuqmhvgtqdbaq3u8 foreign key (owner_id) references users;
+alter table if exists friendships add constraint FKs4dnsjlwx0b8gl0ybh8ia8ecb foreign key (friend_id) references users;
+alter table if exists friendships add constraint FK8tjjr9t4ks2gsi8jdbdcaqu4c foreign key (user_id) references users;
+alter table if exists messages add constraint FKt05r0b6n0iis8u7dfo1ilsbd9 foreign key (receiver_id) references users;
+alter table if exists messages add constraint FK4ui4nnwntodh6wjvck53dbk9m foreign key (sender_id) references users;
+alter table if exists password_reset_tokens add constraint FKk3ndxg5xp6v7wd4gjyusp15gq foreign key (user_id) references users;
+alter table if exists ratings add constraint FKb3354ee2xxvdrbyq9f42jdayd foreign key (user_id) references users;
+alter table if exists scores add constraint FKg5hmsmq3v6e3kotp8ap9dnk5t foreign key (user_id) references users;
+alter table if exists streaks add constraint FKg1hjkpk5sqx6q3byfjl8e9dhr foreign key (user_id) references users;
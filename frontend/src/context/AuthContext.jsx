@@ -19,9 +19,10 @@ export function AuthProvider({ children }) {
 
   const login = async (username, password) => {
     const response = await api.post('/api/auth/login', { username, password })
-    const { token, ...userData } = response.data
+    const { token, refreshToken, ...userData } = response.data
 
     localStorage.setItem('token', token)
+    localStorage.setItem('refreshToken', refreshToken)
     localStorage.setItem('user', JSON.stringify(userData))
     setUser(userData)
 
@@ -35,9 +36,10 @@ export function AuthProvider({ children }) {
       password,
       displayName
     })
-    const { token, ...userData } = response.data
+    const { token, refreshToken, ...userData } = response.data
 
     localStorage.setItem('token', token)
+    localStorage.setItem('refreshToken', refreshToken)
     localStorage.setItem('user', JSON.stringify(userData))
     setUser(userData)
 
@@ -47,7 +49,7 @@ export function AuthProvider({ children }) {
   const refreshUser = async () => {
     try {
       const response = await api.get('/api/auth/me')
-      const userData = response.data
+      const { token, refreshToken, ...userData } = response.data
       localStorage.setItem('user', JSON.stringify(userData))
       setUser(userData)
     } catch (err) {
@@ -56,7 +58,11 @@ export function AuthProvider({ children }) {
   }
 
   const logout = () => {
+    const refreshToken = localStorage.getItem('refreshToken')
+    // Best effort: revoke server-side, but never block signing out locally
+    api.post('/api/auth/logout', { refreshToken }).catch(() => {})
     localStorage.removeItem('token')
+    localStorage.removeItem('refreshToken')
     localStorage.removeItem('user')
     setUser(null)
   }
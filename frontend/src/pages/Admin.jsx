@@ -19,6 +19,7 @@ function Admin() {
   const [loading, setLoading] = useState(true)
   const [activeTab, setActiveTab] = useState('overview')
   const [users, setUsers] = useState({ users: [], total: 0, page: 0 })
+  const [retention, setRetention] = useState(null)
 
   useEffect(() => {
     if (!isAdmin) {
@@ -88,6 +89,17 @@ function Admin() {
     }
   }
 
+  const fetchRetention = async () => {
+    try {
+      const response = await api.get('/api/admin/stats/retention')
+      setRetention(response.data)
+    } catch (error) {
+      console.error('Failed to fetch retention:', error)
+    }
+  }
+
+  const formatRate = (rate) => rate == null ? '-' : `${Math.round(rate * 100)}%`
+
   if (loading) {
     return (
       <div className="loading">
@@ -105,13 +117,14 @@ function Admin() {
 
       {/* Tabs */}
       <div style={{ display: 'flex', gap: '0.5rem', marginBottom: '1.5rem', flexWrap: 'wrap' }}>
-        {['overview', 'charts', 'admins', 'users'].map(tab => (
+        {['overview', 'charts', 'retention', 'admins', 'users'].map(tab => (
           <button
             key={tab}
             className={`btn ${activeTab === tab ? 'btn-primary' : 'btn-outline'}`}
             onClick={() => {
               setActiveTab(tab)
               if (tab === 'users' && users.users.length === 0) fetchUsers()
+              if (tab === 'retention' && !retention) fetchRetention()
             }}
           >
             {t(`admin.tabs.${tab}`)}
@@ -140,6 +153,11 @@ function Admin() {
               <div className="stat-label">{t('admin.todayPlays')}</div>
             </div>
           </div>
+          {stats.asOf && (
+            <p style={{ marginTop: '-1.5rem', marginBottom: '2rem', fontSize: '0.85rem', color: 'var(--text-secondary)' }}>
+              {t('admin.asOf', { time: new Date(stats.asOf).toLocaleTimeString() })}
+            </p>
+          )}
 
           <div className="card">
             <h3 style={{ marginBottom: '1.5rem' }}>{t('admin.gameStats')}</h3>
@@ -271,6 +289,47 @@ function Admin() {
         </div>
       )}
 
+      {/* Retention Tab */}
+      {activeTab === 'retention' && retention && (
+        <>
+          {[
+            ['byRegistrationWeek', t('admin.retention.byWeek')],
+            ['byFirstGame', t('admin.retention.byFirstGame')]
+          ].map(([key, title]) => (
+            <div key={key} className="card" style={{ marginBottom: '1.5rem' }}>
+              <h3 style={{ marginBottom: '1rem' }}>{title}</h3>
+              <div style={{ overflowX: 'auto' }}>
+                <table style={{ width: '100%', borderCollapse: 'collapse' }}>
+                  <thead>
+                    <tr style={{ borderBottom: '2px solid var(--border-color)' }}>
+                      <th style={{ textAlign: 'left', padding: '0.75rem' }}>{t('admin.retention.cohort')}</th>
+                      <th style={{ textAlign: 'center', padding: '0.75rem' }}>{t('admin.retention.users')}</th>
+                      <th style={{ textAlign: 'center', padding: '0.75rem' }}>D1</th>
+                      <th style={{ textAlign: 'center', padding: '0.75rem' }}>D7</th>
+                      <th style={{ textAlign: 'center', padding: '0.75rem' }}>D30</th>
+                    </tr>
+                  </thead>
+                  <tbody>
+                    {retention[key].map(cohort => (
+                      <tr key={cohort.label} style={{ borderBottom: '1px solid var(--border-color)' }}>
+                        <td style={{ padding: '0.75rem' }}>{cohort.label}</td>
+                        <td style={{ textAlign: 'center', padding: '0.75rem' }}>{cohort.users}</td>
+                        <td style={{ textAlign: 'center', padding: '0.75rem' }}>{formatRate(cohort.d1)}</td>
+                        <td style={{ textAlign: 'center', padding: '0.75rem' }}>{formatRate(cohort.d7)}</td>
+                        <td style={{ textAlign: 'center', padding: '0.75rem' }}>{formatRate(cohort.d30)}</td>
+                      </tr>
+                    ))}
+                  </tbody>
+                </table>
+              </div>
+            </div>
+          ))}
+          <p style={{ fontSize: '0.85rem', color: 'var(--text-secondary)' }}>
+            {t('admin.asOf', { time: new Date(retention.asOf).toLocaleString() })}
+          </p>
+        </>
+      )}
+
       {/* Admins Tab */}
       {activeTab === 'admins' && (
         <div className="card">
@@ -1,7 +1,7 @@
 import { useState, useEffect } from 'react'
 import { Link } from 'react-router-dom'
 import { useTranslation } from 'react-i18next'
-import api from '../services/api'
+import api, { getAllPages } from '../services/api'
 
 function Friends() {
   const { t } = useTranslation()
@@ -22,14 +22,14 @@ function Friends() {
   const fetchData = async () => {
     try {
       setLoading(true)
-      const [friendsRes, pendingRes, sentRes] = await Promise.all([
-        api.get('/api/friends'),
-        api.get('/api/friends/requests/pending'),
-        api.get('/api/friends/requests/sent')
+      const [friendsList, pendingList, sentList] = await Promise.all([
+        getAllPages('/api/friends'),
+        getAllPages('/api/friends/requests/pending'),
+        getAllPages('/api/friends/requests/sent')
       ])
-      setFriends(friendsRes.data)
-      setPendingRequests(pendingRes.data)
-      setSentRequests(sentRes.data)
+      setFriends(friendsList)
+      setPendingRequests(pendingList)
+      setSentRequests(sentList)
     } catch (err) {
       setError(t('friends.fetchError'))
     } finally {
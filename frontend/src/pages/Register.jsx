@@ -1,8 +1,9 @@
-import { useState } from 'react'
+import { useState, useEffect } from 'react'
 import { Link, useNavigate } from 'react-router-dom'
 import { useTranslation } from 'react-i18next'
 import { useAuth } from '../context/AuthContext'
 import { useGuide } from '../context/GuideContext'
+import api from '../services/api'
 
 function Register() {
   const { t } = useTranslation()
@@ -15,10 +16,29 @@ function Register() {
   })
   const [error, setError] = useState('')
   const [loading, setLoading] = useState(false)
+  const [availability, setAvailability] = useState({})
   const { register } = useAuth()
   const { showGuideForNewUser } = useGuide()
   const navigate = useNavigate()
 
+  // Check username availability once the user pauses typing; a taken email is reported on submit
+  useEffect(() => {
+    const username = formData.username.trim()
+    if (username.length < 3) {
+      setAvailability({})
+      return
+    }
+    const timer = setTimeout(async () => {
+      try {
+        const response = await api.get('/api/auth/check-availability', { params: { username } })
+        setAvailability(response.data)
+      } catch (err) {
+        setAvailability({})
+      }
+    }, 400)
+    return () => clearTimeout(timer)
+  }, [formData.username])
+
   const handleChange = (e) => {
     const { name, value } = e.target
     setFormData((prev) => ({ ...prev, [name]: value }))
@@ -94,6 +114,9 @@ function Register() {
               minLength={3}
               maxLength={20}
             />
+            {availability.usernameAvailable === false && (
+              <div className="field-error">{t('auth.usernameTaken')}</div>
+            )}
           </div>
 
           <div className="form-group">
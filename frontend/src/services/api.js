@@ -20,20 +20,90 @@ api.interceptors.request.use(
   }
 )
 
+let refreshing = null
+
+// Another tab may have refreshed since the failed request was sent; then its access token is
+// used as is, instead of rotating the refresh token a second time
+const refreshUnlessRefreshed = async (staleToken) => {
+  const current = localStorage.getItem('token')
+  if (current && current !== staleToken) {
+    return current
+  }
+  const refreshToken = localStorage.getItem('refreshToken')
+  if (!refreshToken) {
+    throw new Error('No refresh token')
+  }
+  const response = await api.post('/api/auth/refresh', { refreshToken })
+  localStorage.setItem('token', response.data.token)
+  localStorage.setItem('refreshToken', response.data.refreshToken)
+  return response.data.token
+}
+
+// One refresh at a time: concurrent 401s in a tab wait on the same promise, and where the
+// browser has the Web Locks API, tabs take turns so only the first one rotates the token
+const refreshAccessToken = (staleToken) => {
+  if (!refreshing) {
+    const refresh = () => refreshUnlessRefreshed(staleToken)
+    refreshing = (navigator.locks ? navigator.locks.request('token-refresh', refresh) : refresh())
+      .finally(() => {
+        refreshing = null
+      })
+  }
+  return refreshing
+}
+
+const redirectToLogin = () => {
+  const currentPath = window.location.pathname
+  if (currentPath !== '/login' && currentPath !== '/register') {
+    localStorage.removeItem('token')
+    localStorage.removeItem('refreshToken')
+    localStorage.removeItem('user')
+    window.location.href = '/login'
+  }
+}
+
 api.interceptors.response.use(
   (response) => response,
-  (error) => {
-    // Redirect on 401 or 403 if not already on login/register page
-    if (error.response?.status === 401 || error.response?.status === 403) {
-      const currentPath = window.location.pathname
-      if (currentPath !== '/login' && currentPath !== '/register') {
-        localStorage.removeItem('token')
-        localStorage.removeItem('user')
-        window.location.href = '/login'
+  async (error) => {
+    const original = error.config
+    // 401 means the access token is missing, expired or revoked; a 403 is a real denial
+    if (error.response?.status !== 401) {
+      return Promise.reject(error)
+    }
+
+    // Access tokens are short-lived: try a refresh once before sending the user to login
+    if (original && !original._retried && !original.url?.startsWith('/api/auth/')) {
+      original._retried = true
+      const staleToken = original.headers?.Authorization?.replace('Bearer ', '')
+      let token
+      try {
+        token = await refreshAccessToken(staleToken)
+      } catch (refreshError) {
+        redirectToLogin()
+        return Promise.reject(error)
       }
+      original.headers.Authorization = `Bearer ${token}`
+      return api(original)
+    }
+
+    // A retried request that is still refused failed on its own merits, e.g. a wrong current password
+    if (!original?._retried) {
+      redirectToLogin()
     }
     return Promise.reject(error)
   }
 )
 
+// List endpoints return one page at a time and put the next cursor in X-Next-Cursor
+export const getAllPages = async (url) => {
+  const items = []
+  let after = null
+  do {
+    const response = await api.get(url, { params: after ? { after } : undefined })
+    items.push(...response.data)
+    after = response.headers['x-next-cursor']
+  } while (after)
+  return items
+}
+
 export default api